@@ -9,6 +9,9 @@ package org.mule.runtime.core.api;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.rules.ExpectedException.none;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.api.metadata.MediaType.APPLICATION_XML;
@@ -100,6 +103,34 @@ public class DefaultMuleEventTestCase extends AbstractMuleContextTestCase {
     assertThat(actualDataType, like(String.class, APPLICATION_XML, CUSTOM_ENCODING));
   }
 
+  @Test
+  public void builderChangesAfterBuildDontAffectBuiltEvent() throws Exception {
+    InternalEvent.Builder builder = InternalEvent.builder(muleEvent).addVariable(PROPERTY_NAME, PROPERTY_VALUE)
+        .addInternalParameter(PROPERTY_NAME, PROPERTY_VALUE);
+    InternalEvent built = builder.build();
+
+    builder.addVariable("other", PROPERTY_VALUE).removeVariable(PROPERTY_NAME).removeInternalParameter(PROPERTY_NAME).build();
+
+    assertThat(built.getVariables().get(PROPERTY_NAME).getValue(), is(PROPERTY_VALUE));
+    assertThat(built.getVariables(), not(hasKey("other")));
+    assertThat(built.getInternalParameters().get(PROPERTY_NAME), is(PROPERTY_VALUE));
+  }
+
+  @Test
+  public void derivedEventChangesDontAffectOriginalEvent() throws Exception {
+    CoreEvent original = builder(muleEvent).addVariable(PROPERTY_NAME, PROPERTY_VALUE).build();
+    CoreEvent derived = builder(original).message(of("other-data")).removeVariable(PROPERTY_NAME).build();
+
+    assertThat(original.getVariables().get(PROPERTY_NAME).getValue(), is(PROPERTY_VALUE));
+    assertThat(derived.getVariables(), not(hasKey(PROPERTY_NAME)));
+  }
+
+  @Test
+  public void variablesAreCaseInsensitive() throws Exception {
+    CoreEvent event = builder(muleEvent).addVariable(PROPERTY_NAME, PROPERTY_VALUE).build();
+    assertThat(builder(event).removeVariable(PROPERTY_NAME.toUpperCase()).build().getVariables(), not(hasKey(PROPERTY_NAME)));
+  }
+
   @Test
   public void setNullMessage() throws Exception {
     expected.expect(NullPointerException.class);
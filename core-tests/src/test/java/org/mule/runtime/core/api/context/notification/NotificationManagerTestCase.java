@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -16,6 +17,8 @@ import org.mule.runtime.core.privileged.context.notification.OptimisedNotificati
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -172,4 +175,15 @@ public class NotificationManagerTestCase extends AbstractMuleTestCase {
     assertFalse(listener2.isNotified());
   }
 
+  @Test
+  public void testListenerBoundToSeveralTypesIsNotifiedOnce() throws ClassNotFoundException {
+    registerDefaultEvents();
+    manager.addInterfaceToType(Listener1.class, Event1.class);
+    manager.addListener(listener1);
+
+    AtomicInteger notifications = new AtomicInteger();
+    manager.notifyListeners(new SubSubEvent1(), (listener, nfn) -> notifications.incrementAndGet());
+    assertEquals(1, notifications.get());
+  }
+
 }
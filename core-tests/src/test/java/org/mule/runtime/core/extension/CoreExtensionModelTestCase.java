@@ -261,7 +261,7 @@ public class CoreExtensionModelTestCase extends AbstractMuleContextTestCase {
     assertThat(processorsChain, instanceOf(NestedChainModel.class));
     assertThat(processorsChain.isRequired(), is(true));
 
-    assertThat(foreach.getAllParameterModels(), hasSize(4));
+    assertThat(foreach.getAllParameterModels(), hasSize(8));
 
     ParameterModel collection = foreach.getAllParameterModels().get(0);
     assertThat(collection.getName(), is("collection"));
@@ -289,6 +289,30 @@ public class CoreExtensionModelTestCase extends AbstractMuleContextTestCase {
     assertThat(counter.getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(counter.getType(), instanceOf(DefaultStringType.class));
     assertThat(counter.isRequired(), is(false));
+
+    ParameterModel maxConcurrency = foreach.getAllParameterModels().get(4);
+    assertThat(maxConcurrency.getName(), is("maxConcurrency"));
+    assertThat(maxConcurrency.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(maxConcurrency.getType(), instanceOf(DefaultNumberType.class));
+    assertThat(maxConcurrency.isRequired(), is(false));
+
+    ParameterModel ordered = foreach.getAllParameterModels().get(5);
+    assertThat(ordered.getName(), is("ordered"));
+    assertThat(ordered.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(ordered.getType(), instanceOf(DefaultBooleanType.class));
+    assertThat(ordered.isRequired(), is(false));
+
+    ParameterModel collectErrors = foreach.getAllParameterModels().get(6);
+    assertThat(collectErrors.getName(), is("collectErrors"));
+    assertThat(collectErrors.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(collectErrors.getType(), instanceOf(DefaultBooleanType.class));
+    assertThat(collectErrors.isRequired(), is(false));
+
+    ParameterModel timeout = foreach.getAllParameterModels().get(7);
+    assertThat(timeout.getName(), is("timeout"));
+    assertThat(timeout.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(timeout.getType(), instanceOf(DefaultNumberType.class));
+    assertThat(timeout.isRequired(), is(false));
   }
 
   @Test
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NonBlockingPoolingConnectionManagementStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private static final int MAX_ACTIVE = 2;
+
+  private ConnectionProvider<Object> connectionProvider;
+
+  private PoolingProfile poolingProfile =
+      new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+  private NonBlockingPoolingConnectionManagementStrategy<Object> strategy;
+  private PoolingListener<Object> poolingListener;
+
+  private ConnectionHandler<Object> connection1;
+  private ConnectionHandler<Object> connection2;
+
+  @Before
+  public void before() throws Exception {
+    poolingListener = mock(PoolingListener.class);
+    muleContext.start();
+    resetConnectionProvider();
+
+    initStrategy();
+
+    connection1 = strategy.getConnectionHandler();
+    connection2 = strategy.getConnectionHandler();
+  }
+
+  @After
+  public void after() throws Exception {
+    strategy.close();
+  }
+
+  @Test
+  public void getConnection() throws Exception {
+    assertThat(connection1, is(not(sameInstance(connection2))));
+    assertThat(connection1.getConnection(), is(not(sameInstance(connection2.getConnection()))));
+    verify(connectionProvider, times(2)).connect();
+
+    verify(poolingListener).onBorrow(connection1.getConnection());
+    verify(poolingListener).onBorrow(connection2.getConnection());
+  }
+
+  @Test
+  public void releasedConnectionIsReused() throws Exception {
+    Object connection = connection1.getConnection();
+    connection1.release();
+
+    assertThat(strategy.getConnectionHandler().getConnection(), is(sameInstance(connection)));
+    verify(connectionProvider, times(2)).connect();
+    verify(poolingListener).onReturn(connection);
+  }
+
+  @Test
+  public void asyncBorrowCompletesOnRelease() throws Exception {
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+    assertThat(pending.isDone(), is(false));
+
+    Object connection = connection1.getConnection();
+    connection1.release();
+
+    assertThat(pending.isDone(), is(true));
+    assertThat(pending.get().getConnection(), is(sameInstance(connection)));
+    assertThat(strategy.getNumIdle(), is(0));
+  }
+
+  @Test
+  public void asyncBorrowCompletesOnInvalidate() throws Exception {
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+    Object connection = connection1.getConnection();
+    connection1.invalidate();
+
+    // the replacement is created on the IO scheduler, not on the thread which invalidated the connection
+    assertThat(pending.get(5, SECONDS).getConnection(), is(not(sameInstance(connection))));
+    verify(connectionProvider).disconnect(connection);
+    verify(connectionProvider, times(3)).connect();
+  }
+
+  @Test
+  public void asyncBorrowTimesOut() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, 100, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    strategy.close();
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+    try {
+      pending.get(5, SECONDS);
+      fail("Was expecting the pool to be exhausted");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), is(instanceOf(ConnectionException.class)));
+    }
+  }
+
+  @Test
+  public void exhaustion() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    strategy.close();
+    initStrategy();
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+
+    connectionHandler.release();
+    assertThat(strategy.getConnectionHandler().getConnection(), is(sameInstance(connectionHandler.getConnection())));
+  }
+
+  @Test
+  public void poolingListenerFailsOnBorrow() throws Exception {
+    final RuntimeException exception = new RuntimeException();
+    doThrow(exception).when(poolingListener).onBorrow(any(Lifecycle.class));
+    connection1.release();
+
+    try {
+      strategy.getConnectionHandler();
+      fail("was expecting poolingListener to fail");
+    } catch (ConnectionException e) {
+      assertThat(e.getCause(), is(sameInstance(exception)));
+      verify(connectionProvider).disconnect(any(Lifecycle.class));
+    }
+  }
+
+  @Test
+  public void closeFailsPendingRequests() throws Exception {
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+    connection1.release();
+    CompletableFuture<ConnectionHandler<Object>> notServed = strategy.getConnectionHandlerAsync();
+
+    strategy.close();
+    assertThat(pending.isCompletedExceptionally(), is(false));
+    assertThat(notServed.isCompletedExceptionally(), is(true));
+  }
+
+  @Test
+  public void release() throws Exception {
+    connection1.release();
+    connection2.release();
+
+    strategy.close();
+
+    verify(connectionProvider, times(2)).disconnect(any(Object.class));
+  }
+
+  @Test
+  public void invalidIdleConnectionsAreEvicted() throws Exception {
+    poolingProfile = new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    poolingProfile.setEvictionCheckIntervalMillis(50);
+    strategy.close();
+    initStrategy();
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    Object connection = connectionHandler.getConnection();
+    when(connectionProvider.validate(connection)).thenReturn(ConnectionValidationResult.failure("stale", new Exception()));
+    connectionHandler.release();
+
+    verify(connectionProvider, timeout(5000)).disconnect(connection);
+  }
+
+  @Test
+  public void idleConnectionsAreAvailableWhileValidating() throws Exception {
+    poolingProfile = new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    poolingProfile.setEvictionCheckIntervalMillis(50);
+    strategy.close();
+    initStrategy();
+
+    ConnectionHandler<Object> first = strategy.getConnectionHandler();
+    ConnectionHandler<Object> second = strategy.getConnectionHandler();
+
+    Latch validating = new Latch();
+    Latch validated = new Latch();
+    doAnswer(invocation -> {
+      validating.release();
+      validated.await();
+      return ConnectionValidationResult.success();
+    }).when(connectionProvider).validate(any());
+    first.release();
+    second.release();
+
+    try {
+      assertThat(validating.await(5, SECONDS), is(true));
+      // only the connection being validated is out of the pool
+      strategy.getConnectionHandler().release();
+    } finally {
+      validated.release();
+    }
+  }
+
+  private void resetConnectionProvider() throws ConnectionException {
+    ConnectionProvider<Object> connectionProvider = mock(ConnectionProvider.class);
+    when(connectionProvider.connect()).thenAnswer(i -> mock(Lifecycle.class));
+    when(connectionProvider.validate(anyObject())).thenReturn(ConnectionValidationResult.success());
+    this.connectionProvider = spy(new DefaultConnectionProviderWrapper<>(connectionProvider, muleContext));
+  }
+
+  private void initStrategy() {
+    strategy = new NonBlockingPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                                    muleContext);
+  }
+}
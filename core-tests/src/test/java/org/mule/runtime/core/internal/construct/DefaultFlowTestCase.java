@@ -10,6 +10,7 @@ import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
@@ -319,4 +320,78 @@ public class DefaultFlowTestCase extends AbstractFlowConstructTestCase {
 
   }
 
+  @Test
+  public void startOnDemand() throws MuleException {
+    after();
+
+    flow = (DefaultFlow) Flow.builder(FLOW_NAME, muleContext)
+        .processors(singletonList(sensingMessageProcessor))
+        .build();
+    flow.setStartOnDemand(true);
+
+    flow.initialise();
+    flow.start();
+    assertThat(flow.isStopped(), is(true));
+
+    flow.startOnDemand();
+    assertThat(flow.isStarted(), is(true));
+  }
+
+  @Test
+  public void startOnDemandDoesNotRestartStoppedFlow() throws MuleException {
+    after();
+
+    flow = (DefaultFlow) Flow.builder(FLOW_NAME, muleContext)
+        .processors(singletonList(sensingMessageProcessor))
+        .build();
+    flow.setStartOnDemand(true);
+
+    flow.initialise();
+    flow.start();
+    flow.startOnDemand();
+    flow.stop();
+
+    flow.startOnDemand();
+    assertThat(flow.isStopped(), is(true));
+  }
+
+  @Test
+  public void startOnDemandWhenEventIsSent() throws MuleException {
+    after();
+
+    flow = (DefaultFlow) Flow.builder(FLOW_NAME, muleContext)
+        .processors(singletonList(sensingMessageProcessor))
+        .build();
+    flow.setStartOnDemand(true);
+
+    flow.initialise();
+    flow.start();
+    assertThat(flow.isStopped(), is(true));
+
+    flow.process(testEvent());
+    assertThat(flow.isStarted(), is(true));
+    assertThat(sensingMessageProcessor.event, not(nullValue()));
+  }
+
+  @Test
+  public void stopCancelsStartOnDemand() throws MuleException {
+    after();
+
+    flow = (DefaultFlow) Flow.builder(FLOW_NAME, muleContext)
+        .processors(singletonList(sensingMessageProcessor))
+        .build();
+    flow.setStartOnDemand(true);
+
+    flow.initialise();
+    flow.start();
+    try {
+      flow.stop();
+    } catch (IllegalStateException e) {
+      // the stop phase was already fired when the start was deferred
+    }
+
+    flow.startOnDemand();
+    assertThat(flow.isStopped(), is(true));
+  }
+
 }
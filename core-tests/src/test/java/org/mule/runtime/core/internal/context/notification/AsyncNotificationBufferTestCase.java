@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+@SmallTest
+public class AsyncNotificationBufferTestCase extends AbstractMuleTestCase {
+
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final List<Notification> delivered = new ArrayList<>();
+  private final NotificationListener<Notification> listener = delivered::add;
+
+  @Test
+  public void deliversInBatches() {
+    AsyncNotificationBuffer buffer = new AsyncNotificationBuffer(16, 2, tasks::add);
+    Notification[] notifications = new Notification[5];
+    for (int i = 0; i < notifications.length; ++i) {
+      notifications[i] = mock(Notification.class);
+      assertThat(buffer.offer(listener, notifications[i]), is(true));
+    }
+    assertThat(tasks.size(), is(1));
+
+    runTasks();
+    assertThat(delivered.size(), is(notifications.length));
+    for (int i = 0; i < notifications.length; ++i) {
+      assertThat(delivered.get(i), is(notifications[i]));
+    }
+    assertThat(buffer.size(), is(0));
+  }
+
+  @Test
+  public void rejectsWhenFull() {
+    AsyncNotificationBuffer buffer = new AsyncNotificationBuffer(4, 4, tasks::add);
+    for (int i = 0; i < 4; ++i) {
+      assertThat(buffer.offer(listener, mock(Notification.class)), is(true));
+    }
+    assertThat(buffer.offer(listener, mock(Notification.class)), is(false));
+
+    runTasks();
+    assertThat(delivered.size(), is(4));
+    assertThat(buffer.offer(listener, mock(Notification.class)), is(true));
+  }
+
+  @Test
+  public void listenerFailureDoesNotStopDelivery() {
+    AsyncNotificationBuffer buffer = new AsyncNotificationBuffer(16, 16, tasks::add);
+    buffer.offer(n -> {
+      throw new IllegalStateException();
+    }, mock(Notification.class));
+    buffer.offer(listener, mock(Notification.class));
+
+    runTasks();
+    assertThat(delivered.size(), is(1));
+  }
+
+  @Test
+  public void rejectedExecutionDiscardsPending() {
+    AsyncNotificationBuffer buffer = new AsyncNotificationBuffer(16, 16, task -> {
+      throw new RejectedExecutionException();
+    });
+    NotificationListener<Notification> mockListener = mock(NotificationListener.class);
+    Notification notification = mock(Notification.class);
+
+    assertThat(buffer.offer(mockListener, notification), is(true));
+    verify(mockListener, never()).onNotification(notification);
+    assertThat(buffer.size(), is(0));
+  }
+
+  @Test
+  public void listenersAreDrainedSeparately() {
+    List<Notification> otherDelivered = new ArrayList<>();
+    AsyncNotificationBuffer buffer = new AsyncNotificationBuffer(16, 16, tasks::add);
+    buffer.offer(listener, mock(Notification.class));
+    buffer.offer(otherDelivered::add, mock(Notification.class));
+    buffer.offer(listener, mock(Notification.class));
+
+    assertThat(tasks.size(), is(2));
+    runTasks();
+    assertThat(delivered.size(), is(2));
+    assertThat(otherDelivered.size(), is(1));
+  }
+
+  @Test
+  public void slowListenerDoesNotDelayOthers() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch otherDelivered = new CountDownLatch(1);
+    ExecutorService executor = newFixedThreadPool(2);
+    try {
+      AsyncNotificationBuffer buffer = new AsyncNotificationBuffer(16, 16, executor);
+      buffer.offer(n -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }, mock(Notification.class));
+      buffer.offer(n -> otherDelivered.countDown(), mock(Notification.class));
+
+      assertThat(otherDelivered.await(5, SECONDS), is(true));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentProducers() throws Exception {
+    final int producers = 4;
+    final int perProducer = 1000;
+    CountDownLatch deliveries = new CountDownLatch(producers * perProducer);
+    ExecutorService executor = newFixedThreadPool(producers + 1);
+    try {
+      AsyncNotificationBuffer buffer = new AsyncNotificationBuffer(64, 8, executor);
+      NotificationListener<Notification> countingListener = n -> deliveries.countDown();
+      Notification notification = mock(Notification.class);
+      for (int i = 0; i < producers; ++i) {
+        executor.execute(() -> {
+          for (int j = 0; j < perProducer; ++j) {
+            while (!buffer.offer(countingListener, notification)) {
+              Thread.yield();
+            }
+          }
+        });
+      }
+
+      assertThat(deliveries.await(10, SECONDS), is(true));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.remove(0).run();
+    }
+  }
+}
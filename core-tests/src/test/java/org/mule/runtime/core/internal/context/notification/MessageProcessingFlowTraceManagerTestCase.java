@@ -10,6 +10,7 @@ import static java.lang.System.lineSeparator;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
@@ -21,6 +22,7 @@ import static org.mule.runtime.api.notification.EnrichedNotificationInfo.createI
 import static org.mule.runtime.api.notification.MessageProcessorNotification.MESSAGE_PROCESSOR_PRE_INVOKE;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_START;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.internal.context.notification.DefaultProcessorsTrace.PROCESSORS_TRACE_SIZE;
 import static org.mule.runtime.core.internal.context.notification.MessageProcessingFlowTraceManager.FLOW_STACK_INFO_KEY;
 
 import org.mule.runtime.api.component.Component;
@@ -356,6 +358,40 @@ public class MessageProcessingFlowTraceManagerTestCase extends AbstractMuleTestC
     assertThat(getContextInfo(event2, rootFlowConstruct), is(""));
   }
 
+  @Test
+  public void unsampledEventIsNotTraced() {
+    double originalSamplingRate = DefaultMuleConfiguration.flowTraceSamplingRate;
+    DefaultMuleConfiguration.flowTraceSamplingRate = 0;
+    try {
+      messageContext = create(rootFlowConstruct, TEST_CONNECTOR_LOCATION);
+    } finally {
+      DefaultMuleConfiguration.flowTraceSamplingRate = originalSamplingRate;
+    }
+
+    CoreEvent event = buildEvent("unsampledEventIsNotTraced");
+    manager.onPipelineNotificationStart(buildPipelineNotification(event, rootFlowConstruct.getName()));
+    manager.onMessageProcessorNotificationPreInvoke(buildProcessorNotification(event, createMockProcessor("/comp", false)));
+
+    assertThat(getContextInfo(event, rootFlowConstruct), is(nullValue()));
+    assertThat(event.getFlowCallStack().getElements(), hasSize(0));
+    assertThat(((BaseEventContext) event.getContext()).getProcessorsTrace(), hasExecutedProcessors());
+  }
+
+  @Test
+  public void processorsTraceKeepsLastProcessors() {
+    CoreEvent event = buildEvent("processorsTraceKeepsLastProcessors");
+    manager.onMessageProcessorNotificationPreInvoke(buildProcessorNotification(event, createMockProcessor("/first", false)));
+
+    Processor other = createMockProcessor("/other", false);
+    for (int i = 0; i < PROCESSORS_TRACE_SIZE; ++i) {
+      manager.onMessageProcessorNotificationPreInvoke(buildProcessorNotification(event, other));
+    }
+
+    List<String> executedProcessors = ((BaseEventContext) event.getContext()).getProcessorsTrace().getExecutedProcessors();
+    assertThat(executedProcessors, hasSize(PROCESSORS_TRACE_SIZE));
+    assertThat(executedProcessors.get(0), is("/other @ " + APP_ID + ":unknown:-1"));
+  }
+
   protected CoreEvent buildEvent(String eventId) {
     return buildEvent(eventId, new DefaultFlowCallStack());
   }
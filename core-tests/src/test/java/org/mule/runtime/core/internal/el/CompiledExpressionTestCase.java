@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.Collections.singleton;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.api.el.BindingContext.builder;
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.MAX_COMPILED_EXPRESSIONS;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.fromSingleComponent;
+import static org.mule.test.allure.AllureConstants.ExpressionLanguageFeature.EXPRESSION_LANGUAGE;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@Feature(EXPRESSION_LANGUAGE)
+public class CompiledExpressionTestCase extends AbstractMuleContextTestCase {
+
+  private static final String MY_VAR = "myVar";
+
+  private DefaultExpressionManager expressionManager;
+
+  @Before
+  public void configureExpressionManager() throws MuleException {
+    expressionManager = new DefaultExpressionManager();
+    initialiseIfNeeded(expressionManager, muleContext);
+  }
+
+  @Test
+  public void referencedEventBindings() {
+    assertThat(compile("#[payload ++ vars.myVar]").getReferencedEventBindings(), containsInAnyOrder(PAYLOAD, VARS));
+    assertThat(compile("#[vars.payload]").getReferencedEventBindings(), containsInAnyOrder(VARS));
+    assertThat(compile("#['constant' ++ upper('value')]").getReferencedEventBindings(), is(empty()));
+  }
+
+  @Test
+  public void melExpressionIsNotAnalyzed() {
+    assertThat(compile("#[mel:payload]").getReferencedEventBindings(), is(nullValue()));
+  }
+
+  @Test
+  public void payloadOnly() {
+    assertThat(compile("#[payload]").isPayloadOnly(), is(true));
+    assertThat(compile("#[dw:payload]").isPayloadOnly(), is(true));
+    assertThat(compile("#[payload.foo]").isPayloadOnly(), is(false));
+  }
+
+  @Test
+  public void compiledExpressionsAreCachedPerLocation() {
+    CompiledExpression compiled = compile("#[payload]");
+    assertThat(compile("#[payload]"), is(sameInstance(compiled)));
+    assertThat(expressionManager.compile("#[payload]", fromSingleComponent("other")), is(not(sameInstance(compiled))));
+  }
+
+  @Test
+  public void recentlyUsedExpressionsStayCachedPastTheLimit() {
+    CompiledExpression hot = compile("#[payload]");
+    for (int i = 0; i < MAX_COMPILED_EXPRESSIONS * 2; ++i) {
+      compile("#[vars.var" + i + "]");
+      assertThat(compile("#[payload]"), is(sameInstance(hot)));
+    }
+
+    CompiledExpression last = compile("#[vars.var" + (MAX_COMPILED_EXPRESSIONS * 2 - 1) + "]");
+    assertThat(compile("#[vars.var" + (MAX_COMPILED_EXPRESSIONS * 2 - 1) + "]"), is(sameInstance(last)));
+  }
+
+  @Test
+  public void evaluateCompiled() throws MuleException {
+    CoreEvent event = CoreEvent.builder(testEvent()).addVariable(MY_VAR, "Leda").build();
+
+    assertThat(expressionManager.evaluate(compile("#[payload]"), event, NULL_BINDING_CONTEXT).getValue(), is(TEST_PAYLOAD));
+    assertThat(expressionManager.evaluate(compile("#[vars.myVar]"), event, NULL_BINDING_CONTEXT).getValue(), is("Leda"));
+    assertThat(expressionManager.evaluate(compile("#['constant']"), event, NULL_BINDING_CONTEXT).getValue(), is("constant"));
+  }
+
+  @Test
+  public void contextBindingsAreKept() throws MuleException {
+    TypedValue<String> value = new TypedValue<>("value", STRING);
+    assertThat(expressionManager.evaluate(compile("#[myBinding ++ payload]"), testEvent(),
+                                          builder().addBinding("myBinding", value).build())
+        .getValue(), is("value" + TEST_PAYLOAD));
+  }
+
+  @Test
+  public void evaluateCompiledWithoutEvent() {
+    assertThat(expressionManager.evaluate(compile("#['constant']"), null, NULL_BINDING_CONTEXT).getValue(), is("constant"));
+  }
+
+  @Test
+  public void onlyReferencedEventBindingsAreCreated() throws MuleException {
+    CoreEvent event = spy(testEvent());
+    FilteredEventBindingContext context = new FilteredEventBindingContext(event, NULL_BINDING_CONTEXT, singleton(PAYLOAD));
+
+    assertThat(context.lookup(PAYLOAD).get().getValue(), is(TEST_PAYLOAD));
+    assertThat(context.lookup(VARS).isPresent(), is(false));
+    assertThat(context.identifiers(), containsInAnyOrder(PAYLOAD));
+    verify(event, never()).getVariables();
+  }
+
+  private CompiledExpression compile(String expression) {
+    return expressionManager.compile(expression, TEST_CONNECTOR_LOCATION);
+  }
+}
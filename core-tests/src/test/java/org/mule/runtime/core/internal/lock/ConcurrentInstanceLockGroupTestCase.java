@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.internal.lock.InstanceLockGroupTestCase.InMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.mockito.Answers;
+
+public class ConcurrentInstanceLockGroupTestCase extends AbstractMuleTestCase {
+
+  private static final int THREAD_COUNT = 100;
+  private static final int ITERATIONS_PER_THREAD = 100;
+
+  private final Latch threadStartLatch = new Latch();
+  private final LockGroup lockGroup = new ConcurrentInstanceLockGroup(new SingleServerLockProvider());
+  private final InMemoryObjectStore objectStore = new InMemoryObjectStore();
+
+  @Test
+  public void lockUnlock() throws Exception {
+    testHighConcurrency(false);
+  }
+
+  @Test
+  public void tryLockUnlock() throws Exception {
+    testHighConcurrency(true);
+  }
+
+  @Test
+  public void lockIsCreatedOnceWhileInUse() {
+    LockProvider lockProvider = mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
+    LockGroup lockGroup = new ConcurrentInstanceLockGroup(lockProvider);
+    for (int i = 0; i < 5; i++) {
+      lockGroup.lock("lockId");
+    }
+    lockGroup.unlock("lockId");
+    verify(lockProvider, times(1)).createLock("lockId");
+  }
+
+  @Test
+  public void entryIsDroppedWhenReleased() {
+    LockProvider lockProvider = mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
+    LockGroup lockGroup = new ConcurrentInstanceLockGroup(lockProvider);
+    lockGroup.lock("lockId");
+    lockGroup.unlock("lockId");
+    lockGroup.lock("lockId");
+    verify(lockProvider, times(2)).createLock("lockId");
+  }
+
+  @Test
+  public void failedTryLockReleasesEntry() throws Exception {
+    LockGroup lockGroup = new ConcurrentInstanceLockGroup(new SingleServerLockProvider());
+    lockGroup.lock("lockId");
+
+    AtomicBoolean acquired = new AtomicBoolean(true);
+    Thread contender = new Thread(() -> {
+      try {
+        acquired.set(lockGroup.tryLock("lockId", 10, MILLISECONDS));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    contender.start();
+    contender.join();
+    assertThat(acquired.get(), is(false));
+
+    lockGroup.unlock("lockId");
+    assertThat(lockGroup.tryLock("lockId"), is(true));
+  }
+
+  private void testHighConcurrency(boolean useTryLock) throws Exception {
+    List<Thread> threads = new ArrayList<>(THREAD_COUNT * 2);
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      threads.add(startIncrementThread("A", useTryLock));
+      threads.add(startIncrementThread("B", useTryLock));
+    }
+    threadStartLatch.release();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(objectStore.retrieve("A"), is(THREAD_COUNT * ITERATIONS_PER_THREAD));
+    assertThat(objectStore.retrieve("B"), is(THREAD_COUNT * ITERATIONS_PER_THREAD));
+  }
+
+  private Thread startIncrementThread(String key, boolean useTryLock) {
+    Thread thread = new Thread(() -> {
+      try {
+        threadStartLatch.await(5000, MILLISECONDS);
+        for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+          if (useTryLock) {
+            while (!lockGroup.tryLock(key, 100, MILLISECONDS));
+          } else {
+            lockGroup.lock(key);
+          }
+          try {
+            Integer value = objectStore.contains(key) ? objectStore.remove(key) : 0;
+            objectStore.store(key, value + 1);
+          } finally {
+            lockGroup.unlock(key);
+          }
+        }
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }, "Thread-" + key);
+    thread.start();
+    return thread;
+  }
+}
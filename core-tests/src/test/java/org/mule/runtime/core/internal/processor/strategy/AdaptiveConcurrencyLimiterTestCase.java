@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+
+@Feature(PROCESSING_STRATEGIES)
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  private static final int INITIAL_LIMIT = 10;
+  private static final int MAX_LIMIT = 100;
+
+  private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, 1, MAX_LIMIT);
+
+  @Test
+  public void permitsLimited() {
+    for (int i = 0; i < INITIAL_LIMIT; i++) {
+      assertThat(limiter.tryAcquire(), is(true));
+    }
+    assertThat(limiter.tryAcquire(), is(false));
+    assertThat(limiter.getInFlight(), is(INITIAL_LIMIT));
+
+    limiter.cancel();
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  @Test
+  @Description("The limit grows while saturated and latency is stable.")
+  public void growsWithStableLatency() {
+    for (int round = 0; round < 20; round++) {
+      saturateAndRelease(MILLISECONDS.toNanos(10), false);
+    }
+    assertThat(limiter.getLimit(), greaterThan(INITIAL_LIMIT));
+    assertThat(limiter.getLimit(), lessThan(MAX_LIMIT + 1));
+  }
+
+  @Test
+  @Description("The limit doesn't grow when most of it is unused.")
+  public void doesNotGrowWhenIdle() {
+    for (int i = 0; i < 100; i++) {
+      assertThat(limiter.tryAcquire(), is(true));
+      limiter.release(nanoTime() - MILLISECONDS.toNanos(10), false);
+    }
+    assertThat(limiter.getLimit(), is(INITIAL_LIMIT));
+  }
+
+  @Test
+  @Description("The limit shrinks when latency goes up.")
+  public void shrinksWithIncreasingLatency() {
+    saturateAndRelease(MILLISECONDS.toNanos(10), false);
+    int limitBefore = limiter.getLimit();
+    for (int round = 0; round < 5; round++) {
+      saturateAndRelease(MILLISECONDS.toNanos(100 * (round + 1)), false);
+    }
+    assertThat(limiter.getLimit(), lessThan(limitBefore));
+  }
+
+  @Test
+  public void shrinksOnOverload() {
+    assertThat(limiter.tryAcquire(), is(true));
+    limiter.release(nanoTime(), true);
+    assertThat(limiter.getLimit(), lessThan(INITIAL_LIMIT));
+  }
+
+  @Test
+  public void neverBelowMinimum() {
+    for (int i = 0; i < 100; i++) {
+      assertThat(limiter.tryAcquire(), is(true));
+      limiter.release(nanoTime(), true);
+    }
+    assertThat(limiter.getLimit(), is(1));
+  }
+
+  private void saturateAndRelease(long latencyNanos, boolean overloaded) {
+    int permits = 0;
+    while (limiter.tryAcquire()) {
+      permits++;
+    }
+    long start = nanoTime() - latencyNanos;
+    for (int i = 0; i < permits; i++) {
+      limiter.release(start, overloaded);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@Feature(PROCESSING_STRATEGIES)
+public class AdaptiveConcurrencySinkTestCase extends AbstractMuleTestCase {
+
+  private final Sink delegate = mock(Sink.class);
+  private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+  private final AdaptiveConcurrencySink sink = new AdaptiveConcurrencySink(delegate, limiter);
+  private final Map<CoreEvent, BiConsumer<CoreEvent, Throwable>> responseCallbacks = new HashMap<>();
+
+  @Test
+  public void acceptQueuesWhenLimitReached() {
+    CoreEvent event = createEvent();
+    sink.accept(event);
+    assertThat(limiter.getInFlight(), is(1));
+
+    CoreEvent queued = createEvent();
+    sink.accept(queued);
+    verify(delegate, times(1)).accept(any(CoreEvent.class));
+    assertThat(limiter.getInFlight(), is(1));
+
+    respond(event);
+    verify(delegate).accept(queued);
+    assertThat(limiter.getInFlight(), is(1));
+
+    respond(queued);
+    assertThat(limiter.getInFlight(), is(0));
+  }
+
+  @Test
+  public void acceptPassesToDelegateWhenQueueIsFull() {
+    sink.accept(createEvent());
+    sink.accept(createEvent());
+
+    CoreEvent overflow = createEvent();
+    sink.accept(overflow);
+    verify(delegate).accept(overflow);
+    assertThat(limiter.getInFlight(), is(1));
+  }
+
+  @Test
+  public void acceptFailureErrorsTheEvent() {
+    CoreEvent event = createEvent();
+    doThrow(new IllegalStateException()).when(delegate).accept(event);
+
+    sink.accept(event);
+    verify((BaseEventContext) event.getContext()).error(any(Throwable.class));
+  }
+
+  @Test
+  public void queuedEventsFailOnDispose() {
+    sink.accept(createEvent());
+    CoreEvent queued = createEvent();
+    sink.accept(queued);
+
+    sink.dispose();
+    verify((BaseEventContext) queued.getContext()).error(any(Throwable.class));
+    verify(delegate, times(1)).accept(any(CoreEvent.class));
+  }
+
+  @Test
+  public void emitDoesNotPassWhenLimitReached() {
+    when(delegate.emit(any(CoreEvent.class))).thenReturn(true);
+    assertThat(sink.emit(createEvent()), is(true));
+    assertThat(sink.emit(createEvent()), is(false));
+    verify(delegate, times(1)).emit(any(CoreEvent.class));
+  }
+
+  private CoreEvent createEvent() {
+    CoreEvent event = mock(CoreEvent.class);
+    BaseEventContext context = mock(BaseEventContext.class);
+    doAnswer(invocation -> {
+      responseCallbacks.put(event, invocation.getArgumentAt(0, BiConsumer.class));
+      return null;
+    }).when(context).onResponse(any(BiConsumer.class));
+    when(event.getContext()).thenReturn(context);
+    return event;
+  }
+
+  private void respond(CoreEvent event) {
+    responseCallbacks.remove(event).accept(event, null);
+  }
+}
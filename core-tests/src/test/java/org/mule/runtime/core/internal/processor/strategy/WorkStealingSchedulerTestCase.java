@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+
+@Feature(PROCESSING_STRATEGIES)
+public class WorkStealingSchedulerTestCase extends AbstractMuleTestCase {
+
+  private static final int PARALLELISM = 2;
+  private static final int MAX_COMPENSATION_THREADS = PARALLELISM * 8;
+
+  private Scheduler timer;
+  private ClassLoader classLoader;
+  private WorkStealingScheduler scheduler;
+
+  @Before
+  public void before() {
+    timer = mock(Scheduler.class);
+    when(timer.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+      ((Runnable) invocation.getArguments()[0]).run();
+      return mock(ScheduledFuture.class);
+    });
+    classLoader = new ClassLoader(getClass().getClassLoader()) {};
+    scheduler = new WorkStealingScheduler("test.BLOCKING", PARALLELISM, MAX_COMPENSATION_THREADS, false, timer, classLoader);
+  }
+
+  @After
+  public void after() {
+    scheduler.stop();
+  }
+
+  @Test
+  @Description("Blocked tasks don't prevent other tasks from running, even beyond the pool parallelism.")
+  public void blockedTasksDoNotStarveOthers() throws Exception {
+    final int tasks = PARALLELISM * 8;
+    CountDownLatch allStarted = new CountDownLatch(tasks);
+    CountDownLatch release = new CountDownLatch(1);
+
+    for (int i = 0; i < tasks; i++) {
+      scheduler.execute(() -> {
+        allStarted.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+
+    try {
+      assertThat(allStarted.await(5, SECONDS), is(true));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  @Description("No more tasks are run at the same time than the pool parallelism plus its compensation threads.")
+  public void compensationIsBounded() throws Exception {
+    scheduler.stop();
+    scheduler = new WorkStealingScheduler("test.BLOCKING", PARALLELISM, PARALLELISM, false, timer, classLoader);
+
+    final int maxRunning = PARALLELISM * 2;
+    CountDownLatch started = new CountDownLatch(PARALLELISM);
+    CountDownLatch moreStarted = new CountDownLatch(maxRunning + 1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    for (int i = 0; i < maxRunning * 4; i++) {
+      scheduler.execute(() -> {
+        started.countDown();
+        moreStarted.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+
+    try {
+      assertThat(started.await(5, SECONDS), is(true));
+      assertThat(moreStarted.await(500, MILLISECONDS), is(false));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void contextClassLoader() throws Exception {
+    AtomicReference<ClassLoader> taskClassLoader = new AtomicReference<>();
+    scheduler.submit(() -> taskClassLoader.set(Thread.currentThread().getContextClassLoader())).get(5, SECONDS);
+    assertThat(taskClassLoader.get(), sameInstance(classLoader));
+  }
+
+  @Test
+  @Description("Delayed tasks are timed by the timer scheduler and run by the work-stealing one.")
+  public void delayedTaskHandOff() throws Exception {
+    AtomicReference<String> threadName = new AtomicReference<>();
+    ScheduledFuture<String> future = scheduler.schedule(() -> {
+      threadName.set(Thread.currentThread().getName());
+      return "done";
+    }, 10, MILLISECONDS);
+
+    assertThat(future.get(5, SECONDS), is("done"));
+    assertThat(threadName.get().startsWith("test.BLOCKING.ws-"), is(true));
+  }
+
+  @Test
+  public void stopAlsoStopsTimer() {
+    scheduler.stop();
+    assertThat(scheduler.isShutdown(), is(true));
+    verify(timer).stop();
+  }
+}
@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.time.Duration.ofMillis;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonMap;
+import static java.util.Collections.synchronizedList;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -21,12 +23,15 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.rules.ExpectedException.none;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.api.metadata.DataType.MULE_MESSAGE;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.internal.routing.Foreach.DEFAULT_COUNTER_VARIABLE;
 import static org.mule.runtime.core.internal.routing.Foreach.DEFAULT_ROOT_MESSAGE_VARIABLE;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
 import static org.mule.tck.junit4.matcher.DataTypeCompatibilityMatcher.assignableTo;
 import static org.mule.tck.util.MuleContextUtils.eventBuilder;
+import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Flux.from;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.message.Message;
@@ -37,18 +42,23 @@ import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.routing.outbound.EventBuilderConfigurer;
+import org.mule.runtime.core.internal.routing.outbound.EventBuilderConfigurerList;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
 import org.mule.runtime.core.privileged.processor.InternalProcessor;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
 import org.mule.tck.SensingNullMessageProcessor;
 import org.mule.tck.junit4.AbstractReactiveProcessorTestCase;
 import org.mule.tck.testmodels.mule.TestMessageProcessor;
 
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.reactivestreams.Publisher;
 
 import java.nio.BufferOverflowException;
 import java.util.ArrayList;
@@ -56,6 +66,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
 
 public class ForeachTestCase extends AbstractReactiveProcessorTestCase {
 
@@ -64,6 +78,13 @@ public class ForeachTestCase extends AbstractReactiveProcessorTestCase {
   protected ArrayList<CoreEvent> processedEvents;
   protected Map<String, TypedValue<?>> variables;
 
+  private static final String RESULT_VARIABLE = "result";
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private final AtomicInteger completed = new AtomicInteger();
+  private Foreach parallelForeach;
+
   private static String ERR_NUMBER_MESSAGES = "Not a correct number of messages processed";
   private static String ERR_PAYLOAD_TYPE = "Type error on processed payloads";
   private static String ERR_OUTPUT = "Messages processed incorrectly";
@@ -75,6 +96,11 @@ public class ForeachTestCase extends AbstractReactiveProcessorTestCase {
     super(mode);
   }
 
+  @After
+  public void disposeParallelForeach() {
+    disposeIfNeeded(parallelForeach, getLogger(getClass()));
+  }
+
   @Before
   public void initialise() throws MuleException {
     processedEvents = new ArrayList<>();
@@ -408,6 +434,151 @@ public class ForeachTestCase extends AbstractReactiveProcessorTestCase {
     assertThat(processedEvents, hasSize(0));
   }
 
+  @Test
+  public void parallelOrdered() throws Exception {
+    Foreach foreach = createParallelForeach(2, true, false, delayedProcessor());
+    CoreEvent input = eventBuilder(muleContext).message(of(asList(1, 2, 3, 4))).build();
+
+    CoreEvent result = process(foreach, input);
+
+    assertThat(result.getMessage(), equalTo(input.getMessage()));
+    assertThat(result.getVariables().get(RESULT_VARIABLE).getValue(), equalTo(asList(10, 20, 30, 40)));
+    assertThat(result.getVariables().containsKey(DEFAULT_COUNTER_VARIABLE), is(false));
+    assertThat(result.getVariables().containsKey(DEFAULT_ROOT_MESSAGE_VARIABLE), is(false));
+    assertThat(maxInFlight.get(), is(2));
+  }
+
+  @Test
+  public void parallelUnordered() throws Exception {
+    Foreach foreach = createParallelForeach(4, false, false, delayedProcessor());
+
+    CoreEvent result = process(foreach, eventBuilder(muleContext).message(of(asList(1, 2, 3, 4))).build());
+
+    // Higher values complete sooner
+    assertThat(result.getVariables().get(RESULT_VARIABLE).getValue(), equalTo(asList(40, 30, 20, 10)));
+    assertThat(maxInFlight.get(), is(4));
+  }
+
+  @Test
+  public void parallelBatchSize() throws Exception {
+    List<String> batches = synchronizedList(new ArrayList<>());
+    Foreach foreach = createParallelForeach(2, true, false, event -> {
+      batches.add(((List<TypedValue>) event.getMessage().getPayload().getValue()).stream().map(TypedValue::getValue)
+          .collect(toList()).toString());
+      return event;
+    });
+    foreach.setBatchSize(2);
+
+    process(foreach, eventBuilder(muleContext).message(of(asList(1, 2, 3))).build());
+
+    assertThat(batches, hasSize(2));
+    assertThat(batches, hasItems("[1, 2]", "[3]"));
+  }
+
+  @Test
+  public void parallelFailFast() throws Exception {
+    RuntimeException throwable = new BufferOverflowException();
+    Foreach foreach = createParallelForeach(1, true, false, failingOnSecondElement(throwable), delayedProcessor());
+
+    expectedException.expect(is(MessagingException.class));
+    expectedException.expectCause(is(throwable));
+    try {
+      process(foreach, eventBuilder(muleContext).message(of(asList(1, 2, 3, 4))).build(), false);
+    } finally {
+      assertThat(completed.get(), is(1));
+    }
+  }
+
+  @Test
+  public void parallelCollectErrors() throws Exception {
+    RuntimeException throwable = new BufferOverflowException();
+    Foreach foreach = createParallelForeach(2, true, true, failingOnSecondElement(throwable), delayedProcessor());
+
+    expectedException.expect(is(MessagingException.class));
+    expectedException.expectCause(instanceOf(CompositeRoutingException.class));
+    try {
+      process(foreach, eventBuilder(muleContext).message(of(asList(1, 2, 3, 4))).build(), false);
+    } finally {
+      assertThat(completed.get(), is(3));
+    }
+  }
+
+  @Test
+  public void parallelPartsCompletedAsTheyFinish() throws Exception {
+    Map<Integer, Integer> completedWhenPartCompleted = new ConcurrentHashMap<>();
+    ConfigurerList configurers = new ConfigurerList();
+    for (int i = 1; i <= 4; i++) {
+      int value = i;
+      configurers.add(new EventBuilderConfigurer() {
+
+        @Override
+        public void configure(CoreEvent.Builder builder) {
+          builder.message(of(value));
+        }
+
+        @Override
+        public void eventCompleted() {
+          completedWhenPartCompleted.put(value, completed.get());
+        }
+      });
+    }
+    Foreach foreach = createParallelForeach(4, true, false, delayedProcessor());
+
+    process(foreach, eventBuilder(muleContext).message(of(configurers)).build());
+
+    assertThat(completedWhenPartCompleted.keySet(), hasSize(4));
+    // Higher values complete sooner, so the last part is completed before the rest are processed
+    assertThat(completedWhenPartCompleted.get(4), is(1));
+  }
+
+  private Foreach createParallelForeach(int maxConcurrency, boolean ordered, boolean collectErrors, Processor... processors)
+      throws MuleException {
+    Foreach foreach = createForeach();
+    foreach.setMessageProcessors(asList(processors));
+    foreach.setMaxConcurrency(maxConcurrency);
+    foreach.setOrdered(ordered);
+    foreach.setCollectErrors(collectErrors);
+    initialiseIfNeeded(foreach, muleContext);
+    parallelForeach = foreach;
+    return foreach;
+  }
+
+  /**
+   * Sets the result variable to ten times the payload, completing sooner the higher the payload is.
+   */
+  private Processor delayedProcessor() {
+    return new Processor() {
+
+      @Override
+      public CoreEvent process(CoreEvent event) throws MuleException {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+        return from(publisher).flatMap(event -> {
+          int value = (Integer) event.getMessage().getPayload().getValue();
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          return Mono.delay(ofMillis(100 * (5 - value)))
+              .map(l -> CoreEvent.builder(event).addVariable(RESULT_VARIABLE, value * 10).build())
+              .doOnNext(e -> {
+                inFlight.decrementAndGet();
+                completed.incrementAndGet();
+              });
+        });
+      }
+    };
+  }
+
+  private InternalTestProcessor failingOnSecondElement(RuntimeException throwable) {
+    return event -> {
+      if (event.getMessage().getPayload().getValue().equals(2)) {
+        throw throwable;
+      }
+      return event;
+    };
+  }
+
   private CoreEvent processInChain(Processor processor, CoreEvent event) throws Exception {
     return process(newChain(Optional.empty(), processor), event, false);
   }
@@ -431,6 +602,15 @@ public class ForeachTestCase extends AbstractReactiveProcessorTestCase {
     }
   }
 
+  private static class ConfigurerList extends ArrayList<EventBuilderConfigurer>
+      implements EventBuilderConfigurerList<EventBuilderConfigurer> {
+
+    @Override
+    public Iterator<EventBuilderConfigurer> eventBuilderConfigurerIterator() {
+      return iterator();
+    }
+  }
+
   public class DummySimpleIterableClass implements Iterable<String> {
 
     public List<String> strings = new ArrayList<>();
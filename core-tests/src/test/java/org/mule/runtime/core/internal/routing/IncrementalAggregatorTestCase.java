@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.tck.MuleTestUtils.APPLE_FLOW;
+import static org.mule.tck.MuleTestUtils.createAndRegisterFlow;
+
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.message.GroupCorrelation;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.tck.SensingNullMessageProcessor;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class IncrementalAggregatorTestCase extends AbstractMuleContextTestCase {
+
+  private Flow flow;
+  private int groups = 0;
+  private SensingNullMessageProcessor sensingMessageProcessor;
+
+  public IncrementalAggregatorTestCase() {
+    setStartContext(true);
+  }
+
+  @Override
+  protected Map<String, Object> getStartUpRegistryObjects() {
+    return singletonMap(REGISTRY_KEY, componentLocator);
+  }
+
+  @Before
+  public void before() throws Exception {
+    flow = createAndRegisterFlow(muleContext, APPLE_FLOW, componentLocator);
+    sensingMessageProcessor = getSensingNullMessageProcessor();
+  }
+
+  @Test
+  public void payloads() throws Exception {
+    assertThat(aggregate(EventAccumulators::payloads, "A", "B", "C"), is(asList("A", "B", "C")));
+  }
+
+  @Test
+  public void count() throws Exception {
+    assertThat(aggregate(EventAccumulators::count, "A", "B", "C"), is(3L));
+  }
+
+  @Test
+  public void sum() throws Exception {
+    assertThat(aggregate(EventAccumulators::sum, 1, 2L, 3), is(6L));
+    assertThat(aggregate(EventAccumulators::sum, 1, 2.5, 3), is(6.5));
+  }
+
+  @Test
+  public void fold() throws Exception {
+    assertThat(aggregate(() -> EventAccumulators.fold("#[accumulator ++ payload]", ""), "A", "B", "C"), is("ABC"));
+  }
+
+  @Test
+  public void groupOnlyKeepsLastEvent() throws Exception {
+    IncrementalEventGroup group = new IncrementalEventGroup("groupId", muleContext, Optional.of(3), "prefix",
+                                                            EventAccumulators.count());
+    group.initEventsStore(new PartitionedInMemoryObjectStore<>());
+
+    EventContext executionContext = create(flow, TEST_CONNECTOR_LOCATION, "groupId");
+    CoreEvent lastEvent = null;
+    for (int i = 0; i < 3; ++i) {
+      lastEvent = InternalEvent.builder(executionContext).message(of(i)).build();
+      group.addEvent(lastEvent);
+    }
+
+    assertThat(group.size(), is(3));
+    assertThat(group.toArray().length, is(1));
+    assertThat(group.toArray()[0].getMessage().getPayload().getValue(), is(2));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), is(3L));
+  }
+
+  @Test
+  public void accumulationSurvivesAccumulatorFailure() throws Exception {
+    IncrementalEventGroup group = new IncrementalEventGroup("groupId", muleContext, Optional.of(3), "prefix",
+                                                            EventAccumulators.sum());
+    group.initEventsStore(new PartitionedInMemoryObjectStore<>());
+
+    EventContext executionContext = create(flow, TEST_CONNECTOR_LOCATION, "groupId");
+    group.addEvent(InternalEvent.builder(executionContext).message(of(1)).build());
+    try {
+      group.addEvent(InternalEvent.builder(executionContext).message(of("A")).build());
+      fail("Non numeric payload was summed");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    group.addEvent(InternalEvent.builder(executionContext).message(of(2)).build());
+
+    assertThat(group.size(), is(2));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), is(3L));
+  }
+
+  @Test
+  public void persistentStoreOnlyStoresEvents() throws Exception {
+    PartitionedInMemoryObjectStore<CoreEvent> store = new PartitionedInMemoryObjectStore<CoreEvent>() {
+
+      @Override
+      public boolean isPersistent() {
+        return true;
+      }
+    };
+    IncrementalEventGroup group = new IncrementalEventGroup("groupId", muleContext, Optional.of(3), "prefix",
+                                                            EventAccumulators.payloads());
+    group.initEventsStore(store);
+
+    EventContext executionContext = create(flow, TEST_CONNECTOR_LOCATION, "groupId");
+    for (int i = 0; i < 3; ++i) {
+      group.addEvent(InternalEvent.builder(executionContext).message(of(i)).build());
+    }
+
+    assertThat(group.size(), is(3));
+    assertThat(store.allKeys("prefix.eventGroups.groupId").size(), is(3));
+    assertThat(group.toArray()[0].getMessage().getPayload().getValue(), is(2));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), is(asList(0, 1, 2)));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), is(asList(0, 1, 2)));
+  }
+
+  private Object aggregate(Supplier<EventAccumulator> accumulatorFactory, Object... payloads) throws Exception {
+    IncrementalAggregator router = new IncrementalAggregator();
+    router.setAccumulatorFactory(accumulatorFactory);
+    router.setListener(sensingMessageProcessor);
+    router.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    initialiseIfNeeded(router, true, muleContext);
+
+    EventContext executionContext = create(flow, TEST_CONNECTOR_LOCATION, "group" + groups++);
+    CoreEvent result = null;
+    for (int i = 0; i < payloads.length; ++i) {
+      if (result != null) {
+        throw new AssertionError("Group aggregated before receiving all of its events");
+      }
+      result = router.process(InternalEvent.builder(executionContext).message(of(payloads[i]))
+          .groupCorrelation(Optional.of(GroupCorrelation.of(i, payloads.length))).build());
+    }
+
+    assertThat(result, is(sensingMessageProcessor.event));
+    return result.getMessage().getPayload().getValue();
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.routing.correlation;
 
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -37,6 +40,10 @@ import org.mule.tck.probe.Probe;
 import org.mule.tck.probe.Prober;
 import org.mule.tck.size.SmallTest;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -117,6 +124,22 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     verify(mockEventGroup, times(1)).initAfterDeserialisation(mockMuleContext);
   }
 
+  @Test
+  public void sameGroupSharesLock() throws Exception {
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    assertThat(eventCorrelator.getGroupLock(TEST_GROUP_ID), sameInstance(eventCorrelator.getGroupLock(new String(TEST_GROUP_ID))));
+  }
+
+  @Test
+  public void groupsAreSpreadAmongLocks() throws Exception {
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    Set<Object> locks = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (int i = 0; i < 100; ++i) {
+      locks.add(eventCorrelator.getGroupLock(TEST_GROUP_ID + i));
+    }
+    assertThat(locks.size(), greaterThan(50));
+  }
+
   @Test
   @Ignore("MULE-7311")
   @Issue("MULE-7311")
@@ -8,7 +8,6 @@ package org.mule.runtime.core.internal.routing.forkjoin;
 
 
 import static java.lang.Integer.MAX_VALUE;
-import static java.lang.Thread.sleep;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.IntStream.range;
@@ -21,88 +20,47 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.atMost;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
-import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
-import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
-import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
-import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
-import static reactor.core.publisher.Flux.fromIterable;
-import static reactor.core.publisher.Mono.from;
-import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
-import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
-import org.mule.runtime.api.message.ErrorType;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
-import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.Processor;
-import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
-import org.mule.runtime.core.api.util.func.CheckedConsumer;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
-import org.mule.runtime.core.privileged.processor.InternalProcessor;
-import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
 import org.mule.runtime.core.privileged.routing.RoutingResult;
-import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.testmodels.fruit.Apple;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
-import java.util.function.Function;
 
 import io.qameta.allure.Description;
-import io.qameta.allure.Feature;
-import org.junit.After;
 import org.junit.Before;
-import org.junit.Rule;
 import org.junit.Test;
-import org.junit.rules.ExpectedException;
 
-@Feature(FORK_JOIN_STRATEGIES)
-public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleContextTestCase {
-
-  @Rule
-  public ExpectedException expectedException = ExpectedException.none();
+public abstract class AbstractForkJoinStrategyTestCase extends AbstractForkJoinTestCase {
 
   protected ForkJoinStrategy strategy;
-  protected ProcessingStrategy processingStrategy;
-  protected Scheduler scheduler;
-  protected ErrorType timeoutErrorType;
 
   @Before
-  public void setup() {
-    processingStrategy = mock(ProcessingStrategy.class);
-    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
-        .thenAnswer(invocation -> invocation.getArgumentAt(0, ReactiveProcessor.class));
-    scheduler = muleContext.getSchedulerService().ioScheduler();
-    timeoutErrorType = muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get();
-    setupConcurrentProcessingStrategy();
+  public void setupStrategy() {
     strategy = createStrategy(processingStrategy, Integer.MAX_VALUE, true, MAX_VALUE);
   }
 
-  @After
-  public void tearDown() {
-    scheduler.stop();
-  }
-
   protected abstract ForkJoinStrategy createStrategy(ProcessingStrategy processingStrategy, int concurrency, boolean delayErrors,
                                                      long timeout);
 
@@ -333,13 +291,6 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
     verify(scheduler, never()).submit(any(Runnable.class));
   }
 
-  private void setupConcurrentProcessingStrategy() {
-    Function<ReactiveProcessor, ReactiveProcessor> scheduleFunction =
-        processor -> publisher -> from(publisher).publishOn(fromExecutorService(scheduler)).transform(processor);
-    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
-        .thenAnswer(invocation -> scheduleFunction.apply(invocation.getArgumentAt(0, ReactiveProcessor.class)));
-  }
-
   private CompositeRoutingException assertCompositeRoutingException(Throwable throwable, int errors) {
     assertThat(throwable, instanceOf(CompositeRoutingException.class));
     CompositeRoutingException compositeRoutingException = (CompositeRoutingException) throwable;
@@ -355,76 +306,6 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
     return routingResult;
   }
 
-  protected CoreEvent invokeStrategyBlocking(ForkJoinStrategy strategy, CoreEvent original,
-                                             List<RoutingPair> routingPairs)
-      throws Throwable {
-    return invokeStrategyBlocking(strategy, original, routingPairs, throwable -> {
-    });
-  }
-
-  protected CoreEvent invokeStrategyBlocking(ForkJoinStrategy strategy, CoreEvent original,
-                                             List<RoutingPair> routingPairs,
-                                             CheckedConsumer<Throwable> verifyOnError)
-      throws Throwable {
-    try {
-      return from(strategy.forkJoin(original, fromIterable(routingPairs))).block();
-    } catch (Throwable throwable) {
-      throwable = rxExceptionToMuleException(throwable);
-      verifyOnError.accept(throwable);
-      throw throwable;
-    }
-  }
-
-  private MessageProcessorChain createFailingRoutingPair(RuntimeException exception) throws MuleException {
-    return createChain((InternalTestProcessor) event -> {
-      throw exception;
-    });
-  }
-
-  protected Processor createProcessorSpy(Message result) throws MuleException {
-    // Mockito does not support lambda
-    return spy(new InternalTestProcessor() {
-
-      @Override
-      public CoreEvent process(CoreEvent event) throws MuleException {
-        return CoreEvent.builder(event).message(result).build();
-      }
-    });
-  }
-
-  protected RoutingPair createRoutingPair(Processor processor) throws MuleException {
-    return of(testEvent(), createChain(processor));
-  }
-
-  protected RoutingPair createRoutingPair(Message result) throws MuleException {
-    return createRoutingPairWithSleep(result, 0);
-  }
-
-  private RoutingPair createRoutingPairWithSleep(Message result, long sleep) throws MuleException {
-    return of(testEvent(), createChain(new SleepingProcessor(result, sleep)));
-  }
-
-  static class SleepingProcessor extends AbstractComponent implements Processor {
-
-    long sleep;
-    Message result;
-
-    public SleepingProcessor(Message result, long sleep) {
-      this.result = result;
-      this.sleep = sleep;
-    }
-
-    @Override
-    public CoreEvent process(CoreEvent event) throws MuleException {
-      try {
-        sleep(sleep);
-      } catch (InterruptedException e) {
-        throw new RuntimeException(e);
-      }
-      return CoreEvent.builder(event).message(result).build();
-    }
-  }
-
   private List<RoutingPair> createRoutingPairs(int number) {
     return createRoutingPairs(number, 0);
   }
@@ -438,15 +319,4 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
       }
     }).collect(toList());
   }
-
-  private MessageProcessorChain createChain(Processor processor) throws MuleException {
-    MessageProcessorChain chain = newChain(Optional.empty(), processor);
-    chain.setMuleContext(muleContext);
-    return chain;
-  }
-
-  @FunctionalInterface
-  private interface InternalTestProcessor extends Processor, InternalProcessor {
-
-  }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Thread.sleep;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.component.AbstractComponent;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.processor.InternalProcessor;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import io.qameta.allure.Feature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Fixture for the tests of the {@link ForkJoinStrategy} implementations: a processing strategy which runs each route in the IO
+ * scheduler, and helpers to create routes and invoke the strategy.
+ */
+@Feature(FORK_JOIN_STRATEGIES)
+public abstract class AbstractForkJoinTestCase extends AbstractMuleContextTestCase {
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  protected ProcessingStrategy processingStrategy;
+  protected Scheduler scheduler;
+  protected ErrorType timeoutErrorType;
+
+  @Before
+  public void setup() {
+    processingStrategy = mock(ProcessingStrategy.class);
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+    timeoutErrorType = muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get();
+    setupConcurrentProcessingStrategy();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+  }
+
+  protected void setupConcurrentProcessingStrategy() {
+    Function<ReactiveProcessor, ReactiveProcessor> scheduleFunction =
+        processor -> publisher -> from(publisher).publishOn(fromExecutorService(scheduler)).transform(processor);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> scheduleFunction.apply(invocation.getArgumentAt(0, ReactiveProcessor.class)));
+  }
+
+  protected CoreEvent invokeStrategyBlocking(ForkJoinStrategy strategy, CoreEvent original,
+                                             List<RoutingPair> routingPairs)
+      throws Throwable {
+    return invokeStrategyBlocking(strategy, original, routingPairs, throwable -> {
+    });
+  }
+
+  protected CoreEvent invokeStrategyBlocking(ForkJoinStrategy strategy, CoreEvent original,
+                                             List<RoutingPair> routingPairs,
+                                             CheckedConsumer<Throwable> verifyOnError)
+      throws Throwable {
+    try {
+      return from(strategy.forkJoin(original, fromIterable(routingPairs))).block();
+    } catch (Throwable throwable) {
+      throwable = rxExceptionToMuleException(throwable);
+      verifyOnError.accept(throwable);
+      throw throwable;
+    }
+  }
+
+  protected MessageProcessorChain createFailingRoutingPair(RuntimeException exception) throws MuleException {
+    return createChain((InternalTestProcessor) event -> {
+      throw exception;
+    });
+  }
+
+  protected RoutingPair createFailingRoute() throws MuleException {
+    return of(testEvent(), createFailingRoutingPair(new IllegalStateException()));
+  }
+
+  protected Processor createProcessorSpy(Message result) throws MuleException {
+    // Mockito does not support lambda
+    return spy(new InternalTestProcessor() {
+
+      @Override
+      public CoreEvent process(CoreEvent event) throws MuleException {
+        return CoreEvent.builder(event).message(result).build();
+      }
+    });
+  }
+
+  protected RoutingPair createRoutingPair(Processor processor) throws MuleException {
+    return of(testEvent(), createChain(processor));
+  }
+
+  protected RoutingPair createRoutingPair(Message result) throws MuleException {
+    return createRoutingPairWithSleep(result, 0);
+  }
+
+  protected RoutingPair createRoutingPairWithSleep(Message result, long sleep) throws MuleException {
+    return of(testEvent(), createChain(new SleepingProcessor(result, sleep)));
+  }
+
+  protected MessageProcessorChain createChain(Processor processor) throws MuleException {
+    MessageProcessorChain chain = newChain(Optional.empty(), processor);
+    chain.setMuleContext(muleContext);
+    return chain;
+  }
+
+  static class SleepingProcessor extends AbstractComponent implements Processor {
+
+    long sleep;
+    Message result;
+
+    public SleepingProcessor(Message result, long sleep) {
+      this.result = result;
+      this.sleep = sleep;
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      try {
+        sleep(sleep);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      return CoreEvent.builder(event).message(result).build();
+    }
+  }
+
+  @FunctionalInterface
+  protected interface InternalTestProcessor extends Processor, InternalProcessor {
+
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.FIRST_COMPLETED;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Story(FIRST_COMPLETED)
+public class FirstCompletedForkJoinStrategyTestCase extends AbstractForkJoinTestCase {
+
+  private static final long SLOW_ROUTE_SLEEP = 5000;
+
+  private ForkJoinStrategy createStrategy(boolean delayErrors) {
+    return new FirstCompletedForkJoinStrategyFactory()
+        .createForkJoinStrategy(processingStrategy, Integer.MAX_VALUE, delayErrors, MAX_VALUE, scheduler, timeoutErrorType);
+  }
+
+  @Test
+  @Description("The strategy completes with the result of the first route that completes successfully.")
+  public void firstCompleted() throws Throwable {
+    Message fastRouteResult = of(2);
+    CoreEvent result = invokeStrategyBlocking(createStrategy(true), testEvent(),
+                                              asList(createRoutingPairWithSleep(of(1), SLOW_ROUTE_SLEEP),
+                                                     createFailingRoute(),
+                                                     createRoutingPair(fastRouteResult)));
+
+    assertThat(result.getMessage(), is(fastRouteResult));
+  }
+
+  @Test
+  @Description("The variables set by the first completed route are kept.")
+  public void variables() throws Throwable {
+    RoutingPair pair = of(testEvent(), createChain((InternalTestProcessor) event -> CoreEvent.builder(event)
+        .addVariable("route", "fast").build()));
+    CoreEvent result = invokeStrategyBlocking(createStrategy(true), testEvent(),
+                                              asList(createRoutingPairWithSleep(of(1), SLOW_ROUTE_SLEEP), pair));
+
+    assertThat(result.getVariables().get("route").getValue(), is("fast"));
+  }
+
+  @Test
+  @Description("When all routes fail a CompositeRoutingException is thrown with the errors of all routes.")
+  public void allRoutesFailed() throws Throwable {
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+    invokeStrategyBlocking(createStrategy(true), testEvent(), asList(createFailingRoute(), createFailingRoute()),
+                           throwable -> {
+                             RoutingResult routingResult =
+                                 (RoutingResult) ((CompositeRoutingException) throwable).getErrorMessage().getPayload().getValue();
+                             assertThat(routingResult.getResults().size(), is(0));
+                             assertThat(routingResult.getFailures().size(), is(2));
+                           });
+  }
+}
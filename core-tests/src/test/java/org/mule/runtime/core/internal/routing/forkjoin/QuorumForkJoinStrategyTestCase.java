@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.QUORUM;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.List;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Story(QUORUM)
+public class QuorumForkJoinStrategyTestCase extends AbstractForkJoinTestCase {
+
+  private static final long SLOW_ROUTE_SLEEP = 5000;
+
+  private ForkJoinStrategy createStrategy(int minSuccessful, boolean delayErrors) {
+    return new QuorumForkJoinStrategyFactory(minSuccessful)
+        .createForkJoinStrategy(processingStrategy, Integer.MAX_VALUE, delayErrors, MAX_VALUE, scheduler, timeoutErrorType);
+  }
+
+  @Test
+  @Description("The strategy completes once the required number of routes complete, without waiting for the remaining routes.")
+  public void quorum() throws Throwable {
+    Message route1Result = of(1);
+    Message route3Result = of(3);
+    CoreEvent result = invokeStrategyBlocking(createStrategy(2, true), testEvent(),
+                                              asList(createRoutingPair(route1Result),
+                                                     createRoutingPairWithSleep(of(2), SLOW_ROUTE_SLEEP),
+                                                     createRoutingPairWithSleep(route3Result, 100)));
+
+    List<Message> resultList = (List<Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultList, hasSize(2));
+    assertThat(resultList, hasItems(route1Result, route3Result));
+  }
+
+  @Test
+  @Description("The child contexts of the cancelled routes are completed so they don't hold back the completion of the original event.")
+  public void cancelledRoutesComplete() throws Throwable {
+    CoreEvent original = testEvent();
+    CoreEvent result = invokeStrategyBlocking(createStrategy(1, true), original,
+                                              asList(createRoutingPair(of(1)),
+                                                     createRoutingPairWithSleep(of(2), SLOW_ROUTE_SLEEP)));
+
+    ((BaseEventContext) original.getContext()).success(result);
+    assertThat(((BaseEventContext) original.getContext()).isComplete(), is(true));
+  }
+
+  @Test
+  @Description("Failed routes don't fail the strategy as long as the required number of routes complete successfully.")
+  public void failedRouteWithQuorum() throws Throwable {
+    CoreEvent result = invokeStrategyBlocking(createStrategy(2, true), testEvent(),
+                                              asList(createFailingRoute(), createRoutingPair(of(1)),
+                                                     createRoutingPair(of(2))));
+
+    assertThat((List<Message>) result.getMessage().getPayload().getValue(), hasSize(2));
+  }
+
+  @Test
+  @Description("When the required number of routes can't complete successfully a CompositeRoutingException is thrown with the results of all routes.")
+  public void quorumNotReached() throws Throwable {
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+    invokeStrategyBlocking(createStrategy(2, true), testEvent(),
+                           asList(createFailingRoute(), createFailingRoute(), createRoutingPair(of(1))),
+                           throwable -> {
+                             RoutingResult routingResult =
+                                 (RoutingResult) ((CompositeRoutingException) throwable).getErrorMessage().getPayload().getValue();
+                             assertThat(routingResult.getResults().size(), is(1));
+                             assertThat(routingResult.getFailures().size(), is(2));
+                           });
+  }
+
+  @Test
+  @Description("Without delayed errors the first failed route fails the strategy.")
+  public void errorEager() throws Throwable {
+    expectedException.expect(instanceOf(MessagingException.class));
+    expectedException.expectCause(instanceOf(IllegalStateException.class));
+    invokeStrategyBlocking(createStrategy(1, false), testEvent(),
+                           asList(createFailingRoute(), createRoutingPairWithSleep(of(1), SLOW_ROUTE_SLEEP)));
+  }
+}
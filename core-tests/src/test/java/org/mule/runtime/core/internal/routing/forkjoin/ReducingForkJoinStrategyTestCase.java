@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.JOIN_ONLY;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Story(JOIN_ONLY)
+public class ReducingForkJoinStrategyTestCase extends AbstractForkJoinTestCase {
+
+  private ForkJoinStrategy createStrategy(boolean delayErrors) {
+    return new ReducingForkJoinStrategyFactory(true)
+        .createForkJoinStrategy(processingStrategy, Integer.MAX_VALUE, delayErrors, MAX_VALUE, scheduler, timeoutErrorType);
+  }
+
+  @Test
+  @Description("The strategy returns the original message with the variables set by the routes merged.")
+  public void variablesMerged() throws Throwable {
+    CoreEvent original = testEvent();
+    CoreEvent result = invokeStrategyBlocking(createStrategy(false), original,
+                                              asList(settingVariable("route1", 1), settingVariable("shared", 2),
+                                                     settingVariable("shared", 3)));
+
+    assertThat(result.getMessage(), is(original.getMessage()));
+    assertThat(result.getVariables().get("route1").getValue(), is(1));
+    assertThat(result.getVariables().get("shared").getValue(), is(asList(2, 3)));
+  }
+
+  @Test
+  @Description("With delayed errors all routes are processed and a CompositeRoutingException is thrown with the failed routes.")
+  public void errorDelayed() throws Throwable {
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+    invokeStrategyBlocking(createStrategy(true), testEvent(),
+                           asList(createRoutingPair(of(1)), createFailingRoute(), createRoutingPair(of(2))),
+                           throwable -> {
+                             RoutingResult routingResult =
+                                 (RoutingResult) ((CompositeRoutingException) throwable).getErrorMessage().getPayload().getValue();
+                             assertThat(routingResult.getResults().size(), is(0));
+                             assertThat(routingResult.getFailures().size(), is(1));
+                           });
+  }
+
+  private RoutingPair settingVariable(String name, Object value) throws Exception {
+    return createRoutingPair((InternalTestProcessor) event -> CoreEvent.builder(event).addVariable(name, value).build());
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.util.Arrays.asList;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.core.internal.serialization.AbstractSerializerProtocolContractTestCase;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  private static final String PAYLOAD = "Hello World";
+  private static final String ATTRIBUTES = "attributes";
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactObjectSerializer objectSerializer = new CompactObjectSerializer();
+    objectSerializer.setMuleContext(muleContext);
+    serializationProtocol = objectSerializer.getExternalProtocol();
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void primitives() throws Exception {
+    for (Object value : asList(true, false, 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MIN_VALUE, 42L, (short) 7,
+                               (byte) -3, 'x', 1.5f, -2.25d, "", "\u00e9t\u00e9")) {
+      assertThat(serializationProtocol.deserialize(serializationProtocol.serialize(value)), equalTo(value));
+    }
+  }
+
+  @Test
+  public void collectionsKeepTheirClass() throws Exception {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("list", new LinkedList<>(asList("a", "b")));
+    map.put("set", new LinkedHashSet<>(asList(1, 2)));
+    map.put("array", new ArrayList<>(asList(1L, "c")));
+
+    Map<String, Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(map));
+
+    assertThat(deserialized, instanceOf(LinkedHashMap.class));
+    assertThat(deserialized.get("list"), instanceOf(LinkedList.class));
+    assertThat(deserialized.get("set"), instanceOf(LinkedHashSet.class));
+    assertThat(deserialized, equalTo(map));
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    DataType dataType = DataType.builder().type(String.class).mediaType(APPLICATION_JSON).charset(UTF_16).build();
+    TypedValue<String> typedValue = new TypedValue<>("{}", dataType);
+
+    TypedValue<String> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(typedValue));
+
+    assertThat(deserialized.getValue(), is("{}"));
+    assertThat(deserialized.getDataType(), equalTo(dataType));
+  }
+
+  @Test
+  public void collectionDataType() throws Exception {
+    DataType dataType = DataType.builder().collectionType(List.class).itemType(String.class).build();
+    assertThat(serializationProtocol.deserialize(serializationProtocol.serialize(dataType)), equalTo(dataType));
+  }
+
+  @Test
+  public void event() throws Exception {
+    CoreEvent event = getEventBuilder()
+        .message(Message.builder().value(PAYLOAD).attributesValue(ATTRIBUTES).build())
+        .addVariable("count", 3)
+        .addVariable("items", new ArrayList<>(asList("a", "b")))
+        .itemSequenceInfo(of(ItemSequenceInfo.of(2, 5)))
+        .build();
+
+    CoreEvent deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(event));
+
+    assertThat(deserialized.getContext().getId(), is(event.getContext().getId()));
+    assertThat(deserialized.getCorrelationId(), is(event.getCorrelationId()));
+    assertThat(deserialized.getMessage().getPayload().getValue(), is(PAYLOAD));
+    assertThat(deserialized.getMessage().getPayload().getDataType(), equalTo(event.getMessage().getPayload().getDataType()));
+    assertThat(deserialized.getMessage().getAttributes().getValue(), is(ATTRIBUTES));
+    assertThat(deserialized.getVariables().get("count").getValue(), is(3));
+    assertThat((List<String>) deserialized.getVariables().get("items").getValue(), contains("a", "b"));
+    assertThat(deserialized.getItemSequenceInfo().get().getPosition(), is(2));
+    assertThat(deserialized.getItemSequenceInfo().get().getSequenceSize().getAsInt(), is(5));
+  }
+
+  @Test
+  public void eventContext() throws Exception {
+    JavaExternalSerializerProtocol javaProtocol = new JavaExternalSerializerProtocol();
+    javaProtocol.setMuleContext(muleContext);
+    BaseEventContext context = (BaseEventContext) testEvent().getContext();
+
+    byte[] serialized = serializationProtocol.serialize(context);
+    BaseEventContext deserialized = serializationProtocol.deserialize(serialized);
+
+    assertThat(deserialized.getId(), is(context.getId()));
+    assertThat(deserialized.getServerId(), is(context.getServerId()));
+    assertThat(deserialized.getCorrelationId(), is(context.getCorrelationId()));
+    assertThat(deserialized.isCorrelationIdFromSource(), is(context.isCorrelationIdFromSource()));
+    assertThat(deserialized.getReceivedTime(), equalTo(context.getReceivedTime()));
+    assertThat(deserialized.getOriginatingLocation().getLocation(), is(context.getOriginatingLocation().getLocation()));
+    assertThat(serialized.length, lessThan(javaProtocol.serialize(context).length));
+  }
+
+  @Test
+  public void selfContainingCollection() throws Exception {
+    List<Object> list = new ArrayList<>();
+    list.add(list);
+
+    List<Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(list));
+
+    assertThat(deserialized.get(0), sameInstance(deserialized));
+  }
+
+  @Test
+  public void sharedReferencesKeepTheirIdentity() throws Exception {
+    List<String> items = new ArrayList<>(asList("a", "b"));
+    TypedValue<String> typedValue = new TypedValue<>(PAYLOAD, DataType.STRING);
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("items", items);
+    map.put("sameItems", items);
+    map.put("typedValue", typedValue);
+    map.put("sameTypedValue", typedValue);
+
+    Map<String, Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(map));
+
+    assertThat(deserialized.get("items"), equalTo(items));
+    assertThat(deserialized.get("sameItems"), sameInstance(deserialized.get("items")));
+    assertThat(deserialized.get("sameTypedValue"), sameInstance(deserialized.get("typedValue")));
+  }
+
+  @Test
+  public void cyclicTypedValue() throws Exception {
+    List<Object> items = new ArrayList<>();
+    TypedValue<List<Object>> typedValue = new TypedValue<>(items, DataType.fromObject(items));
+    items.add(typedValue);
+
+    TypedValue<List<Object>> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(typedValue));
+
+    assertThat(deserialized.getValue().get(0), sameInstance(deserialized));
+  }
+
+  @Test
+  public void javaSerializedValuesKeepTheirIdentity() throws Exception {
+    SerializableValue value = new SerializableValue();
+    List<Object> list = new ArrayList<>(asList(value, new SerializableValue(), value));
+
+    List<Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(list));
+
+    assertThat(deserialized.get(0), instanceOf(SerializableValue.class));
+    assertThat(deserialized.get(2), sameInstance(deserialized.get(0)));
+  }
+
+  @Test
+  public void readsJavaSerializedData() throws Exception {
+    JavaExternalSerializerProtocol javaProtocol = new JavaExternalSerializerProtocol();
+    javaProtocol.setMuleContext(muleContext);
+    Map<String, String> map = new HashMap<>();
+    map.put("key", PAYLOAD);
+
+    assertThat(serializationProtocol.deserialize(javaProtocol.serialize(map)), equalTo(map));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    JavaExternalSerializerProtocol javaProtocol = new JavaExternalSerializerProtocol();
+    javaProtocol.setMuleContext(muleContext);
+    Message message = Message.builder().value(PAYLOAD).attributesValue(ATTRIBUTES).build();
+
+    assertThat(serializationProtocol.serialize(message).length, lessThan(javaProtocol.serialize(message).length));
+  }
+
+  private static class SerializableValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+  }
+}
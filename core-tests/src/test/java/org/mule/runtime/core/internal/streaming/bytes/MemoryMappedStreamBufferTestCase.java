@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+import static org.mule.runtime.core.internal.streaming.bytes.MemoryMappedStreamBuffer.MAPPED_REGION_SIZE;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.tck.core.streaming.SimpleByteBufferManager;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class MemoryMappedStreamBufferTestCase extends AbstractByteStreamingTestCase {
+
+  private SimpleByteBufferManager bufferManager = new SimpleByteBufferManager();
+  private MemoryMappedCursorStreamProvider streamProvider;
+
+  public MemoryMappedStreamBufferTestCase() {
+    super(MB_2);
+  }
+
+  @Before
+  public void before() {
+    FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(KB_256, BYTE));
+    streamProvider =
+        new MemoryMappedCursorStreamProvider(new ByteArrayInputStream(data.getBytes()), config, bufferManager);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+  }
+
+  @Test
+  public void readBeyondInMemorySize() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(toString(cursor), equalTo(data));
+    }
+  }
+
+  @Test
+  public void rewindOverSpilledData() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(toString(cursor), equalTo(data));
+      cursor.seek(MB_1);
+      assertThat(toString(cursor), equalTo(data.substring(MB_1)));
+    }
+  }
+
+  @Test
+  public void concurrentCursors() throws Exception {
+    try (CursorStream first = streamProvider.openCursor(); CursorStream second = streamProvider.openCursor()) {
+      assertThat(toString(first), equalTo(data));
+      assertThat(toString(second), equalTo(data));
+    }
+  }
+
+  @Test
+  public void viewsOverMappedRegion() throws Exception {
+    MemoryMappedStreamBuffer buffer =
+        new MemoryMappedStreamBuffer(new ByteArrayInputStream(data.getBytes()),
+                                     new FileStoreCursorStreamConfig(new DataSize(KB_256, BYTE)),
+                                     bufferManager);
+    try {
+      ByteBuffer read = buffer.get(MB_1, 10);
+      assertThat(read.remaining(), is(10));
+      assertThat(toString(read), equalTo(data.substring(MB_1, MB_1 + 10)));
+    } finally {
+      buffer.close();
+    }
+  }
+
+  @Test
+  public void readAcrossMappedRegions() throws Exception {
+    byte[] bytes = new byte[KB_256 + MAPPED_REGION_SIZE + MB_1];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (i % 251);
+    }
+
+    MemoryMappedCursorStreamProvider provider =
+        new MemoryMappedCursorStreamProvider(new ByteArrayInputStream(bytes),
+                                             new FileStoreCursorStreamConfig(new DataSize(KB_256, BYTE)),
+                                             bufferManager);
+    try (CursorStream cursor = provider.openCursor()) {
+      assertThat(toByteArray(cursor), equalTo(bytes));
+
+      int regionBoundary = KB_256 + MAPPED_REGION_SIZE;
+      cursor.seek(regionBoundary - 5);
+      byte[] read = new byte[10];
+      assertThat(cursor.read(read), is(10));
+      for (int i = 0; i < read.length; i++) {
+        assertThat(read[i], is(bytes[regionBoundary - 5 + i]));
+      }
+    } finally {
+      provider.close();
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class SizeClassedByteBufferManagerTestCase extends AbstractMuleTestCase {
+
+  private static final int CAPACITY = 100;
+  private static final int SLAB_SIZE = 1024;
+
+  private MutableStreamingStatistics statistics = new MutableStreamingStatistics();
+  private SizeClassedByteBufferManager bufferManager = new SizeClassedByteBufferManager(statistics);
+
+  @After
+  public void after() {
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void exactCapacity() {
+    assertCapacity(CAPACITY);
+    assertCapacity(CAPACITY + 1);
+    assertCapacity(SLAB_SIZE);
+    assertCapacity(SLAB_SIZE + 1);
+  }
+
+  @Test
+  public void offHeap() {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    try {
+      assertThat(buffer.isDirect(), is(true));
+    } finally {
+      bufferManager.deallocate(buffer);
+    }
+  }
+
+  @Test
+  public void sameSizeClassReusesMemory() {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    long reserved = bufferManager.getReservedMemory();
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer otherBuffer = bufferManager.allocate(CAPACITY + 1);
+    try {
+      assertThat(bufferManager.getReservedMemory(), is(reserved));
+    } finally {
+      bufferManager.deallocate(otherBuffer);
+    }
+  }
+
+  @Test
+  public void grow() {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
+
+    assertThat(buffer, not(sameInstance(newBuffer)));
+    assertThat(bufferManager.getReservedMemory(), is((long) SLAB_SIZE * 2));
+  }
+
+  @Test
+  public void statistics() {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    assertThat(statistics.getBufferMemoryInUse(), is((long) SLAB_SIZE));
+    assertThat(statistics.getPooledBufferMemory(), is(0L));
+
+    bufferManager.deallocate(buffer);
+    assertThat(statistics.getBufferMemoryInUse(), is(0L));
+    assertThat(statistics.getPooledBufferMemory(), is((long) SLAB_SIZE));
+  }
+
+  @Test
+  public void sizeClasses() {
+    assertThat(SizeClassedByteBufferManager.sizeClassOf(0), is(0));
+    assertThat(SizeClassedByteBufferManager.sizeClassOf(SLAB_SIZE), is(0));
+    assertThat(SizeClassedByteBufferManager.sizeClassOf(SLAB_SIZE + 1), is(1));
+    assertThat(SizeClassedByteBufferManager.sizeClassOf(Integer.MAX_VALUE), is(-1));
+  }
+
+  @Test
+  public void limitTotalMemory() throws Exception {
+    final long waitTimeoutMillis = SECONDS.toMillis(2);
+
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn((long) SLAB_SIZE * 4);
+
+    bufferManager.dispose();
+    bufferManager = new SizeClassedByteBufferManager(memoryManager, waitTimeoutMillis, statistics);
+
+    ByteBuffer buffer1 = bufferManager.allocate(CAPACITY);
+    bufferManager.allocate(CAPACITY);
+
+    Latch latch = new Latch();
+    Reference<Boolean> maxMemoryExhausted = new Reference<>(false);
+
+    new Thread(() -> {
+      try {
+        bufferManager.allocate(CAPACITY);
+        latch.release();
+      } catch (Exception e) {
+        maxMemoryExhausted.set(e.getCause() instanceof MaxStreamingMemoryExceededException);
+      }
+    }).start();
+
+    assertThat(latch.await(waitTimeoutMillis * 2, MILLISECONDS), is(false));
+    assertThat(maxMemoryExhausted.get(), is(true));
+
+    bufferManager.deallocate(buffer1);
+
+    Latch secondLatch = new Latch();
+    new Thread(() -> {
+      try {
+        bufferManager.allocate(CAPACITY);
+        maxMemoryExhausted.set(false);
+      } finally {
+        secondLatch.release();
+      }
+    }).start();
+
+    assertThat(secondLatch.await(waitTimeoutMillis, MILLISECONDS), is(true));
+    assertThat(maxMemoryExhausted.get(), is(false));
+  }
+
+  @Test
+  public void magazineOfFinishedThreadIsReclaimed() throws Exception {
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn((long) SLAB_SIZE * 8);
+
+    bufferManager.dispose();
+    bufferManager = new SizeClassedByteBufferManager(memoryManager, 100, statistics);
+
+    Thread thread = new Thread(() -> bufferManager.deallocate(bufferManager.allocate(CAPACITY)));
+    thread.start();
+    thread.join();
+    assertThat(bufferManager.getReservedMemory(), is((long) SLAB_SIZE));
+
+    // the slab cached by the finished thread has to be reclaimed for the last one to fit
+    for (int i = 0; i < 4; i++) {
+      bufferManager.allocate(CAPACITY);
+    }
+    assertThat(bufferManager.getReservedMemory(), is((long) SLAB_SIZE * 4));
+  }
+
+  @Test
+  public void disposeReclaimsMagazines() {
+    bufferManager.deallocate(bufferManager.allocate(CAPACITY));
+    assertThat(statistics.getPooledBufferMemory(), is((long) SLAB_SIZE));
+
+    bufferManager.dispose();
+    assertThat(bufferManager.getReservedMemory(), is(0L));
+    assertThat(statistics.getPooledBufferMemory(), is(0L));
+  }
+
+  private void assertCapacity(int capacity) {
+    ByteBuffer buffer = bufferManager.allocate(capacity);
+    try {
+      assertThat(buffer.capacity(), is(capacity));
+      assertThat(buffer.remaining(), is(capacity));
+    } finally {
+      bufferManager.deallocate(buffer);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 1000;
+  private static final int MAX_IN_MEMORY = 100;
+  private static final int BUCKET_SIZE = 10;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Test
+  public void readBeyondMaxInMemoryInstances() throws Exception {
+    FileStoreCursorIteratorProvider provider = createProvider();
+    try (CursorIterator<Object> cursor = provider.openCursor()) {
+      checkEquals(data, cursor);
+    } finally {
+      provider.close();
+    }
+  }
+
+  @Test
+  public void seekIntoSpilledBucket() throws Exception {
+    FileStoreCursorIteratorProvider provider = createProvider();
+    try (CursorIterator<Object> cursor = provider.openCursor()) {
+      checkEquals(data, cursor);
+      cursor.seek(5);
+      assertThat(cursor.next(), equalTo(data.get(5)));
+      cursor.seek(DATA_SIZE - 1);
+      assertThat(cursor.next(), equalTo(data.get(DATA_SIZE - 1)));
+      assertThat(cursor.hasNext(), is(false));
+    } finally {
+      provider.close();
+    }
+  }
+
+  @Test
+  public void concurrentCursors() throws Exception {
+    FileStoreCursorIteratorProvider provider = createProvider();
+    try (CursorIterator<Object> first = provider.openCursor(); CursorIterator<Object> second = provider.openCursor()) {
+      List<Object> firstRead = new ArrayList<>();
+      List<Object> secondRead = new ArrayList<>();
+      while (first.hasNext()) {
+        firstRead.add(first.next());
+        if (second.hasNext()) {
+          secondRead.add(second.next());
+        }
+      }
+      while (second.hasNext()) {
+        secondRead.add(second.next());
+      }
+
+      checkEquals(firstRead, data);
+      checkEquals(secondRead, data);
+    } finally {
+      provider.close();
+    }
+  }
+
+  @Test
+  public void positions() {
+    FileStoreObjectStreamBuffer<Object> buffer =
+        new FileStoreObjectStreamBuffer<>(data.iterator(), new FileStoreCursorIteratorConfig(MAX_IN_MEMORY, BUCKET_SIZE),
+                                          muleContext.getObjectSerializer());
+    Position position = buffer.toPosition(BUCKET_SIZE * 3 + 4);
+    assertThat(position.getBucketIndex(), is(3));
+    assertThat(position.getItemIndex(), is(4));
+  }
+
+  private FileStoreCursorIteratorProvider createProvider() {
+    Iterator<Object> stream = toStreamingIterator(data);
+    return new FileStoreCursorIteratorProvider(stream, new FileStoreCursorIteratorConfig(MAX_IN_MEMORY, BUCKET_SIZE),
+                                               muleContext.getObjectSerializer());
+  }
+}
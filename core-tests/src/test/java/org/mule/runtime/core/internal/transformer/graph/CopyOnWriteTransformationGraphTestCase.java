@@ -7,6 +7,10 @@
 
 package org.mule.runtime.core.internal.transformer.graph;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -22,7 +26,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
-public class SynchronizedTransformationGraphTestCase extends TransformationGraphTestCase {
+public class CopyOnWriteTransformationGraphTestCase extends TransformationGraphTestCase {
 
   private static int CONCURRENCY_TEST_SIZE = 1000;
   private static int MAX_TIMEOUT_SECONDS = 20;
@@ -33,7 +37,7 @@ public class SynchronizedTransformationGraphTestCase extends TransformationGraph
     final Converter xmlToJson = new MockConverterBuilder().from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
     final Converter inputStreamToXml = new MockConverterBuilder().from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
 
-    final SynchronizedTransformationGraph graph = new SynchronizedTransformationGraph();
+    final CopyOnWriteTransformationGraph graph = new CopyOnWriteTransformationGraph();
     final TransformationGraphLookupStrategy lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
 
     Runnable addTransformer = new Runnable() {
@@ -61,6 +65,64 @@ public class SynchronizedTransformationGraphTestCase extends TransformationGraph
     assertConcurrent("Modify transformers while resolving it", runnables, MAX_TIMEOUT_SECONDS);
   }
 
+  @Test
+  public void snapshotIsNotModified() {
+    final Converter xmlToJson = new MockConverterBuilder().from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    final Converter inputStreamToXml = new MockConverterBuilder().from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+
+    final CopyOnWriteTransformationGraph graph = new CopyOnWriteTransformationGraph();
+    graph.addConverter(xmlToJson);
+    TransformationGraph snapshot = graph.snapshot();
+
+    graph.addConverter(inputStreamToXml);
+    assertThat(snapshot.containsVertex(INPUT_STREAM_DATA_TYPE), is(false));
+    assertThat(graph.containsVertex(INPUT_STREAM_DATA_TYPE), is(true));
+
+    snapshot = graph.snapshot();
+    graph.removeConverter(xmlToJson);
+    assertThat(snapshot.containsVertex(JSON_DATA_TYPE), is(true));
+    assertThat(graph.containsVertex(JSON_DATA_TYPE), is(false));
+  }
+
+  @Test
+  public void copyKeepsRegistrationOrder() {
+    CopyOnWriteTransformationGraph graph = new CopyOnWriteTransformationGraph();
+    List<Converter> registered = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      registered.add(new MockConverterBuilder().named("converter" + i).from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build());
+      registered.add(new MockConverterBuilder().named("reverse" + i).from(JSON_DATA_TYPE).to(XML_DATA_TYPE).build());
+    }
+    registered.forEach(graph::addConverter);
+
+    TransformationGraph snapshot = graph.snapshot();
+    assertThat(converters(snapshot), is(registered));
+    assertThat(converters(new TransformationGraph(snapshot)), is(registered));
+  }
+
+  @Test
+  public void registrationsAreCopiedOnNextRead() {
+    CopyOnWriteTransformationGraph graph = new CopyOnWriteTransformationGraph();
+    graph.addConverter(new MockConverterBuilder().from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build());
+    graph.addConverter(new MockConverterBuilder().from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build());
+
+    TransformationGraph snapshot = graph.snapshot();
+    assertThat(graph.snapshot(), is(sameInstance(snapshot)));
+    assertThat(snapshot.containsVertex(INPUT_STREAM_DATA_TYPE), is(true));
+    assertThat(snapshot.containsVertex(JSON_DATA_TYPE), is(true));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void outgoingEdgesCannotBeModified() {
+    CopyOnWriteTransformationGraph graph = new CopyOnWriteTransformationGraph();
+    graph.addConverter(new MockConverterBuilder().from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build());
+
+    graph.outgoingEdgesOf(XML_DATA_TYPE).clear();
+  }
+
+  private List<Converter> converters(TransformationGraph graph) {
+    return graph.edgeSet().stream().map(TransformationEdge::getConverter).collect(toList());
+  }
+
   public static void assertConcurrent(final String message, final List<? extends Runnable> runnables, final int maxTimeoutSeconds)
       throws InterruptedException {
     final int numThreads = runnables.size();
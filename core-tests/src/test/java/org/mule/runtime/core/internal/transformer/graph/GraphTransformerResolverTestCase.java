@@ -12,7 +12,9 @@ import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mule.runtime.core.internal.transformer.graph.GraphTransformerResolver.MAX_CACHED_CONVERSIONS;
 
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.tck.size.SmallTest;
@@ -44,6 +46,22 @@ public class GraphTransformerResolverTestCase extends AbstractTransformationGrap
     assertSame(transformer1, transformer2);
   }
 
+  @Test
+  public void recentlyUsedConversionsStayCachedPastTheLimit() throws ResolverException {
+    Converter xmlToJson = new MockConverterBuilder().from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    Converter inputStreamToXml = new MockConverterBuilder().from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+
+    Transformer transformer = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    for (int i = 0; i < MAX_CACHED_CONVERSIONS * 2; i++) {
+      DataType source = DataType.builder().type(Object.class).mediaType("application/x-test" + i).build();
+      graphResolver.resolve(source, JSON_DATA_TYPE);
+      assertSame(transformer, graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE));
+    }
+  }
+
   @Test
   public void clearsCacheWhenAddsConverter() throws ResolverException {
     Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
@@ -63,6 +81,19 @@ public class GraphTransformerResolverTestCase extends AbstractTransformationGrap
     assertNotSame(transformer1, transformer2);
   }
 
+  @Test
+  public void clearsCachedMissingConversionWhenAddsConverter() throws ResolverException {
+    Converter inputStreamToXml = new MockConverterBuilder().from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+
+    assertNull(graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE));
+
+    Converter xmlToJson = new MockConverterBuilder().from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+
+    assertNotNull(graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE));
+  }
+
   @Test
   public void ignoresAddedTransformer() throws ResolverException {
     Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
@@ -31,7 +31,7 @@ import org.junit.Test;
 public class TransformationGraphLookupStrategyTestCase extends AbstractTransformationGraphTestCase {
 
 
-  private SynchronizedTransformationGraph graph = new SynchronizedTransformationGraph();
+  private CopyOnWriteTransformationGraph graph = new CopyOnWriteTransformationGraph();
   private TransformationGraphLookupStrategy lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
 
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.queue.MemoryMappedQueueStoreDelegate.SEGMENT_FILE_EXTENSION;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
+import org.mule.tck.core.util.queue.QueueStoreTestCase;
+
+import java.io.File;
+import java.io.Serializable;
+
+import org.junit.Test;
+import org.mockito.Answers;
+
+public class MemoryMappedQueueStoreTestCase extends QueueStoreTestCase {
+
+  private static final String QUEUE_NAME = "testQueue";
+  private static final int SEGMENT_SIZE = 256;
+  private static final int MAX_POOLED_SEGMENTS = 1;
+
+  @Override
+  protected QueueStore createQueueInfoDelegate(int capacity, MuleContext muleContext) {
+    return new DefaultQueueStore(QUEUE_NAME, muleContext, new DefaultQueueConfiguration(capacity, true, true));
+  }
+
+  @Test
+  public void recoversPendingItems() throws Exception {
+    MemoryMappedQueueStoreDelegate queue = createDelegate();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queue.putNow(String.valueOf(i));
+    }
+    queue.poll(SHORT_POLL_TIMEOUT);
+    queue.remove("5");
+    queue.close();
+
+    queue = createDelegate();
+    assertThat(queue.getSize(), is(NUMBER_OF_ITEMS - 2));
+    for (int i = 1; i < NUMBER_OF_ITEMS; i++) {
+      if (i != 5) {
+        assertThat(queue.poll(SHORT_POLL_TIMEOUT), is(String.valueOf(i)));
+      }
+    }
+    queue.dispose();
+  }
+
+  @Test
+  public void untakenItemsAreRecoveredFirst() throws Exception {
+    MemoryMappedQueueStoreDelegate queue = createDelegate();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queue.putNow(String.valueOf(i));
+    }
+    Serializable first = queue.poll(SHORT_POLL_TIMEOUT);
+    Serializable second = queue.poll(SHORT_POLL_TIMEOUT);
+    // as done when rolling back a transaction
+    queue.untake(second);
+    queue.untake(first);
+    queue.close();
+
+    queue = createDelegate();
+    assertThat(queue.getSize(), is(NUMBER_OF_ITEMS));
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      assertThat(queue.poll(SHORT_POLL_TIMEOUT), is(String.valueOf(i)));
+    }
+    queue.dispose();
+  }
+
+  @Test
+  public void clearedItemsAreNotRecovered() throws Exception {
+    MemoryMappedQueueStoreDelegate queue = createDelegate();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queue.putNow(String.valueOf(i));
+    }
+    queue.clear();
+    queue.putNow(VALUE);
+    queue.close();
+
+    queue = createDelegate();
+    assertThat(queue.getSize(), is(1));
+    assertThat(queue.poll(SHORT_POLL_TIMEOUT), is(VALUE));
+    queue.dispose();
+  }
+
+  @Test
+  public void recyclesConsumedSegments() throws Exception {
+    MemoryMappedQueueStoreDelegate queue = createDelegate();
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < NUMBER_OF_ITEMS * 2; i++) {
+        queue.putNow(VALUE + i);
+      }
+      for (int i = 0; i < NUMBER_OF_ITEMS * 2; i++) {
+        assertThat(queue.poll(SHORT_POLL_TIMEOUT), is(VALUE + i));
+      }
+    }
+    assertThat(queue.poll(SHORT_POLL_TIMEOUT), nullValue());
+
+    // the active segment plus the pooled ones
+    assertThat(segmentFiles().length, lessThanOrEqualTo(1 + MAX_POOLED_SEGMENTS));
+    queue.dispose();
+  }
+
+  @Test
+  public void itemBiggerThanSegment() throws Exception {
+    MemoryMappedQueueStoreDelegate queue = createDelegate();
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < SEGMENT_SIZE; i++) {
+      value.append('x');
+    }
+    queue.putNow(VALUE);
+    queue.putNow(value.toString());
+    queue.close();
+
+    queue = createDelegate();
+    assertThat(queue.poll(SHORT_POLL_TIMEOUT), is(VALUE));
+    assertThat(queue.poll(SHORT_POLL_TIMEOUT), is(value.toString()));
+    queue.dispose();
+  }
+
+  @Test
+  public void existingQueueKeepsItsDelegate() throws Exception {
+    MemoryMappedQueueStoreDelegate queue = createDelegate();
+    queue.putNow(VALUE);
+    queue.close();
+
+    DefaultQueueStore queueStore =
+        new DefaultQueueStore(QUEUE_NAME, createMuleContext(), new DefaultQueueConfiguration(0, true));
+    assertThat(queueStore.poll(SHORT_POLL_TIMEOUT), is(VALUE));
+    queueStore.dispose();
+    assertThat(segmentFiles(), arrayWithSize(0));
+  }
+
+  @Test
+  public void disposeDeletesSegments() throws Exception {
+    MemoryMappedQueueStoreDelegate queue = createDelegate();
+    queue.putNow(VALUE);
+    assertThat(segmentFiles().length, is(1));
+
+    queue.dispose();
+    assertThat(segmentFiles(), arrayWithSize(0));
+  }
+
+  private File[] segmentFiles() {
+    File[] files = new File(temporaryFolder.getRoot(), "queuestore/" + QUEUE_NAME + "-mapped")
+        .listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+    return files == null ? new File[0] : files;
+  }
+
+  private MemoryMappedQueueStoreDelegate createDelegate() {
+    return new MemoryMappedQueueStoreDelegate(QUEUE_NAME, temporaryFolder.getRoot().getAbsolutePath(), createMuleContext(), 0,
+                                              SEGMENT_SIZE, 4, 0, MAX_POOLED_SEGMENTS);
+  }
+
+  private MuleContext createMuleContext() {
+    MuleContext mockMuleContext = mock(MuleContext.class, Answers.RETURNS_DEEP_STUBS.get());
+    when(mockMuleContext.getConfiguration().getWorkingDirectory()).thenReturn(temporaryFolder.getRoot().getAbsolutePath());
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(muleContext.getExecutionClassLoader());
+    when(mockMuleContext.getObjectSerializer()).thenReturn(muleContext.getObjectSerializer());
+    return mockMuleContext;
+  }
+}
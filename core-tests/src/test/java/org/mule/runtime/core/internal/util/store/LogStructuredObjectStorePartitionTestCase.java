@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static java.util.Arrays.sort;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final long SMALL_SEGMENT_SIZE = 256;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  private MuleContext muleContext = mockMuleContext();
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParent());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = createPartition();
+    partition.open();
+  }
+
+  private LogStructuredObjectStorePartition<String> createPartition() {
+    return new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), null, SMALL_SEGMENT_SIZE,
+                                                   0.5, true);
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws Exception {
+    partition.store("key", "value");
+    assertThat(partition.contains("key"), is(true));
+    assertThat(partition.retrieve("key"), is("value"));
+
+    assertThat(partition.remove("key"), is("value"));
+    assertThat(partition.contains("key"), is(false));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeSameKeyTwice() throws Exception {
+    partition.store("key", "value");
+    partition.store("key", "otherValue");
+  }
+
+  @Test
+  public void entriesSurviveReopen() throws Exception {
+    for (int i = 0; i < 20; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+    for (int i = 0; i < 10; i++) {
+      partition.remove("key" + i);
+    }
+    partition.close();
+
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    partition.open();
+
+    assertThat(partition.getPartitionName(), is("test"));
+    assertThat(partition.allKeys(), hasSize(10));
+    for (int i = 10; i < 20; i++) {
+      assertThat(partition.retrieve("key" + i), is("value" + i));
+    }
+  }
+
+  @Test
+  public void compactionKeepsLiveEntries() throws Exception {
+    for (int i = 0; i < 50; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+    int segmentsBefore = countSegments();
+    for (int i = 0; i < 45; i++) {
+      partition.remove("key" + i);
+    }
+    partition.compact();
+
+    assertThat(countSegments(), lessThan(segmentsBefore));
+    assertThat(partition.allKeys(), containsInAnyOrder("key45", "key46", "key47", "key48", "key49"));
+    for (int i = 45; i < 50; i++) {
+      assertThat(partition.retrieve("key" + i), is("value" + i));
+    }
+
+    partition.close();
+    partition = createPartition();
+    partition.open();
+    assertThat(partition.allKeys(), hasSize(5));
+    assertThat(partition.retrieve("key49"), is("value49"));
+  }
+
+  @Test
+  public void expireByMaxEntriesRemovesOldest() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+
+    partition.expire(0, 2);
+
+    assertThat(partition.allKeys(), containsInAnyOrder("key3", "key4"));
+  }
+
+  @Test
+  public void tornRecordIsDiscarded() throws Exception {
+    partition.store("key", "value");
+    partition.close();
+
+    File[] segments = objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(".log"));
+    File lastSegment = segments[segments.length - 1];
+    try (RandomAccessFile file = new RandomAccessFile(lastSegment, "rw")) {
+      file.seek(file.length());
+      file.writeInt(1024);
+      file.writeLong(0);
+    }
+
+    partition = createPartition();
+    partition.open();
+    assertThat(partition.retrieve("key"), is("value"));
+
+    partition.store("otherKey", "otherValue");
+    assertThat(partition.retrieve("otherKey"), is("otherValue"));
+  }
+
+  @Test
+  public void unfinishedCompactionIsDiscarded() throws Exception {
+    for (int i = 0; i < 20; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+    partition.close();
+
+    File[] segments = objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(".log"));
+    sort(segments);
+    File unfinishedCompaction = new File(objectStoreFolder.getRoot(), segments[segments.length - 2].getName() + ".compact.tmp");
+    try (RandomAccessFile file = new RandomAccessFile(unfinishedCompaction, "rw")) {
+      file.writeInt(1024);
+      file.writeLong(0);
+    }
+
+    partition = createPartition();
+    partition.open();
+
+    assertThat(unfinishedCompaction.exists(), is(false));
+    assertThat(partition.allKeys(), hasSize(20));
+    for (int i = 0; i < 20; i++) {
+      assertThat(partition.retrieve("key" + i), is("value" + i));
+    }
+  }
+
+  @Test
+  public void clear() throws ObjectStoreException {
+    partition.store("key", "value");
+    partition.clear();
+
+    assertThat(partition.contains("key"), is(false));
+    partition.store("key", "value");
+    assertThat(partition.retrieve("key"), is("value"));
+  }
+
+  @Test
+  public void clearOfClosedPartitionKeepsItsEngine() throws Exception {
+    partition.store("key", "value");
+    partition.close();
+    partition.clear();
+
+    assertThat(LogStructuredObjectStorePartition.isLogStructuredPartition(objectStoreFolder.getRoot()), is(true));
+    partition = new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot(), null);
+    partition.open();
+    assertThat(partition.allKeys(), hasSize(0));
+  }
+
+  private int countSegments() {
+    return objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(".log")).length;
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
@@ -22,6 +23,11 @@ import org.mule.tck.junit4.AbstractMuleTestCase;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
@@ -115,6 +121,48 @@ public class PartitionedPersistentObjectStoreTestCase extends AbstractMuleTestCa
     assertNotNull(value.getMuleContext());
   }
 
+  @Test
+  public void concurrentEventGroupPartitions() throws Exception {
+    os.open();
+    int groups = 200;
+    int eventsPerGroup = 5;
+    String eventGroupsPartition = "prefix.eventGroups";
+    os.open(eventGroupsPartition);
+
+    // Each task follows the lifecycle of an event group of the event correlator, which uses a partition of its own
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < groups; i++) {
+      String groupId = "group" + i;
+      tasks.add(() -> {
+        String groupPartition = eventGroupsPartition + "." + groupId;
+        os.store(groupId, groupId, eventGroupsPartition);
+        for (int j = 0; j < eventsPerGroup; j++) {
+          os.open(groupPartition);
+          os.store("event" + j, OBJECT_BASE_VALUE + j, groupPartition);
+        }
+        assertThat(os.allKeys(groupPartition).size(), is(eventsPerGroup));
+        os.remove(groupId, eventGroupsPartition);
+        os.clear(groupPartition);
+        os.disposePartition(groupPartition);
+        return null;
+      });
+    }
+
+    ExecutorService executor = newFixedThreadPool(16);
+    try {
+      for (Future<Void> result : executor.invokeAll(tasks)) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(os.allKeys(eventGroupsPartition).size(), is(0));
+    for (int i = 0; i < groups; i++) {
+      assertThat(os.allKeys(eventGroupsPartition + ".group" + i).size(), is(0));
+    }
+  }
+
   private void closePartitions() throws ObjectStoreException {
     for (int i = 0; i < numberOfPartitions; i++) {
       os.close(getPartitionName(i));
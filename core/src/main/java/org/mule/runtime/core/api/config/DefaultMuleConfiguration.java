@@ -58,6 +58,12 @@ public class DefaultMuleConfiguration implements MuleConfiguration, MuleContextA
    */
   public static boolean flowTrace = false;
 
+  /**
+   * When {@link #isFlowTrace()} is true, the fraction of the events, from 0 to 1, for which trace information is actually kept.
+   * Events which are not sampled carry no flow stack in their exception messages.
+   */
+  public static double flowTraceSamplingRate = 1.0;
+
   private boolean synchronous = false;
 
   /**
@@ -277,6 +283,14 @@ public class DefaultMuleConfiguration implements MuleConfiguration, MuleContextA
     if (p != null) {
       flowTrace = BooleanUtils.toBoolean(p);
     }
+    p = getProperty(MuleProperties.MULE_FLOW_TRACE_SAMPLING_RATE);
+    if (p != null) {
+      try {
+        flowTraceSamplingRate = Double.parseDouble(p);
+      } catch (NumberFormatException e) {
+        logger.warn("Invalid flow trace sampling rate '" + p + "', all events will be traced.");
+      }
+    }
 
     p = getProperty(MuleProperties.SYSTEM_PROPERTY_PREFIX + "validate.expressions");
     if (p != null) {
@@ -306,6 +320,15 @@ public class DefaultMuleConfiguration implements MuleConfiguration, MuleContextA
     return flowTrace || logger.isDebugEnabled();
   }
 
+  /**
+   * @return the fraction of the events, from 0 to 1, for which trace information is kept when {@link #isFlowTrace()} is
+   *         {@code true}. Configured through the system property {@code mule.flowTrace.samplingRate}.
+   * @since 4.2
+   */
+  public static double getFlowTraceSamplingRate() {
+    return flowTraceSamplingRate;
+  }
+
   protected void validateEncoding() throws FatalException {
     // Check we have a valid and supported encoding
     if (!Charset.isSupported(encoding)) {
@@ -20,6 +20,7 @@ public final class QueueProfile extends AbstractComponent {
 
   private int maxOutstandingMessages = 0;
   private boolean persistent;
+  private boolean memoryMapped;
 
   public static QueueProfile newInstancePersistingToDefaultMemoryQueueStore() {
     return new QueueProfile(false);
@@ -56,15 +57,34 @@ public final class QueueProfile extends AbstractComponent {
     this.maxOutstandingMessages = maxOutstandingMessages;
   }
 
+  /**
+   * @return whether a persistent queue keeps its data in memory mapped files committed in batches
+   * @since 4.2
+   */
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
+
+  /**
+   * There is no DSL element for queue profiles, so this can only be set programmatically for now.
+   *
+   * @param memoryMapped whether a persistent queue keeps its data in memory mapped files committed in batches
+   * @since 4.2
+   */
+  public void setMemoryMapped(boolean memoryMapped) {
+    this.memoryMapped = memoryMapped;
+  }
+
   public QueueConfiguration configureQueue(String component, QueueManager queueManager)
       throws InitialisationException {
-    QueueConfiguration qc = new DefaultQueueConfiguration(maxOutstandingMessages, persistent);
+    QueueConfiguration qc = new DefaultQueueConfiguration(maxOutstandingMessages, persistent, memoryMapped);
     queueManager.setQueueConfiguration(component, qc);
     return qc;
   }
 
   @Override
   public String toString() {
-    return "QueueProfile{maxOutstandingMessage=" + maxOutstandingMessages + ", persistent=" + persistent + "}";
+    return "QueueProfile{maxOutstandingMessage=" + maxOutstandingMessages + ", persistent=" + persistent + ", memoryMapped="
+        + memoryMapped + "}";
   }
 }
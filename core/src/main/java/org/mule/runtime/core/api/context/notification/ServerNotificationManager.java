@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -48,6 +50,7 @@ import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.internal.context.notification.AsyncNotificationBuffer;
 import org.mule.runtime.core.internal.context.notification.Configuration;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.privileged.context.notification.OptimisedNotificationHandler;
@@ -86,12 +89,25 @@ import org.slf4j.Logger;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>
+ * Asynchronous notifications are handed to the listeners through an {@link AsyncNotificationBuffer} per scheduler, sized by
+ * {@link #ASYNC_NOTIFICATIONS_BUFFER_SIZE_PROPERTY}, which delivers to each listener on its own so that a slow listener doesn't
+ * delay the others. If a buffer is full, the delivery is submitted to the scheduler on its own.
  */
 @NoExtend
 public class ServerNotificationManager implements ServerNotificationHandler, MuleContextAware {
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
 
+  /**
+   * The maximum number of asynchronous notification deliveries which may be pending on each scheduler before falling back to
+   * submitting them one by one.
+   */
+  public static final String ASYNC_NOTIFICATIONS_BUFFER_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.async.bufferSize";
+
+  private static final int ASYNC_NOTIFICATIONS_BATCH_SIZE = 256;
+
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
   private AtomicInteger activeFires = new AtomicInteger();
@@ -100,6 +116,8 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private MuleContext muleContext;
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private AsyncNotificationBuffer notificationsLiteBuffer;
+  private AsyncNotificationBuffer notificationsIoBuffer;
 
   @Override
   public boolean isNotificationDynamic() {
@@ -122,6 +140,10 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = muleContext.getSchedulerService().cpuLightScheduler();
     notificationsIoScheduler = muleContext.getSchedulerService().ioScheduler();
+
+    int bufferSize = getInteger(ASYNC_NOTIFICATIONS_BUFFER_SIZE_PROPERTY, 4096);
+    notificationsLiteBuffer = new AsyncNotificationBuffer(bufferSize, ASYNC_NOTIFICATIONS_BATCH_SIZE, notificationsLiteScheduler);
+    notificationsIoBuffer = new AsyncNotificationBuffer(bufferSize, ASYNC_NOTIFICATIONS_BATCH_SIZE, notificationsIoScheduler);
   }
 
   public void addInterfaceToType(Class<? extends NotificationListener> iface,
@@ -152,6 +174,12 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
    */
   public void removeListener(NotificationListener<?> listener) {
     configuration.removeListener(listener);
+    if (notificationsLiteBuffer != null) {
+      notificationsLiteBuffer.remove(listener);
+    }
+    if (notificationsIoBuffer != null) {
+      notificationsIoBuffer.remove(listener);
+    }
   }
 
   public void disableInterface(Class<? extends NotificationListener> iface) {
@@ -194,9 +222,13 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
-            notificationsIoScheduler.submit(() -> listener.onNotification(nfn));
+            if (!notificationsIoBuffer.offer(listener, nfn)) {
+              notificationsIoScheduler.submit(() -> listener.onNotification(nfn));
+            }
           } else {
-            notificationsLiteScheduler.submit(() -> listener.onNotification(nfn));
+            if (!notificationsLiteBuffer.offer(listener, nfn)) {
+              notificationsLiteScheduler.submit(() -> listener.onNotification(nfn));
+            }
           }
         });
       }
@@ -247,6 +279,8 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       notificationsIoScheduler.stop();
       notificationsIoScheduler = null;
     }
+    notificationsLiteBuffer = null;
+    notificationsIoBuffer = null;
 
     configuration = null;
   }
@@ -456,6 +456,34 @@ class MuleExtensionModelDeclarer {
         .withExpressionSupport(NOT_SUPPORTED)
         .describedAs("Variable name for the item number being processed.");
 
+    forEach.onDefaultParameterGroup()
+        .withOptionalParameter("maxConcurrency")
+        .ofType(typeLoader.load(Integer.class))
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The maximum number of elements, or batches, processed in parallel. By default elements are processed sequentially.");
+
+    forEach.onDefaultParameterGroup()
+        .withOptionalParameter("ordered")
+        .ofType(typeLoader.load(boolean.class))
+        .defaultingTo(true)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("When processing in parallel, whether variables set by each element are merged in the order of the elements or in the order they complete.");
+
+    forEach.onDefaultParameterGroup()
+        .withOptionalParameter("collectErrors")
+        .ofType(typeLoader.load(boolean.class))
+        .defaultingTo(false)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("When processing in parallel, whether all elements are processed regardless of errors, raising a composite error, or foreach fails on the first error.");
+
+    forEach.onDefaultParameterGroup()
+        .withOptionalParameter("timeout")
+        .ofType(typeLoader.load(Long.class))
+        .defaultingTo(Long.MAX_VALUE)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("When processing in parallel, sets a timeout in milliseconds for each element. The default behaviour is that of no timeout.");
+
   }
 
   private void declareUntilSuccessful(ExtensionDeclarer extensionDeclarer, ClassTypeLoader typeLoader) {
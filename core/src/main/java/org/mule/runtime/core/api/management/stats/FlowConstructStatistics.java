@@ -79,6 +79,15 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getTotalEventsReceived();
 
+  /**
+   * @return the current limit of concurrently processed events when the flow adapts it at runtime, or {@code -1} if the flow
+   *         has no adaptive concurrency limit.
+   * @since 4.2
+   */
+  default int getConcurrencyLimit() {
+    return -1;
+  }
+
   /**
    * @return  indicates if the statistic is enabled or not.
    */
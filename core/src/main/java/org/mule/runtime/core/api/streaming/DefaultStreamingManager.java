@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.api.streaming;
 
+import static java.lang.System.getProperty;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_BUFFER_MANAGER;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
@@ -29,6 +31,7 @@ import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
 import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.bytes.DefaultByteStreamingManager;
 import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+import org.mule.runtime.core.internal.streaming.bytes.SizeClassedByteBufferManager;
 import org.mule.runtime.core.internal.streaming.object.DefaultObjectStreamingManager;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
@@ -42,6 +45,7 @@ import javax.inject.Inject;
 public class DefaultStreamingManager implements StreamingManager, Initialisable, Disposable {
 
   private static final Logger LOGGER = getLogger(DefaultStreamingManager.class);
+  private static final String SIZE_CLASSED_BUFFER_MANAGER = "sizeClassed";
 
   private ByteBufferManager bufferManager;
   private ByteStreamingManager byteStreamingManager;
@@ -71,7 +75,7 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
       disposalScheduler =
           schedulerService.cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig().withName("StreamingManager-dispose"));
       cursorManager = new CursorManager(statistics, disposalScheduler);
-      bufferManager = new PoolingByteBufferManager(allocationScheduler);
+      bufferManager = createBufferManager();
       byteStreamingManager = createByteStreamingManager();
       objectStreamingManager = createObjectStreamingManager();
 
@@ -81,6 +85,18 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     }
   }
 
+  /**
+   * Creates the {@link ByteBufferManager} used to allocate the buffers of repeatable streams. The off-heap
+   * {@link SizeClassedByteBufferManager} is used if the {@code mule.streaming.bufferManager} system property is set to
+   * {@code sizeClassed}, otherwise a {@link PoolingByteBufferManager} is used.
+   */
+  protected ByteBufferManager createBufferManager() {
+    if (SIZE_CLASSED_BUFFER_MANAGER.equals(getProperty(MULE_STREAMING_BUFFER_MANAGER))) {
+      return new SizeClassedByteBufferManager(statistics);
+    }
+    return new PoolingByteBufferManager(allocationScheduler);
+  }
+
   protected ByteStreamingManager createByteStreamingManager() {
     return new DefaultByteStreamingManager(bufferManager, this);
   }
@@ -10,14 +10,23 @@ public final class DefaultQueueConfiguration implements QueueConfiguration {
 
   private final boolean persistent;
   private final int capacity;
+  private final boolean memoryMapped;
 
   public DefaultQueueConfiguration() {
     this(QueueConfiguration.MAXIMUM_CAPACITY, false);
   }
 
   public DefaultQueueConfiguration(int capacity, boolean isPersistent) {
+    this(capacity, isPersistent, false);
+  }
+
+  /**
+   * @since 4.2
+   */
+  public DefaultQueueConfiguration(int capacity, boolean isPersistent, boolean isMemoryMapped) {
     this.capacity = capacity;
     this.persistent = isPersistent;
+    this.memoryMapped = isMemoryMapped;
   }
 
   @Override
@@ -30,9 +39,15 @@ public final class DefaultQueueConfiguration implements QueueConfiguration {
     return capacity;
   }
 
+  @Override
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
+
   @Override
   public String toString() {
-    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s}", persistent, capacity);
+    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s, memoryMapped=%s}", persistent, capacity,
+                         memoryMapped);
   }
 
   @Override
@@ -43,6 +58,7 @@ public final class DefaultQueueConfiguration implements QueueConfiguration {
     if (!obj.getClass().equals(this.getClass())) {
       return false;
     }
-    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity;
+    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity
+        && memoryMapped == ((DefaultQueueConfiguration) obj).memoryMapped;
   }
 }
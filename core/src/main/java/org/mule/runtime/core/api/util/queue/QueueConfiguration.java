@@ -20,4 +20,15 @@ public interface QueueConfiguration {
 
   int getCapacity();
 
+  /**
+   * Only applies to persistent queues. Queues which already have data keep being stored the way that data was written.
+   *
+   * @return whether the queue data is kept in memory mapped segment files committed in batches, instead of files synced on
+   *         every operation.
+   * @since 4.2
+   */
+  default boolean isMemoryMapped() {
+    return false;
+  }
+
 }
@@ -13,6 +13,8 @@ import org.mule.runtime.core.api.Closeable;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.exception.MuleException;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Strategy to implement different connection management mechanisms.
  * <p>
@@ -48,6 +50,33 @@ abstract class ConnectionManagementStrategy<C> implements Closeable {
    */
   abstract ConnectionHandler<C> getConnectionHandler() throws ConnectionException;
 
+  /**
+   * Same as {@link #getConnectionHandler()} but without blocking the calling thread while waiting for a connection to become
+   * available. Failures are reported by completing the returned future exceptionally.
+   * <p>
+   * This default implementation obtains the connection synchronously. Strategies which may have to wait override it.
+   *
+   * @return a {@link CompletableFuture} with the {@link ConnectionHandler}
+   * @since 4.2
+   */
+  CompletableFuture<ConnectionHandler<C>> getConnectionHandlerAsync() {
+    CompletableFuture<ConnectionHandler<C>> future = new CompletableFuture<>();
+    try {
+      future.complete(getConnectionHandler());
+    } catch (ConnectionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * @return whether {@link #getConnectionHandlerAsync()} really avoids blocking the calling thread
+   * @since 4.2
+   */
+  boolean supportsAsyncConnectionHandler() {
+    return false;
+  }
+
   /**
    * Closes all connections and resources allocated through {@code this} instance.
    *
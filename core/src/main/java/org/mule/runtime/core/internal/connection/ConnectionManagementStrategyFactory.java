@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.connection;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.CACHED;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.NONE;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.POOLING;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.connection.util.ConnectionProviderUtils.unwrapProviderWrapper;
 
 import org.mule.runtime.api.config.PoolingProfile;
@@ -26,8 +27,15 @@ import org.mule.runtime.api.meta.model.connection.ConnectionManagementType;
  */
 final class ConnectionManagementStrategyFactory {
 
+  /**
+   * When set to {@code true}, pooled connections are managed by a {@link NonBlockingPoolingConnectionManagementStrategy}
+   * instead of a {@link PoolingConnectionManagementStrategy}.
+   */
+  static final String NON_BLOCKING_POOLING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "connection.pooling.nonBlocking";
+
   private final PoolingProfile defaultPoolingProfile;
   private final MuleContext muleContext;
+  private final boolean nonBlockingPooling;
 
   /**
    * Creates a new instance
@@ -38,6 +46,7 @@ final class ConnectionManagementStrategyFactory {
   ConnectionManagementStrategyFactory(PoolingProfile defaultPoolingProfile, MuleContext muleContext) {
     this.defaultPoolingProfile = defaultPoolingProfile;
     this.muleContext = muleContext;
+    this.nonBlockingPooling = Boolean.getBoolean(NON_BLOCKING_POOLING_PROPERTY);
   }
 
   /**
@@ -76,11 +85,18 @@ final class ConnectionManagementStrategyFactory {
           (PoolingProfile) ((ConnectionProviderWrapper) connectionProvider).getPoolingProfile().orElse(poolingProfile);
     }
 
-    return poolingProfile.isDisabled() ? withoutManagement(connectionProvider)
-        : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile,
-                                                    (PoolingListener<C>) unwrapProviderWrapper(connectionProvider,
-                                                                                               PoolingConnectionProvider.class),
-                                                    muleContext);
+    if (poolingProfile.isDisabled()) {
+      return withoutManagement(connectionProvider);
+    }
+
+    PoolingListener<C> poolingListener =
+        (PoolingListener<C>) unwrapProviderWrapper(connectionProvider, PoolingConnectionProvider.class);
+    if (nonBlockingPooling) {
+      return new NonBlockingPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                                  muleContext);
+    }
+
+    return new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext);
   }
 
   private <C> ConnectionManagementType getManagementType(ConnectionProvider<C> connectionProvider) {
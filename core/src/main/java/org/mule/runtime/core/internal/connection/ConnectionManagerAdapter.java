@@ -7,6 +7,8 @@
 package org.mule.runtime.core.internal.connection;
 
 import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.api.lifecycle.Stoppable;
@@ -14,6 +16,8 @@ import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.core.internal.retry.ReconnectionConfig;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for {@link ConnectionManager} implementations which expands its contract with non API functionality
  *
@@ -46,4 +50,35 @@ public interface ConnectionManagerAdapter extends ConnectionManager, Lifecycle {
    * @return a {@link PoolingProfile}
    */
   PoolingProfile getDefaultPoolingProfile();
+
+  /**
+   * Same as {@link #getConnection(Object)} but without blocking the calling thread while waiting for a pooled connection to be
+   * released. Failures are reported by completing the returned future exceptionally.
+   *
+   * @param config the config for which the connection is to be obtained
+   * @param <C> the generic type of the connection
+   * @return a {@link CompletableFuture} with the {@link ConnectionHandler}
+   * @since 4.2
+   */
+  default <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+    CompletableFuture<ConnectionHandler<C>> future = new CompletableFuture<>();
+    try {
+      future.complete(getConnection(config));
+    } catch (ConnectionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Tells whether {@link #getConnectionAsync(Object)} avoids blocking the calling thread for the given {@code config}. When it
+   * doesn't, there's no point in obtaining the connection ahead of time.
+   *
+   * @param config the config for which the connection is to be obtained
+   * @return whether connections for the {@code config} can be obtained without blocking
+   * @since 4.2
+   */
+  default boolean supportsAsyncConnection(Object config) {
+    return false;
+  }
 }
@@ -30,6 +30,7 @@ import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -226,6 +227,36 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
    */
   @Override
   public <C> ConnectionHandler<C> getConnection(Object config) throws ConnectionException {
+    return this.<C>getHandlingStrategy(config).getConnectionHandler();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+    try {
+      return this.<C>getHandlingStrategy(config).getConnectionHandlerAsync();
+    } catch (ConnectionException e) {
+      CompletableFuture<ConnectionHandler<C>> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean supportsAsyncConnection(Object config) {
+    try {
+      return getHandlingStrategy(config).supportsAsyncConnectionHandler();
+    } catch (ConnectionException e) {
+      return false;
+    }
+  }
+
+  private <C> ConnectionManagementStrategy<C> getHandlingStrategy(Object config) throws ConnectionException {
     ConnectionManagementStrategy<C> handlingStrategy = null;
     readLock.lock();
     try {
@@ -238,7 +269,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
       throw new ConnectionException("No ConnectionProvider has been registered for owner " + config);
     }
 
-    return handlingStrategy.getConnectionHandler();
+    return handlingStrategy;
   }
 
   /**
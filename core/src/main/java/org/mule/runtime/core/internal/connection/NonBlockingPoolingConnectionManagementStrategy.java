@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link ConnectionManagementStrategy} which pools connections like {@link PoolingConnectionManagementStrategy} but never
+ * blocks a thread waiting for a connection to become available.
+ * <p>
+ * Idle connections are kept in a lock-free deque. When the pool is exhausted and the {@link PoolingProfile} says to wait, the
+ * request is queued and the {@link CompletableFuture} returned by {@link #getConnectionHandlerAsync()} is completed by the
+ * thread which releases or invalidates a connection, or exceptionally once {@link PoolingProfile#getMaxWait()} elapses.
+ * <p>
+ * New connections are only created on the calling thread by {@link #getConnectionHandler()}, which blocks anyway. For
+ * asynchronous requests, and when a pending request is served because a connection was invalidated, the blocking
+ * {@link ConnectionProvider#connect()} runs on an IO scheduler.
+ * <p>
+ * If {@link PoolingProfile#getEvictionCheckIntervalMillis()} is positive, idle connections are periodically checked in the
+ * background: those idle for longer than {@link PoolingProfile#getMinEvictionMillis()} are disconnected and the rest are
+ * validated through {@link ConnectionProvider#validate(Object)}. Only the connection being validated is taken out of the pool
+ * at any time.
+ *
+ * @param <C> the generic type of the connections to be managed
+ * @since 4.2
+ */
+final class NonBlockingPoolingConnectionManagementStrategy<C> extends ConnectionManagementStrategy<C> {
+
+  private static final Logger LOGGER = getLogger(NonBlockingPoolingConnectionManagementStrategy.class);
+
+  private final PoolingProfile poolingProfile;
+  private final PoolingListener<C> poolingListener;
+
+  private final ConcurrentLinkedDeque<IdleConnection<C>> idle = new ConcurrentLinkedDeque<>();
+  private final ConcurrentLinkedQueue<CompletableFuture<ConnectionHandler<C>>> waiters = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicInteger totalCount = new AtomicInteger();
+
+  private final Scheduler scheduler;
+  private final ScheduledFuture<?> validationTask;
+  private volatile boolean closed = false;
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionProvider the {@link ConnectionProvider} used to manage the connections
+   * @param poolingProfile the {@link PoolingProfile} which configures the pool
+   * @param poolingListener a {@link PoolingListener}
+   * @param muleContext the application's {@link MuleContext}
+   */
+  NonBlockingPoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
+                                                 PoolingListener<C> poolingListener, MuleContext muleContext) {
+    super(connectionProvider, muleContext);
+    this.poolingProfile = poolingProfile;
+    this.poolingListener = poolingListener;
+
+    scheduler = muleContext.getSchedulerService()
+        .ioScheduler(muleContext.getSchedulerBaseConfig().withName("ConnectionPool"));
+    long evictionInterval = poolingProfile.getEvictionCheckIntervalMillis();
+    validationTask = evictionInterval > 0
+        ? scheduler.scheduleWithFixedDelay(this::validateIdleConnections, evictionInterval, evictionInterval, MILLISECONDS)
+        : null;
+  }
+
+  /**
+   * Returns a {@link ConnectionHandler} which wraps a pooled connection, waiting for one to be released if the pool is exhausted
+   * and configured to wait.
+   *
+   * @return a {@link ConnectionHandler}
+   * @throws ConnectionException if the connection could not be obtained
+   */
+  @Override
+  public ConnectionHandler<C> getConnectionHandler() throws ConnectionException {
+    CompletableFuture<ConnectionHandler<C>> future = borrow(true);
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      if (!future.cancel(false)) {
+        future.thenAccept(ConnectionHandler::release);
+      }
+      throw new ConnectionException("Interrupted while waiting for a connection", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ConnectionException) {
+        throw (ConnectionException) e.getCause();
+      }
+      throw new ConnectionException("An exception was found trying to obtain a connection: " + e.getCause().getMessage(),
+                                    e.getCause());
+    }
+  }
+
+  /**
+   * Obtains a connection without blocking the calling thread. If an idle connection is available, the returned future is
+   * already complete. Otherwise it completes when a new connection is created or a connection is handed over by another
+   * thread.
+   *
+   * @return a {@link CompletableFuture} with the {@link ConnectionHandler}
+   */
+  @Override
+  CompletableFuture<ConnectionHandler<C>> getConnectionHandlerAsync() {
+    return borrow(false);
+  }
+
+  /**
+   * @return {@code true}
+   */
+  @Override
+  boolean supportsAsyncConnectionHandler() {
+    return true;
+  }
+
+  private CompletableFuture<ConnectionHandler<C>> borrow(boolean connectInline) {
+    CompletableFuture<ConnectionHandler<C>> future = new CompletableFuture<>();
+    if (closed) {
+      future.completeExceptionally(new ConnectionException("Connection pool is closed"));
+      return future;
+    }
+
+    IdleConnection<C> idleConnection = pollIdle();
+    if (idleConnection != null) {
+      handOver(idleConnection.connection, future);
+      return future;
+    }
+
+    if (reserve(poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_GROW)) {
+      if (connectInline) {
+        connectAndHandOver(future);
+      } else {
+        connectAsync(future);
+      }
+      return future;
+    }
+
+    if (poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_FAIL) {
+      future.completeExceptionally(new ConnectionException("Connection pool is exhausted"));
+      return future;
+    }
+
+    waiters.add(future);
+    long maxWait = poolingProfile.getMaxWait();
+    if (maxWait > 0) {
+      ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+        if (future.completeExceptionally(new ConnectionException("Connection pool is exhausted"))) {
+          waiters.remove(future);
+        }
+      }, maxWait, MILLISECONDS);
+      future.whenComplete((handler, e) -> timeout.cancel(false));
+    }
+
+    // a connection may have been released or invalidated between the checks above and the waiter being visible
+    dispatch();
+    return future;
+  }
+
+  /**
+   * Closes the pool, disconnecting the idle connections and failing the pending requests. Connections which are in use are
+   * disconnected when released.
+   *
+   * @throws MuleException
+   */
+  @Override
+  public void close() throws MuleException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (validationTask != null) {
+      validationTask.cancel(false);
+    }
+
+    CompletableFuture<ConnectionHandler<C>> waiter;
+    while ((waiter = waiters.poll()) != null) {
+      waiter.completeExceptionally(new ConnectionException("Connection pool is closed"));
+    }
+
+    IdleConnection<C> idleConnection;
+    while ((idleConnection = pollIdle()) != null) {
+      destroy(idleConnection.connection);
+    }
+
+    scheduler.stop();
+  }
+
+  public PoolingProfile getPoolingProfile() {
+    return poolingProfile;
+  }
+
+  int getNumIdle() {
+    return idleCount.get();
+  }
+
+  int getNumActive() {
+    return totalCount.get() - idleCount.get();
+  }
+
+  private boolean reserve(boolean grow) {
+    int maxActive = poolingProfile.getMaxActive();
+    for (;;) {
+      int current = totalCount.get();
+      if (!grow && maxActive > 0 && current >= maxActive) {
+        return false;
+      }
+      if (totalCount.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void connectAndHandOver(CompletableFuture<ConnectionHandler<C>> future) {
+    C connection;
+    try {
+      connection = connectionProvider.connect();
+    } catch (Exception e) {
+      totalCount.decrementAndGet();
+      future.completeExceptionally(e instanceof ConnectionException ? e
+          : new ConnectionException("An exception was found trying to obtain a connection: " + e.getMessage(), e));
+      dispatch();
+      return;
+    }
+
+    handOver(connection, future);
+  }
+
+  /**
+   * Creates a connection for an already reserved slot of the pool on the IO scheduler, so the thread which requested it, or
+   * which released the slot, is not blocked while connecting.
+   */
+  private void connectAsync(CompletableFuture<ConnectionHandler<C>> future) {
+    try {
+      scheduler.execute(() -> connectAndHandOver(future));
+    } catch (RejectedExecutionException e) {
+      totalCount.decrementAndGet();
+      future.completeExceptionally(new ConnectionException("Could not schedule the creation of a connection", e));
+    }
+  }
+
+  /**
+   * Completes the {@code future} with the given {@code connection}. If the {@code future} was already completed (because it
+   * timed out or was cancelled) the connection is put back in the pool.
+   */
+  private void handOver(C connection, CompletableFuture<ConnectionHandler<C>> future) {
+    try {
+      poolingListener.onBorrow(connection);
+    } catch (Exception e) {
+      destroy(connection);
+      future.completeExceptionally(new ConnectionException("An exception was found trying to obtain a connection: "
+          + e.getMessage(), e));
+      return;
+    }
+
+    if (!future.complete(new PooledConnectionHandler(connection))) {
+      returnConnection(connection);
+    }
+  }
+
+  /**
+   * Hands idle connections to pending waiters for as long as there are both. Each side first publishes itself and then calls
+   * this method, so a connection and a waiter can never miss each other.
+   */
+  private void dispatch() {
+    while (!waiters.isEmpty()) {
+      IdleConnection<C> idleConnection = pollIdle();
+      if (idleConnection != null) {
+        CompletableFuture<ConnectionHandler<C>> waiter = pollWaiter();
+        if (waiter != null) {
+          handOver(idleConnection.connection, waiter);
+        } else {
+          pushIdle(idleConnection.connection);
+        }
+      } else if (reserve(false)) {
+        CompletableFuture<ConnectionHandler<C>> waiter = pollWaiter();
+        if (waiter != null) {
+          connectAsync(waiter);
+        } else {
+          totalCount.decrementAndGet();
+        }
+      } else {
+        return;
+      }
+    }
+  }
+
+  private CompletableFuture<ConnectionHandler<C>> pollWaiter() {
+    CompletableFuture<ConnectionHandler<C>> waiter;
+    while ((waiter = waiters.poll()) != null && waiter.isDone()) {
+      // timed out or cancelled
+    }
+    return waiter;
+  }
+
+  private void returnConnection(C connection) {
+    if (closed) {
+      destroy(connection);
+      return;
+    }
+
+    CompletableFuture<ConnectionHandler<C>> waiter = pollWaiter();
+    if (waiter != null) {
+      handOver(connection, waiter);
+      return;
+    }
+
+    if (idleCount.get() >= poolingProfile.getMaxIdle() && poolingProfile.getMaxIdle() >= 0) {
+      destroy(connection);
+    } else {
+      pushIdle(connection);
+    }
+    dispatch();
+  }
+
+  private void destroy(C connection) {
+    totalCount.decrementAndGet();
+    try {
+      connectionProvider.disconnect(connection);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was found trying to disconnect connection of type " + connection.getClass().getName(), e);
+    }
+  }
+
+  private IdleConnection<C> pollIdle() {
+    IdleConnection<C> idleConnection = idle.pollFirst();
+    if (idleConnection != null) {
+      idleCount.decrementAndGet();
+    }
+    return idleConnection;
+  }
+
+  private void pushIdle(C connection) {
+    idleCount.incrementAndGet();
+    idle.addFirst(new IdleConnection<>(connection));
+  }
+
+  /**
+   * Checks the idle connections one at a time, so borrowers never find the pool empty because of the check. Each connection is
+   * claimed before checking it, so it can't be borrowed meanwhile, and a valid one is put back where it was, keeping its idle
+   * time.
+   */
+  private void validateIdleConnections() {
+    long minEvictionMillis = poolingProfile.getMinEvictionMillis();
+    List<IdleConnection<C>> candidates = new ArrayList<>(idle);
+    for (IdleConnection<C> candidate : candidates) {
+      if (closed) {
+        return;
+      }
+      if (!idle.removeFirstOccurrence(candidate)) {
+        // borrowed since the candidates were collected
+        continue;
+      }
+      idleCount.decrementAndGet();
+
+      if ((minEvictionMillis > 0 && currentTimeMillis() - candidate.since > minEvictionMillis)
+          || !isValid(candidate.connection)) {
+        destroy(candidate.connection);
+        dispatch();
+      } else {
+        returnValidated(candidate);
+      }
+    }
+  }
+
+  private void returnValidated(IdleConnection<C> candidate) {
+    if (closed) {
+      destroy(candidate.connection);
+      return;
+    }
+
+    CompletableFuture<ConnectionHandler<C>> waiter = pollWaiter();
+    if (waiter != null) {
+      handOver(candidate.connection, waiter);
+      return;
+    }
+
+    idleCount.incrementAndGet();
+    idle.addLast(candidate);
+    dispatch();
+  }
+
+  private boolean isValid(C connection) {
+    try {
+      ConnectionValidationResult result = connectionProvider.validate(connection);
+      return result != null && result.isValid();
+    } catch (Exception e) {
+      LOGGER.debug("Exception was found validating idle connection. It will be evicted", e);
+      return false;
+    }
+  }
+
+  private static final class IdleConnection<C> {
+
+    private final C connection;
+    private final long since = currentTimeMillis();
+
+    private IdleConnection(C connection) {
+      this.connection = connection;
+    }
+  }
+
+  /**
+   * {@link ConnectionHandlerAdapter} over a connection borrowed from the enclosing pool.
+   */
+  private final class PooledConnectionHandler implements ConnectionHandlerAdapter<C> {
+
+    private C connection;
+
+    private PooledConnectionHandler(C connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public C getConnection() throws ConnectionException {
+      checkState(connection != null, "Connection has been either released or invalidated");
+      return connection;
+    }
+
+    @Override
+    public void release() {
+      if (connection == null) {
+        return;
+      }
+
+      C released = connection;
+      connection = null;
+      try {
+        poolingListener.onReturn(released);
+      } catch (Exception e) {
+        LOGGER.warn("Could not return connection to the pool. Connection will be destroyed", e);
+        destroy(released);
+        dispatch();
+        return;
+      }
+      returnConnection(released);
+    }
+
+    @Override
+    public void invalidate() {
+      if (connection == null) {
+        return;
+      }
+
+      C invalidated = connection;
+      connection = null;
+      destroy(invalidated);
+      dispatch();
+    }
+
+    @Override
+    public ConnectionProvider getConnectionProvider() {
+      return connectionProvider;
+    }
+
+    /**
+     * Does nothing for this implementation. Connections are only closed when the pool is.
+     */
+    @Override
+    public void close() throws MuleException {}
+  }
+}
@@ -74,6 +74,13 @@ public abstract class AbstractFlowConstruct extends AbstractExecutableComponent
    */
   private final String initialState;
 
+  /**
+   * Whether the first start of this flow is to be deferred until it's referenced. See {@link #startOnDemand()}.
+   */
+  private volatile boolean deferFirstStart;
+  private volatile boolean awaitingReference;
+  private final Object startOnDemandLock = new Object();
+
   public AbstractFlowConstruct(String name, MuleContext muleContext, Optional<FlowExceptionHandler> exceptionListener,
                                String initialState, FlowConstructStatistics statistics) {
     this.muleContext = muleContext;
@@ -117,15 +124,56 @@ public abstract class AbstractFlowConstruct extends AbstractExecutableComponent
       return;
     }
 
+    if (!isStopped() && deferFirstStart) {
+      deferFirstStart = false;
+      awaitingReference = true;
+      lifecycleManager.fireStartPhase(new EmptyLifecycleCallback<>());
+      lifecycleManager.fireStopPhase(new EmptyLifecycleCallback<>());
+
+      LOGGER.info("Flow " + name + " will be started when first referenced");
+      return;
+    }
+
     lifecycleManager.fireStartPhase((phaseName, object) -> {
       doStartProcessingStrategy();
       startIfStartable(exceptionListener);
       doStart();
     });
+    awaitingReference = false;
+  }
+
+  /**
+   * When set to {@code true}, the first {@link #start()} of this flow, which is the one done when the artifact is deployed,
+   * leaves it stopped. It will actually be started when the first event is sent to it, through {@link #startOnDemand()}, or
+   * when explicitly started.
+   *
+   * @param startOnDemand whether the start of this flow is deferred until it's referenced
+   */
+  public void setStartOnDemand(boolean startOnDemand) {
+    this.deferFirstStart = startOnDemand;
+  }
+
+  /**
+   * Starts this flow if its start was deferred on deployment and it has not been started since. Flows stopped for any other
+   * reason are left as they are, without taking any lock.
+   *
+   * @throws MuleException if the flow could not be started
+   */
+  public void startOnDemand() throws MuleException {
+    if (!awaitingReference) {
+      return;
+    }
+
+    synchronized (startOnDemandLock) {
+      if (awaitingReference) {
+        start();
+      }
+    }
   }
 
   @Override
   public final void stop() throws MuleException {
+    awaitingReference = false;
     lifecycleManager.fireStopPhase((phaseName, object) -> {
       doStop();
       stopIfStoppable(exceptionListener);
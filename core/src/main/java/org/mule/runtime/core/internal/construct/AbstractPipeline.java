@@ -7,16 +7,20 @@
 package org.mule.runtime.core.internal.construct;
 
 import static com.google.common.base.Functions.identity;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Math.min;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.unmodifiableList;
 import static org.mule.runtime.api.notification.EnrichedNotificationInfo.createInfo;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_COMPLETE;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_END;
 import static org.mule.runtime.api.notification.PipelineMessageNotification.PROCESS_START;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_FLOW_ADAPTIVE_CONCURRENCY;
 import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Unhandleable.OVERLOAD;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrategyFactory.DEFAULT_MAX_CONCURRENCY;
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.WAIT;
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimiter.DEFAULT_MAX_LIMIT;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
@@ -45,6 +49,9 @@ import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
 import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistries;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
+import org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimiter;
+import org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencySink;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.processor.MessageProcessorBuilder;
@@ -85,6 +92,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   private volatile boolean canProcessMessage = false;
   private Sink sink;
   private final int maxConcurrency;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
   private final ComponentInitialStateManager componentInitialStateManager;
 
   public AbstractPipeline(String name, MuleContext muleContext, MessageSource source, List<Processor> processors,
@@ -114,6 +122,16 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     }
 
     processingStrategy = this.processingStrategyFactory.create(muleContext, getName());
+
+    if (getBoolean(MULE_FLOW_ADAPTIVE_CONCURRENCY)
+        && this.processingStrategyFactory instanceof AsyncProcessingStrategyFactory) {
+      concurrencyLimiter = new AdaptiveConcurrencyLimiter(min(this.maxConcurrency, DEFAULT_MAX_LIMIT));
+      if (getStatistics() instanceof DefaultFlowConstructStatistics) {
+        ((DefaultFlowConstructStatistics) getStatistics()).setConcurrencyLimitSupplier(concurrencyLimiter::getLimit);
+      }
+    } else {
+      concurrencyLimiter = null;
+    }
     overloadErrorType = muleContext.getErrorTypeRepository().getErrorType(OVERLOAD).orElse(null);
   }
 
@@ -321,6 +339,9 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   protected void doStart() throws MuleException {
     super.doStart();
     sink = processingStrategy.createSink(this, processFlowFunction());
+    if (concurrencyLimiter != null) {
+      sink = new AdaptiveConcurrencySink(sink, concurrencyLimiter);
+    }
 
     startIfStartable(pipeline);
 
@@ -343,8 +364,19 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     }
   }
 
+  /**
+   * Flows whose start was deferred until first referenced are started here, so that it happens for every way of sending
+   * events to the flow.
+   */
   public Consumer<CoreEvent> assertStarted() {
     return event -> {
+      if (!canProcessMessage) {
+        try {
+          startOnDemand();
+        } catch (MuleException e) {
+          throw propagate(new MessagingException(event, e));
+        }
+      }
       if (!canProcessMessage) {
         throw propagate(new MessagingException(event,
                                                new LifecycleException(CoreMessages.isStopped(getName()), event.getMessage())));
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Bounded buffer through which asynchronous notifications are delivered to their listeners.
+ * <p>
+ * Any number of threads may {@link #offer(NotificationListener, Notification) offer} deliveries without locking. Each listener
+ * has its own queue, drained by a single task at a time which runs on the given {@link Executor}, delivering up to
+ * {@code batchSize} notifications before yielding the thread and rescheduling itself if more are pending. This replaces
+ * submitting one task per listener and notification, and keeps the deliveries to each listener in the order they were fired,
+ * while a slow listener only delays its own deliveries.
+ * <p>
+ * When {@code capacity} deliveries are pending across all the listeners, {@link #offer(NotificationListener, Notification)}
+ * returns {@code false} so the caller can fall back to some other delivery mechanism. If the {@link Executor} rejects a drain
+ * task, the pending deliveries of that listener are discarded, just like a rejected task would be.
+ *
+ * @since 4.2
+ */
+public final class AsyncNotificationBuffer {
+
+  private static final Logger LOGGER = getLogger(AsyncNotificationBuffer.class);
+
+  private final Executor executor;
+  private final int capacity;
+  private final int batchSize;
+
+  private final AtomicInteger pending = new AtomicInteger();
+  private final ConcurrentMap<NotificationListener, ListenerDeliveries> listenersDeliveries = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance
+   *
+   * @param capacity the maximum number of pending deliveries
+   * @param batchSize the maximum number of deliveries performed by each run of a drain task
+   * @param executor the {@link Executor} on which the drain tasks run
+   */
+  public AsyncNotificationBuffer(int capacity, int batchSize, Executor executor) {
+    this.executor = executor;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Enqueues the delivery of {@code notification} to {@code listener}, scheduling the drain task of that listener if it's not
+   * already running.
+   *
+   * @return {@code false} if the buffer is full and the delivery was not enqueued
+   */
+  public boolean offer(NotificationListener listener, Notification notification) {
+    if (pending.incrementAndGet() > capacity) {
+      pending.decrementAndGet();
+      return false;
+    }
+
+    ListenerDeliveries deliveries = listenersDeliveries.get(listener);
+    if (deliveries == null) {
+      deliveries = listenersDeliveries.computeIfAbsent(listener, ListenerDeliveries::new);
+    }
+    deliveries.offer(notification);
+    return true;
+  }
+
+  /**
+   * Forgets about the given {@code listener}. Deliveries to it which are already enqueued are still performed.
+   *
+   * @param listener the listener which will no longer be notified
+   */
+  public void remove(NotificationListener listener) {
+    listenersDeliveries.remove(listener);
+  }
+
+  /**
+   * @return the number of deliveries which have been enqueued but not performed yet
+   */
+  public int size() {
+    return pending.get();
+  }
+
+  private final class ListenerDeliveries {
+
+    private final NotificationListener listener;
+    private final Queue<Notification> notifications = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private ListenerDeliveries(NotificationListener listener) {
+      this.listener = listener;
+    }
+
+    private void offer(Notification notification) {
+      notifications.offer(notification);
+      if (wip.getAndIncrement() == 0) {
+        schedule();
+      }
+    }
+
+    private void schedule() {
+      try {
+        executor.execute(() -> drain(true));
+      } catch (RejectedExecutionException e) {
+        // the executor is shutting down, so the pending notifications can't be delivered asynchronously anymore
+        LOGGER.debug("Notifications executor rejected the delivery of pending notifications. They will be discarded", e);
+        drain(false);
+      }
+    }
+
+    private void drain(boolean deliver) {
+      int missed = wip.get();
+      for (;;) {
+        int drained = 0;
+        Notification notification;
+        while (drained < batchSize && (notification = notifications.poll()) != null) {
+          pending.decrementAndGet();
+          if (deliver) {
+            deliver(notification);
+          }
+          ++drained;
+        }
+
+        if (drained == batchSize) {
+          // let other tasks use the thread, the pending deliveries will be handled by the next run
+          schedule();
+          return;
+        }
+
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    private void deliver(Notification notification) {
+      try {
+        listener.onNotification(notification);
+      } catch (Throwable e) {
+        LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", listener,
+                    notification, e);
+      }
+    }
+  }
+}
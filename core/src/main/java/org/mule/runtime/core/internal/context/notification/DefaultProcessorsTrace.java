@@ -6,35 +6,109 @@
  */
 package org.mule.runtime.core.internal.context.notification;
 
+import static java.lang.Integer.getInteger;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_FLOW_TRACE_PROCESSORS_SIZE;
 
 import org.mule.runtime.core.api.context.notification.ProcessorsTrace;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Keeps context information about the message processors that were executed as part of the processing of an event.
+ * <p>
+ * Only the last {@link #PROCESSORS_TRACE_SIZE} processors are kept, as ids handed out by a {@link ProcessorPathRegistry} in a ring
+ * which is allocated the first time a processor is added. Their paths are only resolved when
+ * {@link #getExecutedProcessors()} is called.
  */
 public class DefaultProcessorsTrace implements ProcessorsTrace {
 
   private static final long serialVersionUID = 5327053121687733907L;
 
-  private final List<String> executedProcessors = new ArrayList<>();
+  /**
+   * The maximum number of executed processors kept for each event.
+   */
+  static final int PROCESSORS_TRACE_SIZE = getInteger(MULE_FLOW_TRACE_PROCESSORS_SIZE, 256);
+
+  private static final byte UNDECIDED = 0;
+  private static final byte SAMPLED = 1;
+  private static final byte NOT_SAMPLED = 2;
+
+  private transient int[] executedProcessorIds;
+  private transient int executedCount = 0;
+  private transient int nextIndex = 0;
+  private transient ProcessorPathRegistry processorPaths;
+
+  // the processors which were executed before this trace was serialized
+  private transient List<String> restoredProcessors = emptyList();
+  private volatile byte sampling = UNDECIDED;
 
   /**
-   * Adds a message processor path to the list of processors that were executed as part of the processing of this event.
-   * 
-   * @param processorPath the path to mask as executed.
+   * Decides whether flow trace information is to be kept for the event this trace belongs to. The decision is taken the first
+   * time this method is called and kept for the lifetime of the event, so all the events of a same context are either traced or
+   * not.
+   *
+   * @param samplingRate the fraction of events to trace, from 0 to 1.
+   * @return whether the event is traced
    */
-  public synchronized void addExecutedProcessors(String processorPath) {
-    executedProcessors.add(processorPath);
+  public boolean sample(double samplingRate) {
+    if (sampling == UNDECIDED) {
+      synchronized (this) {
+        if (sampling == UNDECIDED) {
+          sampling = samplingRate >= 1 || (samplingRate > 0 && current().nextDouble() < samplingRate) ? SAMPLED : NOT_SAMPLED;
+        }
+      }
+    }
+    return sampling == SAMPLED;
+  }
+
+  /**
+   * Adds a message processor to the list of processors that were executed as part of the processing of this event.
+   *
+   * @param processorId the id of the executed processor
+   * @param processorPaths the registry which handed out {@code processorId}
+   */
+  synchronized void addExecutedProcessor(int processorId, ProcessorPathRegistry processorPaths) {
+    if (executedProcessorIds == null) {
+      executedProcessorIds = new int[PROCESSORS_TRACE_SIZE];
+    }
+    this.processorPaths = processorPaths;
+    executedProcessorIds[nextIndex] = processorId;
+    nextIndex = (nextIndex + 1) % executedProcessorIds.length;
+    if (executedCount < executedProcessorIds.length) {
+      ++executedCount;
+    }
   }
 
   @Override
   public synchronized List<String> getExecutedProcessors() {
+    if (executedCount == 0) {
+      return unmodifiableList(restoredProcessors);
+    }
+
+    List<String> executedProcessors = new ArrayList<>(restoredProcessors.size() + executedCount);
+    executedProcessors.addAll(restoredProcessors);
+    // once the ring is full, the oldest id is the one to be overwritten next
+    int first = executedCount < executedProcessorIds.length ? 0 : nextIndex;
+    for (int i = 0; i < executedCount; ++i) {
+      executedProcessors.add(processorPaths.getPath(executedProcessorIds[(first + i) % executedProcessorIds.length]));
+    }
     return unmodifiableList(executedProcessors);
   }
 
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeObject(new ArrayList<>(getExecutedProcessors()));
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    restoredProcessors = (List<String>) in.readObject();
+  }
 }
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.context.notification;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
+import static org.mule.runtime.core.api.config.DefaultMuleConfiguration.getFlowTraceSamplingRate;
 import static org.mule.runtime.core.api.config.DefaultMuleConfiguration.isFlowTrace;
 import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.event.EventContext;
@@ -37,6 +38,10 @@ import org.apache.logging.log4j.spi.LoggerContext;
 
 /**
  * Manager for handling message processing troubleshooting data.
+ * <p>
+ * Trace information is only kept for the fraction of the events given by
+ * {@link DefaultMuleConfiguration#getFlowTraceSamplingRate()}. The path of each processor is resolved once and identified by an
+ * id from then on, so the flow stack text is only built when an error is reported.
  */
 public class MessageProcessingFlowTraceManager extends LocationExecutionContextProvider
     implements FlowTraceManager, MuleContextAware, Initialisable, Disposable {
@@ -45,6 +50,7 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
 
   private final FlowNotificationTextDebugger pipelineProcessorDebugger;
   private final MessageProcessorTextDebugger messageProcessorTextDebugger;
+  private final ProcessorPathRegistry processorPaths = new ProcessorPathRegistry();
 
   private MuleContext muleContext;
 
@@ -103,31 +109,45 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
    * <p/>
    * Updates the internal state of the event's {@link ProcessorsTrace} and {@link FlowCallStack} accordingly.
    *
-   * @see DefaultProcessorsTrace#addExecutedProcessors(String)
+   * @see DefaultProcessorsTrace#addExecutedProcessor(int, ProcessorPathRegistry)
    * @see DefaultFlowCallStack#setCurrentProcessorPath(String)
    *
    * @param notification the notification that contains the event and the processor that is about to be invoked.
    */
   public void onMessageProcessorNotificationPreInvoke(MessageProcessorNotification notification) {
-    String resolveProcessorRepresentation =
-        resolveProcessorRepresentation(muleContext.getConfiguration().getId(),
-                                       notification.getComponent().getLocation() != null
-                                           ? notification.getComponent().getLocation().getLocation()
-                                           : null,
-                                       notification.getComponent());
-
     EventContext eventContext = notification.getEventContext();
+    if (!isSampled(eventContext)) {
+      return;
+    }
+
+    int processorId = processorPaths.getId(notification.getComponent(), this::resolveProcessorPath);
     if (eventContext != null) {
       ((DefaultProcessorsTrace) ((BaseEventContext) eventContext).getProcessorsTrace())
-          .addExecutedProcessors(resolveProcessorRepresentation);
+          .addExecutedProcessor(processorId, processorPaths);
     }
 
     FlowCallStack flowCallStack = ((CoreEvent) notification.getEvent()).getFlowCallStack();
     if (flowCallStack != null) {
-      ((DefaultFlowCallStack) flowCallStack).setCurrentProcessorPath(resolveProcessorRepresentation);
+      ((DefaultFlowCallStack) flowCallStack).setCurrentProcessorPath(processorPaths.getPath(processorId));
     }
   }
 
+  private String resolveProcessorPath(Component component) {
+    return resolveProcessorRepresentation(muleContext.getConfiguration().getId(),
+                                          component.getLocation() != null ? component.getLocation().getLocation() : null,
+                                          component);
+  }
+
+  private boolean isSampled(EventContext eventContext) {
+    if (eventContext == null) {
+      return true;
+    }
+
+    ProcessorsTrace processorsTrace = ((BaseEventContext) eventContext).getProcessorsTrace();
+    return !(processorsTrace instanceof DefaultProcessorsTrace)
+        || ((DefaultProcessorsTrace) processorsTrace).sample(getFlowTraceSamplingRate());
+  }
+
   /**
    * Callback method for when a flow or sub-flow called from a {@code flow-ref} component has been completed.
    *
@@ -148,25 +168,27 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
 
   @Override
   public void onFlowStart(EnrichedNotificationInfo notificationInfo, String flowName) {
-    FlowCallStack flowCallStack = ((CoreEvent) notificationInfo.getEvent()).getFlowCallStack();
-    if (flowCallStack instanceof DefaultFlowCallStack) {
+    CoreEvent event = (CoreEvent) notificationInfo.getEvent();
+    FlowCallStack flowCallStack = event.getFlowCallStack();
+    if (flowCallStack instanceof DefaultFlowCallStack && isSampled(event.getContext())) {
       ((DefaultFlowCallStack) flowCallStack).push(new FlowStackElement(flowName, null));
     }
   }
 
   @Override
   public void onFlowComplete(EnrichedNotificationInfo notificationInfo) {
-    FlowCallStack flowCallStack = ((CoreEvent) notificationInfo.getEvent()).getFlowCallStack();
-    if (flowCallStack instanceof DefaultFlowCallStack) {
+    CoreEvent event = (CoreEvent) notificationInfo.getEvent();
+    FlowCallStack flowCallStack = event.getFlowCallStack();
+    if (flowCallStack instanceof DefaultFlowCallStack && isSampled(event.getContext())) {
       ((DefaultFlowCallStack) flowCallStack).pop();
     }
   }
 
   @Override
   public Map<String, Object> getContextInfo(EnrichedNotificationInfo notificationInfo, Component lastProcessed) {
-    FlowCallStack flowCallStack = ((CoreEvent) notificationInfo.getEvent()).getFlowCallStack();
-    if (isFlowTrace()) {
-      return singletonMap(FLOW_STACK_INFO_KEY, flowCallStack.toString());
+    CoreEvent event = (CoreEvent) notificationInfo.getEvent();
+    if (isFlowTrace() && isSampled(event.getContext())) {
+      return singletonMap(FLOW_STACK_INFO_KEY, event.getFlowCallStack().toString());
     } else {
       return emptyMap();
     }
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -28,20 +29,26 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * For a particular configuration, this describes what events should be delivered where. It is read-only and a lazy instance is
  * cached by the {@link Configuration}
+ * <p>
+ * The senders a concrete notification class has to be delivered to are resolved the first time such a notification is
+ * dispatched and kept in an array, so further dispatches don't have to walk the registered event types. Since a new instance is
+ * built each time the {@link Configuration} changes, those routes never need to be invalidated.
  */
 public class Policy {
 
   private static final Logger LOGGER = getLogger(Policy.class);
 
+  private static final Sender[] NO_SENDERS = new Sender[0];
+
   // map from event to set of senders
   private Map<Class<? extends Notification>, Collection<Sender>> eventToSenders =
       new HashMap<>();
-  private Map<Class<? extends Notification>, Collection<Sender>> concreteEventToSenders =
-      new HashMap<>();
+
+  // map from concrete event to the senders of every event it is assignable to, without duplicates
+  private ConcurrentMap<Class, Sender[]> routes = new ConcurrentHashMap<>();
 
   // these are cumulative - set values should never change, they are just a cache of known info
-  // they are co and contra-variant wrt to exact event type (see code below).
-  private ConcurrentMap<Class, Boolean> knownEventsExact = new ConcurrentHashMap<>();
+  // they are contra-variant wrt to exact event type (see code below).
   private ConcurrentMap<Class, Boolean> knownEventsSuper = new ConcurrentHashMap<>();
 
   /**
@@ -59,7 +66,6 @@ public class Policy {
             Set<Class<? extends Notification>> events = interfaceToEvents.get(iface);
             for (Class<? extends Notification> event : events) {
               if (notASubclassOfAnyClassInSet(disabledEvents, event)) {
-                knownEventsExact.put(event, Boolean.TRUE);
                 knownEventsSuper.put(event, Boolean.TRUE);
                 if (!eventToSenders.containsKey(event)) {
                   // use a collection with predictable iteration order
@@ -96,51 +102,32 @@ public class Policy {
 
   public void dispatch(Notification notification, NotifierCallback notifier) {
     if (null != notification) {
-      Class notfnClass = notification.getClass();
-      Boolean eventKnown = knownEventsExact.get(notfnClass);
-      // search if we don't know about this event, or if we do know it is used
-      if (eventKnown == null) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-      } else if (eventKnown.booleanValue()) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        // reduce contention on the map by not writing the same value over and over again.
-        if (!found) {
-          knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-        }
-      }
+      dispatchToSenders(notification, getRoute(notification.getClass()), notifier);
     }
   }
 
-  protected boolean doDispatch(Notification notification, Class<? extends Notification> notfnClass,
-                               NotifierCallback notifier) {
-    boolean found = false;
-
-    // Optimization to avoid iterating the eventToSenders map each time a notification is fired
-    Collection<Sender> senders = concreteEventToSenders.get(notfnClass);
-    if (senders != null) {
-      found = true;
-      dispatchToSenders(notification, senders, notifier);
-    } else {
-      senders = concreteEventToSenders.get(notfnClass);
-      if (senders != null) {
-        dispatchToSenders(notification, senders, notifier);
-      } else {
-        senders = new ArrayList<>();
-        for (Entry<Class<? extends Notification>, Collection<Sender>> event : eventToSenders.entrySet()) {
-          if (event.getKey().isAssignableFrom(notfnClass)) {
-            found = true;
-            senders.addAll(event.getValue());
-            dispatchToSenders(notification, senders, notifier);
-          }
+  private Sender[] getRoute(Class notfnClass) {
+    Sender[] senders = routes.get(notfnClass);
+    if (senders == null) {
+      senders = routes.computeIfAbsent(notfnClass, this::computeRoute);
+    }
+    return senders;
+  }
+
+  private Sender[] computeRoute(Class notfnClass) {
+    // a subscription bound to several event types in the hierarchy of the notification is only notified once
+    Map<ListenerSubscriptionPair, Sender> senders = new LinkedHashMap<>();
+    for (Entry<Class<? extends Notification>, Collection<Sender>> event : eventToSenders.entrySet()) {
+      if (event.getKey().isAssignableFrom(notfnClass)) {
+        for (Sender sender : event.getValue()) {
+          senders.putIfAbsent(sender.getPair(), sender);
         }
-        concreteEventToSenders.putIfAbsent(notfnClass, senders);
       }
     }
-    return found;
+    return senders.isEmpty() ? NO_SENDERS : senders.values().toArray(new Sender[senders.size()]);
   }
 
-  private void dispatchToSenders(Notification notification, Collection<Sender> senders, NotifierCallback notifier) {
+  private void dispatchToSenders(Notification notification, Sender[] senders, NotifierCallback notifier) {
     for (Sender sender : senders) {
       try {
         sender.dispatch(notification, notifier);
@@ -173,18 +160,7 @@ public class Policy {
       knownEventsSuper.put(notfnClass, Boolean.valueOf(found));
     }
 
-    Boolean knownExact = knownEventsExact.get(notfnClass);
-    if (knownExact == null) {
-      boolean found = false;
-      for (Iterator events = eventToSenders.keySet().iterator(); events.hasNext() && !found;) {
-        Class event = (Class) events.next();
-        found = event.isAssignableFrom(notfnClass);
-      }
-      knownExact = Boolean.valueOf(found);
-      knownEventsExact.put(notfnClass, knownExact);
-    }
-
-    return knownSuper.booleanValue() || knownExact.booleanValue();
+    return knownSuper.booleanValue() || getRoute(notfnClass).length > 0;
   }
 
 }
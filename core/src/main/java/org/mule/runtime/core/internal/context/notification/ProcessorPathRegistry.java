@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.util.Arrays.copyOf;
+
+import org.mule.runtime.api.component.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Assigns a numeric id to each processor for which flow trace information is kept, so that the path of the processor is
+ * resolved only once and events can keep track of the executed processors without holding or building strings.
+ *
+ * @since 4.2
+ */
+final class ProcessorPathRegistry {
+
+  private final ConcurrentMap<Component, Integer> ids = new ConcurrentHashMap<>();
+  private volatile String[] paths = new String[64];
+  private int nextId = 0;
+
+  /**
+   * @param component the processor to get the id for
+   * @param pathResolver used to resolve the path of the {@code component} the first time its id is requested
+   * @return the id of the {@code component}
+   */
+  int getId(Component component, Function<Component, String> pathResolver) {
+    Integer id = ids.get(component);
+    if (id == null) {
+      id = ids.computeIfAbsent(component, c -> register(pathResolver.apply(c)));
+    }
+    return id;
+  }
+
+  /**
+   * @param id an id returned by {@link #getId(Component, Function)}
+   * @return the path of the processor with the given {@code id}
+   */
+  String getPath(int id) {
+    return paths[id];
+  }
+
+  private synchronized int register(String path) {
+    String[] current = paths;
+    if (nextId == current.length) {
+      current = copyOf(current, nextId * 2);
+    }
+    current[nextId] = path;
+    // the volatile write publishes the new entry
+    paths = current;
+    return nextId++;
+  }
+}
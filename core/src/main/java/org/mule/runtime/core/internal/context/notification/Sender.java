@@ -32,5 +32,9 @@ public class Sender<N extends Notification> {
   NotificationListener<N> getListener() {
     return pair.getListener();
   }
+
+  ListenerSubscriptionPair<N> getPair() {
+    return pair;
+  }
 }
 
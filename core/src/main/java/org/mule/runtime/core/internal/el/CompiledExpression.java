@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.Collections.unmodifiableSet;
+import static java.util.regex.Pattern.compile;
+import static java.util.regex.Pattern.quote;
+import static java.util.stream.Collectors.joining;
+import static org.mule.runtime.api.el.BindingContextUtils.ATTRIBUTES;
+import static org.mule.runtime.api.el.BindingContextUtils.AUTHENTICATION;
+import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
+import static org.mule.runtime.api.el.BindingContextUtils.DATA_TYPE;
+import static org.mule.runtime.api.el.BindingContextUtils.ERROR;
+import static org.mule.runtime.api.el.BindingContextUtils.ITEM_SEQUENCE_INFO;
+import static org.mule.runtime.api.el.BindingContextUtils.MESSAGE;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
+import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.DW_PREFIX;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.DW_PREFIX_LENGTH;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.PREFIX_EXPR_SEPARATOR;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An expression which was analyzed once by {@link DefaultExpressionManager#compile(String, ComponentLocation)} so it can be
+ * evaluated many times without repeating that work.
+ * <p>
+ * Besides the language that evaluates it, it knows which of the event bindings it references, so that only those are made
+ * available when evaluating it.
+ *
+ * @since 4.2
+ */
+public final class CompiledExpression {
+
+  /**
+   * The bindings that are derived from the event being processed.
+   */
+  static final Set<String> EVENT_BINDINGS = unmodifiableSet(new HashSet<>(Arrays.asList(PAYLOAD, ATTRIBUTES, DATA_TYPE, VARS,
+                                                                                        ERROR, CORRELATION_ID,
+                                                                                        AUTHENTICATION,
+                                                                                        ITEM_SEQUENCE_INFO, MESSAGE)));
+
+  private static final Pattern EVENT_BINDINGS_PATTERN =
+      compile("(?<![\\w.$])(" + EVENT_BINDINGS.stream().map(b -> quote(b)).collect(joining("|")) + ")(?!\\w)");
+
+  private final String expression;
+  private final ComponentLocation componentLocation;
+  private final ExtendedExpressionLanguageAdaptor expressionLanguage;
+  private final Set<String> referencedEventBindings;
+  private final boolean payloadOnly;
+
+  CompiledExpression(String expression, ComponentLocation componentLocation,
+                     ExtendedExpressionLanguageAdaptor expressionLanguage, boolean analyzeBindings) {
+    this.expression = expression;
+    this.componentLocation = componentLocation;
+    this.expressionLanguage = expressionLanguage;
+    this.referencedEventBindings = analyzeBindings ? referencedEventBindings(expression) : null;
+    this.payloadOnly = analyzeBindings && PAYLOAD.equals(script(expression));
+  }
+
+  private static Set<String> referencedEventBindings(String expression) {
+    Set<String> referenced = new HashSet<>();
+    Matcher matcher = EVENT_BINDINGS_PATTERN.matcher(expression);
+    while (matcher.find()) {
+      referenced.add(matcher.group(1));
+    }
+    return unmodifiableSet(referenced);
+  }
+
+  private static String script(String expression) {
+    String script = expression.trim();
+    if (script.startsWith(DEFAULT_EXPRESSION_PREFIX) && script.endsWith(DEFAULT_EXPRESSION_POSTFIX)) {
+      script = script.substring(DEFAULT_EXPRESSION_PREFIX.length(), script.length() - DEFAULT_EXPRESSION_POSTFIX.length());
+    }
+    script = script.trim();
+    if (script.startsWith(DW_PREFIX + PREFIX_EXPR_SEPARATOR)) {
+      script = script.substring(DW_PREFIX_LENGTH);
+    }
+    return script.trim();
+  }
+
+  /**
+   * @return the expression as it was given
+   */
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * @return the location of the component that owns this expression, if any
+   */
+  public ComponentLocation getComponentLocation() {
+    return componentLocation;
+  }
+
+  ExtendedExpressionLanguageAdaptor getExpressionLanguage() {
+    return expressionLanguage;
+  }
+
+  /**
+   * @return the event bindings referenced by this expression, or {@code null} if unknown, in which case all of them need to be
+   *         provided
+   */
+  Set<String> getReferencedEventBindings() {
+    return referencedEventBindings;
+  }
+
+  /**
+   * @return whether this expression just returns the payload
+   */
+  boolean isPayloadOnly() {
+    return payloadOnly;
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+}
@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.internal.el;
 
+import static com.google.common.cache.CacheBuilder.newBuilder;
 import static java.lang.String.format;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
 import static org.mule.runtime.api.el.ValidationResult.failure;
 import static org.mule.runtime.api.el.ValidationResult.success;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
@@ -44,12 +46,15 @@ import org.mule.runtime.core.privileged.util.TemplateParser;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
 
+import com.google.common.cache.Cache;
+
 public class DefaultExpressionManager implements ExtendedExpressionManager, Initialisable {
 
   public static final String DW_PREFIX = "dw";
@@ -58,6 +63,11 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   public static final int DW_PREFIX_LENGTH = (DW_PREFIX + PREFIX_EXPR_SEPARATOR).length();
   private static final Logger LOGGER = getLogger(DefaultExpressionManager.class);
 
+  /**
+   * The max amount of {@link CompiledExpression}s to keep. Past this, the least recently used ones are evicted.
+   */
+  static final int MAX_COMPILED_EXPRESSIONS = 4096;
+
   private final OneTimeWarning parseWarning = new OneTimeWarning(LOGGER,
                                                                  "Expression parsing is deprecated, regular expressions should be used instead.");
 
@@ -71,6 +81,8 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   // Default style parser
   private final TemplateParser parser = TemplateParser.createMuleStyleParser();
   private boolean melDefault;
+  private final Cache<CompiledExpressionKey, CompiledExpression> compiledExpressions =
+      newBuilder().maximumSize(MAX_COMPILED_EXPRESSIONS).build();
 
   @Override
   public void initialise() throws InitialisationException {
@@ -142,10 +154,71 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   private TypedValue evaluate(String expression, CoreEvent event, CoreEvent.Builder eventBuilder,
                               ComponentLocation componentLocation,
                               BindingContext context) {
+    if (event != null && componentLocation != null) {
+      CompiledExpression compiled = compile(expression, componentLocation);
+      if (compiled.getReferencedEventBindings() != null) {
+        return evaluate(compiled, event, context);
+      }
+    }
     return updateTypedValueForStreaming(expressionLanguage.evaluate(expression, event, eventBuilder, componentLocation, context),
                                         event, streamingManager);
   }
 
+  /**
+   * Analyzes the given {@code expression} so it can be repeatedly evaluated by
+   * {@link #evaluate(CompiledExpression, CoreEvent, BindingContext)} without selecting its language or building the bindings it
+   * doesn't reference on each evaluation.
+   * <p>
+   * Compiled expressions are cached per {@code componentLocation} and {@code expression}.
+   *
+   * @param expression the expression to compile
+   * @param componentLocation the location of the component that owns the expression, may be {@code null}
+   * @return a {@link CompiledExpression}
+   * @since 4.2
+   */
+  public CompiledExpression compile(String expression, ComponentLocation componentLocation) {
+    CompiledExpressionKey key = new CompiledExpressionKey(expression, componentLocation);
+    CompiledExpression compiled = compiledExpressions.getIfPresent(key);
+    if (compiled != null) {
+      return compiled;
+    }
+
+    compiled = new CompiledExpression(expression, componentLocation, expressionLanguage.selectExpressionLanguage(expression),
+                                      expressionLanguage.isDataWeave(expression));
+    CompiledExpression previous = compiledExpressions.asMap().putIfAbsent(key, compiled);
+    return previous != null ? previous : compiled;
+  }
+
+  /**
+   * Evaluates a {@link CompiledExpression}. Only the event bindings referenced by the expression are made available to it.
+   *
+   * @param compiled the expression to evaluate
+   * @param event the current event being processed
+   * @param context the bindings to consider, on top of the event ones
+   * @return the result of the evaluation
+   * @throws ExpressionRuntimeException or ExpressionExecutionException if a problem occurs evaluating the expression
+   * @since 4.2
+   */
+  public TypedValue evaluate(CompiledExpression compiled, CoreEvent event, BindingContext context) {
+    if (compiled.getReferencedEventBindings() == null) {
+      return evaluate(compiled.getExpression(), event, event != null ? CoreEvent.builder(event) : null,
+                      compiled.getComponentLocation(), context);
+    }
+    if (event != null && compiled.isPayloadOnly() && !context.identifiers().contains(PAYLOAD)) {
+      return updateTypedValueForStreaming(event.getMessage().getPayload(), event, streamingManager);
+    }
+    return updateTypedValueForStreaming(compiled.getExpressionLanguage()
+        .evaluate(compiled.getExpression(), null, null, compiled.getComponentLocation(), bindingsFor(compiled, event, context)),
+                                        event, streamingManager);
+  }
+
+  private BindingContext bindingsFor(CompiledExpression compiled, CoreEvent event, BindingContext context) {
+    if (event == null || compiled.getReferencedEventBindings().isEmpty()) {
+      return context;
+    }
+    return new FilteredEventBindingContext(event, context, compiled.getReferencedEventBindings());
+  }
+
   @Override
   public TypedValue evaluate(String expression, DataType outputType) {
     return evaluate(expression, outputType, NULL_BINDING_CONTEXT);
@@ -170,6 +243,14 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   public TypedValue evaluate(String expression, DataType outputType, BindingContext context, CoreEvent event,
                              ComponentLocation componentLocation, boolean failOnNull)
       throws ExpressionRuntimeException {
+    if (event != null && componentLocation != null) {
+      CompiledExpression compiled = compile(expression, componentLocation);
+      if (compiled.getReferencedEventBindings() != null) {
+        return updateTypedValueForStreaming(compiled.getExpressionLanguage()
+            .evaluate(expression, outputType, null, componentLocation, bindingsFor(compiled, event, context), failOnNull),
+                                            event, streamingManager);
+      }
+    }
     return updateTypedValueForStreaming(expressionLanguage.evaluate(expression, outputType, event, componentLocation, context,
                                                                     failOnNull),
                                         event, streamingManager);
@@ -278,7 +359,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
       return parser.parse(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), template);
     } else {
       return parser.parse(token -> {
-        TypedValue<?> evaluation = expressionLanguage.evaluateLogExpression(token, event, componentLocation, bindingContext);
+        TypedValue<?> evaluation = evaluateLogExpression(token, event, componentLocation, bindingContext);
         if (evaluation.getValue() instanceof Message) {
           // Do not apply transformation to Message since payload will be considered then
           return evaluation.getValue();
@@ -296,6 +377,18 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
     }
   }
 
+  private TypedValue<?> evaluateLogExpression(String expression, CoreEvent event, ComponentLocation componentLocation,
+                                              BindingContext bindingContext) {
+    if (event != null && componentLocation != null) {
+      CompiledExpression compiled = compile(expression, componentLocation);
+      if (compiled.getReferencedEventBindings() != null) {
+        return compiled.getExpressionLanguage().evaluateLogExpression(expression, null, componentLocation,
+                                                                      bindingsFor(compiled, event, bindingContext));
+      }
+    }
+    return expressionLanguage.evaluateLogExpression(expression, event, componentLocation, bindingContext);
+  }
+
   private Object melParseEvaluation(CoreEvent event, ComponentLocation componentLocation, Builder eventBuilder, String token) {
     Object result = evaluate(token, event, eventBuilder, componentLocation).getValue();
     if (result instanceof Message) {
@@ -396,4 +489,32 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   public String toString() {
     return this.getClass().getName() + "[" + (expressionLanguage != null ? expressionLanguage.toString() : "null") + "]";
   }
+
+  private static final class CompiledExpressionKey {
+
+    private final String expression;
+    private final ComponentLocation componentLocation;
+
+    private CompiledExpressionKey(String expression, ComponentLocation componentLocation) {
+      this.expression = expression;
+      this.componentLocation = componentLocation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CompiledExpressionKey)) {
+        return false;
+      }
+      CompiledExpressionKey other = (CompiledExpressionKey) obj;
+      return expression.equals(other.expression) && Objects.equals(componentLocation, other.componentLocation);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * expression.hashCode() + Objects.hashCode(componentLocation);
+    }
+  }
 }
@@ -150,7 +150,19 @@ public class ExpressionLanguageAdaptorHandler implements ExtendedExpressionLangu
     return selectExpressionLanguage(expression).split(expression, event, bindingContext);
   }
 
-  private ExtendedExpressionLanguageAdaptor selectExpressionLanguage(String expression) {
+  /**
+   * @param expression an expression
+   * @return whether the given {@code expression} is to be evaluated by the DataWeave expression language
+   */
+  boolean isDataWeave(String expression) {
+    return selectExpressionLanguage(expression) == expressionLanguages.get(DW_PREFIX);
+  }
+
+  /**
+   * @param expression an expression
+   * @return the {@link ExtendedExpressionLanguageAdaptor} which evaluates the given {@code expression}
+   */
+  ExtendedExpressionLanguageAdaptor selectExpressionLanguage(String expression) {
     // This pre-check is made in order to avoid the synchronized block in the implementation of ConcurrentHashMap
     // (https://bugs.openjdk.java.net/browse/JDK-8161372)
     final ExtendedExpressionLanguageAdaptor el = expressionLanguagesByExpressionCache.get(expression);
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.el.BindingContextUtils.ATTRIBUTES;
+import static org.mule.runtime.api.el.BindingContextUtils.AUTHENTICATION;
+import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
+import static org.mule.runtime.api.el.BindingContextUtils.DATA_TYPE;
+import static org.mule.runtime.api.el.BindingContextUtils.ERROR;
+import static org.mule.runtime.api.el.BindingContextUtils.ITEM_SEQUENCE_INFO;
+import static org.mule.runtime.api.el.BindingContextUtils.MESSAGE;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.DataType.fromType;
+import static org.mule.runtime.core.internal.el.CompiledExpression.EVENT_BINDINGS;
+
+import org.mule.runtime.api.el.Binding;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.ExpressionModule;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.security.Authentication;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link BindingContext} which exposes, on top of a given context, only the event bindings referenced by a
+ * {@link CompiledExpression}.
+ * <p>
+ * Only the referenced event bindings are created, each one the first time it is looked up. As when adding the event bindings
+ * to a context, they take precedence over the ones of the given context with the same name. Instances are meant to be used for
+ * a single evaluation and are not thread safe.
+ *
+ * @since 4.2
+ */
+final class FilteredEventBindingContext implements BindingContext {
+
+  private static final DataType VARS_DATA_TYPE =
+      DataType.builder().mapType(Map.class).keyType(String.class).valueType(TypedValue.class).build();
+
+  private final CoreEvent event;
+  private final BindingContext context;
+  private final Set<String> referencedEventBindings;
+
+  private Map<String, TypedValue<?>> eventBindings;
+
+  FilteredEventBindingContext(CoreEvent event, BindingContext context, Set<String> referencedEventBindings) {
+    this.event = event;
+    this.context = context;
+    this.referencedEventBindings = referencedEventBindings;
+  }
+
+  private TypedValue<?> eventBinding(String identifier) {
+    if (eventBindings == null) {
+      eventBindings = new HashMap<>(referencedEventBindings.size());
+    }
+    return eventBindings.computeIfAbsent(identifier, this::createEventBinding);
+  }
+
+  private TypedValue<?> createEventBinding(String identifier) {
+    Message message = event.getMessage();
+    switch (identifier) {
+      case PAYLOAD:
+        return message.getPayload();
+      case ATTRIBUTES:
+        return message.getAttributes();
+      case DATA_TYPE:
+        return new TypedValue<>(message.getPayload().getDataType(), fromType(DataType.class));
+      case MESSAGE:
+        return new TypedValue<>(message, fromType(Message.class));
+      case VARS:
+        return new TypedValue<>(unmodifiableMap(event.getVariables()), VARS_DATA_TYPE);
+      case ERROR:
+        return new TypedValue<>(event.getError().orElse(null), fromType(Error.class));
+      case CORRELATION_ID:
+        return new TypedValue<>(event.getCorrelationId(), STRING);
+      case AUTHENTICATION:
+        return new TypedValue<>(event.getAuthentication().orElse(null), fromType(Authentication.class));
+      case ITEM_SEQUENCE_INFO:
+        return new TypedValue<>(event.getItemSequenceInfo().orElse(null), fromType(ItemSequenceInfo.class));
+      default:
+        throw new IllegalArgumentException("Unknown event binding " + identifier);
+    }
+  }
+
+  @Override
+  public Collection<Binding> bindings() {
+    return identifiers().stream().map(id -> new Binding(id, lookup(id).orElse(null))).collect(toList());
+  }
+
+  @Override
+  public Collection<String> identifiers() {
+    Set<String> identifiers = new HashSet<>(referencedEventBindings);
+    context.identifiers().stream().filter(id -> !EVENT_BINDINGS.contains(id)).forEach(identifiers::add);
+    return identifiers;
+  }
+
+  @Override
+  public Optional<TypedValue> lookup(String identifier) {
+    if (referencedEventBindings.contains(identifier)) {
+      return of(eventBinding(identifier));
+    }
+    return EVENT_BINDINGS.contains(identifier) ? empty() : context.lookup(identifier);
+  }
+
+  @Override
+  public Collection<ExpressionModule> modules() {
+    return context.modules();
+  }
+}
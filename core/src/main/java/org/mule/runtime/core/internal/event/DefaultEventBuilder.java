@@ -65,8 +65,11 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   private BaseEventContext context;
   private Message message;
-  private Map<String, TypedValue<?>> flowVariables = new HashMap<>();
+  // Both maps are copied on write: while shared, they are also referenced by an already built event and must not be modified.
+  private CaseInsensitiveHashMap<String, TypedValue<?>> flowVariables = new CaseInsensitiveHashMap<>();
+  private boolean flowVariablesShared;
   private Map<String, Object> internalParameters = new HashMap<>(4);
+  private boolean internalParametersShared;
   private Error error;
   private Optional<ItemSequenceInfo> itemSequenceInfo = empty();
   private String legacyCorrelationId;
@@ -96,8 +99,15 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    this.flowVariables.putAll(event.getVariables());
-    this.internalParameters.putAll(event.getInternalParameters());
+    if (event instanceof InternalEventImplementation) {
+      this.flowVariables = ((InternalEventImplementation) event).variables;
+      this.flowVariablesShared = true;
+      this.internalParameters = (Map<String, Object>) ((InternalEventImplementation) event).internalParameters;
+      this.internalParametersShared = true;
+    } else {
+      this.flowVariables.putAll(event.getVariables());
+      this.internalParameters.putAll(event.getInternalParameters());
+    }
   }
 
   public DefaultEventBuilder(BaseEventContext messageContext, InternalEvent event) {
@@ -116,13 +126,15 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
+    this.flowVariables = new CaseInsensitiveHashMap<>();
+    this.flowVariablesShared = false;
     copyFromTo(flowVariables, this.flowVariables);
     return this;
   }
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value) {
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    writableFlowVariables().put(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.modified = true;
     return this;
 
@@ -130,38 +142,58 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    writableFlowVariables().put(key, new TypedValue<>(value, dataType));
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder removeVariable(String key) {
-    this.modified = flowVariables.remove(key) != null || modified;
+    if (flowVariables.containsKey(key)) {
+      this.modified = writableFlowVariables().remove(key) != null || modified;
+    }
     return this;
   }
 
   @Override
   public DefaultEventBuilder internalParameters(Map<String, ?> internalParameters) {
-    this.internalParameters.clear();
-    this.internalParameters.putAll(internalParameters);
+    this.internalParameters = new HashMap<>(internalParameters);
+    this.internalParametersShared = false;
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder addInternalParameter(String key, Object value) {
-    internalParameters.put(key, value);
+    writableInternalParameters().put(key, value);
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder removeInternalParameter(String key) {
-    this.modified = internalParameters.remove(key) != null || modified;
+    if (internalParameters.containsKey(key)) {
+      this.modified = writableInternalParameters().remove(key) != null || modified;
+    }
     return this;
   }
 
+  private Map<String, TypedValue<?>> writableFlowVariables() {
+    if (flowVariablesShared) {
+      flowVariables = new CaseInsensitiveHashMap<>(flowVariables);
+      flowVariablesShared = false;
+    }
+    return flowVariables;
+  }
+
+  private Map<String, Object> writableInternalParameters() {
+    if (internalParametersShared) {
+      internalParameters = new HashMap<>(internalParameters);
+      internalParametersShared = false;
+    }
+    return internalParameters;
+  }
+
   @Override
   public DefaultEventBuilder correlationId(String correlationId) {
     legacyCorrelationId = correlationId;
@@ -232,6 +264,9 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     } else {
       requireNonNull(message);
 
+      // The built event takes the maps as they are, so any further change done through this builder has to copy them first
+      flowVariablesShared = true;
+      internalParametersShared = true;
       return new InternalEventImplementation(context, message, flowVariables,
                                              internalParameters, session, securityContext, replyToDestination,
                                              replyToHandler, itemSequenceInfo, error,
@@ -274,6 +309,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     private final boolean notificationsEnabled;
 
+    // These are shared with the builders created from this event, and never modified
     private final CaseInsensitiveHashMap<String, TypedValue<?>> variables;
     private final Map<String, ?> internalParameters;
 
@@ -283,7 +319,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     private ItemSequenceInfo itemSequenceInfo;
 
     // Use this constructor from the builder
-    private InternalEventImplementation(BaseEventContext context, Message message, Map<String, TypedValue<?>> variables,
+    private InternalEventImplementation(BaseEventContext context, Message message,
+                                        CaseInsensitiveHashMap<String, TypedValue<?>> variables,
                                         Map<String, ?> internalParameters, MuleSession session, SecurityContext securityContext,
                                         Object replyToDestination, ReplyToHandler replyToHandler,
                                         Optional<ItemSequenceInfo> itemSequenceInfo,
@@ -293,7 +330,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       this.session = session;
       this.securityContext = securityContext;
       this.message = message;
-      this.variables = new CaseInsensitiveHashMap<>(variables);
+      this.variables = variables;
       this.internalParameters = internalParameters;
 
       this.replyToHandler = replyToHandler;
@@ -79,13 +79,13 @@ public final class DefaultEventContext extends AbstractEventContext implements S
 
   private final String id;
   private final String correlationId;
-  private final Instant receivedDate = now();
+  private final Instant receivedDate;
 
   private final String serverId;
   private final ComponentLocation location;
 
   private final ProcessingTime processingTime;
-  private final ProcessorsTrace processorsTrace = new DefaultProcessorsTrace();
+  private final DefaultProcessorsTrace processorsTrace = new DefaultProcessorsTrace();
 
   @Override
   public String getId() {
@@ -169,12 +169,14 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     super(exceptionHandler, externalCompletion);
     this.id = flow.getUniqueIdString();
     this.serverId = flow.getServerId();
+    this.receivedDate = now();
     this.location = location;
     this.processingTime = ProcessingTime.newInstance(flow);
     this.correlationId = correlationId;
 
     // Only generate flowStack dump information for when the eventContext is created for a flow.
-    if (DefaultMuleConfiguration.isFlowTrace() && flow != null && flow.getMuleContext() != null) {
+    if (DefaultMuleConfiguration.isFlowTrace() && flow != null && flow.getMuleContext() != null
+        && processorsTrace.sample(DefaultMuleConfiguration.getFlowTraceSamplingRate())) {
       eventContextMaintain(flow.getMuleContext().getEventContextService());
     }
   }
@@ -193,9 +195,29 @@ public final class DefaultEventContext extends AbstractEventContext implements S
    */
   public DefaultEventContext(String id, String serverId, ComponentLocation location, String correlationId,
                              Optional<CompletableFuture<Void>> externalCompletion, FlowExceptionHandler exceptionHandler) {
+    this(id, serverId, location, correlationId, now(), externalCompletion, exceptionHandler);
+  }
+
+  /**
+   * Builds a new execution context with the given parameters.
+   *
+   * @param id the unique id for this event context.
+   * @param serverId the id of the running mule server
+   * @param location the location of the component that received the first message for this context.
+   * @param correlationId the correlation id that was set by the {@link MessageSource} for the first {@link CoreEvent} of this
+   *        context, if available.
+   * @param receivedDate the time at which the first message for this context was received.
+   * @param externalCompletion future that completes when source completes enabling termination of {@link BaseEventContext} to
+   *        depend on completion of source.
+   * @param exceptionHandler the exception handler that will deal with an error context
+   * @since 4.2
+   */
+  public DefaultEventContext(String id, String serverId, ComponentLocation location, String correlationId, Instant receivedDate,
+                             Optional<CompletableFuture<Void>> externalCompletion, FlowExceptionHandler exceptionHandler) {
     super(exceptionHandler, externalCompletion);
     this.id = id;
     this.serverId = serverId;
+    this.receivedDate = receivedDate;
     this.location = location;
     this.processingTime = null;
     this.correlationId = correlationId;
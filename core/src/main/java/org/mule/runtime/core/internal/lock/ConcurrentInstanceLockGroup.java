@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import org.mule.runtime.core.internal.lock.InstanceLockGroup.LockEntry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p>
+ * Unlike {@link InstanceLockGroup}, there is no monitor shared by all the lock ids. Each {@link LockEntry} is reference counted
+ * atomically through {@link ConcurrentHashMap#compute}, so only operations over the same lock id (or ids that happen to share a
+ * bin of the map) ever contend with each other.
+ *
+ * @since 4.2
+ */
+public class ConcurrentInstanceLockGroup implements LockGroup {
+
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final LockProvider lockProvider;
+
+  public ConcurrentInstanceLockGroup(LockProvider lockProvider) {
+    this.lockProvider = lockProvider;
+  }
+
+  @Override
+  public void lock(String lockId) {
+    acquireEntry(lockId).getLock().lock();
+  }
+
+  @Override
+  public void unlock(String lockId) {
+    LockEntry lockEntry = locks.get(lockId);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      releaseEntry(lockId, lockEntry);
+    }
+  }
+
+  @Override
+  public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
+    LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = false;
+    try {
+      lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
+    } finally {
+      if (!lockAcquired) {
+        releaseEntry(lockId, lockEntry);
+      }
+    }
+    return lockAcquired;
+  }
+
+  @Override
+  public boolean tryLock(String lockId) {
+    LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = lockEntry.getLock().tryLock();
+    if (!lockAcquired) {
+      releaseEntry(lockId, lockEntry);
+    }
+    return lockAcquired;
+  }
+
+  @Override
+  public void lockInterruptibly(String lockId) throws InterruptedException {
+    LockEntry lockEntry = acquireEntry(lockId);
+    try {
+      lockEntry.getLock().lockInterruptibly();
+    } catch (InterruptedException e) {
+      releaseEntry(lockId, lockEntry);
+      throw e;
+    }
+  }
+
+  /**
+   * Gets or creates the entry for the given lock id, accounting for the caller before the entry is visible to a concurrent
+   * release.
+   */
+  private LockEntry acquireEntry(String lockId) {
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
+      }
+      lockEntry.incrementLockCount();
+      return lockEntry;
+    });
+  }
+
+  /**
+   * Stops accounting for the caller in the given entry, dropping it from the group when nobody else holds or waits for it.
+   */
+  private void releaseEntry(String lockId, LockEntry lockEntry) {
+    locks.computeIfPresent(lockId, (id, currentEntry) -> {
+      if (currentEntry != lockEntry) {
+        return currentEntry;
+      }
+      currentEntry.decrementLockCount();
+      return currentEntry.hasPendingLocks() ? currentEntry : null;
+    });
+  }
+
+  @Override
+  public void dispose() {
+    locks.clear();
+  }
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.management.stats;
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
 
 public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatistics {
 
@@ -16,6 +17,7 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
   private final AtomicLong executionError = new AtomicLong(0);
   private final AtomicLong fatalError = new AtomicLong(0);
   protected final ComponentStatistics flowStatistics = new ComponentStatistics();
+  private transient volatile IntSupplier concurrencyLimitSupplier;
 
   public DefaultFlowConstructStatistics(String flowConstructType, String name) {
     super(flowConstructType, name);
@@ -108,4 +110,17 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
     return fatalError.get();
   }
 
+  @Override
+  public int getConcurrencyLimit() {
+    IntSupplier supplier = concurrencyLimitSupplier;
+    return supplier != null ? supplier.getAsInt() : -1;
+  }
+
+  /**
+   * @param concurrencyLimitSupplier provides the current value for {@link #getConcurrencyLimit()}
+   */
+  public void setConcurrencyLimitSupplier(IntSupplier concurrencyLimitSupplier) {
+    this.concurrencyLimitSupplier = concurrencyLimitSupplier;
+  }
+
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the amount of events that may be in-flight at the same time, resizing that limit based on the latency measured for
+ * each event.
+ * <p>
+ * Latency samples are aggregated in windows. At the end of each window the average latency of the window is compared with a
+ * long term average: while latency stays flat the limit grows by its square root, which leaves room for a small queue, and
+ * when latency goes up the limit shrinks proportionally. Events rejected because of overload shrink the limit right away.
+ * <p>
+ * The limit never goes below {@code minLimit} nor above {@code maxLimit}, and it doesn't grow while less than half of it is
+ * in use, so idle periods don't inflate it.
+ *
+ * @since 4.2
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+  /**
+   * The maximum limit used when the flow has no {@code maxConcurrency} of its own.
+   */
+  public static final int DEFAULT_MAX_LIMIT = 1024;
+
+  static final int DEFAULT_INITIAL_LIMIT = 20;
+  static final int DEFAULT_MIN_LIMIT = 1;
+
+  private static final int MIN_WINDOW_SAMPLES = 10;
+  private static final long MAX_WINDOW_NANOS = SECONDS.toNanos(1);
+  private static final double LONG_TERM_SAMPLES = 20;
+  private static final double SMOOTHING = 0.2;
+  private static final double OVERLOAD_BACKOFF = 0.9;
+  private static final double MIN_GRADIENT = 0.5;
+
+  private final int minLimit;
+  private final int maxLimit;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+
+  // guarded by 'this'
+  private double estimatedLimit;
+  private double longTermLatency = -1;
+  private long windowStart = nanoTime();
+  private long windowLatencySum;
+  private int windowSamples;
+  private int windowMaxInFlight;
+
+  /**
+   * Creates a new instance
+   *
+   * @param initialLimit the limit to start with
+   * @param minLimit     the minimum value for the limit
+   * @param maxLimit     the maximum value for the limit
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = max(minLimit, 1);
+    this.maxLimit = max(maxLimit, this.minLimit);
+    this.limit = min(max(initialLimit, this.minLimit), this.maxLimit);
+    this.estimatedLimit = limit;
+  }
+
+  /**
+   * Creates a new instance with default initial and minimum limits.
+   *
+   * @param maxLimit the maximum value for the limit
+   */
+  public AdaptiveConcurrencyLimiter(int maxLimit) {
+    this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, maxLimit);
+  }
+
+  /**
+   * Takes a permit if the limit was not reached.
+   *
+   * @return whether a permit was taken
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns a permit taken through {@link #tryAcquire()}, feeding the latency of the event it was taken
+   * for into the limit calculation.
+   *
+   * @param startNanos the value of {@link System#nanoTime()} when the permit was taken
+   * @param overloaded whether the event failed because some resource was overloaded
+   */
+  public void release(long startNanos, boolean overloaded) {
+    int inFlightBefore = inFlight.getAndDecrement();
+    onSample(nanoTime() - startNanos, inFlightBefore, overloaded);
+  }
+
+  /**
+   * Returns a permit without feeding a latency sample, for events that were not processed at all.
+   */
+  public void cancel() {
+    inFlight.decrementAndGet();
+  }
+
+  private synchronized void onSample(long latencyNanos, int inFlightWhenDone, boolean overloaded) {
+    if (overloaded) {
+      updateLimit(estimatedLimit * OVERLOAD_BACKOFF);
+      resetWindow(nanoTime());
+      return;
+    }
+
+    windowLatencySum += latencyNanos;
+    windowSamples++;
+    windowMaxInFlight = max(windowMaxInFlight, inFlightWhenDone);
+
+    long now = nanoTime();
+    if (windowSamples < MIN_WINDOW_SAMPLES && now - windowStart < MAX_WINDOW_NANOS) {
+      return;
+    }
+
+    double latency = (double) windowLatencySum / windowSamples;
+    if (longTermLatency < 0) {
+      longTermLatency = latency;
+    } else {
+      longTermLatency += (latency - longTermLatency) / LONG_TERM_SAMPLES;
+      // Let the long term average recover quickly after latency drops, otherwise the limit would grow too fast
+      if (longTermLatency > latency * 2) {
+        longTermLatency = latency * 2;
+      }
+    }
+
+    if (latency > 0) {
+      double gradient = max(MIN_GRADIENT, min(1.0, longTermLatency / latency));
+      double newLimit = estimatedLimit * (1 - SMOOTHING) + (estimatedLimit * gradient + sqrt(estimatedLimit)) * SMOOTHING;
+      if (newLimit < estimatedLimit || windowMaxInFlight >= estimatedLimit / 2) {
+        updateLimit(newLimit);
+      }
+    }
+
+    resetWindow(now);
+  }
+
+  private void updateLimit(double newLimit) {
+    estimatedLimit = max(minLimit, min(maxLimit, newLimit));
+    limit = (int) estimatedLimit;
+  }
+
+  private void resetWindow(long now) {
+    windowStart = now;
+    windowLatencySum = 0;
+    windowSamples = 0;
+    windowMaxInFlight = 0;
+  }
+
+  /**
+   * @return the current limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the maximum value for the limit
+   */
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  /**
+   * @return the amount of permits currently taken
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
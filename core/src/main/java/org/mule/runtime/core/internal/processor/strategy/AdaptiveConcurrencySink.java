@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.nanoTime;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.internal.construct.FlowBackPressureException;
+import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delegate {@link Sink} that only lets through as many concurrent events as allowed by an {@link AdaptiveConcurrencyLimiter}.
+ * <p>
+ * A permit is taken for every event accepted and it's returned once the response for that event is available, measuring the
+ * time it took. {@link #emit(CoreEvent)}, used by sources with the {@code FAIL} and {@code DROP} back-pressure strategies,
+ * doesn't let the event through when the limit is reached. {@link #accept(CoreEvent)}, used for flow-refs and sources with
+ * the {@code WAIT} back-pressure strategy, queues the event instead and it is passed to the delegate once a permit is
+ * returned. No thread is blocked waiting for a permit, since {@code accept} runs on {@code CPU_LITE} threads.
+ * <p>
+ * The queue holds up to {@link AdaptiveConcurrencyLimiter#getMaxLimit()} events. Once it is full, events are passed straight to
+ * the delegate, which applies its own {@code WAIT} back-pressure, so upstream is slowed down instead of buffering without bound.
+ */
+public final class AdaptiveConcurrencySink implements Sink, Disposable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencySink.class);
+
+  private final Sink delegate;
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final BlockingQueue<CoreEvent> waiting;
+
+  public AdaptiveConcurrencySink(Sink delegate, AdaptiveConcurrencyLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+    this.waiting = new ArrayBlockingQueue<>(limiter.getMaxLimit());
+  }
+
+  @Override
+  public void accept(CoreEvent event) {
+    if (waiting.isEmpty() && limiter.tryAcquire()) {
+      onResponse(event, nanoTime());
+      acceptOnDelegate(event);
+    } else if (waiting.offer(event)) {
+      drainWaiting();
+    } else {
+      // the queue is full, let the delegate block the caller
+      acceptOnDelegate(event);
+    }
+  }
+
+  @Override
+  public boolean emit(CoreEvent event) {
+    if (!limiter.tryAcquire()) {
+      return false;
+    }
+
+    long start = nanoTime();
+    if (delegate.emit(event)) {
+      onResponse(event, start);
+      return true;
+    } else {
+      limiter.cancel();
+      return false;
+    }
+  }
+
+  /**
+   * Passes queued events to the delegate while there are permits available. Called after queueing an event and after
+   * returning a permit, so an event is never left queued while a permit is free.
+   */
+  private void drainWaiting() {
+    while (!waiting.isEmpty() && limiter.tryAcquire()) {
+      CoreEvent event = waiting.poll();
+      if (event == null) {
+        // another thread took the event, check again in case one was queued while the permit was held
+        limiter.cancel();
+        continue;
+      }
+
+      onResponse(event, nanoTime());
+      acceptOnDelegate(event);
+    }
+  }
+
+  private void acceptOnDelegate(CoreEvent event) {
+    try {
+      delegate.accept(event);
+    } catch (RuntimeException e) {
+      ((BaseEventContext) event.getContext()).error(new MessagingException(event, e));
+    }
+  }
+
+  private void onResponse(CoreEvent event, long start) {
+    ((BaseEventContext) event.getContext())
+        .onResponse((response, throwable) -> {
+          limiter.release(start, isOverload(throwable));
+          drainWaiting();
+        });
+  }
+
+  private boolean isOverload(Throwable throwable) {
+    while (throwable != null) {
+      if (throwable instanceof FlowBackPressureException || throwable instanceof RejectedExecutionException) {
+        return true;
+      }
+      throwable = throwable.getCause() == throwable ? null : throwable.getCause();
+    }
+    return false;
+  }
+
+  @Override
+  public void dispose() {
+    CoreEvent event;
+    while ((event = waiting.poll()) != null) {
+      ((BaseEventContext) event.getContext())
+          .error(new MessagingException(event, new RejectedExecutionException("Flow was stopped before processing the event")));
+    }
+    disposeIfNeeded(delegate, LOGGER);
+  }
+}
@@ -145,6 +145,10 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
       super.stop();
     }
 
+    protected Scheduler getBlockingScheduler() {
+      return blockingScheduler;
+    }
+
     @Override
     public ReactiveProcessor onProcessor(ReactiveProcessor processor) {
       if (processor.getProcessingType() == BLOCKING || processor.getProcessingType() == IO_RW) {
@@ -172,7 +176,7 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
       }, max(maxConcurrency / (getParallelism() * subscribers), 1));
     }
 
-    private boolean scheduleIoRwEvent(CoreEvent event) {
+    protected boolean scheduleIoRwEvent(CoreEvent event) {
       return event.getMessage().getPayload().getDataType().isStreamType()
           && event.getMessage().getPayload().getLength().orElse(MAX_VALUE) > STREAM_PAYLOAD_BLOCKING_IO_THRESHOLD;
     }
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+import static java.util.concurrent.ForkJoinPool.managedBlock;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link Scheduler} for blocking tasks which never rejects work because it is saturated.
+ * <p>
+ * Tasks run on virtual threads when the running JVM supports them. Otherwise they run on a work-stealing
+ * {@link ForkJoinPool} sized to the available cores, where each task is executed as a {@link ManagedBlocker} so that the
+ * pool spawns compensation threads while workers are blocked instead of queueing behind them. Only up to
+ * {@code maxCompensationThreads} tasks run as {@link ManagedBlocker}s at the same time, so that the number of threads is
+ * bounded. Further tasks run on the worker that takes them, and the rest of the work queues behind them.
+ * <p>
+ * Delayed and periodic tasks are timed by the given {@code timerScheduler} and handed over to this scheduler when due. The
+ * timer is owned by this scheduler and stopped along with it.
+ *
+ * @since 4.2
+ */
+final class WorkStealingScheduler extends AbstractExecutorService implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(WorkStealingScheduler.class);
+
+  private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = lookupVirtualThreadExecutorFactory();
+
+  private final String name;
+  private final Scheduler timerScheduler;
+  private final ClassLoader contextClassLoader;
+  private final ExecutorService executor;
+  private final boolean managedBlocking;
+  private final Semaphore compensationPermits;
+
+  /**
+   * Creates a new instance
+   *
+   * @param name                   the name of this scheduler, used as prefix for the names of the threads it creates
+   * @param parallelism            the parallelism of the work-stealing pool used when virtual threads are not available
+   * @param maxCompensationThreads the maximum number of threads the work-stealing pool may add to compensate for blocked
+   *                               workers
+   * @param useVirtualThreads      whether to use virtual threads if the JVM supports them
+   * @param timerScheduler         the scheduler used to time delayed and periodic tasks
+   * @param contextClassLoader     the context {@link ClassLoader} to set for the executed tasks
+   */
+  WorkStealingScheduler(String name, int parallelism, int maxCompensationThreads, boolean useVirtualThreads,
+                        Scheduler timerScheduler, ClassLoader contextClassLoader) {
+    this.name = name;
+    this.timerScheduler = timerScheduler;
+    this.contextClassLoader = contextClassLoader;
+    this.compensationPermits = new Semaphore(maxCompensationThreads);
+
+    ExecutorService virtualThreadsExecutor = useVirtualThreads ? createVirtualThreadsExecutor() : null;
+    if (virtualThreadsExecutor != null) {
+      executor = virtualThreadsExecutor;
+      managedBlocking = false;
+    } else {
+      executor = new ForkJoinPool(parallelism, pool -> {
+        ForkJoinWorkerThread thread = defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName(name + ".ws-" + thread.getPoolIndex());
+        thread.setContextClassLoader(contextClassLoader);
+        return thread;
+      }, null, true);
+      managedBlocking = true;
+    }
+  }
+
+  private static Method lookupVirtualThreadExecutorFactory() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  private static ExecutorService createVirtualThreadsExecutor() {
+    if (NEW_VIRTUAL_THREAD_EXECUTOR == null) {
+      return null;
+    }
+
+    try {
+      return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+    } catch (Exception e) {
+      LOGGER.warn("Could not create virtual threads executor, falling back to a work-stealing pool", e);
+      return null;
+    }
+  }
+
+  /**
+   * @return whether the tasks of this scheduler run on virtual threads
+   */
+  boolean isUsingVirtualThreads() {
+    return !managedBlocking;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(managedBlocking ? () -> runBlocking(command) : () -> runWithContextClassLoader(command));
+  }
+
+  private void runBlocking(Runnable command) {
+    if (!compensationPermits.tryAcquire()) {
+      runWithContextClassLoader(command);
+      return;
+    }
+
+    try {
+      managedBlock(new ManagedBlocker() {
+
+        private boolean done = false;
+
+        @Override
+        public boolean block() {
+          runWithContextClassLoader(command);
+          done = true;
+          return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+          return done;
+        }
+      });
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    } finally {
+      compensationPermits.release();
+    }
+  }
+
+  private void runWithContextClassLoader(Runnable command) {
+    Thread thread = currentThread();
+    ClassLoader originalClassLoader = thread.getContextClassLoader();
+    thread.setContextClassLoader(contextClassLoader);
+    try {
+      command.run();
+    } finally {
+      thread.setContextClassLoader(originalClassLoader);
+    }
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return schedule(() -> {
+      command.run();
+      return null;
+    }, delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    CompletableFuture<V> result = new CompletableFuture<>();
+    ScheduledFuture<?> timer = timerScheduler.schedule(() -> execute(() -> {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        result.complete(callable.call());
+      } catch (Throwable t) {
+        result.completeExceptionally(t);
+      }
+    }), delay, unit);
+
+    return new HandOffScheduledFuture<>(timer, result);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return timerScheduler.scheduleAtFixedRate(() -> execute(command), initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return timerScheduler.scheduleWithFixedDelay(() -> execute(command), initialDelay, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return timerScheduler.scheduleWithCronExpression(() -> execute(command), cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return timerScheduler.scheduleWithCronExpression(() -> execute(command), cronExpression, timeZone);
+  }
+
+  @Override
+  public void stop() {
+    executor.shutdownNow();
+    timerScheduler.stop();
+  }
+
+  @Override
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return executor.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return executor.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return getName() + (managedBlocking ? " (work-stealing)" : " (virtual threads)");
+  }
+
+  /**
+   * A {@link ScheduledFuture} for a task which is timed by one scheduler and run by another.
+   */
+  private static final class HandOffScheduledFuture<V> implements ScheduledFuture<V> {
+
+    private final ScheduledFuture<?> timer;
+    private final CompletableFuture<V> result;
+
+    private HandOffScheduledFuture(ScheduledFuture<?> timer, CompletableFuture<V> result) {
+      this.timer = timer;
+      this.result = result;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return timer.getDelay(unit);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+      return timer.compareTo(o);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      timer.cancel(mayInterruptIfRunning);
+      return result.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return result.isDone();
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+      return result.get();
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      return result.get(timeout, unit);
+    }
+  }
+}
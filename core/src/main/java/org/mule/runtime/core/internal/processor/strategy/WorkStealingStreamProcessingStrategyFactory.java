@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.IO_RW;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.just;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.TransactionAwareProactorStreamProcessingStrategyFactory.TransactionAwareProactorStreamProcessingStrategy;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link WorkStealingStreamProcessingStrategy} instances. These behave like the ones created by
+ * {@link TransactionAwareProactorStreamProcessingStrategyFactory}, except for {@link ReactiveProcessor.ProcessingType#BLOCKING}
+ * and {@link ReactiveProcessor.ProcessingType#IO_RW} processors, which are run on a per flow {@link WorkStealingScheduler}
+ * instead of the shared IO scheduler.
+ * <p/>
+ * That scheduler uses virtual threads when available (unless the {@code DISABLE_VIRTUAL_THREADS} system property is set),
+ * or a work-stealing pool otherwise, which adds up to {@code WORK_STEALING_MAX_COMPENSATION_THREADS} threads (the square of
+ * the available cores by default) while its workers are blocked. Since it never rejects tasks, there's no need to retry the
+ * scheduling of events when the blocking pool is busy. Also, events are not handed back to the CPU_LITE scheduler once the
+ * blocking processor completes, but carry on in the same thread until the next processor that requires a different scheduler.
+ *
+ * @since 4.2
+ */
+public class WorkStealingStreamProcessingStrategyFactory extends ReactorStreamProcessingStrategyFactory
+    implements TransactionAwareProcessingStrategyFactory {
+
+  protected static final boolean USE_VIRTUAL_THREADS = !getBoolean(SYSTEM_PROPERTY_PREFIX + "DISABLE_VIRTUAL_THREADS");
+  protected static final int MAX_COMPENSATION_THREADS =
+      getInteger(SYSTEM_PROPERTY_PREFIX + "WORK_STEALING_MAX_COMPENSATION_THREADS", CORES * CORES);
+
+  @Override
+  public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    final String blockingSchedulerName = schedulersNamePrefix + "." + BLOCKING.name();
+    return new WorkStealingStreamProcessingStrategy(getRingBufferSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                    getBufferSize(),
+                                                    getSubscriberCount(),
+                                                    getWaitStrategy(),
+                                                    () -> muleContext.getSchedulerService()
+                                                        .cpuLightScheduler(muleContext.getSchedulerBaseConfig()
+                                                            .withName(schedulersNamePrefix + "." + CPU_LITE.name())),
+                                                    () -> new WorkStealingScheduler(blockingSchedulerName, CORES,
+                                                                                    MAX_COMPENSATION_THREADS,
+                                                                                    USE_VIRTUAL_THREADS,
+                                                                                    muleContext.getSchedulerService()
+                                                                                        .cpuLightScheduler(muleContext
+                                                                                            .getSchedulerBaseConfig()
+                                                                                            .withName(blockingSchedulerName
+                                                                                                + ".timer")),
+                                                                                    muleContext.getExecutionClassLoader()),
+                                                    () -> muleContext.getSchedulerService()
+                                                        .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                            .withName(schedulersNamePrefix + "." + CPU_INTENSIVE.name())),
+                                                    getMaxConcurrency());
+  }
+
+  @Override
+  public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
+    return WorkStealingStreamProcessingStrategy.class;
+  }
+
+  static class WorkStealingStreamProcessingStrategy extends TransactionAwareProactorStreamProcessingStrategy {
+
+    WorkStealingStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier,
+                                         int bufferSize,
+                                         int subscriberCount,
+                                         String waitStrategy,
+                                         Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                         Supplier<Scheduler> blockingSchedulerSupplier,
+                                         Supplier<Scheduler> cpuIntensiveSchedulerSupplier,
+                                         int maxConcurrency) {
+      super(ringBufferSchedulerSupplier, bufferSize, subscriberCount, waitStrategy, cpuLightSchedulerSupplier,
+            blockingSchedulerSupplier, cpuIntensiveSchedulerSupplier, maxConcurrency);
+    }
+
+    @Override
+    public ReactiveProcessor onProcessor(ReactiveProcessor processor) {
+      if (!isTransactionActive()
+          && (processor.getProcessingType() == BLOCKING || processor.getProcessingType() == IO_RW)) {
+        return workStealing(processor, getBlockingScheduler());
+      }
+      return super.onProcessor(processor);
+    }
+
+    private ReactiveProcessor workStealing(ReactiveProcessor processor, Scheduler scheduler) {
+      reactor.core.scheduler.Scheduler processorScheduler = fromExecutorService(decorateScheduler(scheduler));
+
+      return publisher -> from(publisher).flatMap(event -> {
+        if (processor.getProcessingType() == IO_RW && !scheduleIoRwEvent(event)) {
+          return just(event)
+              .transform(processor)
+              .subscriberContext(ctx -> ctx.put(PROCESSOR_SCHEDULER_CONTEXT_KEY, getCpuLightScheduler()));
+        } else {
+          return just(event)
+              .transform(processor)
+              .subscribeOn(processorScheduler)
+              .subscriberContext(ctx -> ctx.put(PROCESSOR_SCHEDULER_CONTEXT_KEY, scheduler));
+        }
+      }, max(maxConcurrency / (getParallelism() * subscribers), 1));
+    }
+  }
+}
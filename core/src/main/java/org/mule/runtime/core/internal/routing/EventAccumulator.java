@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.io.Serializable;
+
+/**
+ * Folds the events of an {@link IncrementalEventGroup} into a running result as they arrive, so that the events themselves
+ * don't need to be retained until the group is complete.
+ * <p>
+ * Implementations are stored along with the group, so they must be {@link Serializable} if the aggregator uses persistent
+ * stores. {@link EventAccumulators} provides the commonly used ones.
+ *
+ * @since 4.2
+ */
+public interface EventAccumulator extends Serializable {
+
+  /**
+   * Folds the given {@code event} into this accumulator. If this fails, the state of the accumulator must be left untouched.
+   *
+   * @param event the event that arrived to the group
+   * @param muleContext the context of the application the aggregator belongs to
+   */
+  void accumulate(CoreEvent event, MuleContext muleContext);
+
+  /**
+   * @return the result of folding all the events accumulated so far, to be used as the payload of the aggregated message.
+   */
+  Object getResult();
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.api.metadata.DataType.fromObject;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factory methods for the provided {@link EventAccumulator} implementations.
+ *
+ * @since 4.2
+ */
+public final class EventAccumulators {
+
+  /**
+   * The name of the binding that holds the current value of the accumulator when evaluating a fold expression.
+   */
+  public static final String ACCUMULATOR_BINDING = "accumulator";
+
+  private EventAccumulators() {}
+
+  /**
+   * @return an {@link EventAccumulator} which results in the amount of accumulated events.
+   */
+  public static EventAccumulator count() {
+    return new CountAccumulator();
+  }
+
+  /**
+   * @return an {@link EventAccumulator} which results in the sum of the numeric payloads of the accumulated events. The result is
+   *         a {@link Long} if all of them are integral, a {@link Double} otherwise.
+   */
+  public static EventAccumulator sum() {
+    return new SumAccumulator();
+  }
+
+  /**
+   * @return an {@link EventAccumulator} which results in the {@link List} of the payloads of the accumulated events, in arrival
+   *         order.
+   */
+  public static EventAccumulator payloads() {
+    return new PayloadsAccumulator();
+  }
+
+  /**
+   * Creates an {@link EventAccumulator} which evaluates the given {@code expression} for each event to obtain the new value of
+   * the accumulator. The current value is available to the expression through the {@link #ACCUMULATOR_BINDING} binding.
+   *
+   * @param expression the expression to evaluate for each event
+   * @param initialValue the value of the accumulator before any event arrives
+   * @return a new {@link EventAccumulator}
+   */
+  public static EventAccumulator fold(String expression, Object initialValue) {
+    return new FoldAccumulator(expression, initialValue);
+  }
+
+  private static final class CountAccumulator implements EventAccumulator {
+
+    private static final long serialVersionUID = 4510381893473946839L;
+
+    private long count;
+
+    @Override
+    public void accumulate(CoreEvent event, MuleContext muleContext) {
+      ++count;
+    }
+
+    @Override
+    public Object getResult() {
+      return count;
+    }
+  }
+
+  private static final class SumAccumulator implements EventAccumulator {
+
+    private static final long serialVersionUID = -2698340436893424960L;
+
+    private long integralSum;
+    private double sum;
+    private boolean integral = true;
+
+    @Override
+    public void accumulate(CoreEvent event, MuleContext muleContext) {
+      Object payload = event.getMessage().getPayload().getValue();
+      if (!(payload instanceof Number)) {
+        throw new IllegalArgumentException("Only numeric payloads can be summed, but got " + payload);
+      }
+
+      Number value = (Number) payload;
+      if (integral && (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+        integralSum += value.longValue();
+      } else {
+        integral = false;
+      }
+      sum += value.doubleValue();
+    }
+
+    @Override
+    public Object getResult() {
+      return integral ? (Object) integralSum : (Object) sum;
+    }
+  }
+
+  private static final class PayloadsAccumulator implements EventAccumulator {
+
+    private static final long serialVersionUID = -1271093578862930585L;
+
+    private final ArrayList<Object> payloads = new ArrayList<>();
+
+    @Override
+    public void accumulate(CoreEvent event, MuleContext muleContext) {
+      payloads.add(event.getMessage().getPayload().getValue());
+    }
+
+    @Override
+    public Object getResult() {
+      return new ArrayList<>(payloads);
+    }
+  }
+
+  private static final class FoldAccumulator implements EventAccumulator {
+
+    private static final long serialVersionUID = 8418640208036683617L;
+
+    private final String expression;
+    private Object value;
+
+    private FoldAccumulator(String expression, Object initialValue) {
+      this.expression = expression;
+      this.value = initialValue;
+    }
+
+    @Override
+    public void accumulate(CoreEvent event, MuleContext muleContext) {
+      BindingContext bindings =
+          BindingContext.builder().addBinding(ACCUMULATOR_BINDING, new TypedValue<>(value, fromObject(value))).build();
+      value = muleContext.getExpressionManager().evaluate(expression, event, bindings).getValue();
+    }
+
+    @Override
+    public Object getResult() {
+      return value;
+    }
+  }
+}
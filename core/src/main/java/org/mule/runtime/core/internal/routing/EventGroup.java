@@ -364,6 +364,18 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
     return muleContext != null;
   }
 
+  protected MuleContext getMuleContext() {
+    return muleContext;
+  }
+
+  protected PartitionableObjectStore<CoreEvent> getEventsObjectStore() {
+    return eventsObjectStore;
+  }
+
+  protected String getEventsPartitionKey() {
+    return eventsPartitionKey;
+  }
+
   public final class ArrivalOrderEventComparator implements Comparator<CoreEvent> {
 
     @Override
@@ -9,7 +9,10 @@ package org.mule.runtime.core.internal.routing;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
 import static org.mule.runtime.api.metadata.DataType.fromObject;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory.DIRECT_PROCESSING_STRATEGY_INSTANCE;
 import static org.mule.runtime.core.internal.routing.ExpressionSplittingStrategy.DEFAULT_SPLIT_EXPRESSION;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.completeSuccessIfNeeded;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.getProcessingStrategy;
@@ -28,12 +31,17 @@ import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.event.CoreEvent.Builder;
 import org.mule.runtime.core.api.processor.AbstractMessageProcessorOwner;
 import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.internal.routing.forkjoin.ReducingForkJoinStrategyFactory;
 import org.mule.runtime.core.internal.routing.outbound.EventBuilderConfigurer;
 import org.mule.runtime.core.internal.routing.outbound.EventBuilderConfigurerIterator;
 import org.mule.runtime.core.internal.routing.outbound.EventBuilderConfigurerList;
@@ -52,6 +60,8 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.inject.Inject;
+
 import reactor.core.publisher.Mono;
 
 /**
@@ -65,6 +75,13 @@ import reactor.core.publisher.Mono;
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p>
  * The {@link CoreEvent} sent to the next message processor is the same that arrived to foreach.
+ * <p>
+ * Defining a maxConcurrency greater than one processes up to that many elements (or batches) in parallel using a
+ * {@link ForkJoinStrategy}. In this mode each element is processed with the variables of the event that arrived to foreach
+ * rather than those of the previous element, and variables set while processing the elements are merged into the result
+ * following the order of the elements, or the order in which they completed if {@link #setOrdered(boolean)} is {@code false}.
+ * An error fails foreach as soon as it happens unless {@link #setCollectErrors(boolean)} is set, in which case all elements are
+ * processed and a {@link org.mule.runtime.core.privileged.routing.CompositeRoutingException} with the failed elements is thrown.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, Scope {
 
@@ -80,6 +97,15 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private String rootMessageVariableName = DEFAULT_ROOT_MESSAGE_VARIABLE;
   private String counterVariableName = DEFAULT_COUNTER_VARIABLE;
   private MessageProcessorChain nestedChain;
+  private int maxConcurrency = 1;
+  private boolean ordered = true;
+  private boolean collectErrors = false;
+  private long timeout = Long.MAX_VALUE;
+  private ForkJoinStrategy forkJoinStrategy;
+  private Scheduler timeoutScheduler;
+
+  @Inject
+  private SchedulerService schedulerService;
 
   @Override
   public CoreEvent process(CoreEvent event) throws MuleException {
@@ -109,7 +135,7 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
           final CoreEvent requestEvent =
               builder(originalEvent).addVariable(rootMessageVariableName, originalEvent.getMessage()).build();
 
-          return Mono.from(splitAndProcess(requestEvent))
+          return Mono.from(maxConcurrency > 1 ? splitAndProcessParallel(requestEvent) : splitAndProcess(requestEvent))
               .map(result -> {
                 final Builder responseBuilder = builder(result).message(originalEvent.getMessage());
                 restoreVariables(previousCounterVar, previousRootMessageVar, responseBuilder);
@@ -207,6 +233,45 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
         .errorStrategyStop();
   }
 
+  private Publisher<CoreEvent> splitAndProcessParallel(CoreEvent request) {
+    AtomicInteger count = new AtomicInteger();
+
+    // Parts are lazily created as the fork-join strategy requests them, and each result is folded into the response as soon as
+    // its part completes, so neither the split sequence nor the part results are ever fully materialized.
+    Publisher<RoutingPair> routingPairs = fromIterable(() -> splitRequest(request))
+        .onErrorMap(throwable -> new MessagingException(request, throwable, Foreach.this))
+        .transform(p -> batchSize > 1
+            ? from(p).buffer(batchSize).map(list -> new TypedValue<>(list, fromObject(list)))
+            : p)
+        // Unlike sequential processing every part is built from the request event, as parts don't wait for each other.
+        .map(typedValue -> {
+          Builder partEventBuilder = builder(request);
+          ReactiveProcessor route = nestedChain;
+          if (typedValue.getValue() instanceof EventBuilderConfigurer) {
+            EventBuilderConfigurer configurer = (EventBuilderConfigurer) typedValue.getValue();
+            configurer.configure(partEventBuilder);
+            // same as in sequential processing, each part is completed as soon as its own route is done
+            route = publisher -> from(publisher).transform(nestedChain).doFinally(signal -> configurer.eventCompleted());
+          } else if (typedValue.getValue() instanceof Message) {
+            partEventBuilder.message((Message) typedValue.getValue());
+          } else {
+            partEventBuilder.message(Message.builder().payload(typedValue).build());
+          }
+          return RoutingPair.of(partEventBuilder.addVariable(counterVariableName, count.incrementAndGet()).build(), route);
+        });
+
+    return Mono.from(forkJoinStrategy.forkJoin(request, routingPairs))
+        .map(result -> {
+          if (count.get() == 0) {
+            logger.warn("Split expression returned no results. If this is not expected please check your expression");
+          }
+          return builder(result).message(request.getMessage()).build();
+        })
+        // Errors collected by the fork-join strategy are not messaging exceptions, so wrap them keeping the request event.
+        .onErrorMap(throwable -> !(throwable instanceof MessagingException),
+                    throwable -> new MessagingException(request, throwable, Foreach.this));
+  }
+
   private Iterator<TypedValue<?>> splitRequest(CoreEvent request) {
     Object payloadValue = request.getMessage().getPayload().getValue();
     if (DEFAULT_SPLIT_EXPRESSION.equals(expression) && payloadValue instanceof EventBuilderConfigurerList) {
@@ -235,9 +300,24 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     Optional<ProcessingStrategy> processingStrategy = getProcessingStrategy(locator, getRootContainerLocation());
     nestedChain = newChain(processingStrategy, messageProcessors);
     splittingStrategy = new ExpressionSplittingStrategy(muleContext.getExpressionManager(), expression);
+    if (maxConcurrency > 1) {
+      timeoutScheduler = schedulerService.cpuLightScheduler();
+      forkJoinStrategy = new ReducingForkJoinStrategyFactory(ordered)
+          .createForkJoinStrategy(processingStrategy.orElse(DIRECT_PROCESSING_STRATEGY_INSTANCE), maxConcurrency, collectErrors,
+                                  timeout, timeoutScheduler, muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get());
+    }
     super.initialise();
   }
 
+  @Override
+  public void dispose() {
+    if (timeoutScheduler != null) {
+      timeoutScheduler.stop();
+      timeoutScheduler = null;
+    }
+    super.dispose();
+  }
+
   public void setCollectionExpression(String expression) {
     this.expression = expression;
   }
@@ -254,6 +334,53 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.counterVariableName = counterVariableName;
   }
 
+  /**
+   * Set the maximum number of elements, or batches when a batch size is defined, which are processed in parallel. The default
+   * of one processes elements sequentially.
+   *
+   * @param maxConcurrency
+   * @throws IllegalArgumentException if the value is zero or less.
+   * @since 4.2
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    checkArgument(maxConcurrency > 0, "Maximum concurrency must be one or more.");
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Only applies when maxConcurrency is greater than one. Defines if variables set while processing the elements are merged in
+   * the order of the elements (default) or in the order in which they complete.
+   *
+   * @param ordered
+   * @since 4.2
+   */
+  public void setOrdered(boolean ordered) {
+    this.ordered = ordered;
+  }
+
+  /**
+   * Only applies when maxConcurrency is greater than one. When {@code true} all elements are processed regardless of errors
+   * and a composite exception is thrown where there were one or more errors, otherwise foreach fails on the first error.
+   *
+   * @param collectErrors
+   * @since 4.2
+   */
+  public void setCollectErrors(boolean collectErrors) {
+    this.collectErrors = collectErrors;
+  }
+
+  /**
+   * Only applies when maxConcurrency is greater than one. Set the timeout applied to the processing of each element.
+   *
+   * @param timeout timeout in ms
+   * @throws IllegalArgumentException if the value is zero or less.
+   * @since 4.2
+   */
+  public void setTimeout(long timeout) {
+    checkArgument(timeout > 0, "Timeout must be greater than zero");
+    this.timeout = timeout;
+  }
+
   private static class EventBuilderConfigurerIteratorWrapper implements Iterator<TypedValue<?>> {
 
     private final EventBuilderConfigurerIterator configurerIterator;
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.routing.correlation.EventCorrelatorCallback;
+import org.mule.runtime.core.internal.routing.correlation.IncrementalCorrelatorCallback;
+
+import java.util.function.Supplier;
+
+/**
+ * An aggregator which folds each event into an {@link EventAccumulator} as it arrives, instead of retaining all the events of
+ * the group until it is complete as {@link SimpleCollectionAggregator} does. The aggregated message has the result of the
+ * accumulator as its payload.
+ * <p>
+ * By default, the payloads of the events are accumulated into a {@link java.util.List}. See {@link EventAccumulators} for other
+ * options.
+ *
+ * @since 4.2
+ */
+public class IncrementalAggregator extends AbstractAggregator {
+
+  private Supplier<EventAccumulator> accumulatorFactory = EventAccumulators::payloads;
+
+  @Override
+  protected EventCorrelatorCallback getCorrelatorCallback(MuleContext muleContext) {
+    return new IncrementalCorrelatorCallback(muleContext, storePrefix, accumulatorFactory);
+  }
+
+  /**
+   * @param accumulatorFactory creates the {@link EventAccumulator} for each new group
+   */
+  public void setAccumulatorFactory(Supplier<EventAccumulator> accumulatorFactory) {
+    requireNonNull(accumulatorFactory);
+    this.accumulatorFactory = accumulatorFactory;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.String.format;
+import static java.util.Collections.max;
+import static java.util.Collections.sort;
+import static org.apache.commons.lang3.SerializationUtils.clone;
+import static org.mule.runtime.core.api.message.GroupCorrelation.NOT_SET;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.privileged.event.DefaultMuleSession;
+import org.mule.runtime.core.privileged.event.MuleSession;
+import org.mule.runtime.core.privileged.event.PrivilegedEvent;
+
+import org.apache.commons.collections.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An {@link EventGroup} which, instead of retaining each event until the group is complete, folds them into an
+ * {@link EventAccumulator} as they arrive.
+ * <p>
+ * Only the accumulator, the merged session and the last received event are kept, so the memory used by the group does not
+ * depend on its size. Persistent stores keep the received events instead, and fold them one at a time when the group is
+ * aggregated. The aggregated message has the result of the accumulator as its payload, and is built on top of the last
+ * received event, as in {@link EventGroup#getMessageCollectionEvent()}.
+ * <p>
+ * {@link #toArray()} and {@link #iterator()} only provide the last received event.
+ *
+ * @since 4.2
+ */
+public class IncrementalEventGroup extends EventGroup {
+
+  private static final long serialVersionUID = -3375851296093624581L;
+
+  private final EventAccumulator initialAccumulator;
+
+  // Only used for non persistent stores, which keep this same group instance for as long as the group lives
+  private transient Accumulation accumulation;
+
+  /**
+   * Creates a new group
+   *
+   * @param groupId the id of the group
+   * @param muleContext the context of the application the aggregator belongs to
+   * @param expectedSize the number of events expected for this group, if known
+   * @param storePrefix the prefix of the store partitions of the aggregator
+   * @param accumulator the {@link EventAccumulator} to fold the events of this group into. Must not be shared with other
+   *        groups.
+   */
+  public IncrementalEventGroup(Object groupId, MuleContext muleContext, Optional<Integer> expectedSize, String storePrefix,
+                               EventAccumulator accumulator) {
+    super(groupId, muleContext, expectedSize, storePrefix);
+    this.initialAccumulator = accumulator;
+  }
+
+  /**
+   * Folds the given event into this group's accumulator.
+   * <p>
+   * If the events store is persistent, only the event itself is stored, and the events are folded when the group is aggregated.
+   * This way, adding an event does not write the whole accumulation again.
+   *
+   * @param event the event to add
+   * @throws ObjectStoreException
+   */
+  @Override
+  public void addEvent(CoreEvent event) throws ObjectStoreException {
+    synchronized (this) {
+      if (getEventsObjectStore().isPersistent()) {
+        getEventsObjectStore().store(getEventKey(getEventsObjectStore().allKeys(getEventsPartitionKey()).size()), event,
+                                     getEventsPartitionKey());
+      } else {
+        if (accumulation == null) {
+          accumulation = new Accumulation(initialAccumulator);
+        }
+        accumulation.add(event, getMuleContext());
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    synchronized (this) {
+      if (getEventsObjectStore().isPersistent()) {
+        return super.size();
+      }
+      return accumulation != null ? accumulation.size : 0;
+    }
+  }
+
+  /**
+   * @return an array with the last received event, or an empty one if no events were received.
+   * @throws ObjectStoreException
+   */
+  @Override
+  public PrivilegedEvent[] toArray(boolean sortByArrival) throws ObjectStoreException {
+    synchronized (this) {
+      if (getEventsObjectStore().isPersistent()) {
+        List<String> keys = getEventsObjectStore().allKeys(getEventsPartitionKey());
+        return keys.isEmpty() ? EMPTY_EVENTS_ARRAY
+            : new PrivilegedEvent[] {(PrivilegedEvent) getEventsObjectStore().retrieve(max(keys), getEventsPartitionKey())};
+      }
+      return accumulation != null ? new PrivilegedEvent[] {accumulation.lastEvent} : EMPTY_EVENTS_ARRAY;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Iterator<CoreEvent> iterator(boolean sortByArrival) throws ObjectStoreException {
+    return IteratorUtils.arrayIterator(toArray(sortByArrival));
+  }
+
+  @Override
+  public CoreEvent getMessageCollectionEvent() {
+    try {
+      Accumulation result;
+      synchronized (this) {
+        result = getEventsObjectStore().isPersistent() ? foldStoredEvents() : accumulation;
+      }
+      if (result == null) {
+        return null;
+      }
+
+      return PrivilegedEvent.builder(result.lastEvent).message(Message.of(result.accumulator.getResult()))
+          .session(new DefaultMuleSession(result.session)).build();
+    } catch (ObjectStoreException e) {
+      // Nothing to do...
+      return null;
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    synchronized (this) {
+      accumulation = null;
+      super.clear();
+    }
+  }
+
+  private Accumulation foldStoredEvents() throws ObjectStoreException {
+    List<String> keys = new ArrayList<>(getEventsObjectStore().allKeys(getEventsPartitionKey()));
+    if (keys.isEmpty()) {
+      return null;
+    }
+
+    sort(keys);
+    // Fold into a copy, so that aggregating the same group instance again does not count its events twice
+    Accumulation folded = new Accumulation(clone(initialAccumulator));
+    for (String key : keys) {
+      folded.add(getEventsObjectStore().retrieve(key, getEventsPartitionKey()), getMuleContext());
+    }
+    return folded;
+  }
+
+  // The arrival order is padded so that the keys sort in the same order as the events arrived
+  private String getEventKey(int arrivalOrder) {
+    return format("%010d", arrivalOrder);
+  }
+
+  @Override
+  public String toString() {
+    return ClassUtils.getSimpleName(this.getClass()) + " {id=" + getGroupId() + ", expected size="
+        + expectedSize().map(v -> v.toString()).orElse(NOT_SET) + ", current events=" + size() + "}";
+  }
+
+  private static final class Accumulation {
+
+    private final EventAccumulator accumulator;
+    private int size;
+    private PrivilegedEvent lastEvent;
+    private MuleSession session;
+
+    private Accumulation(EventAccumulator accumulator) {
+      this.accumulator = accumulator;
+    }
+
+    private void add(CoreEvent event, MuleContext muleContext) {
+      accumulator.accumulate(event, muleContext);
+
+      PrivilegedEvent privilegedEvent = (PrivilegedEvent) event;
+      if (session == null) {
+        session = new DefaultMuleSession(privilegedEvent.getSession());
+      } else {
+        for (String name : privilegedEvent.getSession().getPropertyNamesAsSet()) {
+          session.setProperty(name, privilegedEvent.getSession().getProperty(name));
+        }
+      }
+
+      lastEvent = privilegedEvent;
+      ++size;
+    }
+  }
+}
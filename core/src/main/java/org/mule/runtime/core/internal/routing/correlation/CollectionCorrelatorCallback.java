@@ -33,7 +33,7 @@ public class CollectionCorrelatorCallback implements EventCorrelatorCallback {
   protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
   protected MuleContext muleContext;
-  private final String storePrefix;
+  protected final String storePrefix;
 
   public CollectionCorrelatorCallback(MuleContext muleContext, String storePrefix) {
     this.muleContext = muleContext;
@@ -69,11 +69,17 @@ public class CollectionCorrelatorCallback implements EventCorrelatorCallback {
    */
   @Override
   public EventGroup createEventGroup(CoreEvent event, Object groupId) {
-    return new EventGroup(groupId, muleContext,
-                          event.getGroupCorrelation().isPresent() ? event.getGroupCorrelation().get().getGroupSize().isPresent()
-                              ? Optional.of(event.getGroupCorrelation().get().getGroupSize().getAsInt())
-                              : empty() : Optional.empty(),
-                          storePrefix);
+    return new EventGroup(groupId, muleContext, getExpectedSize(event), storePrefix);
+  }
+
+  /**
+   * @param event the event for which a group is being created
+   * @return the group size from the {@link org.mule.runtime.core.api.message.GroupCorrelation} of the {@code event}, if set.
+   */
+  protected Optional<Integer> getExpectedSize(CoreEvent event) {
+    return event.getGroupCorrelation().isPresent() ? event.getGroupCorrelation().get().getGroupSize().isPresent()
+        ? Optional.of(event.getGroupCorrelation().get().getGroupSize().getAsInt())
+        : empty() : Optional.empty();
   }
 
   /**
@@ -67,9 +67,14 @@ public class EventCorrelator implements Startable, Stoppable {
 
   private static final long DELAY_TIME = 10;
 
-  protected final Object groupsLock = new Object();
+  /**
+   * The number of locks used to guard the event groups. Each group is guarded by one of these, selected by its id, so that
+   * events for unrelated groups can be correlated concurrently.
+   */
+  private static final int GROUP_LOCK_STRIPES = 256;
+
+  private final Object[] groupLocks = new Object[GROUP_LOCK_STRIPES];
 
-  // @GuardedBy groupsLock
   protected ObjectStore<Long> processedGroups = null;
 
   private long timeout = -1; // undefined
@@ -120,6 +125,20 @@ public class EventCorrelator implements Startable, Stoppable {
     this.correlatorStore = correlatorStore;
     this.storePrefix = storePrefix;
     this.processedGroups = processedGroups;
+
+    for (int i = 0; i < groupLocks.length; ++i) {
+      groupLocks[i] = new Object();
+    }
+  }
+
+  /**
+   * @param groupId the id of an event group
+   * @return the lock that guards the event group with the given {@code groupId}
+   */
+  protected Object getGroupLock(Object groupId) {
+    int hash = groupId.hashCode();
+    // spread the higher bits, since only the lower ones are used to select the lock
+    return groupLocks[(hash ^ (hash >>> 16)) & (GROUP_LOCK_STRIPES - 1)];
   }
 
   public void forceGroupExpiry(String groupId) throws MuleException {
@@ -188,7 +207,7 @@ public class EventCorrelator implements Startable, Stoppable {
       }
 
       // ensure that only one thread at a time evaluates this EventGroup
-      synchronized (groupsLock) {
+      synchronized (getGroupLock(groupId)) {
         if (logger.isDebugEnabled()) {
           logger.debug("Adding event to aggregator group: " + groupId);
         }
@@ -260,7 +279,7 @@ public class EventCorrelator implements Startable, Stoppable {
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(groupId)) {
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((String) groupId, getEventGroupsPartitionKey());
         addProcessedGroup(groupId);
@@ -269,13 +288,13 @@ public class EventCorrelator implements Startable, Stoppable {
   }
 
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(id)) {
       processedGroups.store((String) id, currentTimeMillis());
     }
   }
 
   protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (getGroupLock(id)) {
       return processedGroups.contains((String) id);
     }
   }
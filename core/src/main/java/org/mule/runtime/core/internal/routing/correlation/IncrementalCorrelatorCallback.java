@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.correlation;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.EventAccumulator;
+import org.mule.runtime.core.internal.routing.EventGroup;
+import org.mule.runtime.core.internal.routing.IncrementalEventGroup;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link CollectionCorrelatorCallback} which creates {@link IncrementalEventGroup}s, so that the events are folded into an
+ * {@link EventAccumulator} as they arrive instead of being retained until the group is complete.
+ *
+ * @since 4.2
+ */
+public class IncrementalCorrelatorCallback extends CollectionCorrelatorCallback {
+
+  private final Supplier<EventAccumulator> accumulatorFactory;
+
+  /**
+   * Creates a new instance
+   *
+   * @param muleContext the context of the application the aggregator belongs to
+   * @param storePrefix the prefix of the store partitions of the aggregator
+   * @param accumulatorFactory creates the {@link EventAccumulator} for each new group
+   */
+  public IncrementalCorrelatorCallback(MuleContext muleContext, String storePrefix,
+                                       Supplier<EventAccumulator> accumulatorFactory) {
+    super(muleContext, storePrefix);
+    this.accumulatorFactory = accumulatorFactory;
+  }
+
+  @Override
+  public EventGroup createEventGroup(CoreEvent event, Object groupId) {
+    return new IncrementalEventGroup(groupId, muleContext, getExpectedSize(event), storePrefix, accumulatorFactory.get());
+  }
+}
@@ -12,6 +12,7 @@ import static java.util.Optional.empty;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
 import static org.mule.runtime.core.api.rx.Exceptions.checkedConsumer;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChildContext;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processWithChildContext;
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
@@ -25,6 +26,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -46,6 +48,7 @@ import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategyFactory;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
 import org.mule.runtime.core.privileged.routing.RoutingResult;
 
@@ -61,12 +64,37 @@ import reactor.core.scheduler.Schedulers;
  * <li>Merge variables using a last-wins strategy.
  * <li>Use of an optional timeout.
  * <li>Delay error behavior, where all errors are collated and thrown as a composite exception.
+ * <li>Results ordered as the routing pairs were, or in completion order when the factory is unordered.
  * </ul>
  */
 public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrategyFactory {
 
   public static final String TIMEOUT_EXCEPTION_DESCRIPTION = "Route Timeout";
   public static final String TIMEOUT_EXCEPTION_DETAILED_DESCRIPTION_PREFIX = "Timeout while processing route/part:";
+  public static final String ROUTE_CANCELLED_DESCRIPTION = "Cancelled route/part:";
+
+  private final boolean ordered;
+
+  public AbstractForkJoinStrategyFactory() {
+    this(true);
+  }
+
+  /**
+   * @param ordered whether route results are aggregated in the order of the routing pairs ({@code true}) or in the order routes
+   *        complete ({@code false}). Unordered aggregation avoids holding back completed routes behind a slower preceding one.
+   * @since 4.2
+   */
+  public AbstractForkJoinStrategyFactory(boolean ordered) {
+    this.ordered = ordered;
+  }
+
+  /**
+   * @return whether route results are aggregated in the order of the routing pairs
+   * @since 4.2
+   */
+  protected boolean isOrdered() {
+    return ordered;
+  }
 
   @Override
   public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
@@ -75,11 +103,13 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
       final CoreEvent.Builder resultBuilder = builder(original);
+      Function<RoutingPair, Publisher<? extends CoreEvent>> routePairProcessor =
+          processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler, timeoutErrorType);
       return from(routingPairs)
           .map(addSequence(count))
-          .flatMapSequential(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler,
-                                              timeoutErrorType),
-                             maxConcurrency)
+          .transform(pairs -> ordered
+              ? pairs.flatMapSequential(routePairProcessor, maxConcurrency)
+              : pairs.flatMap(routePairProcessor, maxConcurrency))
           .collectList()
           .doOnNext(list -> {
             if (list.stream().anyMatch(event -> event.getError().isPresent())) {
@@ -102,28 +132,47 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   protected abstract Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
                                                                             CoreEvent.Builder resultBuilder);
 
-  private Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
+  /**
+   * @param count the counter used to assign sequence numbers
+   * @return a function that sets the next sequence number as the group correlation of the routing pair event.
+   */
+  protected Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
     return pair -> of(builder(pair.getEvent()).groupCorrelation(Optional.of(GroupCorrelation.of(count.getAndIncrement())))
         .build(), pair.getRoute());
   }
 
-  private Function<RoutingPair, Publisher<? extends CoreEvent>> processRoutePair(ProcessingStrategy processingStrategy,
-                                                                                 int maxConcurrency,
-                                                                                 boolean delayErrors, long timeout,
-                                                                                 reactor.core.scheduler.Scheduler timeoutScheduler,
-                                                                                 ErrorType timeoutErrorType) {
+  /**
+   * Processes each routing pair in its own child event context, applying the timeout. When {@code delayErrors} is {@code true}
+   * errors are emitted as events with an error rather than propagated.
+   * <p>
+   * If the subscription to a route is cancelled before it completes, for example because another route failed or the strategy
+   * no longer needs its result, the child context of the route is completed with a {@link CancellationException} so it does not
+   * hold back the completion of the parent context. The result of such route, if any, is discarded.
+   */
+  protected Function<RoutingPair, Publisher<? extends CoreEvent>> processRoutePair(ProcessingStrategy processingStrategy,
+                                                                                   int maxConcurrency,
+                                                                                   boolean delayErrors, long timeout,
+                                                                                   reactor.core.scheduler.Scheduler timeoutScheduler,
+                                                                                   ErrorType timeoutErrorType) {
 
     return pair -> {
       ReactiveProcessor route = publisher -> from(publisher)
           .transform(pair.getRoute())
           .timeout(ofMillis(timeout), onTimeout(processingStrategy, delayErrors, timeoutErrorType, pair), timeoutScheduler);
+      BaseEventContext childContext = newChildContext(pair.getEvent(), empty());
       return from(processWithChildContext(pair.getEvent(),
-                                          applyProcessingStrategy(processingStrategy, route, maxConcurrency), empty()))
+                                          applyProcessingStrategy(processingStrategy, route, maxConcurrency), childContext))
                                               .onErrorResume(MessagingException.class,
-                                                             me -> delayErrors ? just(me.getEvent()) : error(me));
+                                                             me -> delayErrors ? just(me.getEvent()) : error(me))
+                                              .doOnCancel(() -> cancelRoute(childContext, pair));
     };
   }
 
+  private void cancelRoute(BaseEventContext childContext, RoutingPair pair) {
+    childContext.error(new CancellationException(ROUTE_CANCELLED_DESCRIPTION + " '"
+        + pair.getEvent().getGroupCorrelation().get().getSequence() + "'"));
+  }
+
   private Mono<CoreEvent> onTimeout(ProcessingStrategy processingStrategy, boolean delayErrors, ErrorType timeoutErrorType,
                                     RoutingPair pair) {
     return defer(() -> delayErrors ? just(createTimeoutErrorEvent(timeoutErrorType, pair))
@@ -151,7 +200,11 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         .build();
   }
 
-  private CompositeRoutingException createCompositeRoutingException(List<CoreEvent> results) {
+  /**
+   * @param results the results of the routes, both successful and failed.
+   * @return a {@link CompositeRoutingException} with the results keyed by route sequence number.
+   */
+  protected CompositeRoutingException createCompositeRoutingException(List<CoreEvent> results) {
     Map<String, Message> successMap = new LinkedHashMap<>();
     Map<String, Error> errorMap = new LinkedHashMap<>();
 
@@ -166,37 +219,52 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     return new CompositeRoutingException(new RoutingResult(successMap, errorMap));
   }
 
-  private Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
+  /**
+   * @param original the original event
+   * @param result the builder of the result event where merged variables are added
+   * @return a consumer that merges the variables added or mutated by routes into {@code result}.
+   */
+  protected Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
     return list -> {
       Map<String, TypedValue> routeVars = new HashMap<>();
-      list.forEach(event -> event.getVariables().forEach((key, value) -> {
-        // Only merge variables that have been added or mutated in routes
-        if (!value.equals(original.getVariables().get(key))) {
-          if (!routeVars.containsKey(key)) {
-            // A new variable that hasn't already been set by another route is added as a simple entry.
-            routeVars.put(key, value);
+      list.forEach(event -> mergeVariables(original, event, routeVars));
+      routeVars.forEach((s, typedValue) -> result.addVariable(s, typedValue.getValue(), typedValue.getDataType()));
+    };
+  }
+
+  /**
+   * @param original the original event
+   * @param event the result of a route
+   * @param routeVars the variables merged so far, where the ones added or mutated by the {@code event} route are merged
+   * @since 4.2
+   */
+  protected void mergeVariables(CoreEvent original, CoreEvent event, Map<String, TypedValue> routeVars) {
+    event.getVariables().forEach((key, value) -> {
+      // Only merge variables that have been added or mutated in routes
+      if (!value.equals(original.getVariables().get(key))) {
+        if (!routeVars.containsKey(key)) {
+          // A new variable that hasn't already been set by another route is added as a simple entry.
+          routeVars.put(key, value);
+        } else {
+          // If a variable already exists from before route, or was set in a previous route, then it's added to a list of 1.
+          if (!(routeVars.get(key).getValue() instanceof List)) {
+            List newList = new ArrayList();
+            newList.add(routeVars.get(key).getValue());
+            routeVars.put(key, new TypedValue(newList, DataType.builder().collectionType(List.class)
+                .itemType(routeVars.get(key).getDataType().getType()).build()));
+          }
+          List valueList = (List) routeVars.get(key).getValue();
+          valueList.add(value.getValue());
+          if (((CollectionDataType) routeVars.get(key).getDataType()).getItemDataType().isCompatibleWith(value.getDataType())) {
+            // If item types are compatible then data type is conserved
+            routeVars.put(key, new TypedValue(valueList, routeVars.get(key).getDataType()));
           } else {
-            // If a variable already exists from before route, or was set in a previous route, then it's added to a list of 1.
-            if (!(routeVars.get(key).getValue() instanceof List)) {
-              List newList = new ArrayList();
-              newList.add(routeVars.get(key).getValue());
-              routeVars.put(key, new TypedValue(newList, DataType.builder().collectionType(List.class)
-                  .itemType(routeVars.get(key).getDataType().getType()).build()));
-            }
-            List valueList = (List) routeVars.get(key).getValue();
-            valueList.add(value.getValue());
-            if (((CollectionDataType) routeVars.get(key).getDataType()).getItemDataType().isCompatibleWith(value.getDataType())) {
-              // If item types are compatible then data type is conserved
-              routeVars.put(key, new TypedValue(valueList, routeVars.get(key).getDataType()));
-            } else {
-              // Else Object item type is used.
-              routeVars.put(key, new TypedValue(valueList, DataType.builder().collectionType(List.class).build()));
-            }
+            // Else Object item type is used.
+            routeVars.put(key, new TypedValue(valueList, DataType.builder().collectionType(List.class).build()));
           }
         }
-      }));
-      routeVars.forEach((s, typedValue) -> result.addVariable(s, typedValue.getValue(), typedValue.getDataType()));
-    };
+      }
+    });
   }
 
 }
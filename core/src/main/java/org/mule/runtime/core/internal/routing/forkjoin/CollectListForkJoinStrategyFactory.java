@@ -24,12 +24,25 @@ import java.util.function.Function;
  * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
  * <li>Merges variables using a last-wins strategy.
  * <li>Waits for the completion of all routes before emitting a result event, with an optional timeout.
- * <li>Collects results into a result {@link CoreEvent} with a {@link List<org.mule.runtime.api.message.Message>} payload.
+ * <li>Collects results into a result {@link CoreEvent} with a {@link List<org.mule.runtime.api.message.Message>} payload, in
+ * routing pair order unless created as unordered.
  * <li>Will processor all routes, regardless of errors, and propagating a composite exception where there were one or more errors.
  * </ul>
  */
 public class CollectListForkJoinStrategyFactory extends AbstractForkJoinStrategyFactory {
 
+  public CollectListForkJoinStrategyFactory() {
+    super();
+  }
+
+  /**
+   * @param ordered whether the result list follows the order of the routing pairs or the order in which routes complete.
+   * @since 4.2
+   */
+  public CollectListForkJoinStrategyFactory(boolean ordered) {
+    super(ordered);
+  }
+
   @Override
   protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
                                                                    CoreEvent.Builder resultBuilder) {
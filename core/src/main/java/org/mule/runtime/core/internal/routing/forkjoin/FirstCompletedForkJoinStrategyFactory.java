@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.metadata.DataType.OBJECT;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Emits the result of the first route that completes successfully, cancelling the routes that are still running.
+ * <li>Keeps the variables set by that route.
+ * <li>Uses an optional timeout for each route, a route that times out counts as failed.
+ * <li>With delay errors, only fails when all routes failed, propagating a composite exception. Otherwise the first error is
+ * propagated.
+ * </ul>
+ * This is useful for hedging requests across equivalent routes, such as replicated backends.
+ *
+ * @since 4.2
+ */
+public class FirstCompletedForkJoinStrategyFactory extends QuorumForkJoinStrategyFactory {
+
+  public FirstCompletedForkJoinStrategyFactory() {
+    super(1);
+  }
+
+  @Override
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
+                                                                   CoreEvent.Builder resultBuilder) {
+    return list -> resultBuilder.message(list.get(0).getMessage()).build();
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return OBJECT;
+  }
+}
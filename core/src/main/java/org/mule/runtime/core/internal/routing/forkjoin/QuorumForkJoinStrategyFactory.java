@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Collections.synchronizedList;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.MULE_MESSAGE_LIST;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Emits a result event as soon as {@code minSuccessful} routes have completed successfully, cancelling the routes that are
+ * still running. Their child event contexts are completed so they don't hold back the completion of the original event.
+ * <li>Merges variables of the successful routes using a last-wins strategy.
+ * <li>Collects results into a result {@link CoreEvent} with a {@link List<org.mule.runtime.api.message.Message>} payload, in
+ * completion order.
+ * <li>Uses an optional timeout for each route, a route that times out counts as failed.
+ * <li>With delay errors, a failed route only fails the strategy once all routes have completed without reaching
+ * {@code minSuccessful}, in which case a composite exception is propagated. Otherwise the first error is propagated.
+ * </ul>
+ *
+ * @since 4.2
+ */
+public class QuorumForkJoinStrategyFactory extends AbstractForkJoinStrategyFactory {
+
+  private int minSuccessful = 1;
+
+  public QuorumForkJoinStrategyFactory() {}
+
+  /**
+   * @param minSuccessful the number of routes that have to complete successfully for the strategy to complete.
+   */
+  public QuorumForkJoinStrategyFactory(int minSuccessful) {
+    this();
+    setMinSuccessful(minSuccessful);
+  }
+
+  /**
+   * Set the number of routes that have to complete successfully for the strategy to complete.
+   *
+   * @param minSuccessful
+   * @throws IllegalArgumentException if the value is zero or less.
+   */
+  public void setMinSuccessful(int minSuccessful) {
+    checkArgument(minSuccessful > 0, "Minimum successful routes must be one or more.");
+    this.minSuccessful = minSuccessful;
+  }
+
+  @Override
+  public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
+                                                 long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
+    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
+    final int quorum = minSuccessful;
+    return (original, routingPairs) -> {
+      final AtomicInteger count = new AtomicInteger();
+      final List<CoreEvent> failed = synchronizedList(new ArrayList<>());
+      final CoreEvent.Builder resultBuilder = builder(original);
+      return from(routingPairs)
+          .map(addSequence(count))
+          .flatMap(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler,
+                                    timeoutErrorType),
+                   maxConcurrency)
+          .filter(event -> {
+            if (event.getError().isPresent()) {
+              failed.add(event);
+              return false;
+            }
+            return true;
+          })
+          // Cancels the routes still in progress once the quorum is reached
+          .take(quorum)
+          .collectList()
+          .doOnNext(list -> {
+            if (list.size() < quorum) {
+              List<CoreEvent> results = new ArrayList<>(list);
+              results.addAll(failed);
+              throw propagate(createCompositeRoutingException(results));
+            }
+          })
+          .doOnNext(mergeVariables(original, resultBuilder))
+          .map(createResultEvent(original, resultBuilder));
+    };
+  }
+
+  @Override
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
+                                                                   CoreEvent.Builder resultBuilder) {
+    return list -> resultBuilder.message(of(list.stream().map(event -> event.getMessage()).collect(toList()))).build();
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return MULE_MESSAGE_LIST;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Collections.emptyMap;
+import static org.mule.runtime.api.metadata.DataType.OBJECT;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Merges variables using a last-wins strategy.
+ * <li>Waits for the completion of all routes, with an optional timeout.
+ * <li>Emits the original input {@link CoreEvent} to the router, with the merged variables.
+ * <li>Will process all routes, regardless of errors, and propagating a composite exception where there were one or more errors.
+ * </ul>
+ * Unlike {@link JoinOnlyForkJoinStrategyFactory}, the result of each route is folded into the result as soon as it completes
+ * and then discarded, so the results of every route are never held at the same time. Because of that, the composite exception
+ * only reports the routes that failed.
+ *
+ * @since 4.2
+ */
+public class ReducingForkJoinStrategyFactory extends AbstractForkJoinStrategyFactory {
+
+  /**
+   * @param ordered whether variables are merged in the order of the routing pairs or the order in which routes complete.
+   */
+  public ReducingForkJoinStrategyFactory(boolean ordered) {
+    super(ordered);
+  }
+
+  @Override
+  public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
+                                                 long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
+    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
+    return (original, routingPairs) -> {
+      final AtomicInteger count = new AtomicInteger();
+      Function<RoutingPair, Publisher<? extends CoreEvent>> routePairProcessor =
+          processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler, timeoutErrorType);
+      return from(routingPairs)
+          .map(addSequence(count))
+          .transform(pairs -> isOrdered()
+              ? pairs.flatMapSequential(routePairProcessor, maxConcurrency)
+              : pairs.flatMap(routePairProcessor, maxConcurrency))
+          .reduceWith(() -> new Reduction(original), Reduction::add)
+          .map(Reduction::result);
+    };
+  }
+
+  @Override
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original, CoreEvent.Builder resultBuilder) {
+    return list -> resultBuilder.build();
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return OBJECT;
+  }
+
+  /**
+   * What is kept of the routes that already completed.
+   */
+  private final class Reduction {
+
+    private final CoreEvent original;
+    private final Map<String, TypedValue> routeVars = new HashMap<>();
+    private final Map<String, Error> errors = new LinkedHashMap<>();
+
+    private Reduction(CoreEvent original) {
+      this.original = original;
+    }
+
+    private Reduction add(CoreEvent event) {
+      if (event.getError().isPresent()) {
+        errors.put(Integer.toString(event.getGroupCorrelation().get().getSequence()), event.getError().get());
+      } else {
+        mergeVariables(original, event, routeVars);
+      }
+      return this;
+    }
+
+    private CoreEvent result() {
+      if (!errors.isEmpty()) {
+        throw propagate(new CompositeRoutingException(new RoutingResult(emptyMap(), errors)));
+      }
+
+      CoreEvent.Builder resultBuilder = builder(original);
+      routeVars.forEach((key, typedValue) -> resultBuilder.addVariable(key, typedValue.getValue(), typedValue.getDataType()));
+      return resultBuilder.build();
+    }
+  }
+}
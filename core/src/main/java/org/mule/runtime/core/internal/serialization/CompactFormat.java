@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+
+import java.io.InputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Constants shared by {@link CompactObjectWriter} and {@link CompactObjectReader}.
+ * <p>
+ * Changing the value of any tag or the order of the registered classes breaks compatibility with previously persisted data,
+ * so new entries can only be appended and any other change requires a new {@link CompactSerializationProtocol#FORMAT_VERSION}.
+ *
+ * @since 4.2
+ */
+final class CompactFormat {
+
+  static final byte NULL = 0;
+  static final byte TRUE = 1;
+  static final byte FALSE = 2;
+  static final byte INT = 3;
+  static final byte LONG = 4;
+  static final byte SHORT = 5;
+  static final byte BYTE = 6;
+  static final byte CHAR = 7;
+  static final byte FLOAT = 8;
+  static final byte DOUBLE = 9;
+  static final byte STRING = 10;
+  static final byte BYTES = 11;
+  static final byte ARRAY_LIST = 12;
+  static final byte LINKED_LIST = 13;
+  static final byte HASH_SET = 14;
+  static final byte LINKED_HASH_SET = 15;
+  static final byte HASH_MAP = 16;
+  static final byte LINKED_HASH_MAP = 17;
+  static final byte TYPED_VALUE = 18;
+  static final byte DATA_TYPE = 19;
+  static final byte MEDIA_TYPE = 20;
+  static final byte MESSAGE = 21;
+  static final byte EVENT = 22;
+  static final byte JAVA = 23;
+  static final byte REFERENCE = 24;
+  static final byte EVENT_CONTEXT = 25;
+
+  static final byte SIMPLE_DATA_TYPE = 0;
+  static final byte COLLECTION_DATA_TYPE = 1;
+  static final byte MAP_DATA_TYPE = 2;
+
+  /**
+   * Classes which are referenced by their index in this list instead of by their name. Other classes are written by name the
+   * first time they appear in a stream and referenced by a per stream index afterwards.
+   */
+  static final List<Class<?>> REGISTERED_CLASSES =
+      unmodifiableList(asList(Object.class, String.class, byte[].class, Boolean.class, Integer.class, Long.class, Short.class,
+                              Byte.class, Character.class, Float.class, Double.class, BigInteger.class, BigDecimal.class,
+                              Number.class, Date.class, boolean.class, int.class, long.class, short.class, byte.class,
+                              char.class, float.class, double.class, Serializable.class, Collection.class, List.class,
+                              ArrayList.class, LinkedList.class, Set.class, HashSet.class, LinkedHashSet.class, Map.class,
+                              HashMap.class, LinkedHashMap.class, Iterator.class, InputStream.class,
+                              CursorStreamProvider.class, CursorIteratorProvider.class, Message.class));
+
+  static final Map<Class<?>, Integer> REGISTERED_CLASS_IDS = new IdentityHashMap<>();
+
+  static {
+    for (int i = 0; i < REGISTERED_CLASSES.size(); ++i) {
+      REGISTERED_CLASS_IDS.put(REGISTERED_CLASSES.get(i), i);
+    }
+  }
+
+  private CompactFormat() {}
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Instant.ofEpochSecond;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.component.location.Location.builderFromStringRepresentation;
+import static org.mule.runtime.core.api.util.ClassUtils.loadClass;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.ARRAY_LIST;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.BYTE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.BYTES;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.CHAR;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.COLLECTION_DATA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.DATA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.DOUBLE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.EVENT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.EVENT_CONTEXT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.FALSE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.FLOAT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.HASH_MAP;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.HASH_SET;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.INT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.JAVA;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LINKED_HASH_MAP;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LINKED_HASH_SET;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LINKED_LIST;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LONG;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.MAP_DATA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.MEDIA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.MESSAGE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.NULL;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.REFERENCE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.REGISTERED_CLASSES;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.SHORT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.STRING;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.TRUE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.TYPED_VALUE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.fromSingleComponent;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.security.SecurityContext;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.exception.NullExceptionHandler;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.privileged.connector.ReplyToHandler;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.event.MuleSession;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.io.input.ClassLoaderObjectInputStream;
+
+/**
+ * Reads values written by {@link CompactObjectWriter}. Each instance reads a single stream and is not thread safe.
+ *
+ * @since 4.2
+ */
+final class CompactObjectReader {
+
+  private final DataInputStream dataIn;
+  private final ClassLoader classLoader;
+  private final MuleContext muleContext;
+  private final List<Class<?>> streamClasses = new ArrayList<>();
+  private final List<Object> references = new ArrayList<>();
+
+  private DataInput in;
+  private ObjectInputStream javaIn;
+
+  CompactObjectReader(DataInputStream in, ClassLoader classLoader, MuleContext muleContext) {
+    this.dataIn = in;
+    this.in = in;
+    this.classLoader = classLoader;
+    this.muleContext = muleContext;
+  }
+
+  Object readValue() throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case INT:
+        return unZigZag(readVarInt());
+      case LONG:
+        return unZigZag(readVarLong());
+      case SHORT:
+        return in.readShort();
+      case BYTE:
+        return in.readByte();
+      case CHAR:
+        return in.readChar();
+      case FLOAT:
+        return in.readFloat();
+      case DOUBLE:
+        return in.readDouble();
+      case STRING:
+        return readString();
+      case BYTES:
+        return readBytes();
+      case ARRAY_LIST:
+        return readItems(new ArrayList<>());
+      case LINKED_LIST:
+        return readItems(new LinkedList<>());
+      case HASH_SET:
+        return readItems(new HashSet<>());
+      case LINKED_HASH_SET:
+        return readItems(new LinkedHashSet<>());
+      case HASH_MAP:
+        return readEntries(new HashMap<>());
+      case LINKED_HASH_MAP:
+        return readEntries(new LinkedHashMap<>());
+      case TYPED_VALUE:
+        return reference(readTypedValue());
+      case DATA_TYPE:
+        return readDataType();
+      case MEDIA_TYPE:
+        return readMediaType();
+      case MESSAGE:
+        return reference(readMessage());
+      case EVENT:
+        return reference(readEvent());
+      case EVENT_CONTEXT:
+        return reference(readEventContext());
+      case JAVA:
+        return readJava();
+      case REFERENCE:
+        return references.get(readVarInt());
+      default:
+        throw new SerializationException(format("Unknown value tag %d in compact serialization stream", tag));
+    }
+  }
+
+  private <T> T reference(T value) {
+    references.add(value);
+    return value;
+  }
+
+  private <C extends Collection<Object>> C readItems(C collection) throws IOException {
+    reference(collection);
+    int size = readVarInt();
+    for (int i = 0; i < size; ++i) {
+      collection.add(readValue());
+    }
+    return collection;
+  }
+
+  private <M extends Map<Object, Object>> M readEntries(M map) throws IOException {
+    reference(map);
+    int size = readVarInt();
+    for (int i = 0; i < size; ++i) {
+      map.put(readValue(), readValue());
+    }
+    return map;
+  }
+
+  private TypedValue<?> readTypedValue() throws IOException {
+    return new TypedValue<>(readValue(), (DataType) readValue());
+  }
+
+  private DataType readDataType() throws IOException {
+    byte kind = in.readByte();
+    Class<?> type = readClass();
+    MediaType mediaType = readMediaType();
+    if (kind == COLLECTION_DATA_TYPE) {
+      Class<?> itemType = readClass();
+      MediaType itemMediaType = readMediaType();
+      return (Iterator.class.isAssignableFrom(type)
+          ? DataType.builder().streamType((Class<? extends Iterator>) type)
+          : DataType.builder().collectionType((Class<? extends Collection>) type))
+              .itemType(itemType)
+              .itemMediaType(itemMediaType)
+              .mediaType(mediaType)
+              .build();
+    } else if (kind == MAP_DATA_TYPE) {
+      Class<?> keyType = readClass();
+      MediaType keyMediaType = readMediaType();
+      Class<?> valueType = readClass();
+      MediaType valueMediaType = readMediaType();
+      return DataType.builder().mapType((Class<? extends Map>) type)
+          .keyType(keyType)
+          .keyMediaType(keyMediaType)
+          .valueType(valueType)
+          .valueMediaType(valueMediaType)
+          .mediaType(mediaType)
+          .build();
+    } else {
+      return DataType.builder().type(type).mediaType(mediaType).build();
+    }
+  }
+
+  private MediaType readMediaType() throws IOException {
+    return MediaType.parse(readString());
+  }
+
+  private Message readMessage() throws IOException {
+    return InternalMessage.builder()
+        .payload(readTypedValue())
+        .attributes(readTypedValue())
+        .build();
+  }
+
+  private Object readEvent() throws IOException {
+    DefaultEventBuilder builder = new DefaultEventBuilder((BaseEventContext) readValue());
+    builder.message((Message) readValue());
+
+    int variablesCount = readVarInt();
+    Map<String, Object> variables = new LinkedHashMap<>();
+    for (int i = 0; i < variablesCount; ++i) {
+      variables.put(readString(), readTypedValue());
+    }
+    builder.variables(variables);
+
+    int internalParametersCount = readVarInt();
+    Map<String, Object> internalParameters = new HashMap<>();
+    for (int i = 0; i < internalParametersCount; ++i) {
+      internalParameters.put(readString(), readValue());
+    }
+    builder.internalParameters(internalParameters);
+
+    if (in.readBoolean()) {
+      int position = readVarInt();
+      int sequenceSize = readVarInt() - 1;
+      builder.itemSequenceInfo(of(sequenceSize < 0
+          ? ItemSequenceInfo.of(position)
+          : ItemSequenceInfo.of(position, sequenceSize)));
+    }
+
+    String legacyCorrelationId = (String) readValue();
+    if (legacyCorrelationId != null) {
+      builder.correlationId(legacyCorrelationId);
+    }
+    Error error = (Error) readValue();
+    if (error != null) {
+      builder.error(error);
+    }
+    builder.session((MuleSession) readValue());
+    builder.securityContext((SecurityContext) readValue());
+    builder.replyToHandler((ReplyToHandler) readValue());
+    builder.replyToDestination(readValue());
+    if (!in.readBoolean()) {
+      builder.disableNotifications();
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * The context is rebuilt as a new root context, which does not keep the callbacks or child contexts of the written one. The
+   * same happens to the ones read through Java serialization.
+   */
+  private BaseEventContext readEventContext() throws IOException {
+    String id = readString();
+    String serverId = (String) readValue();
+    String correlationId = (String) readValue();
+    Instant receivedTime = ofEpochSecond(unZigZag(readVarLong()), readVarInt());
+    ComponentLocation location = in.readBoolean() ? locate(readString()) : (ComponentLocation) readValue();
+    return new DefaultEventContext(id, serverId, location, correlationId, receivedTime, empty(),
+                                   NullExceptionHandler.getInstance());
+  }
+
+  private ComponentLocation locate(String path) {
+    ConfigurationComponentLocator locator = muleContext != null ? muleContext.getConfigurationComponentLocator() : null;
+    Optional<ComponentLocation> location = locator != null
+        ? locator.find(builderFromStringRepresentation(path).build()).map(Component::getLocation)
+        : empty();
+    // The component may be gone if the application changed since the context was written
+    return location.orElseGet(() -> fromSingleComponent(path));
+  }
+
+  private Object readJava() throws IOException {
+    if (javaIn == null) {
+      javaIn = new ClassLoaderObjectInputStream(classLoader, dataIn);
+      in = javaIn;
+    }
+
+    try {
+      Object value = javaIn.readObject();
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (ClassNotFoundException e) {
+      throw new SerializationException("Could not deserialize value", e);
+    } catch (IOException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SerializationException("Could not deserialize value", e);
+    }
+  }
+
+  private Class<?> readClass() throws IOException {
+    int id = readVarInt();
+    if (id == 0) {
+      String className = readString();
+      try {
+        Class<?> type = loadClass(className, classLoader);
+        streamClasses.add(type);
+        return type;
+      } catch (ClassNotFoundException e) {
+        throw new SerializationException(format("Could not load class %s", className), e);
+      }
+    } else if (id <= REGISTERED_CLASSES.size()) {
+      return REGISTERED_CLASSES.get(id - 1);
+    } else {
+      return streamClasses.get(id - REGISTERED_CLASSES.size() - 1);
+    }
+  }
+
+  private String readString() throws IOException {
+    return new String(readBytes(), UTF_8);
+  }
+
+  private byte[] readBytes() throws IOException {
+    byte[] bytes = new byte[readVarInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = in.readByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed variable length integer in compact serialization stream");
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed variable length integer in compact serialization stream");
+  }
+
+  private static int unZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
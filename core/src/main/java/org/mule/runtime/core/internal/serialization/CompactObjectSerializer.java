@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+
+/**
+ * Serializes objects using {@link CompactSerializationProtocol}, a compact binary format for events, messages and their
+ * values which relies on the default Java serialization mechanism only for the values it doesn't know how to write.
+ * <p>
+ * It can be set as the default serializer through the {@code defaultObjectSerializer-ref} attribute of the configuration
+ * element. Values persisted with {@link JavaObjectSerializer} can still be read after switching to this serializer.
+ *
+ * @since 4.2
+ */
+public class CompactObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  private final CompactSerializationProtocol compactSerializationProtocol = new CompactSerializationProtocol();
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    compactSerializationProtocol.setMuleContext(context);
+  }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.newSetFromMap;
+import static org.mule.runtime.api.component.location.Location.builderFromStringRepresentation;
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.ARRAY_LIST;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.BYTE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.BYTES;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.CHAR;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.COLLECTION_DATA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.DATA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.DOUBLE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.EVENT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.EVENT_CONTEXT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.FALSE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.FLOAT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.HASH_MAP;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.HASH_SET;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.INT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.JAVA;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LINKED_HASH_MAP;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LINKED_HASH_SET;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LINKED_LIST;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.LONG;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.MAP_DATA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.MEDIA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.MESSAGE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.NULL;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.REFERENCE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.REGISTERED_CLASSES;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.REGISTERED_CLASS_IDS;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.SHORT;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.SIMPLE_DATA_TYPE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.STRING;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.TRUE;
+import static org.mule.runtime.core.internal.serialization.CompactFormat.TYPED_VALUE;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.FunctionDataType;
+import org.mule.runtime.api.metadata.MapDataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.message.InternalMessage;
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes values in the format described by {@link CompactFormat}. Each instance writes a single stream and is not thread safe.
+ * <p>
+ * Collections, maps, typed values, messages, events and event contexts that appear more than once in the written graph are
+ * written the first time and referenced by a per stream index afterwards, so that they keep being the same instance when read.
+ * Collections and maps are indexed before their contents, so they may contain themselves. The others are only indexed once
+ * written, and a cycle through them is reported with a {@link CyclicReferenceException}.
+ * <p>
+ * Values which are left to Java serialization are all written to the same {@link ObjectOutputStream}, which is opened the first
+ * time one of them is found and from then on wraps the rest of the stream.
+ *
+ * @since 4.2
+ */
+final class CompactObjectWriter {
+
+  private final DataOutputStream dataOut;
+  private final MuleContext muleContext;
+  private final Map<Class<?>, Integer> streamClassIds = new IdentityHashMap<>();
+  private final Map<Object, Integer> references = new IdentityHashMap<>();
+  private final Set<Object> writing = newSetFromMap(new IdentityHashMap<>());
+
+  private DataOutput out;
+  private ObjectOutputStream javaOut;
+
+  CompactObjectWriter(DataOutputStream out, MuleContext muleContext) {
+    this.dataOut = out;
+    this.out = out;
+    this.muleContext = muleContext;
+  }
+
+  /**
+   * Writes any data that may have been buffered by the writer. Must be called once all the values were written.
+   *
+   * @throws IOException if the data could not be written
+   */
+  void flush() throws IOException {
+    if (javaOut != null) {
+      javaOut.flush();
+    }
+  }
+
+  void writeValue(Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString((String) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (value instanceof Integer) {
+      out.writeByte(INT);
+      writeVarInt(zigZag((Integer) value));
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      writeVarLong(zigZag((Long) value));
+    } else if (value instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) value);
+    } else if (value instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    } else if (value instanceof Character) {
+      out.writeByte(CHAR);
+      out.writeChar((Character) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof byte[]) {
+      out.writeByte(BYTES);
+      writeBytes((byte[]) value);
+    } else if (value instanceof CursorStreamProvider) {
+      out.writeByte(BYTES);
+      writeBytes(consume((CursorStreamProvider) value));
+    } else if (value instanceof TypedValue) {
+      if (!writeReference(value)) {
+        enter(value);
+        out.writeByte(TYPED_VALUE);
+        writeTypedValue((TypedValue<?>) value);
+        exit(value);
+      }
+    } else if (value instanceof MediaType) {
+      out.writeByte(MEDIA_TYPE);
+      writeMediaType((MediaType) value);
+    } else if (value instanceof DataType && !(value instanceof FunctionDataType)) {
+      out.writeByte(DATA_TYPE);
+      writeDataType((DataType) value);
+    } else if (value instanceof InternalMessage && isCompactMessage((InternalMessage) value)) {
+      if (!writeReference(value)) {
+        enter(value);
+        out.writeByte(MESSAGE);
+        writeMessage((InternalMessage) value);
+        exit(value);
+      }
+    } else if (value instanceof DefaultEventContext) {
+      if (!writeReference(value)) {
+        enter(value);
+        out.writeByte(EVENT_CONTEXT);
+        writeEventContext((DefaultEventContext) value);
+        exit(value);
+      }
+    } else if (value instanceof InternalEvent) {
+      if (!writeReference(value)) {
+        enter(value);
+        out.writeByte(EVENT);
+        writeEvent((InternalEvent) value);
+        exit(value);
+      }
+    } else if (!writeCollection(value)) {
+      writeJava(value);
+    }
+  }
+
+  private boolean writeCollection(Object value) throws IOException {
+    // Only the exact classes are written in the compact format, so that the same class is obtained when reading them
+    Class<?> type = value.getClass();
+    byte tag;
+    if (type == ArrayList.class) {
+      tag = ARRAY_LIST;
+    } else if (type == LinkedList.class) {
+      tag = LINKED_LIST;
+    } else if (type == HashSet.class) {
+      tag = HASH_SET;
+    } else if (type == LinkedHashSet.class) {
+      tag = LINKED_HASH_SET;
+    } else if (type == HashMap.class) {
+      tag = HASH_MAP;
+    } else if (type == LinkedHashMap.class) {
+      tag = LINKED_HASH_MAP;
+    } else {
+      return false;
+    }
+
+    if (writeReference(value)) {
+      return true;
+    }
+    // indexed before writing the contents, same as the reader does, so the collection can contain itself
+    references.put(value, references.size());
+    out.writeByte(tag);
+
+    if (value instanceof Map) {
+      writeMapEntries((Map<?, ?>) value);
+    } else {
+      Collection<?> collection = (Collection<?>) value;
+      writeVarInt(collection.size());
+      for (Object item : collection) {
+        writeValue(item);
+      }
+    }
+    return true;
+  }
+
+  private boolean writeReference(Object value) throws IOException {
+    Integer reference = references.get(value);
+    if (reference == null) {
+      return false;
+    }
+    out.writeByte(REFERENCE);
+    writeVarInt(reference);
+    return true;
+  }
+
+  private void enter(Object value) throws CyclicReferenceException {
+    if (!writing.add(value)) {
+      throw new CyclicReferenceException(value);
+    }
+  }
+
+  private void exit(Object value) {
+    writing.remove(value);
+    // indexed once written, since the reader can only index it once it's read
+    references.put(value, references.size());
+  }
+
+  private void writeMapEntries(Map<?, ?> map) throws IOException {
+    writeVarInt(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      writeValue(entry.getKey());
+      writeValue(entry.getValue());
+    }
+  }
+
+  private void writeTypedValue(TypedValue<?> typedValue) throws IOException {
+    Object value = typedValue.getValue();
+    DataType dataType = typedValue.getDataType();
+    if (value instanceof CursorStreamProvider) {
+      value = consume((CursorStreamProvider) value);
+      dataType = DataType.builder(dataType).type(byte[].class).build();
+    }
+
+    writeValue(value);
+    writeValue(dataType);
+  }
+
+  private void writeDataType(DataType dataType) throws IOException {
+    if (dataType instanceof CollectionDataType) {
+      out.writeByte(COLLECTION_DATA_TYPE);
+      writeClass(dataType.getType());
+      writeMediaType(dataType.getMediaType());
+      DataType itemDataType = ((CollectionDataType) dataType).getItemDataType();
+      writeClass(itemDataType.getType());
+      writeMediaType(itemDataType.getMediaType());
+    } else if (dataType instanceof MapDataType) {
+      out.writeByte(MAP_DATA_TYPE);
+      writeClass(dataType.getType());
+      writeMediaType(dataType.getMediaType());
+      DataType keyDataType = ((MapDataType) dataType).getKeyDataType();
+      writeClass(keyDataType.getType());
+      writeMediaType(keyDataType.getMediaType());
+      DataType valueDataType = ((MapDataType) dataType).getValueDataType();
+      writeClass(valueDataType.getType());
+      writeMediaType(valueDataType.getMediaType());
+    } else {
+      out.writeByte(SIMPLE_DATA_TYPE);
+      writeClass(dataType.getType());
+      writeMediaType(dataType.getMediaType());
+    }
+  }
+
+  private void writeMediaType(MediaType mediaType) throws IOException {
+    writeString(mediaType.toRfcString());
+  }
+
+  /**
+   * Messages carrying any of the deprecated properties, attachments or exception payload are left to Java serialization, which
+   * already knows how to handle them.
+   */
+  private boolean isCompactMessage(InternalMessage message) {
+    return message.getExceptionPayload() == null
+        && message.getInboundPropertyNames().isEmpty()
+        && message.getOutboundPropertyNames().isEmpty()
+        && message.getInboundAttachmentNames().isEmpty()
+        && message.getOutboundAttachmentNames().isEmpty();
+  }
+
+  private void writeMessage(Message message) throws IOException {
+    TypedValue<?> payload = message.getPayload();
+    if (!isWritable(payload.getValue())) {
+      // Same as Java serialization of the message, the payload is transformed to bytes
+      payload = muleContext.getTransformationService().transform(message, BYTE_ARRAY).getPayload();
+    }
+    writeTypedValue(payload);
+    writeTypedValue(message.getAttributes());
+  }
+
+  private boolean isWritable(Object value) {
+    return value == null || value instanceof Serializable || value instanceof CursorStreamProvider;
+  }
+
+  private void writeEvent(InternalEvent event) throws IOException {
+    writeValue(event.getContext());
+    writeValue(event.getMessage());
+
+    Map<String, TypedValue<?>> variables = event.getVariables();
+    writeVarInt(variables.size());
+    for (Map.Entry<String, TypedValue<?>> variable : variables.entrySet()) {
+      writeString(variable.getKey());
+      TypedValue<?> value = variable.getValue();
+      if (!isWritable(value.getValue())) {
+        throw new SerializationException(format("Unable to serialize the flow variable %s, which is of type %s",
+                                                variable.getKey(), value.getDataType().getType().getName()));
+      }
+      writeTypedValue(value);
+    }
+
+    Map<String, ?> internalParameters = event.getInternalParameters();
+    writeVarInt(internalParameters.size());
+    for (Map.Entry<String, ?> parameter : internalParameters.entrySet()) {
+      writeString(parameter.getKey());
+      writeValue(parameter.getValue());
+    }
+
+    ItemSequenceInfo itemSequenceInfo = event.getItemSequenceInfo().orElse(null);
+    if (itemSequenceInfo == null) {
+      out.writeBoolean(false);
+    } else {
+      out.writeBoolean(true);
+      writeVarInt(itemSequenceInfo.getPosition());
+      writeVarInt(itemSequenceInfo.getSequenceSize().orElse(-1) + 1);
+    }
+
+    writeValue(event.getLegacyCorrelationId());
+    writeValue(event.getError().orElse(null));
+    writeValue(event.getSession());
+    writeValue(event.getSecurityContext());
+    writeValue(event.getReplyToHandler());
+    writeValue(event.getReplyToDestination());
+    out.writeBoolean(event.isNotificationsEnabled());
+  }
+
+  /**
+   * Child contexts are left to Java serialization, since they can't be rebuilt with the same id.
+   */
+  private void writeEventContext(DefaultEventContext context) throws IOException {
+    writeString(context.getId());
+    writeValue(context.getServerId());
+    writeValue(context.isCorrelationIdFromSource() ? context.getCorrelationId() : null);
+    Instant receivedTime = context.getReceivedTime();
+    writeVarLong(zigZag(receivedTime.getEpochSecond()));
+    writeVarInt(receivedTime.getNano());
+
+    ComponentLocation location = context.getOriginatingLocation();
+    if (location != null && isLocatable(location)) {
+      // Locations of the components of the application are located again by their path when read
+      out.writeBoolean(true);
+      writeString(location.getLocation());
+    } else {
+      out.writeBoolean(false);
+      writeValue(location);
+    }
+  }
+
+  private boolean isLocatable(ComponentLocation location) {
+    ConfigurationComponentLocator locator = muleContext != null ? muleContext.getConfigurationComponentLocator() : null;
+    return locator != null && locator.find(builderFromStringRepresentation(location.getLocation()).build())
+        .map(component -> location.equals(component.getLocation()))
+        .orElse(false);
+  }
+
+  private void writeJava(Object value) throws IOException {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(format("Was expecting a Serializable type. %s was found instead",
+                                              value.getClass().getName()));
+    }
+    out.writeByte(JAVA);
+    if (javaOut == null) {
+      javaOut = new ObjectOutputStream(dataOut);
+      out = javaOut;
+    }
+    javaOut.writeObject(value);
+  }
+
+  private void writeClass(Class<?> type) throws IOException {
+    Integer registeredId = REGISTERED_CLASS_IDS.get(type);
+    if (registeredId != null) {
+      writeVarInt(registeredId + 1);
+      return;
+    }
+
+    Integer streamId = streamClassIds.get(type);
+    if (streamId != null) {
+      writeVarInt(REGISTERED_CLASSES.size() + 1 + streamId);
+    } else {
+      streamClassIds.put(type, streamClassIds.size());
+      writeVarInt(0);
+      writeString(type.getName());
+    }
+  }
+
+  private byte[] consume(CursorStreamProvider cursorStreamProvider) throws IOException {
+    try (CursorStream cursor = cursorStreamProvider.openCursor()) {
+      return toByteArray(cursor);
+    }
+  }
+
+  private void writeString(String value) throws IOException {
+    writeBytes(value.getBytes(UTF_8));
+  }
+
+  private void writeBytes(byte[] value) throws IOException {
+    writeVarInt(value.length);
+    out.write(value);
+  }
+
+  private void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static int zigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /**
+   * Thrown when the written graph has a cycle through a value that can only be referenced once it's completely written.
+   */
+  static final class CyclicReferenceException extends IOException {
+
+    private static final long serialVersionUID = -6193527393271563823L;
+
+    private CyclicReferenceException(Object value) {
+      super(format("Found a cyclic reference through a value of type %s", value.getClass().getName()));
+    }
+  }
+}
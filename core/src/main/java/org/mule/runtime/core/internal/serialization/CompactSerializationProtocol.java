@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
+
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.internal.serialization.CompactObjectWriter.CyclicReferenceException;
+import org.mule.runtime.core.internal.util.SerializationUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.Serializable;
+
+/**
+ * Implementation of {@link SerializationProtocol} which writes a compact binary representation of the objects that are usually
+ * persisted by the runtime: events, messages, {@link org.mule.runtime.api.metadata.TypedValue}s, data and media types,
+ * the most common collections and primitive values. Those are written field by field, without any schema, referencing well
+ * known classes by a numeric id.
+ * <p>
+ * Any other value is written using Java's default serialization mechanism, which means that exceptions will come from
+ * serializing objects that do not implement {@link java.io.Serializable}, same as with {@link JavaExternalSerializerProtocol}.
+ * <p>
+ * Data written by {@link JavaExternalSerializerProtocol} can still be read by this protocol, since it falls back to Java
+ * deserialization when the stream doesn't start with the compact format header. This is also how graphs with a cycle that the
+ * compact format cannot represent are written.
+ *
+ * @since 4.2
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  static final byte MAGIC_0 = (byte) 0xCE;
+  static final byte MAGIC_1 = (byte) 0x4D;
+  static final byte FORMAT_VERSION = 1;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void serialize(Object object, OutputStream out) throws SerializationException {
+    try {
+      // written to memory first, since the graph may have to be written again with Java serialization
+      out.write(write(object));
+      out.flush();
+    } catch (IOException e) {
+      throw new SerializationException("Could not write to output stream", e);
+    } finally {
+      closeQuietly(out);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    return write(object);
+  }
+
+  private byte[] write(Object object) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(MAGIC_0);
+    out.writeByte(MAGIC_1);
+    out.writeByte(FORMAT_VERSION);
+
+    CompactObjectWriter writer = new CompactObjectWriter(out, muleContext);
+    try {
+      writer.writeValue(object);
+      writer.flush();
+    } catch (CyclicReferenceException e) {
+      if (!(object instanceof Serializable)) {
+        throw new SerializationException("Could not serialize value with cyclic references", e);
+      }
+      return org.apache.commons.lang3.SerializationUtils.serialize((Serializable) object);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    PushbackInputStream in = new PushbackInputStream(inputStream, 2);
+    int first = in.read();
+    int second = in.read();
+    if (first != (MAGIC_0 & 0xFF) || second != (MAGIC_1 & 0xFF)) {
+      // not written by this protocol, most likely previously persisted with Java serialization
+      if (second != -1) {
+        in.unread(second);
+      }
+      if (first != -1) {
+        in.unread(first);
+      }
+      return (T) SerializationUtils.deserialize(in, classLoader, muleContext);
+    }
+
+    DataInputStream dataIn = new DataInputStream(in);
+    byte version = dataIn.readByte();
+    if (version != FORMAT_VERSION) {
+      throw new SerializationException("Unsupported compact serialization format version " + version);
+    }
+    return (T) new CompactObjectReader(dataIn, classLoader, muleContext).readValue();
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since the reader already initializes every value that needs it
+    return object;
+  }
+}
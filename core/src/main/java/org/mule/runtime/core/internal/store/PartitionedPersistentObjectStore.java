@@ -6,9 +6,14 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.lang.System.getProperty;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
@@ -17,28 +22,50 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.AbstractPersistentObjectStorePartition;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
 
 import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
 public class PartitionedPersistentObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware {
+    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware, Disposable {
 
   private static final Logger LOGGER = getLogger(PartitionedPersistentObjectStore.class);
   public static final String OBJECT_STORE_DIR = "objectstore";
 
+  /**
+   * System property which selects the storage engine used for new partitions. A specific partition (that is, a specific object
+   * store) may override it by setting this property suffixed with {@code .<partitionName>}. Existing partitions are always opened
+   * with the engine they were written with.
+   */
+  public static final String PERSISTENT_OBJECT_STORE_ENGINE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.persistent.engine";
+
+  /**
+   * Stores each entry in its own file. This is the default engine.
+   */
+  public static final String FILE_ENGINE = "file";
+
+  /**
+   * Stores the entries in a segmented append-only log. See {@link LogStructuredObjectStorePartition}.
+   */
+  public static final String LOG_ENGINE = "log";
+
   private MuleContext muleContext;
   private File storeDirectory;
-  private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<>();
-  private boolean initialized = false;
+  // Partitions are created while holding the lock on this store, but looked up without it
+  private final Map<String, AbstractPersistentObjectStorePartition> partitionsByName = new ConcurrentHashMap<>();
+  private volatile boolean initialized = false;
+  private String defaultEngine = getProperty(PERSISTENT_OBJECT_STORE_ENGINE_PROPERTY, FILE_ENGINE);
+  private Scheduler compactionScheduler;
 
   public PartitionedPersistentObjectStore() {
     super();
@@ -66,10 +93,16 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   }
 
   @Override
-  public synchronized void open(String partitionName) throws ObjectStoreException {
-    open();
-    if (!partitionsByName.containsKey(partitionName)) {
-      createPartition(partitionName);
+  public void open(String partitionName) throws ObjectStoreException {
+    if (initialized && partitionsByName.containsKey(partitionName)) {
+      return;
+    }
+
+    synchronized (this) {
+      open();
+      if (!partitionsByName.containsKey(partitionName)) {
+        createPartition(partitionName);
+      }
     }
   }
 
@@ -77,12 +110,25 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   public void close(String partitionName) throws ObjectStoreException {}
 
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    AbstractPersistentObjectStorePartition persistentObjectStorePartition;
+    if (LOG_ENGINE.equals(getProperty(PERSISTENT_OBJECT_STORE_ENGINE_PROPERTY + "." + partitionName, defaultEngine))) {
+      persistentObjectStorePartition =
+          new LogStructuredObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(), getCompactionScheduler());
+    } else {
+      persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    }
     persistentObjectStorePartition.open();
     partitionsByName.put(partitionName, persistentObjectStorePartition);
   }
 
+  private synchronized Scheduler getCompactionScheduler() {
+    if (compactionScheduler == null) {
+      compactionScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName("PersistentObjectStore-compaction"));
+    }
+    return compactionScheduler;
+  }
+
   private File getNewPartitionDirectory() {
     return new File(storeDirectory, UUID.getUUID());
   }
@@ -127,11 +173,12 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     getPartitionObjectStore(partitionName).clear();
   }
 
-  private PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
-    if (!partitionsByName.containsKey(partitionName)) {
+  private AbstractPersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+    AbstractPersistentObjectStorePartition<T> partition = partitionsByName.get(partitionName);
+    if (partition == null) {
       throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
     }
-    return partitionsByName.get(partitionName);
+    return partition;
   }
 
   @Override
@@ -182,8 +229,13 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        AbstractPersistentObjectStorePartition persistentObjectStorePartition;
+        if (isLogStructuredPartition(partitionDirectory)) {
+          persistentObjectStorePartition =
+              new LogStructuredObjectStorePartition(muleContext, partitionDirectory, getCompactionScheduler());
+        } else {
+          persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        }
         persistentObjectStorePartition.open();
         partitionsByName.put(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -197,6 +249,32 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     muleContext = context;
   }
 
+  /**
+   * @param defaultEngine the storage engine to use for new partitions that don't have a specific one configured. One of
+   *        {@link #FILE_ENGINE} or {@link #LOG_ENGINE}.
+   */
+  public void setDefaultEngine(String defaultEngine) {
+    this.defaultEngine = defaultEngine;
+  }
+
+  @Override
+  public synchronized void dispose() {
+    for (AbstractPersistentObjectStorePartition partition : partitionsByName.values()) {
+      if (partition instanceof LogStructuredObjectStorePartition) {
+        try {
+          partition.close();
+        } catch (ObjectStoreException e) {
+          LOGGER.warn("Could not close partition " + partition.getPartitionName(), e);
+        }
+      }
+    }
+
+    if (compactionScheduler != null) {
+      compactionScheduler.stop();
+      compactionScheduler = null;
+    }
+  }
+
   @Override
   public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
     expire(entryTTL, maxEntries, DEFAULT_PARTITION_NAME);
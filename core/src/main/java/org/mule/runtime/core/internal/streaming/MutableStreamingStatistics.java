@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.streaming;
 import org.mule.runtime.core.api.streaming.StreamingStatistics;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Mutable implementation of {@link StreamingStatistics}
@@ -19,6 +20,8 @@ public class MutableStreamingStatistics implements StreamingStatistics {
 
   private final AtomicInteger openProviders = new AtomicInteger(0);
   private final AtomicInteger openCursors = new AtomicInteger(0);
+  private final AtomicLong bufferMemoryInUse = new AtomicLong(0);
+  private final AtomicLong pooledBufferMemory = new AtomicLong(0);
 
   void incrementOpenProviders() {
     openProviders.incrementAndGet();
@@ -36,6 +39,38 @@ public class MutableStreamingStatistics implements StreamingStatistics {
     openCursors.decrementAndGet();
   }
 
+  /**
+   * Accounts for buffer memory that was handed out to a streaming component or returned by it.
+   *
+   * @param delta the amount of bytes. Negative when the memory is returned
+   */
+  public void addBufferMemoryInUse(long delta) {
+    bufferMemoryInUse.addAndGet(delta);
+  }
+
+  /**
+   * Accounts for buffer memory that is retained by a pool without being in use.
+   *
+   * @param delta the amount of bytes. Negative when the memory leaves the pool
+   */
+  public void addPooledBufferMemory(long delta) {
+    pooledBufferMemory.addAndGet(delta);
+  }
+
+  /**
+   * @return the amount of buffer memory (in bytes) currently handed out to streaming components
+   */
+  public long getBufferMemoryInUse() {
+    return bufferMemoryInUse.get();
+  }
+
+  /**
+   * @return the amount of buffer memory (in bytes) currently retained by pools for later reuse
+   */
+  public long getPooledBufferMemory() {
+    return pooledBufferMemory.get();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -8,7 +8,6 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
-import static java.lang.System.arraycopy;
 import static java.nio.channels.Channels.newChannel;
 import static org.mule.runtime.api.util.Preconditions.checkState;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -187,18 +186,24 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
   protected abstract boolean canDoSoftCopy();
 
   private ByteBuffer softCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    final ByteBuffer b = buffer.get();
-    return ByteBuffer.wrap(b.array(), offset, min(length, b.limit() - offset)).slice();
+    return view(buffer.get(), toIntExact(position), length).slice();
   }
 
   private ByteBuffer hardCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    final ByteBuffer bf = buffer.get();
-    length = min(length, bf.limit() - offset);
+    final ByteBuffer view = view(buffer.get(), toIntExact(position), length);
 
-    byte[] b = new byte[length];
-    arraycopy(bf.array(), offset, b, 0, length);
+    byte[] b = new byte[view.remaining()];
+    view.get(b);
     return ByteBuffer.wrap(b);
   }
+
+  /**
+   * Uses a duplicate instead of the backing array so that direct buffers (which have none) are supported as well.
+   */
+  private ByteBuffer view(ByteBuffer b, int offset, int length) {
+    final ByteBuffer view = b.duplicate();
+    view.limit(offset + min(length, b.limit() - offset));
+    view.position(offset);
+    return view;
+  }
 }
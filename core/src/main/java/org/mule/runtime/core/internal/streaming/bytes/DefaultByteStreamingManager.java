@@ -6,8 +6,12 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.System.getProperty;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.api.streaming.bytes.factory.InMemoryCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.factory.MemoryMappedCursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.bytes.factory.NullCursorStreamProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.api.streaming.bytes.ByteStreamingManager;
@@ -21,6 +25,13 @@ import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
  */
 public class DefaultByteStreamingManager implements ByteStreamingManager {
 
+  /**
+   * When set to {@code true}, the default {@link CursorStreamProviderFactory} spills the streams which exceed the default
+   * in-memory size into a memory mapped file instead of failing.
+   */
+  public static final String MEMORY_MAPPED_DEFAULT_STREAMING_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "streaming.bytes.memoryMappedByDefault";
+
   private final ByteBufferManager bufferManager;
   protected final StreamingManager streamingManager;
 
@@ -37,6 +48,18 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
     return new InMemoryCursorStreamProviderFactory(bufferManager, config, streamingManager);
   }
 
+  /**
+   * Creates a {@link CursorStreamProviderFactory} which buffers in memory up to the configured size and then spills into a
+   * memory mapped file.
+   *
+   * @param config the configuration for the produced {@link org.mule.runtime.api.streaming.bytes.CursorStreamProvider} instances
+   * @return a new {@link CursorStreamProviderFactory}
+   * @since 4.2
+   */
+  public CursorStreamProviderFactory getMemoryMappedCursorProviderFactory(FileStoreCursorStreamConfig config) {
+    return new MemoryMappedCursorStreamProviderFactory(bufferManager, config, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -50,6 +73,9 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
    */
   @Override
   public CursorStreamProviderFactory getDefaultCursorProviderFactory() {
+    if (Boolean.valueOf(getProperty(MEMORY_MAPPED_DEFAULT_STREAMING_PROPERTY))) {
+      return getMemoryMappedCursorProviderFactory(FileStoreCursorStreamConfig.getDefault());
+    }
     return new InMemoryCursorStreamProviderFactory(bufferManager, InMemoryCursorStreamConfig.getDefault(), streamingManager);
   }
 
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the first
+ * {@link FileStoreCursorStreamConfig#getMaxInMemorySize()} bytes in memory and spills the rest of the stream
+ * into a temporal file which is memory mapped.
+ * <p>
+ * The file is mapped in fixed size regions which are never remapped once created, so the {@link ByteBuffer}s
+ * returned by {@link #get(long, int)} are views over the mapping (or over the in-memory buffer) rather than copies.
+ * All the cursors opened over this buffer share the same file, which is deleted when the buffer is closed. The regions are
+ * not unmapped explicitly, since a cursor may still hold a view over them (or be reading one in another thread), so the
+ * mappings are released once those views are garbage collected.
+ *
+ * @since 4.2
+ */
+public class MemoryMappedStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(MemoryMappedStreamBuffer.class);
+
+  static final int MAPPED_REGION_SIZE = 16 * 1024 * 1024;
+
+  private final int maxInMemorySize;
+  private final List<MappedByteBuffer> mappedRegions = new ArrayList<>();
+  private long bufferTip = 0;
+
+  private File bufferFile;
+  private RandomAccessFile randomAccessFile;
+  private FileChannel fileChannel;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream the stream to be buffered
+   * @param config this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in-memory buffer
+   */
+  public MemoryMappedStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager, config.getMaxInMemorySize().toBytes());
+    this.maxInMemorySize = config.getMaxInMemorySize().toBytes();
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return withReadLock(releaser -> {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null || isStreamFullyConsumed()) {
+        return presentRead;
+      }
+
+      releaser.release();
+      return withWriteLock(() -> {
+        ByteBuffer refetch = getFromCurrentData(position, length);
+        if (refetch != null) {
+          return refetch;
+        }
+
+        while (!isStreamFullyConsumed() && bufferTip <= position) {
+          try {
+            if (consumeForwardData() <= 0) {
+              streamFullyConsumed();
+            }
+          } catch (IOException e) {
+            throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+          }
+        }
+
+        return getFromCurrentData(position, length);
+      });
+    });
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position >= bufferTip) {
+      return null;
+    }
+
+    length = toIntExact(min(length, bufferTip - position));
+    if (position < maxInMemorySize) {
+      return view(buffer.get(), toIntExact(position), min(length, toIntExact(maxInMemorySize - position)));
+    }
+
+    long filePosition = position - maxInMemorySize;
+    int offset = toIntExact(filePosition % MAPPED_REGION_SIZE);
+    MappedByteBuffer region = mappedRegions.get(toIntExact(filePosition / MAPPED_REGION_SIZE));
+    return view(region, offset, min(length, MAPPED_REGION_SIZE - offset));
+  }
+
+  private ByteBuffer view(ByteBuffer source, int offset, int length) {
+    ByteBuffer view = source.duplicate();
+    view.limit(offset + length);
+    view.position(offset);
+    return view.slice();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Data is consumed into the in-memory buffer until it's full and then into the mapped regions of the buffer file,
+   * which are created as needed.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    ByteBuffer target;
+    if (bufferTip < maxInMemorySize) {
+      target = buffer.get();
+    } else {
+      long filePosition = bufferTip - maxInMemorySize;
+      int regionIndex = toIntExact(filePosition / MAPPED_REGION_SIZE);
+      if (regionIndex == mappedRegions.size()) {
+        mappedRegions.add(mapRegion(regionIndex));
+      }
+      target = mappedRegions.get(regionIndex).duplicate();
+      target.position(toIntExact(filePosition % MAPPED_REGION_SIZE));
+    }
+
+    int read = consumeStream(target);
+    if (read > 0) {
+      bufferTip += read;
+    } else {
+      streamFullyConsumed();
+    }
+
+    return read;
+  }
+
+  private MappedByteBuffer mapRegion(int regionIndex) throws IOException {
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("mapped-stream");
+      randomAccessFile = new RandomAccessFile(bufferFile, "rw");
+      fileChannel = randomAccessFile.getChannel();
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Stream exceeded {} bytes, spilling into {}", maxInMemorySize, bufferFile.getAbsolutePath());
+      }
+    }
+
+    return fileChannel.map(READ_WRITE, (long) regionIndex * MAPPED_REGION_SIZE, MAPPED_REGION_SIZE);
+  }
+
+  /**
+   * The in-memory buffer is never reallocated, so views over it are safe for as long as the buffer is open.
+   */
+  @Override
+  protected boolean canDoSoftCopy() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Closes and deletes the buffer file, if one was created.
+   */
+  @Override
+  public void doClose() {
+    mappedRegions.clear();
+    if (randomAccessFile != null) {
+      closeSafely(randomAccessFile::close);
+    }
+
+    if (bufferFile != null && !bufferFile.delete()) {
+      LOGGER.debug("Could not delete buffer file {}. It will be deleted on exit", bufferFile.getAbsolutePath());
+      bufferFile.deleteOnExit();
+    }
+  }
+}
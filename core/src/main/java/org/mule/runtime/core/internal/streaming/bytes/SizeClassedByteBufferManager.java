@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.lang.Math.round;
+import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static java.lang.System.identityHashCode;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_MAX_MEMORY;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ByteBufferManager} implementation which allocates direct (off-heap) buffers out of power-of-two size classes.
+ * <p>
+ * Each requested capacity is rounded up to its size class and the returned buffer is a slice of a pooled slab of that class, so
+ * the caller still gets a buffer of exactly the requested capacity while buffers of many different sizes share a small, fixed
+ * number of pools. Slabs are looked for first in a small per-thread magazine, then in a shared depot for the size class and only
+ * then allocated. Capacities above the largest size class are allocated on demand and never pooled.
+ * <p>
+ * Magazines are registered with this manager, so the slabs they hold are still reclaimed by {@link #trimIdle()} and
+ * {@link #dispose()}, even after the thread owning them is gone.
+ * <p>
+ * As in {@link PoolingByteBufferManager}, the pool is bounded by the amount of memory it retains rather than by the number of
+ * buffers. When that threshold is reached, idle slabs of every size class are released and, if that is not enough,
+ * {@link #allocate(int)} blocks until memory becomes available. If it is blocked for more than the configured wait timeout, a
+ * {@link MaxStreamingMemoryExceededException} is thrown.
+ *
+ * @since 4.2
+ */
+public class SizeClassedByteBufferManager implements ByteBufferManager, Disposable {
+
+  static final int MIN_SIZE_CLASS_SHIFT = 10;
+  static final int MAX_SIZE_CLASS_SHIFT = 24;
+
+  private static final int SIZE_CLASSES = MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1;
+  private static final int UNPOOLED = -1;
+
+  private static final int MAX_IDLE_PER_CLASS = Runtime.getRuntime().availableProcessors() * 2;
+  private static final int MAGAZINE_SIZE = 2;
+  private static final int MAX_MAGAZINE_SIZE_CLASS = 15 - MIN_SIZE_CLASS_SHIFT;
+
+  private final long maxStreamingMemory;
+  private final long magazineThreshold;
+  private final long waitTimeoutMillis;
+  private final MutableStreamingStatistics statistics;
+
+  private final AtomicLong reservedMemory = new AtomicLong(0);
+  private final Queue<ByteBuffer>[] depots;
+  private final AtomicIntegerArray idleCount = new AtomicIntegerArray(SIZE_CLASSES);
+  private final ConcurrentMap<BufferKey, Allocation> allocations = new ConcurrentHashMap<>();
+  private final Queue<Magazine> magazineRegistry = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Magazine> magazines = ThreadLocal.withInitial(this::registerMagazine);
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition memoryAvailable = lock.newCondition();
+  private final AtomicInteger waiters = new AtomicInteger(0);
+
+  private volatile boolean disposed = false;
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 50% of the runtime's max memory and has a wait timeout of 10
+   * seconds.
+   *
+   * @param statistics the statistics in which to account for the managed memory
+   */
+  public SizeClassedByteBufferManager(MutableStreamingStatistics statistics) {
+    this(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT, statistics);
+  }
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 50% of calling {@link MemoryManager#getMaxMemory()} on the given
+   * {@code memoryManager}, and has {@code waitTimeoutMillis} as wait timeout.
+   *
+   * @param memoryManager a {@link MemoryManager} used to determine the runtime's max memory
+   * @param waitTimeoutMillis how long to wait when the pool is exhausted
+   * @param statistics the statistics in which to account for the managed memory
+   */
+  @SuppressWarnings("unchecked")
+  public SizeClassedByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis,
+                                      MutableStreamingStatistics statistics) {
+    this.maxStreamingMemory = calculateMaxStreamingMemory(memoryManager);
+    this.magazineThreshold = maxStreamingMemory / 4 * 3;
+    this.waitTimeoutMillis = waitTimeoutMillis;
+    this.statistics = statistics;
+
+    depots = new Queue[SIZE_CLASSES];
+    for (int i = 0; i < SIZE_CLASSES; i++) {
+      depots[i] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  private long calculateMaxStreamingMemory(MemoryManager memoryManager) {
+    String maxMemoryProperty = getProperty(MULE_STREAMING_MAX_MEMORY);
+    if (maxMemoryProperty == null) {
+      return round(memoryManager.getMaxMemory() * 0.5);
+    } else {
+      try {
+        return Long.valueOf(maxMemoryProperty);
+      } catch (Exception e) {
+        throw new IllegalArgumentException(format("Invalid value for system property '%s'. A memory size (in bytes) was "
+            + "expected, got '%s' instead",
+                                                  MULE_STREAMING_MAX_MEMORY, maxMemoryProperty));
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ByteBuffer allocate(int capacity) {
+    try {
+      final int sizeClass = sizeClassOf(capacity);
+      final ByteBuffer slab = sizeClass == UNPOOLED ? reserveAndAllocate(capacity, UNPOOLED) : take(sizeClass);
+
+      ByteBuffer buffer;
+      if (slab.capacity() == capacity) {
+        buffer = slab;
+      } else {
+        slab.limit(capacity);
+        buffer = slab.slice();
+      }
+      buffer.clear();
+
+      allocations.put(new BufferKey(buffer), new Allocation(slab, sizeClass));
+      statistics.addBufferMemoryInUse(slab.capacity());
+      return buffer;
+    } catch (Exception e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not allocate byte buffer. " + e.getMessage()), e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void deallocate(ByteBuffer byteBuffer) {
+    Allocation allocation = allocations.remove(new BufferKey(byteBuffer));
+    if (allocation == null) {
+      return;
+    }
+
+    final ByteBuffer slab = allocation.slab;
+    statistics.addBufferMemoryInUse(-slab.capacity());
+
+    if (disposed || allocation.sizeClass == UNPOOLED) {
+      release(slab.capacity());
+      return;
+    }
+
+    slab.clear();
+    // Under memory pressure slabs go to the shared depot, where other threads (or a trim) can reach them
+    if (waiters.get() == 0 && reservedMemory.get() <= magazineThreshold && pushToMagazine(allocation.sizeClass, slab)) {
+      statistics.addPooledBufferMemory(slab.capacity());
+      return;
+    }
+
+    if (idleCount.incrementAndGet(allocation.sizeClass) <= MAX_IDLE_PER_CLASS) {
+      depots[allocation.sizeClass].offer(slab);
+      statistics.addPooledBufferMemory(slab.capacity());
+      signalMemoryAvailable();
+    } else {
+      idleCount.decrementAndGet(allocation.sizeClass);
+      release(slab.capacity());
+    }
+  }
+
+  private ByteBuffer take(int sizeClass) {
+    ByteBuffer slab = popFromMagazine(sizeClass);
+    if (slab == null) {
+      slab = pollDepot(sizeClass);
+    }
+
+    if (slab != null) {
+      statistics.addPooledBufferMemory(-slab.capacity());
+      return slab;
+    }
+
+    return reserveAndAllocate(sizeOf(sizeClass), sizeClass);
+  }
+
+  private ByteBuffer reserveAndAllocate(int capacity, int sizeClass) {
+    if (tryReserve(capacity)) {
+      return allocateDirect(capacity);
+    }
+
+    trimIdle();
+    if (tryReserve(capacity)) {
+      return allocateDirect(capacity);
+    }
+
+    final long deadline = nanoTime() + MILLISECONDS.toNanos(waitTimeoutMillis);
+    waiters.incrementAndGet();
+    lock.lock();
+    try {
+      while (true) {
+        if (sizeClass != UNPOOLED) {
+          ByteBuffer slab = pollDepot(sizeClass);
+          if (slab != null) {
+            statistics.addPooledBufferMemory(-slab.capacity());
+            return slab;
+          }
+        }
+
+        trimIdle();
+        if (tryReserve(capacity)) {
+          return allocateDirect(capacity);
+        }
+
+        long remaining = deadline - nanoTime();
+        if (remaining <= 0) {
+          throw new MaxStreamingMemoryExceededException(createStaticMessage(format(
+                                                                                   "Max streaming memory limit of %d bytes was exceeded",
+                                                                                   maxStreamingMemory)));
+        }
+        memoryAvailable.awaitNanos(remaining);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MuleRuntimeException(createStaticMessage("Interrupted while waiting for streaming memory"), e);
+    } finally {
+      lock.unlock();
+      waiters.decrementAndGet();
+    }
+  }
+
+  private ByteBuffer allocateDirect(int capacity) {
+    try {
+      return ByteBuffer.allocateDirect(capacity);
+    } catch (OutOfMemoryError e) {
+      release(capacity);
+      throw new MaxStreamingMemoryExceededException(createStaticMessage(format(
+                                                                               "Could not allocate %d bytes of direct memory for streaming",
+                                                                               capacity)));
+    }
+  }
+
+  private boolean tryReserve(int capacity) {
+    long current;
+    do {
+      current = reservedMemory.get();
+      if (current + capacity > maxStreamingMemory) {
+        return false;
+      }
+    } while (!reservedMemory.compareAndSet(current, current + capacity));
+    return true;
+  }
+
+  private void release(int capacity) {
+    reservedMemory.addAndGet(-capacity);
+    signalMemoryAvailable();
+  }
+
+  /**
+   * Releases every idle slab, both in the shared depots and in the per-thread magazines, so its memory may be used by other size
+   * classes. Magazines of threads which are gone are unregistered once drained.
+   */
+  private void trimIdle() {
+    for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+      ByteBuffer slab;
+      while ((slab = pollDepot(sizeClass)) != null) {
+        reclaim(slab);
+      }
+    }
+
+    Iterator<Magazine> registered = magazineRegistry.iterator();
+    while (registered.hasNext()) {
+      Magazine magazine = registered.next();
+      boolean ownerGone = magazine.owner.get() == null;
+      ByteBuffer slab;
+      while ((slab = magazine.drain()) != null) {
+        reclaim(slab);
+      }
+      if (ownerGone) {
+        registered.remove();
+      }
+    }
+  }
+
+  private void reclaim(ByteBuffer slab) {
+    statistics.addPooledBufferMemory(-slab.capacity());
+    reservedMemory.addAndGet(-slab.capacity());
+  }
+
+  private ByteBuffer pollDepot(int sizeClass) {
+    ByteBuffer slab = depots[sizeClass].poll();
+    if (slab != null) {
+      idleCount.decrementAndGet(sizeClass);
+    }
+    return slab;
+  }
+
+  private Magazine registerMagazine() {
+    Magazine magazine = new Magazine(currentThread());
+    magazineRegistry.add(magazine);
+    return magazine;
+  }
+
+  private boolean pushToMagazine(int sizeClass, ByteBuffer slab) {
+    return sizeClass <= MAX_MAGAZINE_SIZE_CLASS && magazines.get().push(sizeClass, slab);
+  }
+
+  private ByteBuffer popFromMagazine(int sizeClass) {
+    return sizeClass > MAX_MAGAZINE_SIZE_CLASS ? null : magazines.get().pop(sizeClass);
+  }
+
+  private void signalMemoryAvailable() {
+    if (waiters.get() > 0) {
+      lock.lock();
+      try {
+        memoryAvailable.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  static int sizeClassOf(int capacity) {
+    int shift = max(MIN_SIZE_CLASS_SHIFT, 32 - numberOfLeadingZeros(max(capacity, 1) - 1));
+    return shift > MAX_SIZE_CLASS_SHIFT ? UNPOOLED : shift - MIN_SIZE_CLASS_SHIFT;
+  }
+
+  private static int sizeOf(int sizeClass) {
+    return 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+  }
+
+  /**
+   * @return the amount of memory (in bytes) currently retained by this manager, whether in use or pooled
+   */
+  long getReservedMemory() {
+    return reservedMemory.get();
+  }
+
+  @Override
+  public void dispose() {
+    disposed = true;
+    trimIdle();
+    lock.lock();
+    try {
+      memoryAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Compares buffers by identity, since {@link ByteBuffer#equals(Object)} and {@link ByteBuffer#hashCode()} depend on their
+   * contents.
+   */
+  private static final class BufferKey {
+
+    private final ByteBuffer buffer;
+
+    private BufferKey(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int hashCode() {
+      return identityHashCode(buffer);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof BufferKey && ((BufferKey) obj).buffer == buffer;
+    }
+  }
+
+  /**
+   * The slabs cached by a thread. Only its owner pushes and pops, but any thread may drain it when trimming, so the slots are
+   * updated atomically.
+   */
+  private static final class Magazine {
+
+    private final WeakReference<Thread> owner;
+    private final AtomicReferenceArray<ByteBuffer> slots =
+        new AtomicReferenceArray<>((MAX_MAGAZINE_SIZE_CLASS + 1) * MAGAZINE_SIZE);
+
+    private Magazine(Thread owner) {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private boolean push(int sizeClass, ByteBuffer slab) {
+      int base = sizeClass * MAGAZINE_SIZE;
+      for (int i = base; i < base + MAGAZINE_SIZE; i++) {
+        if (slots.get(i) == null && slots.compareAndSet(i, null, slab)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private ByteBuffer pop(int sizeClass) {
+      int base = sizeClass * MAGAZINE_SIZE;
+      for (int i = base + MAGAZINE_SIZE - 1; i >= base; i--) {
+        ByteBuffer slab = slots.get(i);
+        if (slab != null && slots.compareAndSet(i, slab, null)) {
+          return slab;
+        }
+      }
+      return null;
+    }
+
+    private ByteBuffer drain() {
+      for (int i = 0; i < slots.length(); i++) {
+        ByteBuffer slab = slots.getAndSet(i, null);
+        if (slab != null) {
+          return slab;
+        }
+      }
+      return null;
+    }
+  }
+
+  private static final class Allocation {
+
+    private final ByteBuffer slab;
+    private final int sizeClass;
+
+    private Allocation(ByteBuffer slab, int sizeClass) {
+      this.slab = slab;
+      this.sizeClass = sizeClass;
+    }
+  }
+}
@@ -39,6 +39,20 @@ public class Bucket<T> {
     this.items = new ArrayList<>(capacity);
   }
 
+  /**
+   * Creates a new instance which already holds the given {@code items}. Used to restore buckets which were
+   * moved out of memory.
+   *
+   * @param index    the bucket's index.
+   * @param items    the bucket's items.
+   * @param capacity the bucket's capacity.
+   */
+  Bucket(int index, List<T> items, int capacity) {
+    this.index = index;
+    this.capacity = capacity;
+    this.items = items;
+  }
+
   /**
    * Obtains the value that was added at the given {@code index} through the {@link #add(Object)} method.
    * If no such value was added, it will return an empty value.
@@ -61,6 +75,13 @@ public class Bucket<T> {
     return index == position.getBucketIndex() && position.getItemIndex() < items.size();
   }
 
+  /**
+   * @return the items added to this bucket so far
+   */
+  List<T> getItems() {
+    return items;
+  }
+
   /**
    * @return {@code this} bucket's index
    */
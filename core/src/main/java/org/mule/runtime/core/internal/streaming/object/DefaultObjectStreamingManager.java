@@ -6,6 +6,12 @@
  */
 package org.mule.runtime.core.internal.streaming.object;
 
+import static java.lang.System.getProperty;
+import static org.mule.runtime.api.serialization.ObjectSerializer.DEFAULT_OBJECT_SERIALIZER_NAME;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.internal.streaming.object.factory.FileStoreCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.InMemoryCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.NullCursorIteratorProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
@@ -13,6 +19,9 @@ import org.mule.runtime.core.api.streaming.object.CursorIteratorProviderFactory;
 import org.mule.runtime.core.api.streaming.object.InMemoryCursorIteratorConfig;
 import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
 
+import javax.inject.Inject;
+import javax.inject.Named;
+
 /**
  * Default implementation of {@link ObjectStreamingManager}
  *
@@ -20,7 +29,15 @@ import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
  */
 public class DefaultObjectStreamingManager implements ObjectStreamingManager {
 
+  /**
+   * When set to {@code true}, the default {@link CursorIteratorProviderFactory} spills the items which exceed the default
+   * in-memory size into a local file instead of failing.
+   */
+  public static final String FILE_STORE_DEFAULT_STREAMING_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "streaming.objects.fileStoreByDefault";
+
   protected final StreamingManager streamingManager;
+  private ObjectSerializer objectSerializer;
 
   public DefaultObjectStreamingManager(StreamingManager streamingManager) {
     this.streamingManager = streamingManager;
@@ -34,6 +51,18 @@ public class DefaultObjectStreamingManager implements ObjectStreamingManager {
     return new InMemoryCursorIteratorProviderFactory(config, streamingManager);
   }
 
+  /**
+   * Creates a {@link CursorIteratorProviderFactory} which keeps up to the configured amount of items in memory and
+   * spills the rest into a local file, using the application's {@link ObjectSerializer}.
+   *
+   * @param config the configuration for the produced {@link org.mule.runtime.api.streaming.object.CursorIteratorProvider} instances
+   * @return a new {@link CursorIteratorProviderFactory}
+   * @since 4.2
+   */
+  public CursorIteratorProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorIteratorConfig config) {
+    return new FileStoreCursorIteratorProviderFactory(config, objectSerializer, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -47,6 +76,15 @@ public class DefaultObjectStreamingManager implements ObjectStreamingManager {
    */
   @Override
   public CursorIteratorProviderFactory getDefaultCursorProviderFactory() {
+    if (objectSerializer != null && Boolean.valueOf(getProperty(FILE_STORE_DEFAULT_STREAMING_PROPERTY))) {
+      return getFileStoreCursorProviderFactory(FileStoreCursorIteratorConfig.getDefault());
+    }
     return getInMemoryCursorProviderFactory(InMemoryCursorIteratorConfig.getDefault());
   }
+
+  @Inject
+  @Named(DEFAULT_OBJECT_SERIALIZER_NAME)
+  public void setObjectSerializer(ObjectSerializer objectSerializer) {
+    this.objectSerializer = objectSerializer;
+  }
 }
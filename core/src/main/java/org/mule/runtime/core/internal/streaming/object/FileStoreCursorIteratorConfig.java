@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_BUFFER_INCREMENT_SIZE;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+
+/**
+ * Configuration for a {@link CursorIterator} which keeps a bounded amount of instances in memory and
+ * uses a local file for buffering the rest
+ *
+ * @since 4.2
+ */
+public final class FileStoreCursorIteratorConfig {
+
+  private final int maxInMemoryInstances;
+  private final int bucketSize;
+
+  /**
+   * @return A new instance configured with default settings
+   */
+  public static FileStoreCursorIteratorConfig getDefault() {
+    return new FileStoreCursorIteratorConfig(DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE,
+                                             DEFAULT_OBJECT_STREAMING_BUFFER_INCREMENT_SIZE);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxInMemoryInstances the maximum amount of instances to be held in memory. Must be greater than zero
+   * @param bucketSize           the amount of instances which are moved in and out of memory at once. Must be greater
+   *                             than zero and not bigger than {@code maxInMemoryInstances}
+   * @throws IllegalArgumentException if any of the given arguments is invalid
+   */
+  public FileStoreCursorIteratorConfig(int maxInMemoryInstances, int bucketSize) {
+    checkArgument(maxInMemoryInstances > 0, "maxInMemoryInstances must be greater than zero");
+    checkArgument(bucketSize > 0, "bucketSize must be greater than zero");
+    checkArgument(bucketSize <= maxInMemoryInstances, "bucketSize cannot be bigger than maxInMemoryInstances");
+
+    this.maxInMemoryInstances = maxInMemoryInstances;
+    this.bucketSize = bucketSize;
+  }
+
+  /**
+   * @return The maximum amount of instances to be held in memory
+   */
+  public int getMaxInMemoryInstances() {
+    return maxInMemoryInstances;
+  }
+
+  /**
+   * @return The amount of instances which are moved in and out of memory at once
+   */
+  public int getBucketSize() {
+    return bucketSize;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+
+import java.util.Iterator;
+
+/**
+ * An implementation of {@link AbstractCursorIteratorProvider} which yields
+ * cursors that keep a bounded amount of items in memory and buffer the rest
+ * into a local file.
+ *
+ * @since 4.2
+ */
+public class FileStoreCursorIteratorProvider extends AbstractCursorIteratorProvider {
+
+  private final ObjectStreamBuffer buffer;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream           the stream to buffer from
+   * @param config           the config of the generated buffer
+   * @param objectSerializer the {@link ObjectSerializer} used to write the items into the buffer file
+   */
+  public FileStoreCursorIteratorProvider(Iterator stream, FileStoreCursorIteratorConfig config,
+                                         ObjectSerializer objectSerializer) {
+    super(stream);
+    buffer = new FileStoreObjectStreamBuffer(stream, config, objectSerializer);
+    buffer.initialise();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected CursorIterator doOpenCursor() {
+    return new BufferedCursorIterator(buffer, this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void releaseResources() {
+    if (buffer != null) {
+      buffer.close();
+    }
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.max;
+import static java.nio.ByteBuffer.wrap;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which keeps a bounded window of {@link Bucket buckets} in memory
+ * and moves the rest into a temporal file.
+ * <p>
+ * All buckets have the same {@link FileStoreCursorIteratorConfig#getBucketSize() size}. Once a bucket is full it joins a
+ * window of hot buckets which is bounded by {@link FileStoreCursorIteratorConfig#getMaxInMemoryInstances()}. When that
+ * window overflows, the least recently used bucket is serialized through the given {@link ObjectSerializer} and appended
+ * to the buffer file. Because full buckets never change, each bucket is written at most once. Cursors seeking into a
+ * bucket which is no longer in memory make it be read back from the file and put into the window again.
+ * <p>
+ * Because of this, the streamed items need to be serializable by the configured {@link ObjectSerializer}.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.2
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final FileStoreCursorIteratorConfig config;
+  private final ObjectSerializer objectSerializer;
+  private final int maxHotBuckets;
+
+  private final Object windowLock = new Object();
+  private final Map<Integer, Bucket<T>> hotBuckets = new LinkedHashMap<>(16, 0.75f, true);
+  private final List<StoredBucket> storedBuckets = new ArrayList<>();
+
+  private File bufferFile;
+  private RandomAccessFile randomAccessFile;
+  private FileChannel fileChannel;
+  private long fileTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream           the stream to be buffered
+   * @param config           this buffer's configuration
+   * @param objectSerializer the {@link ObjectSerializer} used to move buckets in and out of the buffer file
+   */
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config,
+                                     ObjectSerializer objectSerializer) {
+    super(stream);
+    this.config = config;
+    this.objectSerializer = objectSerializer;
+    // the bucket being filled is always in memory, so it counts against the limit
+    maxHotBuckets = max(1, config.getMaxInMemoryInstances() / config.getBucketSize() - 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    int bucketSize = config.getBucketSize();
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, config.getBucketSize()));
+  }
+
+  @Override
+  protected Optional<Bucket<T>> getPresentBucket(Position position) {
+    final int bucketIndex = position.getBucketIndex();
+    Bucket<T> current = getCurrentBucket();
+    if (current != null && current.getIndex() == bucketIndex) {
+      return of(current);
+    }
+
+    synchronized (windowLock) {
+      Bucket<T> bucket = hotBuckets.get(bucketIndex);
+      if (bucket != null) {
+        return of(bucket);
+      }
+
+      if (bucketIndex < storedBuckets.size()) {
+        StoredBucket storedBucket = storedBuckets.get(bucketIndex);
+        if (storedBucket != null) {
+          bucket = load(bucketIndex, storedBucket);
+          hotBuckets.put(bucketIndex, bucket);
+          evict();
+          return of(bucket);
+        }
+      }
+    }
+
+    return empty();
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    synchronized (windowLock) {
+      hotBuckets.put(overflownBucket.getIndex(), overflownBucket);
+      evict();
+    }
+
+    return new Bucket<>(overflownBucket.getIndex() + 1, config.getBucketSize());
+  }
+
+  /**
+   * Items are only bounded by the available disk space, so there's nothing to validate.
+   */
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {}
+
+  /**
+   * {@inheritDoc}
+   * Closes and deletes the buffer file, if one was created.
+   */
+  @Override
+  protected void doClose() {
+    synchronized (windowLock) {
+      hotBuckets.clear();
+      storedBuckets.clear();
+      if (randomAccessFile != null) {
+        closeSafely(randomAccessFile::close);
+      }
+
+      if (bufferFile != null && !bufferFile.delete()) {
+        LOGGER.debug("Could not delete buffer file {}. It will be deleted on exit", bufferFile.getAbsolutePath());
+        bufferFile.deleteOnExit();
+      }
+    }
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Integer, Bucket<T>>> it = hotBuckets.entrySet().iterator();
+    while (hotBuckets.size() > maxHotBuckets && it.hasNext()) {
+      Bucket<T> bucket = it.next().getValue();
+      if (!isStored(bucket.getIndex())) {
+        store(bucket);
+      }
+      it.remove();
+    }
+  }
+
+  private boolean isStored(int bucketIndex) {
+    return bucketIndex < storedBuckets.size() && storedBuckets.get(bucketIndex) != null;
+  }
+
+  private void store(Bucket<T> bucket) {
+    byte[] bytes = objectSerializer.getInternalProtocol().serialize(bucket.getItems());
+    try {
+      if (fileChannel == null) {
+        bufferFile = createBufferFile("object-stream");
+        randomAccessFile = new RandomAccessFile(bufferFile, "rw");
+        fileChannel = randomAccessFile.getChannel();
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Stream exceeded {} in memory instances, spilling into {}", config.getMaxInMemoryInstances(),
+                       bufferFile.getAbsolutePath());
+        }
+      }
+
+      ByteBuffer data = wrap(bytes);
+      long position = fileTip;
+      while (data.hasRemaining()) {
+        position += fileChannel.write(data, position);
+      }
+
+      while (storedBuckets.size() <= bucket.getIndex()) {
+        storedBuckets.add(null);
+      }
+      storedBuckets.set(bucket.getIndex(), new StoredBucket(fileTip, bytes.length));
+      fileTip = position;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write streaming buffer file"), e);
+    }
+  }
+
+  private Bucket<T> load(int bucketIndex, StoredBucket storedBucket) {
+    ByteBuffer data = ByteBuffer.allocate(storedBucket.length);
+    try {
+      long position = storedBucket.offset;
+      while (data.hasRemaining()) {
+        int read = fileChannel.read(data, position);
+        if (read < 0) {
+          throw new EOFException("Buffer file " + bufferFile.getAbsolutePath() + " is truncated");
+        }
+        position += read;
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read streaming buffer file"), e);
+    }
+
+    List<T> items = objectSerializer.getInternalProtocol().deserialize(data.array());
+    return new Bucket<>(bucketIndex, items, config.getBucketSize());
+  }
+
+  private static class StoredBucket {
+
+    private final long offset;
+    private final int length;
+
+    private StoredBucket(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
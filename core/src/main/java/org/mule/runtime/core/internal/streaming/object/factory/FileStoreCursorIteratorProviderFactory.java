@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object.factory;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.functional.Either;
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorProvider;
+
+import java.util.Iterator;
+
+/**
+ * An implementation of {@link AbstractCursorIteratorProviderFactory} which yields instances of
+ * {@link FileStoreCursorIteratorProvider}
+ *
+ * @since 4.2
+ */
+public class FileStoreCursorIteratorProviderFactory extends AbstractCursorIteratorProviderFactory {
+
+  private final FileStoreCursorIteratorConfig config;
+  private final ObjectSerializer objectSerializer;
+
+  /**
+   * Creates a new instance
+   *
+   * @param config           the config for the generated providers
+   * @param objectSerializer the {@link ObjectSerializer} used to write the buffered items into disk
+   * @param streamingManager the {@link StreamingManager} which will manage the generated providers
+   */
+  public FileStoreCursorIteratorProviderFactory(FileStoreCursorIteratorConfig config, ObjectSerializer objectSerializer,
+                                                StreamingManager streamingManager) {
+    super(streamingManager);
+    this.config = config;
+    this.objectSerializer = objectSerializer;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return a new {@link CursorIteratorProvider} wrapped in an {@link Either}
+   */
+  @Override
+  protected Object resolve(Iterator iterator, CoreEvent event) {
+    FileStoreCursorIteratorProvider provider = new FileStoreCursorIteratorProvider(iterator, config, objectSerializer);
+    provider.setAnnotations(getAnnotations());
+    return provider;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.transformer.graph;
+
+import static java.util.Collections.unmodifiableSet;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.transformer.Converter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Thread safe {@link TransformationGraph} optimized for reads.
+ * <p>
+ * Converters are added to or removed from a private graph, and a copy of it is published as the new snapshot the next time the
+ * graph is read. This way, lookups never block and always see a consistent graph, while registering many converters in a row
+ * (as done on startup) only copies the graph once. Lookups that query the graph many times should use the same
+ * {@link #snapshot()} for all of them.
+ */
+public class CopyOnWriteTransformationGraph {
+
+  private final TransformationGraph registrations = new TransformationGraph();
+
+  // null when the registrations changed since the last snapshot was published
+  private volatile TransformationGraph transformationGraph;
+
+  public CopyOnWriteTransformationGraph() {
+    this.transformationGraph = new TransformationGraph();
+  }
+
+  public synchronized void addConverter(Converter converter) {
+    if (registrations.containsConverter(converter)) {
+      return;
+    }
+    registrations.addConverter(converter);
+    transformationGraph = null;
+  }
+
+  public synchronized void removeConverter(Converter converter) {
+    if (!registrations.containsConverter(converter)) {
+      return;
+    }
+    registrations.removeConverter(converter);
+    transformationGraph = null;
+  }
+
+  /**
+   * @return the current state of the graph. It must not be modified.
+   */
+  TransformationGraph snapshot() {
+    TransformationGraph snapshot = transformationGraph;
+    return snapshot != null ? snapshot : publishSnapshot();
+  }
+
+  private synchronized TransformationGraph publishSnapshot() {
+    if (transformationGraph == null) {
+      transformationGraph = new TransformationGraph(registrations);
+    }
+    return transformationGraph;
+  }
+
+  public Set<TransformationEdge> outgoingEdgesOf(DataType vertex) {
+    return unmodifiableSet(snapshot().outgoingEdgesOf(vertex));
+  }
+
+  public DataType getEdgeTarget(TransformationEdge transformationEdge) {
+    return snapshot().getEdgeTarget(transformationEdge);
+  }
+
+  public boolean containsVertex(DataType dataType) {
+    return snapshot().containsVertex(dataType);
+  }
+
+  List<DataType> getSuperVertexes(DataType vertex) {
+    return snapshot().getSuperVertexes(vertex);
+  }
+
+  List<DataType> getSubVertexes(DataType vertex) {
+    return snapshot().getSubVertexes(vertex);
+  }
+
+  boolean containsVertexOrSuper(DataType vertex) {
+    return snapshot().containsVertexOrSuper(vertex);
+  }
+
+  boolean containsVertexOrSub(DataType vertex) {
+    return snapshot().containsVertexOrSub(vertex);
+  }
+
+}
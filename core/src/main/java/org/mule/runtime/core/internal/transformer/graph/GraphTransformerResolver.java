@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.transformer.graph;
 
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.util.Optional.ofNullable;
+
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
@@ -14,40 +17,53 @@ import org.mule.runtime.core.internal.transformer.ResolverException;
 import org.mule.runtime.core.api.config.i18n.CoreMessages;
 
 import java.util.List;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Objects;
+import java.util.Optional;
 
-import org.apache.commons.collections.map.LRUMap;
+import com.google.common.cache.Cache;
 
+/**
+ * Resolves {@link Converter}s, or chains of them, using a {@link CopyOnWriteTransformationGraph}.
+ * <p>
+ * Resolved conversions, including the ones for which no converter exists, are memoized by source and result {@link DataType}
+ * until a converter is added or removed.
+ */
 public class GraphTransformerResolver implements TransformerResolver {
 
-  private ReentrantReadWriteLock readWriteLock;
-  private SynchronizedTransformationGraph graph;
+  /**
+   * The max amount of resolved conversions to keep. Past this, the least recently used ones are evicted.
+   */
+  static final int MAX_CACHED_CONVERSIONS = 4096;
+
+  private CopyOnWriteTransformationGraph graph;
   private CompositeConverterFilter converterFilter;
-  private LRUMap cache;
+  private volatile Cache<ConversionKey, Optional<Transformer>> cache;
   private TransformationGraphLookupStrategy lookupStrategyTransformation;
 
   public GraphTransformerResolver() {
-    this.readWriteLock = new ReentrantReadWriteLock();
-    this.graph = new SynchronizedTransformationGraph();
+    this.graph = new CopyOnWriteTransformationGraph();
     lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
     converterFilter = new CompositeConverterFilter(new TypeMatchingVertexesFilter(),
                                                    new TransformationLengthConverterFilter(),
                                                    new PriorityWeightingConverterFilter(),
                                                    new NameConverterFilter());
-    cache = new LRUMap();
+    cache = createCache();
+  }
+
+  private static Cache<ConversionKey, Optional<Transformer>> createCache() {
+    return newBuilder().maximumSize(MAX_CACHED_CONVERSIONS).build();
   }
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    String cacheKey = getDataTypeSourceResultPairHash(source, result);
-
-    readWriteLock.readLock().lock();
-    try {
-      if (cache.containsKey(cacheKey)) {
-        return (Converter) cache.get(cacheKey);
-      }
-    } finally {
-      readWriteLock.readLock().unlock();
+    ConversionKey cacheKey = new ConversionKey(source, result);
+
+    // The cache is read before the graph, so a conversion resolved over a graph that changed meanwhile is stored in a cache that
+    // has already been discarded.
+    Cache<ConversionKey, Optional<Transformer>> cache = this.cache;
+    Optional<Transformer> cached = cache.getIfPresent(cacheKey);
+    if (cached != null) {
+      return cached.orElse(null);
     }
 
     List<Converter> converters =
@@ -59,46 +75,51 @@ public class GraphTransformerResolver implements TransformerResolver {
 
     Transformer converter = (converters.size() == 0) ? null : converters.get(0);
 
-
-    readWriteLock.writeLock().lock();
-    try {
-      cache.put(cacheKey, converter);
-    } finally {
-      readWriteLock.writeLock().unlock();
-    }
+    cache.put(cacheKey, ofNullable(converter));
 
     return converter;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    StringBuilder builder = new StringBuilder();
-    builder.append(source.getClass().getName());
-    builder.append(source.hashCode());
-    builder.append(":");
-    builder.append(result.getClass().getName());
-    builder.append(result.hashCode());
+  @Override
+  public void transformerChange(Transformer transformer, RegistryAction registryAction) {
+    if (!(transformer instanceof Converter)) {
+      return;
+    }
+
+    if (registryAction == RegistryAction.ADDED) {
+      graph.addConverter((Converter) transformer);
+    } else if (registryAction == RegistryAction.REMOVED) {
+      graph.removeConverter((Converter) transformer);
+    }
 
-    return builder.toString();
+    cache = createCache();
   }
 
-  @Override
-  public void transformerChange(Transformer transformer, RegistryAction registryAction) {
-    readWriteLock.writeLock().lock();
+  private static final class ConversionKey {
 
-    try {
-      if (!(transformer instanceof Converter)) {
-        return;
-      }
+    private final DataType source;
+    private final DataType result;
 
-      cache.clear();
+    private ConversionKey(DataType source, DataType result) {
+      this.source = source;
+      this.result = result;
+    }
 
-      if (registryAction == RegistryAction.ADDED) {
-        graph.addConverter((Converter) transformer);
-      } else if (registryAction == RegistryAction.REMOVED) {
-        graph.removeConverter((Converter) transformer);
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
       }
-    } finally {
-      readWriteLock.writeLock().unlock();
+      ConversionKey that = (ConversionKey) o;
+      return Objects.equals(source, that.source) && Objects.equals(result, that.result);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(source, result);
     }
   }
 }
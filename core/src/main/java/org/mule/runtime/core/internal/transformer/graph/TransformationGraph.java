@@ -11,7 +11,7 @@ import static java.util.stream.Collectors.toList;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.transformer.Converter;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -26,12 +26,27 @@ public class TransformationGraph extends DirectedMultigraph<DataType, Transforma
 
   protected final Logger logger = LoggerFactory.getLogger(getClass());
 
-  private Set<Converter> registeredConverters = new HashSet<>();
+  // Kept in registration order, so copies of the graph add their vertexes and edges in the same order
+  private Set<Converter> registeredConverters = new LinkedHashSet<>();
 
   public TransformationGraph() {
     super(TransformationEdge.class);
   }
 
+  /**
+   * Creates a new graph with the same converters as the given one, added in the order they were registered in it.
+   *
+   * @param graph the graph to copy
+   */
+  public TransformationGraph(TransformationGraph graph) {
+    this();
+    graph.registeredConverters.forEach(this::addConverter);
+  }
+
+  boolean containsConverter(Converter converter) {
+    return registeredConverters.contains(converter);
+  }
+
   public void addConverter(Converter converter) {
     if (registeredConverters.contains(converter)) {
       if (logger.isDebugEnabled()) {
@@ -26,9 +26,9 @@ public class TransformationGraphLookupStrategy {
 
   protected final Logger logger = LoggerFactory.getLogger(getClass());
 
-  private SynchronizedTransformationGraph graph;
+  private CopyOnWriteTransformationGraph graph;
 
-  public TransformationGraphLookupStrategy(SynchronizedTransformationGraph graph) {
+  public TransformationGraphLookupStrategy(CopyOnWriteTransformationGraph graph) {
     this.graph = graph;
   }
 
@@ -44,23 +44,25 @@ public class TransformationGraphLookupStrategy {
    * @return a list of {@link Converter} that are able to convert from the source to the target data types.
    */
   public List<Converter> lookupConverters(DataType source, DataType target) {
+    // All the queries of a lookup are done over the same version of the graph
+    TransformationGraph snapshot = graph.snapshot();
     List<Converter> converters = new LinkedList<>();
-    if (!graph.containsVertexOrSuper(source)) {
+    if (!snapshot.containsVertexOrSuper(source)) {
       return converters;
     }
 
-    if (!graph.containsVertexOrSub(target)) {
+    if (!snapshot.containsVertexOrSub(target)) {
       return converters;
     }
 
     //Since we should have all possible transformations we should check for them all.
-    List<DataType> compatibleSourceVertexes = graph.getSuperVertexes(source);
-    List<DataType> compatibleTargetVertexes = graph.getSubVertexes(target);
+    List<DataType> compatibleSourceVertexes = snapshot.getSuperVertexes(source);
+    List<DataType> compatibleTargetVertexes = snapshot.getSubVertexes(target);
 
     List<List<TransformationEdge>> transformationPaths = new LinkedList<>();
     for (DataType sourceVertex : compatibleSourceVertexes) {
       for (DataType targetVertex : compatibleTargetVertexes) {
-        transformationPaths.addAll(findTransformationPaths(sourceVertex, targetVertex, new HashSet<>()));
+        transformationPaths.addAll(findTransformationPaths(snapshot, sourceVertex, targetVertex, new HashSet<>()));
       }
     }
 
@@ -93,7 +95,8 @@ public class TransformationGraphLookupStrategy {
     return new ArrayList<>(converters);
   }
 
-  private List<List<TransformationEdge>> findTransformationPaths(DataType source, DataType target, Set<DataType> visited) {
+  private List<List<TransformationEdge>> findTransformationPaths(TransformationGraph snapshot, DataType source,
+                                                                 DataType target, Set<DataType> visited) {
     List<List<TransformationEdge>> validTransformationEdges = new LinkedList<>();
 
     if (visited.contains(source)) {
@@ -101,16 +104,16 @@ public class TransformationGraphLookupStrategy {
     } else {
       visited.add(source);
 
-      Set<TransformationEdge> transformationEdges = graph.outgoingEdgesOf(source);
+      Set<TransformationEdge> transformationEdges = snapshot.outgoingEdgesOf(source);
       for (TransformationEdge transformationEdge : transformationEdges) {
-        DataType edgeTarget = graph.getEdgeTarget(transformationEdge);
+        DataType edgeTarget = snapshot.getEdgeTarget(transformationEdge);
 
         if (target.isCompatibleWith(edgeTarget)) {
           LinkedList<TransformationEdge> transformationEdges1 = new LinkedList<>();
           transformationEdges1.add(transformationEdge);
           validTransformationEdges.add(transformationEdges1);
         } else {
-          List<List<TransformationEdge>> newTransformations = findTransformationPaths(edgeTarget, target, visited);
+          List<List<TransformationEdge>> newTransformations = findTransformationPaths(snapshot, edgeTarget, target, visited);
 
           for (List<TransformationEdge> transformationEdgeList : newTransformations) {
             transformationEdgeList.add(0, transformationEdge);
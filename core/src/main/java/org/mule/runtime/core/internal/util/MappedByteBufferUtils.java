@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import org.slf4j.Logger;
+
+/**
+ * Utilities for {@link MappedByteBuffer}s.
+ *
+ * @since 4.2
+ */
+public final class MappedByteBufferUtils {
+
+  private static final Logger LOGGER = getLogger(MappedByteBufferUtils.class);
+
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private MappedByteBufferUtils() {}
+
+  /**
+   * Releases the mapping of the given buffer right away instead of waiting for it to be garbage collected, so its file can be
+   * deleted and its address space is given back.
+   * <p>
+   * The buffer, and any view created from it, must not be accessed after calling this method.
+   *
+   * @param buffer the buffer to unmap
+   */
+  public static void unmap(MappedByteBuffer buffer) {
+    try {
+      UNMAPPER.unmap(buffer);
+    } catch (Exception e) {
+      LOGGER.debug("Could not unmap buffer. It will be unmapped when garbage collected", e);
+    }
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      // Java 9 onwards
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (Exception e) {
+      // Java 8
+    }
+
+    try {
+      Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> {
+        Object cleaner = cleanerMethod.invoke(buffer);
+        if (cleaner != null) {
+          cleanMethod.invoke(cleaner);
+        }
+      };
+    } catch (Exception e) {
+      LOGGER.debug("Mapped buffers cannot be unmapped explicitly in this JVM", e);
+      return buffer -> {
+      };
+    }
+  }
+
+  @FunctionalInterface
+  private interface Unmapper {
+
+    void unmap(ByteBuffer buffer) throws Exception;
+  }
+}
@@ -43,13 +43,23 @@ public class DefaultQueueStore implements RecoverableQueueStore {
       this.config = new DefaultQueueConfiguration();
     }
     if (this.config.isPersistent()) {
-      delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
-                                                            muleContext, this.config.getCapacity());
+      delegate = createPersistentDelegate(muleContext.getConfiguration().getWorkingDirectory());
     } else {
       delegate = new DefaultQueueStoreDelegate(this.config.getCapacity());
     }
   }
 
+  private QueueStoreDelegate createPersistentDelegate(String workingDirectory) {
+    // Queues keep being opened with the delegate that created their files, regardless of the configuration
+    boolean memoryMapped = MemoryMappedQueueStoreDelegate.hasSegments(this.name, workingDirectory)
+        || (this.config.isMemoryMapped() && !DualRandomAccessFileQueueStoreDelegate.hasData(this.name, workingDirectory));
+    if (memoryMapped) {
+      return new MemoryMappedQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+    } else {
+      return new DualRandomAccessFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+    }
+  }
+
   @Override
   public boolean equals(Object obj) {
     return (obj instanceof DefaultQueueStore && name.equals(((DefaultQueueStore) obj).name));
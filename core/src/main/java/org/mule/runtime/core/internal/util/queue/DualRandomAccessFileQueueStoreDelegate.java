@@ -93,6 +93,17 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
     return new File(getQueuesDirectory(workingDirectory), queueName + QUEUE_STORE_1_SUFFIX);
   }
 
+  /**
+   * @param queueName the name of a queue
+   * @param workingDirectory the working directory of the application
+   * @return whether there are non empty queue files for the given queue
+   */
+  static boolean hasData(String queueName, String workingDirectory) {
+    File queuesDirectory = getQueuesDirectory(workingDirectory);
+    return new File(queuesDirectory, queueName + QUEUE_STORE_1_SUFFIX).length() > 0
+        || new File(queuesDirectory, queueName + QUEUE_STORE_2_SUFFIX).length() > 0;
+  }
+
   @Override
   protected void addFirst(Serializable item) throws InterruptedException {
     switchWriteFileIfFull();
@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Math.max;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.MappedByteBufferUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation which keeps the queue data in memory mapped segment files.
+ * <p>
+ * Items are appended to the active segment and removing an item only flags its record, so no operation rewrites or moves
+ * previously written data. The order of the queue is kept in memory and rebuilt from the segments when the queue is opened,
+ * using the ordering key of each record: items added to the tail take increasing keys while items returned to the head, as
+ * done when a transaction is rolled back, take decreasing ones.
+ * Once every record of a segment is removed, the segment is rewound if it is the active one or recycled otherwise, keeping up
+ * to {@link #MAX_POOLED_SEGMENTS_PROPERTY} empty segments for reuse and deleting the rest.
+ * <p>
+ * Changes are forced to disk through a group commit: instead of syncing each operation, the dirty segments are forced once
+ * {@link #COMMIT_BATCH_SIZE_PROPERTY} operations are pending or {@link #MAX_COMMIT_LATENCY_PROPERTY} milliseconds after the
+ * first pending one, whatever happens first. Since the data lives in the OS page cache as soon as it's written, a crash of the
+ * process loses nothing, while a crash of the host may lose the operations of the last uncommitted batch. Using a batch size
+ * of {@code 1} forces every operation, same as {@link DualRandomAccessFileQueueStoreDelegate}.
+ *
+ * @since 4.2
+ */
+public class MemoryMappedQueueStoreDelegate extends AbstractQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  private static final Logger LOGGER = getLogger(MemoryMappedQueueStoreDelegate.class);
+
+  /**
+   * Size in bytes of each segment file. Items bigger than a segment get a dedicated segment of their own size.
+   */
+  public static final String SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.mapped.segmentSize";
+
+  /**
+   * Number of pending operations which triggers a commit.
+   */
+  public static final String COMMIT_BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.mapped.commitBatchSize";
+
+  /**
+   * Maximum time in milliseconds an operation waits to be committed. A value of {@code 0} or less disables the time based
+   * commits, so operations are only committed in batches.
+   */
+  public static final String MAX_COMMIT_LATENCY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.mapped.maxCommitLatency";
+
+  /**
+   * Maximum number of empty segments kept for reuse.
+   */
+  public static final String MAX_POOLED_SEGMENTS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.mapped.maxPooledSegments";
+
+  private static final int DEFAULT_SEGMENT_SIZE = Integer.getInteger(SEGMENT_SIZE_PROPERTY, 4 * 1024 * 1024);
+  private static final int DEFAULT_COMMIT_BATCH_SIZE = Integer.getInteger(COMMIT_BATCH_SIZE_PROPERTY, 64);
+  private static final long DEFAULT_MAX_COMMIT_LATENCY = Long.getLong(MAX_COMMIT_LATENCY_PROPERTY, 10);
+  private static final int DEFAULT_MAX_POOLED_SEGMENTS = Integer.getInteger(MAX_POOLED_SEGMENTS_PROPERTY, 2);
+
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String QUEUE_DIRECTORY_SUFFIX = "-mapped";
+  static final String SEGMENT_FILE_EXTENSION = ".seg";
+
+  private static final int SEGMENT_MAGIC = 0x4D514A31;
+  private static final long FREE_SEGMENT = 0;
+  // magic (int) + sequence (long)
+  private static final int SEGMENT_HEADER_SIZE = 4 + 8;
+  // status (byte) + length (int) + crc (int) + order (long)
+  private static final int RECORD_HEADER_SIZE = 1 + 4 + 4 + 8;
+
+  private static final byte END = 0;
+  private static final byte LIVE = 1;
+  private static final byte REMOVED = 2;
+
+  private final ObjectSerializer serializer;
+  private final File queueDirectory;
+  private final int segmentSize;
+  private final int commitBatchSize;
+  private final long maxCommitLatency;
+  private final int maxPooledSegments;
+  private final Scheduler commitScheduler;
+
+  private final Deque<RecordPointer> records = new ArrayDeque<>();
+  private final List<Segment> segments = new ArrayList<>();
+  private final Deque<Segment> pooledSegments = new ArrayDeque<>();
+  private final Set<Segment> dirtySegments = new LinkedHashSet<>();
+  private Segment activeSegment;
+  private long nextSequence = FREE_SEGMENT + 1;
+  private long nextFileId = 0;
+  private long nextTailOrder = 0;
+  private long nextHeadOrder = -1;
+  private int pendingOperations = 0;
+  private ScheduledFuture<?> scheduledCommit;
+
+  public MemoryMappedQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this(queueName, workingDirectory, muleContext, capacity, DEFAULT_SEGMENT_SIZE, DEFAULT_COMMIT_BATCH_SIZE,
+         DEFAULT_MAX_COMMIT_LATENCY, DEFAULT_MAX_POOLED_SEGMENTS);
+  }
+
+  public MemoryMappedQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity,
+                                        int segmentSize, int commitBatchSize, long maxCommitLatency, int maxPooledSegments) {
+    super(capacity);
+    this.serializer = muleContext.getObjectSerializer();
+    this.queueDirectory = getQueueDirectory(queueName, workingDirectory);
+    this.segmentSize = segmentSize;
+    this.commitBatchSize = commitBatchSize;
+    this.maxCommitLatency = maxCommitLatency;
+    this.maxPooledSegments = maxPooledSegments;
+
+    if (commitBatchSize > 1 && maxCommitLatency > 0 && muleContext.getSchedulerService() != null) {
+      commitScheduler = muleContext.getSchedulerService().ioScheduler();
+    } else {
+      commitScheduler = null;
+    }
+
+    if (!queueDirectory.exists()) {
+      checkState(queueDirectory.mkdirs(), "Could not create queue store directory " + queueDirectory.getAbsolutePath());
+    }
+    load();
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Queue {} has {} messages in {} segments", queueName, records.size(), segments.size());
+    }
+  }
+
+  /**
+   * @param queueName the name of a queue
+   * @param workingDirectory the working directory of the application
+   * @return whether there are segment files for the given queue
+   */
+  public static boolean hasSegments(String queueName, String workingDirectory) {
+    String[] segmentFiles =
+        getQueueDirectory(queueName, workingDirectory).list((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+    return segmentFiles != null && segmentFiles.length > 0;
+  }
+
+  private static File getQueueDirectory(String queueName, String workingDirectory) {
+    File queuesDirectory = new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY);
+    // same as the queue files, names which may not be valid in the file system are hex encoded
+    String directoryName =
+        queueName.matches("[\\w.-]+") ? queueName : new BigInteger(1, queueName.getBytes(UTF_8)).toString(16);
+    return new File(queuesDirectory, directoryName + QUEUE_DIRECTORY_SUFFIX);
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    records.addLast(append(serializer.getInternalProtocol().serialize(item), nextTailOrder++));
+    afterWrite(activeSegment);
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    records.addFirst(append(serializer.getInternalProtocol().serialize(item), nextHeadOrder--));
+    afterWrite(activeSegment);
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    RecordPointer first = records.peekFirst();
+    return first == null ? null : deserialize(first);
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    RecordPointer first = records.pollFirst();
+    if (first == null) {
+      return null;
+    }
+    Serializable value = deserialize(first);
+    markRemoved(first);
+    return value;
+  }
+
+  @Override
+  protected int size() {
+    return records.size();
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return records.isEmpty();
+  }
+
+  @Override
+  protected void doClear() {
+    records.clear();
+    for (Segment segment : new ArrayList<>(segments)) {
+      segment.liveRecords = 0;
+      if (segment == activeSegment) {
+        rewind(segment);
+      } else {
+        retire(segment);
+      }
+    }
+    commit();
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      records.addLast(append(serializer.getInternalProtocol().serialize(item), nextTailOrder++));
+      dirtySegments.add(activeSegment);
+    }
+    commit();
+    return true;
+  }
+
+  @Override
+  public synchronized void remove(Serializable value) {
+    Iterator<RecordPointer> iterator = records.iterator();
+    while (iterator.hasNext()) {
+      RecordPointer record = iterator.next();
+      if (deserialize(record).equals(value)) {
+        iterator.remove();
+        markRemoved(record);
+        return;
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    for (RecordPointer record : records) {
+      if (deserialize(record).equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized void close() {
+    commit();
+    if (scheduledCommit != null) {
+      scheduledCommit.cancel(false);
+      scheduledCommit = null;
+    }
+    if (commitScheduler != null) {
+      commitScheduler.stop();
+    }
+    records.clear();
+    for (Segment segment : segments) {
+      segment.unmap();
+    }
+    for (Segment segment : pooledSegments) {
+      segment.unmap();
+    }
+    segments.clear();
+    pooledSegments.clear();
+    dirtySegments.clear();
+    activeSegment = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void dispose() {
+    close();
+    deleteQuietly(queueDirectory);
+  }
+
+  private Serializable deserialize(RecordPointer record) {
+    byte[] data = new byte[record.length];
+    record.segment.view(record.position + RECORD_HEADER_SIZE).get(data);
+    return serializer.getInternalProtocol().deserialize(data);
+  }
+
+  private RecordPointer append(byte[] data, long order) {
+    int recordSize = RECORD_HEADER_SIZE + data.length;
+    if (activeSegment == null || activeSegment.remaining() < recordSize) {
+      Segment previous = activeSegment;
+      activeSegment = newSegment(max(segmentSize, SEGMENT_HEADER_SIZE + recordSize));
+      if (previous != null && previous.liveRecords == 0) {
+        retire(previous);
+      }
+    }
+
+    Segment segment = activeSegment;
+    int position = segment.writePosition;
+    MappedByteBuffer buffer = segment.buffer;
+    // The end marker goes first and the status last, so a record is only visible once it's completely written
+    if (position + recordSize < segment.size) {
+      buffer.put(position + recordSize, END);
+    }
+    buffer.putInt(position + 1, data.length);
+    buffer.putInt(position + 5, checksum(ByteBuffer.wrap(data), order));
+    buffer.putLong(position + 9, order);
+    segment.view(position + RECORD_HEADER_SIZE).put(data);
+    buffer.put(position, LIVE);
+
+    segment.writePosition += recordSize;
+    segment.liveRecords++;
+    return new RecordPointer(segment, position, data.length, order);
+  }
+
+  private static int checksum(ByteBuffer data, long order) {
+    CRC32 crc = new CRC32();
+    crc.update(data);
+    ByteBuffer orderBytes = ByteBuffer.allocate(8);
+    orderBytes.putLong(order).flip();
+    crc.update(orderBytes);
+    return (int) crc.getValue();
+  }
+
+  private void markRemoved(RecordPointer record) {
+    Segment segment = record.segment;
+    segment.buffer.put(record.position, REMOVED);
+    if (--segment.liveRecords == 0) {
+      if (segment == activeSegment) {
+        rewind(segment);
+      } else {
+        retire(segment);
+      }
+    }
+    afterWrite(segment);
+  }
+
+  /**
+   * Starts writing again from the beginning of an active segment without live records, so a queue which is consumed as fast
+   * as it's fed keeps using the same pages.
+   */
+  private void rewind(Segment segment) {
+    segment.buffer.put(SEGMENT_HEADER_SIZE, END);
+    segment.writePosition = SEGMENT_HEADER_SIZE;
+  }
+
+  private void retire(Segment segment) {
+    segments.remove(segment);
+    if (pooledSegments.size() < maxPooledSegments && segment.size == segmentSize) {
+      segment.buffer.put(SEGMENT_HEADER_SIZE, END);
+      segment.buffer.putLong(4, FREE_SEGMENT);
+      segment.writePosition = SEGMENT_HEADER_SIZE;
+      pooledSegments.addLast(segment);
+      dirtySegments.add(segment);
+    } else {
+      dirtySegments.remove(segment);
+      segment.unmap();
+      if (!segment.file.delete()) {
+        LOGGER.debug("Could not delete queue segment {}. It will be deleted on exit", segment.file.getAbsolutePath());
+        segment.file.deleteOnExit();
+      }
+    }
+  }
+
+  private Segment newSegment(int size) {
+    Segment segment;
+    if (size == segmentSize && !pooledSegments.isEmpty()) {
+      segment = pooledSegments.pollFirst();
+    } else {
+      segment = mapSegment(new File(queueDirectory, (nextFileId++) + SEGMENT_FILE_EXTENSION), size);
+      segment.buffer.putInt(0, SEGMENT_MAGIC);
+      segment.buffer.put(SEGMENT_HEADER_SIZE, END);
+    }
+    segment.sequence = nextSequence++;
+    segment.buffer.putLong(4, segment.sequence);
+    segments.add(segment);
+    return segment;
+  }
+
+  private Segment mapSegment(File file, long size) {
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      if (randomAccessFile.length() < size) {
+        randomAccessFile.setLength(size);
+      }
+      FileChannel channel = randomAccessFile.getChannel();
+      // The mapping stays valid after the channel is closed
+      return new Segment(file, channel.map(READ_WRITE, 0, size), (int) size);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not map queue segment " + file.getAbsolutePath()), e);
+    }
+  }
+
+  private void load() {
+    File[] segmentFiles = queueDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+    if (segmentFiles == null) {
+      return;
+    }
+
+    for (File segmentFile : segmentFiles) {
+      String fileName = segmentFile.getName();
+      try {
+        String fileId = fileName.substring(0, fileName.length() - SEGMENT_FILE_EXTENSION.length());
+        nextFileId = max(nextFileId, Long.parseLong(fileId) + 1);
+      } catch (NumberFormatException e) {
+        // not created by this store, its content is validated when it's mapped
+      }
+
+      Segment segment = mapSegment(segmentFile, segmentFile.length());
+      if (segment.size < SEGMENT_HEADER_SIZE + 1 || segment.buffer.getInt(0) != SEGMENT_MAGIC) {
+        LOGGER.warn("Ignoring invalid queue segment {}", segmentFile.getAbsolutePath());
+        segment.unmap();
+        continue;
+      }
+      segment.sequence = segment.buffer.getLong(4);
+      if (segment.sequence == FREE_SEGMENT) {
+        retire(segment);
+      } else {
+        segments.add(segment);
+        nextSequence = max(nextSequence, segment.sequence + 1);
+      }
+    }
+
+    segments.sort((first, second) -> Long.compare(first.sequence, second.sequence));
+    List<RecordPointer> liveRecords = new ArrayList<>();
+    for (Segment segment : segments) {
+      scan(segment, liveRecords);
+    }
+    liveRecords.sort((first, second) -> Long.compare(first.order, second.order));
+    records.addAll(liveRecords);
+    if (!liveRecords.isEmpty()) {
+      nextHeadOrder = liveRecords.get(0).order - 1;
+      nextTailOrder = liveRecords.get(liveRecords.size() - 1).order + 1;
+    }
+    if (!segments.isEmpty()) {
+      activeSegment = segments.get(segments.size() - 1);
+    }
+    for (Segment segment : new ArrayList<>(segments)) {
+      if (segment.liveRecords == 0) {
+        if (segment == activeSegment) {
+          rewind(segment);
+        } else {
+          retire(segment);
+        }
+      }
+    }
+  }
+
+  private void scan(Segment segment, List<RecordPointer> liveRecords) {
+    MappedByteBuffer buffer = segment.buffer;
+    int position = SEGMENT_HEADER_SIZE;
+    while (position + RECORD_HEADER_SIZE <= segment.size) {
+      byte status = buffer.get(position);
+      int length = buffer.getInt(position + 1);
+      if ((status != LIVE && status != REMOVED) || length < 0 || position + RECORD_HEADER_SIZE + length > segment.size) {
+        break;
+      }
+      RecordPointer record = new RecordPointer(segment, position, length, buffer.getLong(position + 9));
+      if (status == LIVE) {
+        ByteBuffer data = segment.view(position + RECORD_HEADER_SIZE);
+        data.limit(data.position() + length);
+        if (checksum(data, record.order) != buffer.getInt(position + 5)) {
+          // a record which was being written when the host crashed, nothing after it was committed
+          LOGGER.warn("Discarding incomplete record at {} of queue segment {}", position, segment.file.getAbsolutePath());
+          break;
+        }
+        liveRecords.add(record);
+        segment.liveRecords++;
+      }
+      position += RECORD_HEADER_SIZE + length;
+    }
+    segment.writePosition = position;
+  }
+
+  private void afterWrite(Segment segment) {
+    dirtySegments.add(segment);
+    if (++pendingOperations >= commitBatchSize) {
+      commit();
+    } else if (commitScheduler != null && scheduledCommit == null) {
+      scheduledCommit = commitScheduler.schedule(this::scheduledCommit, maxCommitLatency, MILLISECONDS);
+    }
+  }
+
+  private void commit() {
+    for (Segment segment : dirtySegments) {
+      segment.force();
+    }
+    dirtySegments.clear();
+    pendingOperations = 0;
+  }
+
+  private void scheduledCommit() {
+    List<Segment> toForce;
+    synchronized (this) {
+      toForce = new ArrayList<>(dirtySegments);
+      dirtySegments.clear();
+      pendingOperations = 0;
+      scheduledCommit = null;
+    }
+    // forcing doesn't need the lock, so operations can keep being appended meanwhile
+    for (Segment segment : toForce) {
+      segment.force();
+    }
+  }
+
+  /**
+   * A mapped segment file.
+   */
+  private static final class Segment {
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private long sequence;
+    private int writePosition = SEGMENT_HEADER_SIZE;
+    private int liveRecords = 0;
+    private boolean unmapped = false;
+
+    private Segment(File file, MappedByteBuffer buffer, int size) {
+      this.file = file;
+      this.buffer = buffer;
+      this.size = size;
+    }
+
+    /**
+     * Synchronized with {@link #unmap()} since scheduled commits force segments without holding the lock of the queue.
+     */
+    private synchronized void force() {
+      if (!unmapped) {
+        buffer.force();
+      }
+    }
+
+    private synchronized void unmap() {
+      if (!unmapped) {
+        unmapped = true;
+        MappedByteBufferUtils.unmap(buffer);
+      }
+    }
+
+    /**
+     * @return a view of the segment positioned at the given offset, which doesn't alter the position of the mapped buffer
+     */
+    private ByteBuffer view(int offset) {
+      ByteBuffer view = buffer.duplicate();
+      view.position(offset);
+      return view;
+    }
+
+    private int remaining() {
+      return size - writePosition;
+    }
+  }
+
+  /**
+   * Location of a record within a segment.
+   */
+  private static final class RecordPointer {
+
+    private final Segment segment;
+    private final int position;
+    private final int length;
+    private final long order;
+
+    private RecordPointer(Segment segment, int position, int length, long order) {
+      this.segment = segment;
+      this.position = position;
+      this.length = length;
+      this.order = order;
+    }
+  }
+}
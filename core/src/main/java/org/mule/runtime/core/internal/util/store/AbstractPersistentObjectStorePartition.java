@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ExpirableObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.api.store.TemplateObjectStore;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Base class for the partitions of a {@link org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore}.
+ * <p>
+ * Each partition lives in its own directory, which holds a descriptor file with the partition name plus whatever files the
+ * concrete storage engine needs.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.2
+ */
+public abstract class AbstractPersistentObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements ExpirableObjectStore<T> {
+
+  protected static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+
+  protected final MuleContext muleContext;
+  protected final ObjectSerializer serializer;
+  protected final File partitionDirectory;
+  protected String partitionName;
+
+  protected AbstractPersistentObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+  }
+
+  protected AbstractPersistentObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.partitionDirectory = partitionDirectory;
+    this.partitionName = readPartitionFileName(partitionDirectory);
+  }
+
+  protected String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvailableException {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    try {
+      return readFileToString(partitionDescriptorFile);
+    } catch (IOException e) {
+      throw new ObjectStoreNotAvailableException(e);
+    }
+  }
+
+  protected void createDirectory(File directory) throws ObjectStoreException {
+    try {
+      // To support concurrency we need to check if directory exists again
+      // inside
+      // synchronized method
+      if (!directory.exists() && !directory.mkdirs()) {
+        throw new MuleRuntimeException(failedToCreate("object store directory " + directory.getAbsolutePath()));
+      }
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  protected File createOrRetrievePartitionDescriptorFile() throws ObjectStoreException {
+    try {
+      File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+      if (partitionDescriptorFile.exists()) {
+        this.partitionName = readPartitionFileName(partitionDirectory);
+        return partitionDescriptorFile;
+      }
+      try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile.getAbsolutePath(), false)) {
+        fileWriter.write(partitionName);
+        fileWriter.flush();
+      }
+      return partitionDescriptorFile;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  /**
+   * @return the directory in which this partition keeps its data
+   */
+  public File getPartitionDirectory() {
+    return partitionDirectory;
+  }
+}
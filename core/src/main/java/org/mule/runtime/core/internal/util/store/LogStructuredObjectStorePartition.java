@@ -0,0 +1,858 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link AbstractPersistentObjectStorePartition} which keeps its entries in a segmented, append-only log instead of one file
+ * per key.
+ * <p>
+ * Every {@code store} appends a put record and every {@code remove} appends a tombstone to the active segment. An in-memory index
+ * maps each live key to the position of its value, so lookups never scan the log and values are only deserialized when
+ * retrieved. Once the active segment grows beyond the configured size it is sealed and a new one is started. When enough of the
+ * sealed data is garbage, the live records of the sealed segments are rewritten into a single compacted segment on the
+ * compaction {@link Executor}.
+ * <p>
+ * Writers that require durability go through a group commit: the first writer to request a sync forces the channel and every
+ * other writer whose record was appended before that force returns without syncing again.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.2
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends AbstractPersistentObjectStorePartition<T> {
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  static final String SEGMENT_FILE_EXTENSION = ".log";
+  static final String COMPACTION_FILE_EXTENSION = ".compact";
+  static final String COMPACTION_TEMP_FILE_EXTENSION = ".tmp";
+  static final String ENGINE_MARKER_FILE = "log-structured-engine";
+
+  private static final long DEFAULT_MAX_SEGMENT_SIZE =
+      Long.getLong(SYSTEM_PROPERTY_PREFIX + "objectStore.log.maxSegmentSize", 64 * 1024 * 1024);
+  private static final double DEFAULT_COMPACTION_THRESHOLD =
+      Double.parseDouble(System.getProperty(SYSTEM_PROPERTY_PREFIX + "objectStore.log.compactionThreshold", "0.5"));
+  private static final boolean DEFAULT_SYNC_ON_WRITE =
+      Boolean.parseBoolean(System.getProperty(SYSTEM_PROPERTY_PREFIX + "objectStore.log.syncOnWrite", "true"));
+
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 2;
+
+  // recordLength (int) + crc (long)
+  private static final int RECORD_HEADER_SIZE = 4 + 8;
+  // type (byte) + timestamp (long) + keyLength (int)
+  private static final int RECORD_BODY_PREFIX_SIZE = 1 + 8 + 4;
+
+  private final Executor compactionExecutor;
+  private final long maxSegmentSize;
+  private final double compactionThreshold;
+  private final boolean syncOnWrite;
+
+  private final Map<String, RecordPointer> index = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ReentrantLock compactionLock = new ReentrantLock();
+  private final ReadWriteLock segmentsLifecycleLock = new ReentrantReadWriteLock();
+  private final Object syncLock = new Object();
+  private final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+  private final AtomicLong sequence = new AtomicLong();
+
+  private volatile Segment activeSegment;
+  private volatile long appendedBytes = 0;
+  private long syncedBytes = 0;
+  private volatile boolean loaded = false;
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                           Executor compactionExecutor) {
+    this(muleContext, partitionName, partitionDirectory, compactionExecutor, DEFAULT_MAX_SEGMENT_SIZE,
+         DEFAULT_COMPACTION_THRESHOLD, DEFAULT_SYNC_ON_WRITE);
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                           Executor compactionExecutor, long maxSegmentSize, double compactionThreshold,
+                                           boolean syncOnWrite) {
+    super(muleContext, partitionName, partitionDirectory);
+    this.compactionExecutor = compactionExecutor != null ? compactionExecutor : Runnable::run;
+    this.maxSegmentSize = maxSegmentSize;
+    this.compactionThreshold = compactionThreshold;
+    this.syncOnWrite = syncOnWrite;
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory, Executor compactionExecutor)
+      throws ObjectStoreNotAvailableException {
+    super(muleContext, partitionDirectory);
+    this.compactionExecutor = compactionExecutor != null ? compactionExecutor : Runnable::run;
+    this.maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
+    this.compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    this.syncOnWrite = DEFAULT_SYNC_ON_WRITE;
+  }
+
+  /**
+   * @param partitionDirectory a partition directory
+   * @return whether the given directory holds a partition written by this engine
+   */
+  public static boolean isLogStructuredPartition(File partitionDirectory) {
+    if (new File(partitionDirectory, ENGINE_MARKER_FILE).exists()) {
+      return true;
+    }
+
+    String[] segmentFiles = partitionDirectory.list((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION)
+        || name.endsWith(SEGMENT_FILE_EXTENSION + COMPACTION_FILE_EXTENSION));
+    return segmentFiles != null && segmentFiles.length > 0;
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    createDirectory(partitionDirectory);
+    createOrRetrievePartitionDescriptorFile();
+    assureLoaded();
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    compactionLock.lock();
+    writeLock.lock();
+    try {
+      segmentsLifecycleLock.writeLock().lock();
+      try {
+        if (activeSegment != null) {
+          activeSegment.force();
+        }
+        for (Segment segment : segments.values()) {
+          segment.close();
+        }
+        segments.clear();
+        index.clear();
+        activeSegment = null;
+        loaded = false;
+      } finally {
+        segmentsLifecycleLock.writeLock().unlock();
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not close ObjectStore partition " + partitionName), e);
+    } finally {
+      writeLock.unlock();
+      compactionLock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    assureLoaded();
+
+    byte[] serializedValue = serializer.getInternalProtocol().serialize(value);
+    long position;
+    writeLock.lock();
+    try {
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      RecordPointer pointer = append(PUT, key, serializedValue);
+      index.put(key, pointer);
+      position = appendedBytes;
+    } finally {
+      writeLock.unlock();
+    }
+
+    awaitDurable(position);
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    RecordPointer pointer = index.get(key);
+    if (pointer == null) {
+      throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+    }
+    return read(key, pointer);
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    assureLoaded();
+
+    Map<String, T> values = new LinkedHashMap<>(index.size());
+    for (Entry<String, RecordPointer> entry : index.entrySet()) {
+      try {
+        values.put(entry.getKey(), read(entry.getKey(), entry.getValue()));
+      } catch (ObjectDoesNotExistException e) {
+        // removed and compacted away while iterating
+      }
+    }
+    return values;
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    T value;
+    long position;
+    writeLock.lock();
+    try {
+      RecordPointer pointer = index.get(key);
+      if (pointer == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      value = read(key, pointer);
+      appendTombstone(key, pointer);
+      position = appendedBytes;
+    } finally {
+      writeLock.unlock();
+    }
+
+    awaitDurable(position);
+    return value;
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    compactionLock.lock();
+    try {
+      writeLock.lock();
+      try {
+        segmentsLifecycleLock.writeLock().lock();
+        try {
+          for (Segment segment : segments.values()) {
+            segment.close();
+          }
+          segments.clear();
+          deleteSegmentFiles();
+          index.clear();
+          activeSegment = null;
+          if (loaded) {
+            rollSegment();
+          }
+        } finally {
+          segmentsLifecycleLock.writeLock().unlock();
+        }
+      } finally {
+        writeLock.unlock();
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  private void deleteSegmentFiles() throws IOException {
+    File[] segmentFiles = partitionDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION)
+        || name.endsWith(SEGMENT_FILE_EXTENSION + COMPACTION_FILE_EXTENSION)
+        || name.endsWith(SEGMENT_FILE_EXTENSION + COMPACTION_FILE_EXTENSION + COMPACTION_TEMP_FILE_EXTENSION));
+    if (segmentFiles != null) {
+      for (File segmentFile : segmentFiles) {
+        if (!segmentFile.delete()) {
+          throw new IOException("Could not delete segment " + segmentFile.getAbsolutePath());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    List<Entry<String, RecordPointer>> entries = new ArrayList<>(index.entrySet());
+    entries.sort(comparingLong(entry -> entry.getValue().sequence));
+
+    int startIndex = 0;
+    if (maxEntries != UNBOUNDED) {
+      while (startIndex < entries.size() - maxEntries) {
+        removeIfUnchanged(entries.get(startIndex++));
+      }
+    }
+
+    if (entryTTL != UNBOUNDED) {
+      final long now = currentTimeMillis();
+      for (int i = startIndex; i < entries.size(); i++) {
+        Entry<String, RecordPointer> entry = entries.get(i);
+        if ((now - entry.getValue().timestamp) >= entryTTL) {
+          removeIfUnchanged(entry);
+        } else {
+          break;
+        }
+      }
+    }
+
+    scheduleCompactionIfNeeded();
+  }
+
+  private void removeIfUnchanged(Entry<String, RecordPointer> entry) throws ObjectStoreException {
+    writeLock.lock();
+    try {
+      if (index.get(entry.getKey()) == entry.getValue()) {
+        appendTombstone(entry.getKey(), entry.getValue());
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      load();
+    }
+  }
+
+  private void load() throws ObjectStoreException {
+    writeLock.lock();
+    try {
+      /*
+       * by re-checking this condition here we can avoid contention in {@link #assureLoaded}. The amount of times that this
+       * condition should evaluate to {@code true} is really limited, which provides better performance in the long run
+       */
+      if (loaded) {
+        return;
+      }
+
+      createEngineMarker();
+      completeInterruptedCompaction();
+
+      File[] segmentFiles = partitionDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+      if (segmentFiles != null) {
+        for (File segmentFile : segmentFiles) {
+          long id = segmentId(segmentFile);
+          segments.put(id, new Segment(id, segmentFile));
+        }
+      }
+
+      for (Segment segment : segments.values()) {
+        replay(segment, segment == segments.lastEntry().getValue());
+      }
+
+      if (segments.isEmpty()) {
+        rollSegment();
+      } else {
+        activeSegment = segments.lastEntry().getValue();
+      }
+      appendedBytes = 0;
+      syncedBytes = 0;
+      loaded = true;
+    } catch (Exception e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %1s",
+                                                                partitionDirectory.getAbsolutePath())),
+                                     e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Marks the partition directory as written by this engine, so {@link #isLogStructuredPartition(File)} holds even while there
+   * are no segment files, as happens after a {@link #clear()} of a partition which is not loaded.
+   */
+  private void createEngineMarker() throws IOException {
+    File marker = new File(partitionDirectory, ENGINE_MARKER_FILE);
+    if (!marker.exists() && !marker.createNewFile()) {
+      throw new IOException("Could not create engine marker " + marker.getAbsolutePath());
+    }
+  }
+
+  /**
+   * A compaction is written into a temporary file which is only renamed to its compacted segment name once it has been fully
+   * written and forced. So, a compacted segment found on load supersedes every segment with an id lower or equal than its own,
+   * while a leftover temporary file is the output of an unfinished compaction and is discarded.
+   */
+  private void completeInterruptedCompaction() throws IOException {
+    File[] tempFiles = partitionDirectory
+        .listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION + COMPACTION_FILE_EXTENSION
+            + COMPACTION_TEMP_FILE_EXTENSION));
+    if (tempFiles != null) {
+      for (File tempFile : tempFiles) {
+        if (!tempFile.delete()) {
+          throw new IOException("Could not delete unfinished compaction " + tempFile.getAbsolutePath());
+        }
+      }
+    }
+
+    File[] compactedFiles =
+        partitionDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION + COMPACTION_FILE_EXTENSION));
+    if (compactedFiles == null) {
+      return;
+    }
+
+    for (File compactedFile : compactedFiles) {
+      String segmentFileName = compactedFile.getName().substring(0, compactedFile.getName().length()
+          - COMPACTION_FILE_EXTENSION.length());
+      long compactedId = segmentId(new File(partitionDirectory, segmentFileName));
+      File[] replacedFiles = partitionDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+      if (replacedFiles != null) {
+        for (File replacedFile : replacedFiles) {
+          if (segmentId(replacedFile) < compactedId && !replacedFile.delete()) {
+            throw new IOException("Could not delete compacted segment " + replacedFile.getAbsolutePath());
+          }
+        }
+      }
+      Files.move(compactedFile.toPath(), new File(partitionDirectory, segmentFileName).toPath(),
+                               ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+  }
+
+  private void replay(Segment segment, boolean lastSegment) throws IOException {
+    long position = 0;
+    long size = segment.channel.size();
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+
+    while (position < size) {
+      header.clear();
+      if (!readFully(segment.channel, header, position)) {
+        break;
+      }
+      header.flip();
+      int recordLength = header.getInt();
+      long crc = header.getLong();
+      if (recordLength < RECORD_BODY_PREFIX_SIZE || position + RECORD_HEADER_SIZE + recordLength > size) {
+        break;
+      }
+
+      ByteBuffer body = ByteBuffer.allocate(recordLength);
+      if (!readFully(segment.channel, body, position + RECORD_HEADER_SIZE) || checksum(body.array()) != crc) {
+        break;
+      }
+      body.flip();
+
+      byte type = body.get();
+      long timestamp = body.getLong();
+      byte[] keyBytes = new byte[body.getInt()];
+      body.get(keyBytes);
+      String key = new String(keyBytes, UTF_8);
+      long recordSize = RECORD_HEADER_SIZE + recordLength;
+
+      RecordPointer previous;
+      if (type == PUT) {
+        previous = index.put(key, new RecordPointer(segment, position + RECORD_HEADER_SIZE + body.position(),
+                                                    body.remaining(), recordSize, timestamp,
+                                                    sequence.incrementAndGet()));
+      } else {
+        previous = index.remove(key);
+        segment.deadBytes.addAndGet(recordSize);
+      }
+      if (previous != null) {
+        previous.segment.deadBytes.addAndGet(previous.recordSize);
+      }
+
+      position += recordSize;
+    }
+
+    if (position < size) {
+      if (lastSegment) {
+        LOGGER.warn(format("Found a torn or corrupted record at offset %d of ObjectStore segment %s. It will be discarded.",
+                           position, segment.file.getAbsolutePath()));
+        segment.channel.truncate(position);
+      } else {
+        LOGGER.warn(format("Found a corrupted record at offset %d of ObjectStore segment %s. The rest of the segment will be skipped.",
+                           position, segment.file.getAbsolutePath()));
+        segment.deadBytes.addAndGet(size - position);
+      }
+    }
+    segment.size = position;
+  }
+
+  private RecordPointer append(byte type, String key, byte[] value) throws ObjectStoreException {
+    byte[] keyBytes = key.getBytes(UTF_8);
+    int recordLength = RECORD_BODY_PREFIX_SIZE + keyBytes.length + value.length;
+    long timestamp = currentTimeMillis();
+
+    ByteBuffer body = ByteBuffer.allocate(recordLength);
+    body.put(type).putLong(timestamp).putInt(keyBytes.length).put(keyBytes).put(value);
+
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + recordLength);
+    record.putInt(recordLength).putLong(checksum(body.array())).put(body.array());
+    record.flip();
+
+    try {
+      if (activeSegment.size >= maxSegmentSize) {
+        rollSegment();
+        scheduleCompactionIfNeeded();
+      }
+
+      Segment segment = activeSegment;
+      long offset = segment.size;
+      writeFully(segment.channel, record, offset);
+      segment.size += record.limit();
+      appendedBytes += record.limit();
+
+      return new RecordPointer(segment, offset + RECORD_HEADER_SIZE + RECORD_BODY_PREFIX_SIZE + keyBytes.length, value.length,
+                               record.limit(), timestamp, sequence.incrementAndGet());
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not append to ObjectStore partition " + partitionName), e);
+    }
+  }
+
+  private void appendTombstone(String key, RecordPointer pointer) throws ObjectStoreException {
+    RecordPointer tombstone = append(REMOVE, key, new byte[0]);
+    index.remove(key);
+    pointer.segment.deadBytes.addAndGet(pointer.recordSize);
+    tombstone.segment.deadBytes.addAndGet(tombstone.recordSize);
+  }
+
+  /**
+   * Seals the active segment (if any) and starts a new one. Must be called while holding the {@link #writeLock}.
+   */
+  private void rollSegment() throws IOException {
+    long nextId = 0;
+    if (activeSegment != null) {
+      activeSegment.force();
+      nextId = activeSegment.id + 1;
+    } else if (!segments.isEmpty()) {
+      nextId = segments.lastKey() + 1;
+    }
+
+    Segment segment = new Segment(nextId, new File(partitionDirectory, segmentFileName(nextId)));
+    segments.put(nextId, segment);
+    activeSegment = segment;
+  }
+
+  /**
+   * Blocks until every record up to the given logical position has been forced to disk. The first caller forces the channel on
+   * behalf of every writer whose record was already appended, the rest just find their position covered.
+   */
+  private void awaitDurable(long position) throws ObjectStoreException {
+    if (!syncOnWrite) {
+      return;
+    }
+
+    synchronized (syncLock) {
+      if (syncedBytes >= position) {
+        return;
+      }
+
+      // the target has to be read before the segment, since rolling a segment forces it before switching
+      long target = appendedBytes;
+      // holding the lock keeps close, clear and compaction from closing the segment while it's forced
+      segmentsLifecycleLock.readLock().lock();
+      try {
+        Segment segment = activeSegment;
+        if (segment != null) {
+          segment.force();
+        }
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not sync ObjectStore partition " + partitionName), e);
+      } finally {
+        segmentsLifecycleLock.readLock().unlock();
+      }
+      syncedBytes = target;
+    }
+  }
+
+  private T read(String key, RecordPointer pointer) throws ObjectStoreException {
+    segmentsLifecycleLock.readLock().lock();
+    try {
+      // The record may have been relocated by a compaction since the pointer was obtained
+      RecordPointer current = index.get(key);
+      if (current == null) {
+        // removed since the pointer was obtained, its segment is only safe to read if no compaction dropped it
+        if (segments.get(pointer.segment.id) != pointer.segment) {
+          throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+        }
+        current = pointer;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(current.valueLength);
+      if (!readFully(current.segment.channel, buffer, current.valueOffset)) {
+        throw new EOFException("Unexpected end of segment " + current.segment.file.getAbsolutePath());
+      }
+
+      T value = serializer.getInternalProtocol().deserialize(buffer.array());
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (ObjectStoreException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ObjectStoreException(createStaticMessage("Could not read key '" + key + "' from ObjectStore partition "
+          + partitionName), e);
+    } finally {
+      segmentsLifecycleLock.readLock().unlock();
+    }
+  }
+
+  private void scheduleCompactionIfNeeded() {
+    if (shouldCompact() && compactionScheduled.compareAndSet(false, true)) {
+      try {
+        compactionExecutor.execute(() -> {
+          try {
+            compact();
+          } catch (Exception e) {
+            LOGGER.warn("Could not compact ObjectStore partition " + partitionName, e);
+          } finally {
+            compactionScheduled.set(false);
+          }
+        });
+      } catch (RuntimeException e) {
+        compactionScheduled.set(false);
+        LOGGER.warn("Could not schedule compaction of ObjectStore partition " + partitionName, e);
+      }
+    }
+  }
+
+  private boolean shouldCompact() {
+    long total = 0;
+    long dead = 0;
+    int sealedSegments = 0;
+    Segment active = activeSegment;
+    for (Segment segment : segments.values()) {
+      if (segment != active) {
+        total += segment.size;
+        dead += segment.deadBytes.get();
+        sealedSegments++;
+      }
+    }
+    return sealedSegments > 0 && total > 0 && ((double) dead / total) >= compactionThreshold;
+  }
+
+  /**
+   * Rewrites the live records of every sealed segment into a single segment that takes the id of the newest sealed one.
+   * <p>
+   * Writers are only blocked while the index is repointed to the compacted segment. Keys removed or expired while the copy was in
+   * progress keep pointing to their tombstone-covered record and are accounted as garbage of the compacted segment.
+   */
+  void compact() throws IOException {
+    if (!compactionLock.tryLock()) {
+      return;
+    }
+    try {
+      if (!loaded) {
+        return;
+      }
+
+      Segment active = activeSegment;
+      List<Segment> sealed = new ArrayList<>(segments.headMap(active.id).values());
+      if (sealed.isEmpty()) {
+        return;
+      }
+      long compactedId = sealed.get(sealed.size() - 1).id;
+
+      File compactedFile = new File(partitionDirectory, segmentFileName(compactedId) + COMPACTION_FILE_EXTENSION);
+      File tempFile = new File(partitionDirectory, compactedFile.getName() + COMPACTION_TEMP_FILE_EXTENSION);
+      List<Entry<String, RecordPointer>> live = new ArrayList<>();
+      List<RecordPointer> relocated = new ArrayList<>();
+      Segment compacted = new Segment(compactedId, tempFile);
+      try {
+        for (Entry<String, RecordPointer> entry : index.entrySet()) {
+          if (entry.getValue().segment.id <= compactedId) {
+            live.add(entry);
+          }
+        }
+        live.sort(comparingLong(entry -> entry.getValue().sequence));
+
+        for (Entry<String, RecordPointer> entry : live) {
+          RecordPointer pointer = entry.getValue();
+          long recordOffset = pointer.valueOffset + pointer.valueLength - pointer.recordSize;
+          ByteBuffer record = ByteBuffer.allocate((int) pointer.recordSize);
+          if (!readFully(pointer.segment.channel, record, recordOffset)) {
+            throw new EOFException("Unexpected end of segment " + pointer.segment.file.getAbsolutePath());
+          }
+          record.flip();
+          long offset = compacted.size;
+          writeFully(compacted.channel, record, offset);
+          compacted.size += pointer.recordSize;
+          relocated.add(new RecordPointer(compacted, offset + pointer.recordSize - pointer.valueLength, pointer.valueLength,
+                                          pointer.recordSize, pointer.timestamp, pointer.sequence));
+        }
+        compacted.force();
+        compacted.close();
+        // only a complete compaction may be picked up by completeInterruptedCompaction() after a crash
+        Files.move(tempFile.toPath(), compactedFile.toPath(), ATOMIC_MOVE);
+      } catch (IOException e) {
+        compacted.close();
+        compacted.delete();
+        throw e;
+      }
+      compacted.reopen(compactedFile);
+
+      writeLock.lock();
+      try {
+        segmentsLifecycleLock.writeLock().lock();
+        try {
+          for (int i = 0; i < live.size(); ++i) {
+            Entry<String, RecordPointer> entry = live.get(i);
+            if (!index.replace(entry.getKey(), entry.getValue(), relocated.get(i))) {
+              compacted.deadBytes.addAndGet(entry.getValue().recordSize);
+            }
+          }
+
+          for (Segment segment : sealed) {
+            segment.close();
+            segments.remove(segment.id);
+            if (segment.id != compactedId) {
+              segment.delete();
+            }
+          }
+
+          File segmentFile = new File(partitionDirectory, segmentFileName(compactedId));
+          compacted.close();
+          Files.move(compactedFile.toPath(), segmentFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+          compacted.reopen(segmentFile);
+          segments.put(compactedId, compacted);
+        } finally {
+          segmentsLifecycleLock.writeLock().unlock();
+        }
+      } finally {
+        writeLock.unlock();
+      }
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(format("Compacted %d segments of ObjectStore partition %s into %s", sealed.size(), partitionName,
+                            compacted.file.getName()));
+      }
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  private static String segmentFileName(long id) {
+    return format("%020d%s", id, SEGMENT_FILE_EXTENSION);
+  }
+
+  private static long segmentId(File segmentFile) {
+    String name = segmentFile.getName();
+    return Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_EXTENSION.length()));
+  }
+
+  private static long checksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+
+  private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  /**
+   * One file of the log. Only the active segment is appended to, sealed ones are read-only until compacted.
+   */
+  private static final class Segment {
+
+    private final long id;
+    private File file;
+    private RandomAccessFile randomAccessFile;
+    private FileChannel channel;
+    private volatile long size;
+    private final AtomicLong deadBytes = new AtomicLong();
+
+    private Segment(long id, File file) throws IOException {
+      this.id = id;
+      reopen(file);
+    }
+
+    private void reopen(File file) throws IOException {
+      this.file = file;
+      this.randomAccessFile = new RandomAccessFile(file, "rw");
+      this.channel = randomAccessFile.getChannel();
+    }
+
+    private void force() throws IOException {
+      channel.force(false);
+    }
+
+    private void close() throws IOException {
+      randomAccessFile.close();
+    }
+
+    private void delete() throws IOException {
+      if (file.exists() && !file.delete()) {
+        throw new IOException("Could not delete segment " + file.getAbsolutePath());
+      }
+    }
+  }
+
+  /**
+   * Location of the value of a live key within the log.
+   */
+  private static final class RecordPointer {
+
+    private final Segment segment;
+    private final long valueOffset;
+    private final int valueLength;
+    private final long recordSize;
+    private final long timestamp;
+    private final long sequence;
+
+    private RecordPointer(Segment segment, long valueOffset, int valueLength, long recordSize, long timestamp,
+                          long sequence) {
+      this.segment = segment;
+      this.valueOffset = valueOffset;
+      this.valueLength = valueLength;
+      this.recordSize = recordSize;
+      this.timestamp = timestamp;
+      this.sequence = sequence;
+    }
+  }
+}
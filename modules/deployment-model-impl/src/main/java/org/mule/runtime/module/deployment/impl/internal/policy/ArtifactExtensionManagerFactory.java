@@ -66,11 +66,21 @@ public class ArtifactExtensionManagerFactory implements ExtensionManagerFactory
     final Set<ExtensionModel> extensions = new HashSet<>();
     extensionModelDiscoverer.discoverRuntimeExtensionModels()
         .forEach(extensionManager::registerExtension);
-    extensions.addAll(extensionModelDiscoverer
-        .discoverPluginsExtensionModels(extensionModelLoaderRepository, artifactPlugins, parentArtifactExtensions)
-        .stream().map(Pair::getSecond).collect(toSet()));
+    extensions.addAll(discoverPluginsExtensionModels(parentArtifactExtensions));
     extensions.forEach(extensionManager::registerExtension);
     return extensionManager;
   }
 
+  /**
+   * Discovers the {@link ExtensionModel}s of the plugins deployed inside the artifact.
+   *
+   * @param parentArtifactExtensions {@link Set} of {@link ExtensionModel} to also take into account when parsing extensions
+   * @return the {@link ExtensionModel}s of the artifact plugins
+   */
+  protected Set<ExtensionModel> discoverPluginsExtensionModels(Set<ExtensionModel> parentArtifactExtensions) {
+    return extensionModelDiscoverer
+        .discoverPluginsExtensionModels(extensionModelLoaderRepository, artifactPlugins, parentArtifactExtensions)
+        .stream().map(Pair::getSecond).collect(toSet());
+  }
+
 }
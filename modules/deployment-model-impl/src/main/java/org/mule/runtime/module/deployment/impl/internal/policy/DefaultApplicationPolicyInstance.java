@@ -42,6 +42,7 @@ import org.mule.runtime.module.artifact.api.classloader.ClassLoaderRepository;
 import org.mule.runtime.module.deployment.impl.internal.artifact.ArtifactContextBuilder;
 import org.mule.runtime.module.deployment.impl.internal.artifact.CompositeArtifactExtensionManagerFactory;
 import org.mule.runtime.module.extension.api.manager.DefaultExtensionManagerFactory;
+import org.mule.runtime.module.extension.api.manager.ExtensionManagerFactory;
 import org.mule.runtime.module.extension.internal.loader.ExtensionModelLoaderRepository;
 
 import java.util.HashMap;
@@ -95,6 +96,16 @@ public class DefaultApplicationPolicyInstance implements ApplicationPolicyInstan
     this.muleContextListener = muleContextListener;
   }
 
+  private ExtensionManagerFactory createExtensionManagerFactory() {
+    // The template can only provide the extension models when the policy is deployed with the template's plugins
+    if (template instanceof DefaultPolicyTemplate && artifactPlugins == template.getArtifactPlugins()) {
+      return new PolicyTemplateExtensionManagerFactory(application, (DefaultPolicyTemplate) template,
+                                                       extensionModelLoaderRepository, new DefaultExtensionManagerFactory());
+    }
+    return new CompositeArtifactExtensionManagerFactory(application, extensionModelLoaderRepository, artifactPlugins,
+                                                        new DefaultExtensionManagerFactory());
+  }
+
   private void initPolicyContext() throws InitialisationException {
     ArtifactContextBuilder artifactBuilder =
         newBuilder().setArtifactType(POLICY)
@@ -106,9 +117,7 @@ public class DefaultApplicationPolicyInstance implements ApplicationPolicyInstan
             .setClassLoaderRepository(classLoaderRepository)
             .setArtifactPlugins(artifactPlugins)
             .setParentArtifact(application)
-            .setExtensionManagerFactory(new CompositeArtifactExtensionManagerFactory(application, extensionModelLoaderRepository,
-                                                                                     artifactPlugins,
-                                                                                     new DefaultExtensionManagerFactory()))
+            .setExtensionManagerFactory(createExtensionManagerFactory())
             .setMuleContextListener(muleContextListener);
 
     artifactBuilder.withServiceConfigurator(customizationService -> {
@@ -8,7 +8,9 @@
 package org.mule.runtime.module.deployment.impl.internal.policy;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static java.util.Collections.unmodifiableSet;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.deployment.model.api.plugin.ArtifactPlugin;
 import org.mule.runtime.deployment.model.api.policy.PolicyTemplate;
 import org.mule.runtime.deployment.model.api.policy.PolicyTemplateDescriptor;
@@ -16,6 +18,8 @@ import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
 
 import java.io.File;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Default implementation of {@link PolicyTemplate}
@@ -26,6 +30,7 @@ public class DefaultPolicyTemplate implements PolicyTemplate {
   private final PolicyTemplateDescriptor descriptor;
   private final ArtifactClassLoader policyClassLoader;
   private final List<ArtifactPlugin> artifactPlugins;
+  private Set<ExtensionModel> pluginsExtensionModels;
 
   /**
    * Creates a new policy template artifact
@@ -75,10 +80,29 @@ public class DefaultPolicyTemplate implements PolicyTemplate {
 
   @Override
   public void dispose() {
+    synchronized (this) {
+      pluginsExtensionModels = null;
+    }
     policyClassLoader.dispose();
   }
 
   public List<ArtifactPlugin> getArtifactPlugins() {
     return artifactPlugins;
   }
+
+  /**
+   * Provides the {@link ExtensionModel}s of the plugins deployed inside this template.
+   * <p>
+   * They are only discovered for the first instance of the template. All the instances of a template are applied to the same
+   * application and share the template's plugin class loaders, so the models don't change between them.
+   *
+   * @param discoverer discovers the {@link ExtensionModel}s of the plugins. Non null.
+   * @return the {@link ExtensionModel}s of the plugins deployed inside this template
+   */
+  public synchronized Set<ExtensionModel> getPluginsExtensionModels(Supplier<Set<ExtensionModel>> discoverer) {
+    if (pluginsExtensionModels == null) {
+      pluginsExtensionModels = unmodifiableSet(discoverer.get());
+    }
+    return pluginsExtensionModels;
+  }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.deployment.impl.internal.policy;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.impl.internal.artifact.CompositeArtifactExtensionManagerFactory;
+import org.mule.runtime.module.extension.api.manager.ExtensionManagerFactory;
+import org.mule.runtime.module.extension.internal.loader.ExtensionModelLoaderRepository;
+
+import java.util.Set;
+
+/**
+ * Creates extension managers for policy instances, reusing the {@link ExtensionModel}s of the plugins already discovered for
+ * other instances of the same {@link DefaultPolicyTemplate}.
+ *
+ * @since 4.2
+ */
+public class PolicyTemplateExtensionManagerFactory extends CompositeArtifactExtensionManagerFactory {
+
+  private final DefaultPolicyTemplate policyTemplate;
+
+  /**
+   * Creates a new factory
+   *
+   * @param application application on which the policy is applied. Non null.
+   * @param policyTemplate template of the policy. Non null.
+   * @param extensionModelLoaderRepository {@link ExtensionModelLoaderRepository} with the available extension loaders. Non null.
+   * @param extensionManagerFactory creates the {@code ExtensionManager} for the artifact. Non null
+   */
+  public PolicyTemplateExtensionManagerFactory(Application application, DefaultPolicyTemplate policyTemplate,
+                                               ExtensionModelLoaderRepository extensionModelLoaderRepository,
+                                               ExtensionManagerFactory extensionManagerFactory) {
+    super(application, extensionModelLoaderRepository, policyTemplate.getArtifactPlugins(), extensionManagerFactory);
+    this.policyTemplate = policyTemplate;
+  }
+
+  @Override
+  protected Set<ExtensionModel> discoverPluginsExtensionModels(Set<ExtensionModel> parentArtifactExtensions) {
+    return policyTemplate.getPluginsExtensionModels(() -> super.discoverPluginsExtensionModels(parentArtifactExtensions));
+  }
+}
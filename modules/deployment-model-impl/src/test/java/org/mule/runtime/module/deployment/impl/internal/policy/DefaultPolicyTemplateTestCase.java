@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.deployment.impl.internal.policy;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.deployment.model.api.policy.PolicyTemplateDescriptor;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+@SmallTest
+public class DefaultPolicyTemplateTestCase extends AbstractMuleTestCase {
+
+  private final ExtensionModel extensionModel = mock(ExtensionModel.class);
+  private final AtomicInteger discoveries = new AtomicInteger();
+  private final Supplier<Set<ExtensionModel>> discoverer = () -> {
+    discoveries.incrementAndGet();
+    return new HashSet<>(singleton(extensionModel));
+  };
+
+  private final DefaultPolicyTemplate policyTemplate =
+      new DefaultPolicyTemplate("policyId", mock(PolicyTemplateDescriptor.class), mock(ArtifactClassLoader.class), emptyList());
+
+  @Test
+  public void pluginsExtensionModelsAreDiscoveredOnce() {
+    assertThat(policyTemplate.getPluginsExtensionModels(discoverer), contains(extensionModel));
+    assertThat(policyTemplate.getPluginsExtensionModels(discoverer), contains(extensionModel));
+    assertThat(discoveries.get(), is(1));
+  }
+
+  @Test
+  public void pluginsExtensionModelsAreReleasedOnDispose() {
+    policyTemplate.getPluginsExtensionModels(discoverer);
+    policyTemplate.dispose();
+    policyTemplate.getPluginsExtensionModels(discoverer);
+    assertThat(discoveries.get(), is(2));
+  }
+}
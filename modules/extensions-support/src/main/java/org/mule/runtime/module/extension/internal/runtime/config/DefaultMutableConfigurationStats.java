@@ -9,6 +9,7 @@ package org.mule.runtime.module.extension.internal.runtime.config;
 import org.mule.runtime.api.time.TimeSupplier;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Default implementation of {@link MutableConfigurationStats}
@@ -18,6 +19,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 final class DefaultMutableConfigurationStats implements MutableConfigurationStats {
 
   private final AtomicInteger inflightOperations = new AtomicInteger(0);
+  private final AtomicReference<Runnable> noInflightOperationsCallback = new AtomicReference<>();
   private final TimeSupplier timeSupplier;
   private long lastUsedMillis;
 
@@ -71,6 +73,29 @@ final class DefaultMutableConfigurationStats implements MutableConfigurationStat
   @Override
   public int discountInflightOperation() {
     updateLastUsed();
-    return inflightOperations.decrementAndGet();
+    int inflight = inflightOperations.decrementAndGet();
+    if (inflight == 0) {
+      runNoInflightOperationsCallback();
+    }
+    return inflight;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void whenNoInflightOperations(Runnable callback) {
+    noInflightOperationsCallback.set(callback);
+    if (inflightOperations.get() == 0) {
+      runNoInflightOperationsCallback();
+    }
+  }
+
+  private void runNoInflightOperationsCallback() {
+    // the callback is taken atomically so that it runs only once even if this races with a registration
+    Runnable callback = noInflightOperationsCallback.getAndSet(null);
+    if (callback != null) {
+      callback.run();
+    }
   }
 }
@@ -6,10 +6,12 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.lang.Integer.getInteger;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
@@ -30,6 +32,8 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.api.value.Value;
 import org.mule.runtime.core.api.MuleContext;
@@ -49,16 +53,22 @@ import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import javax.inject.Inject;
+
 import org.slf4j.Logger;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
 /**
  * A {@link ConfigurationProvider} which continuously evaluates the same {@link ResolverSet} and then uses the resulting
  * {@link ResolverSetResult} to build an instance of type {@code T}
@@ -67,6 +77,11 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * The amount of cached instances is bounded, {@link #DEFAULT_MAX_CACHED_INSTANCES} by default, which can be changed through the
+ * {@link #MAX_CACHED_INSTANCES_PROPERTY} system property. When the bound is exceeded, the least recently used instance is evicted
+ * and then stopped and disposed asynchronously, as soon as it has no inflight operations, without waiting for the
+ * {@link ExpirationPolicy}.
  *
  * @since 4.0.0
  */
@@ -75,17 +90,34 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   private static final Logger LOGGER = getLogger(DynamicConfigurationProvider.class);
 
+  /**
+   * The maximum amount of {@link ConfigurationInstance}s that each dynamic configuration keeps cached. When not positive, the
+   * cache is only bounded by the {@link ExpirationPolicy}.
+   */
+  public static final String MAX_CACHED_INSTANCES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensions.dynamicConfig.maxInstances";
+
+  /**
+   * The value used when {@link #MAX_CACHED_INSTANCES_PROPERTY} is not set.
+   */
+  public static final int DEFAULT_MAX_CACHED_INSTANCES = 1000;
+
   private final ConfigurationInstanceFactory configurationInstanceFactory;
   private final ResolverSet resolverSet;
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
+  private final Cache<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache;
   private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
   private final Lock cacheReadLock = cacheLock.readLock();
   private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final Queue<ConfigurationInstance> evicted = new ConcurrentLinkedQueue<>();
   private final ReflectionCache reflectionCache;
 
+  @Inject
+  private SchedulerService schedulerService;
+
+  private volatile Scheduler evictionScheduler;
+
   /**
    * Creates a new instance
    *
@@ -104,6 +136,19 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
                                       ExpirationPolicy expirationPolicy,
                                       ReflectionCache reflectionCache,
                                       MuleContext muleContext) {
+    this(name, extensionModel, configurationModel, resolverSet, connectionProviderResolver, expirationPolicy, reflectionCache,
+         muleContext, getInteger(MAX_CACHED_INSTANCES_PROPERTY, DEFAULT_MAX_CACHED_INSTANCES));
+  }
+
+  DynamicConfigurationProvider(String name,
+                               ExtensionModel extensionModel,
+                               ConfigurationModel configurationModel,
+                               ResolverSet resolverSet,
+                               ConnectionProviderValueResolver connectionProviderResolver,
+                               ExpirationPolicy expirationPolicy,
+                               ReflectionCache reflectionCache,
+                               MuleContext muleContext,
+                               int maxCachedInstances) {
     super(name, extensionModel, configurationModel, muleContext);
     configurationInstanceFactory =
         new ConfigurationInstanceFactory<>(extensionModel, configurationModel, resolverSet, reflectionCache, muleContext);
@@ -111,6 +156,12 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     this.resolverSet = resolverSet;
     this.connectionProviderResolver = connectionProviderResolver;
     this.expirationPolicy = expirationPolicy;
+
+    CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+    if (maxCachedInstances > 0) {
+      cacheBuilder.maximumSize(maxCachedInstances);
+    }
+    cache = cacheBuilder.removalListener(this::onRemoval).build();
   }
 
   /**
@@ -138,7 +189,7 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     ConfigurationInstance configuration;
     cacheReadLock.lock();
     try {
-      configuration = cache.get(resolverSetResult);
+      configuration = cache.getIfPresent(resolverSetResult);
       if (configuration != null) {
         // important to account between the boundaries of the lock to prevent race condition
         updateUsageStatistic(configuration);
@@ -151,7 +202,7 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     cacheWriteLock.lock();
     try {
       // re-check in case some other thread beat us to it...
-      configuration = cache.get(resolverSetResult);
+      configuration = cache.getIfPresent(resolverSetResult);
       if (configuration == null) {
         configuration = createConfiguration(resolverSetResult, event);
         cache.put(resolverSetResult, configuration);
@@ -229,14 +280,70 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     super.registerConfiguration(configuration);
   }
 
+  /**
+   * Invoked by the {@link #cache} every time an entry is removed from it. Only evicted entries are handled here, since the
+   * expired ones are disposed by whoever invoked {@link #getExpired()}.
+   * <p>
+   * The cache may deliver the notification from any thread accessing it, including readers which only hold the
+   * {@link #cacheReadLock}, so the state touched here must be thread safe.
+   */
+  private void onRemoval(RemovalNotification<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> notification) {
+    if (!notification.wasEvicted()) {
+      return;
+    }
+
+    ConfigurationInstance configuration = notification.getValue();
+    unregisterConfiguration(configuration);
+
+    if (!lifecycleManager.isPhaseComplete(Initialisable.PHASE_NAME)) {
+      // Not initialised, so it can't have inflight operations nor statistics to track them
+      disposeEvicted(configuration);
+      return;
+    }
+
+    evicted.add(configuration);
+    ((MutableConfigurationStats) configuration.getStatistics())
+        .whenNoInflightOperations(() -> scheduleEvictedDisposal(configuration));
+  }
+
+  private void scheduleEvictedDisposal(ConfigurationInstance configuration) {
+    // the provider may have disposed it already
+    if (!evicted.remove(configuration)) {
+      return;
+    }
+
+    Scheduler scheduler = evictionScheduler;
+    if (scheduler == null) {
+      // Not started or nothing to schedule on, so dispose in place
+      disposeEvicted(configuration);
+    } else {
+      scheduler.execute(() -> disposeEvicted(configuration));
+    }
+  }
+
+  private void disposeEvicted(ConfigurationInstance configuration) {
+    withContextClassLoader(getExtensionClassLoader(), () -> {
+      try {
+        stopIfNeeded(configuration);
+      } catch (Exception e) {
+        // Ignore and continue with the disposal
+        LOGGER.warn("Exception while stopping evicted configuration " + configuration.getName(), e);
+      }
+      disposeIfNeeded(configuration, LOGGER);
+    });
+  }
+
   @Override
   public List<ConfigurationInstance> getExpired() {
     cacheWriteLock.lock();
     try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        return entry.getValue();
-      }).collect(toImmutableList());
+      return cache.asMap().entrySet().stream()
+          .filter(entry -> isExpired(entry.getValue()))
+          .map(entry -> {
+            cache.invalidate(entry.getKey());
+            unregisterConfiguration(entry.getValue());
+            return entry.getValue();
+          }).collect(toImmutableList());
     } finally {
       cacheWriteLock.unlock();
     }
@@ -259,10 +366,35 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   @Override
   public void start() throws MuleException {
+    if (schedulerService != null) {
+      evictionScheduler = schedulerService.ioScheduler();
+    }
     super.start();
     startIfNeeded(connectionProviderResolver);
   }
 
+  @Override
+  public void stop() throws MuleException {
+    try {
+      super.stop();
+    } finally {
+      if (evictionScheduler != null) {
+        evictionScheduler.stop();
+        evictionScheduler = null;
+      }
+    }
+  }
+
+  @Override
+  public void dispose() {
+    super.dispose();
+
+    ConfigurationInstance configuration;
+    while ((configuration = evicted.poll()) != null) {
+      disposeEvicted(configuration);
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
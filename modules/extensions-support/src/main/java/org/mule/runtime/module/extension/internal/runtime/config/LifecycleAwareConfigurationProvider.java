@@ -162,6 +162,16 @@ public abstract class LifecycleAwareConfigurationProvider extends AbstractCompon
     configurationInstances.add(configuration);
   }
 
+  /**
+   * Implementations are to invoke this method when a {@link ConfigurationInstance} previously passed to
+   * {@link #registerConfiguration(ConfigurationInstance)} is discarded, so that it's no longer kept track of.
+   *
+   * @param configuration a discarded {@link ConfigurationInstance}
+   */
+  protected void unregisterConfiguration(ConfigurationInstance configuration) {
+    configurationInstances.remove(configuration);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -35,4 +35,15 @@ public interface MutableConfigurationStats extends ConfigurationStats {
    * @return the new value
    */
   int discountInflightOperation();
+
+  /**
+   * Runs the given {@code callback} once {@link #getInflightOperations()} is zero. If there are no inflight operations at the time
+   * of invoking this method, the {@code callback} runs right away. Otherwise, it runs on the thread that discounts the last one.
+   * <p>
+   * Only one callback is kept. Registering a new one replaces the previous one if it didn't run yet.
+   *
+   * @param callback the action to run once there are no inflight operations
+   * @since 4.2
+   */
+  void whenNoInflightOperations(Runnable callback);
 }
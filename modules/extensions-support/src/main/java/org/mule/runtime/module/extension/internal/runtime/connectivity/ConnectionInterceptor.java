@@ -21,6 +21,8 @@ import org.mule.runtime.extension.internal.property.PagedOperationModelProperty;
 import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
 import org.mule.runtime.module.extension.internal.ExtensionProperties;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
@@ -34,6 +36,7 @@ import javax.inject.Inject;
 public final class ConnectionInterceptor implements Interceptor<ComponentModel> {
 
   private static final String CLOSE_CONNECTION_COMMAND = "closeCommand";
+  private static final String BORROWED_CONNECTION = "borrowedConnection";
 
   @Inject
   private ExtensionConnectionSupplier connectionSupplier;
@@ -56,13 +59,55 @@ public final class ConnectionInterceptor implements Interceptor<ComponentModel>
     ExecutionContextAdapter<OperationModel> context = (ExecutionContextAdapter) executionContext;
     checkArgument(context.getVariable(CONNECTION_PARAM) == null, "A connection was already set for this operation context");
 
-    context.setVariable(CONNECTION_PARAM, getConnection(context));
+    CompletableFuture<ConnectionHandler<?>> borrowed = context.removeVariable(BORROWED_CONNECTION);
+    context.setVariable(CONNECTION_PARAM, borrowed != null ? getBorrowedConnection(borrowed) : getConnection(context));
 
     if (!supportsStreaming(componentModel)) {
       setCloseCommand(executionContext, () -> release(executionContext));
     }
   }
 
+  /**
+   * Starts obtaining the connection for the given {@code executionContext} without blocking the calling thread while the
+   * connection pool is exhausted. The returned future is kept in the context, and once it's complete
+   * {@link #before(ExecutionContext)} takes its outcome instead of obtaining the connection by itself.
+   * <p>
+   * This is only done when the connection can really be obtained without blocking. Otherwise the connection is obtained by
+   * {@link #before(ExecutionContext)}, in the same order as the rest of the interceptors.
+   *
+   * @param executionContext the {@link ExecutionContext} for the operation to be executed
+   * @return the future connection, or {@code null} if the connection is to be obtained by {@link #before(ExecutionContext)}
+   */
+  public CompletableFuture<ConnectionHandler<?>> borrowConnection(ExecutionContext<ComponentModel> executionContext) {
+    if (executionContext.getComponentModel().getModelProperty(PagedOperationModelProperty.class).isPresent()) {
+      return null;
+    }
+
+    ExecutionContextAdapter<ComponentModel> context = (ExecutionContextAdapter) executionContext;
+    if (!connectionSupplier.supportsAsyncConnection(context)) {
+      return null;
+    }
+
+    CompletableFuture<ConnectionHandler<?>> borrowed = connectionSupplier.getConnectionAsync(context);
+    context.setVariable(BORROWED_CONNECTION, borrowed);
+    return borrowed;
+  }
+
+  /**
+   * Gives back a connection obtained through {@link #borrowConnection(ExecutionContext)} which was not taken by
+   * {@link #before(ExecutionContext)}, as happens when a previous interceptor fails. If it was not obtained yet, the request is
+   * withdrawn.
+   *
+   * @param executionContext the {@link ExecutionContext} for the operation that was executed
+   */
+  public void discardBorrowedConnection(ExecutionContext<ComponentModel> executionContext) {
+    CompletableFuture<ConnectionHandler<?>> borrowed =
+        ((ExecutionContextAdapter<ComponentModel>) executionContext).removeVariable(BORROWED_CONNECTION);
+    if (borrowed != null && !borrowed.cancel(false)) {
+      borrowed.thenAccept(ConnectionHandler::release);
+    }
+  }
+
   @Override
   public Throwable onError(ExecutionContext<ComponentModel> executionContext, Throwable exception) {
     extractConnectionException(exception).ifPresent(
@@ -104,6 +149,17 @@ public final class ConnectionInterceptor implements Interceptor<ComponentModel>
     context.setVariable(CLOSE_CONNECTION_COMMAND, command);
   }
 
+  private ConnectionHandler<?> getBorrowedConnection(CompletableFuture<ConnectionHandler<?>> borrowed) throws Exception {
+    try {
+      return borrowed.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
   private ConnectionHandler<?> getConnection(ExecutionContextAdapter<? extends ComponentModel> operationContext)
       throws ConnectionException, TransactionException {
     return connectionSupplier.getConnection(operationContext);
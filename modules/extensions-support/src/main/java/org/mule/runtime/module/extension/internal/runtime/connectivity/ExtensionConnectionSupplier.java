@@ -16,6 +16,7 @@ import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.tx.TransactionException;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.transaction.TransactionConfig;
+import org.mule.runtime.core.internal.connection.ConnectionManagerAdapter;
 import org.mule.runtime.extension.api.connectivity.TransactionalConnection;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
@@ -24,6 +25,7 @@ import org.mule.runtime.module.extension.internal.runtime.transaction.ExtensionT
 import org.mule.runtime.module.extension.internal.runtime.transaction.TransactionBindingDelegate;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -57,6 +59,55 @@ public class ExtensionConnectionSupplier {
         : getTransactionlessConnectionHandler(executionContext);
   }
 
+  /**
+   * Tells whether {@link #getConnectionAsync(ExecutionContextAdapter)} avoids blocking the calling thread for the given
+   * {@code executionContext}, which only happens for non transacted executions whose connections are managed by a non blocking
+   * pool.
+   *
+   * @param executionContext an {@link ExecutionContextAdapter}
+   * @return whether the connection can be obtained without blocking
+   * @since 4.2
+   */
+  public boolean supportsAsyncConnection(ExecutionContextAdapter<? extends ComponentModel> executionContext) {
+    boolean transacted = executionContext.getTransactionConfig().map(TransactionConfig::isTransacted).orElse(false);
+    if (transacted || !(connectionManager instanceof ConnectionManagerAdapter)) {
+      return false;
+    }
+
+    Optional<ConfigurationInstance> configuration = executionContext.getConfiguration();
+    return configuration.flatMap(ConfigurationInstance::getConnectionProvider).isPresent()
+        && ((ConnectionManagerAdapter) connectionManager).supportsAsyncConnection(configuration.get().getValue());
+  }
+
+  /**
+   * Same as {@link #getConnection(ExecutionContextAdapter)} but without blocking the calling thread while waiting for a pooled
+   * connection to become available. Failures are reported by completing the returned future exceptionally.
+   * <p>
+   * Connections for transacted executions are obtained synchronously, since the transaction they join is bound to the current
+   * thread.
+   *
+   * @param executionContext an {@link ExecutionContextAdapter}
+   * @return a {@link CompletableFuture} with the {@link ConnectionHandler}
+   * @since 4.2
+   */
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<ConnectionHandler<?>> getConnectionAsync(ExecutionContextAdapter<? extends ComponentModel> executionContext) {
+    CompletableFuture<ConnectionHandler<?>> future = new CompletableFuture<>();
+    try {
+      boolean transacted = executionContext.getTransactionConfig().map(TransactionConfig::isTransacted).orElse(false);
+      if (!transacted && connectionManager instanceof ConnectionManagerAdapter) {
+        Object config = getConnectedConfiguration(executionContext).getValue();
+        // the pool's own future is returned, so that cancelling it also withdraws the request from the pool
+        return (CompletableFuture) ((ConnectionManagerAdapter) connectionManager).getConnectionAsync(config);
+      }
+
+      future.complete(getConnection(executionContext));
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
   private <T extends TransactionalConnection> ConnectionHandler<T> getTransactedConnectionHandler(
                                                                                                   ExecutionContextAdapter<? extends ComponentModel> executionContext,
                                                                                                   TransactionConfig transactionConfig)
@@ -86,8 +137,10 @@ public class ExtensionConnectionSupplier {
 
   private <T> ConnectionHandler<T> getTransactionlessConnectionHandler(ExecutionContext executionContext)
       throws ConnectionException {
+    return connectionManager.getConnection(getConnectedConfiguration(executionContext).getValue());
+  }
 
-
+  private ConfigurationInstance getConnectedConfiguration(ExecutionContext executionContext) {
     final Optional<ConfigurationInstance> configuration = executionContext.getConfiguration();
     Optional<ConnectionProvider> connectionProvider = configuration.flatMap(ConfigurationInstance::getConnectionProvider);
 
@@ -103,6 +156,6 @@ public class ExtensionConnectionSupplier {
                                              configRef));
     }
 
-    return connectionManager.getConnection(configuration.get().getValue());
+    return configuration.get();
   }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution;
+
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.genericMethodType;
+import static java.lang.reflect.Modifier.isStatic;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.slf4j.Logger;
+
+/**
+ * Invokes a given {@link Method}.
+ * <p>
+ * When possible, the invocation is done through a {@link MethodHandle} for that particular method instead of going through
+ * {@link Method#invoke(Object, Object...)}, which skips the access checks and argument validation that reflection performs on
+ * each call. If such a handle cannot be created (for example, because the method is not accessible from this class), reflection
+ * is used instead.
+ * <p>
+ * Note that the handle is kept in an instance field, so it is not a constant to the JIT and the invoked method is not inlined
+ * into the caller. Spinning a class per method (for example, through {@link java.lang.invoke.LambdaMetafactory}) would allow
+ * that, but such a class would be defined in the class loader of this class, which cannot see the classes of the extensions.
+ * {@code MethodInvokerBenchmark} compares this invoker against reflection.
+ * <p>
+ * In both cases, exceptions thrown by the method are propagated as they are, without wrapping.
+ *
+ * @since 4.2
+ */
+final class MethodInvoker {
+
+  private static final Logger LOGGER = getLogger(MethodInvoker.class);
+
+  private final Method method;
+  private final MethodHandle methodHandle;
+
+  /**
+   * Creates a new invoker for the given {@code method}
+   *
+   * @param method the method to invoke
+   * @return a new {@link MethodInvoker}
+   */
+  static MethodInvoker of(Method method) {
+    return new MethodInvoker(method, createMethodHandle(method));
+  }
+
+  private MethodInvoker(Method method, MethodHandle methodHandle) {
+    this.method = method;
+    this.methodHandle = methodHandle;
+  }
+
+  /**
+   * Creates a handle of type {@code (Object, Object[])Object} which receives the target instance and the arguments of the
+   * invocation.
+   */
+  private static MethodHandle createMethodHandle(Method method) {
+    try {
+      MethodHandle handle = lookup().unreflect(method).asFixedArity();
+      if (isStatic(method.getModifiers())) {
+        handle = dropArguments(handle, 0, Object.class);
+      }
+
+      final int parameterCount = method.getParameterCount();
+      return handle.asType(genericMethodType(parameterCount + 1)).asSpreader(Object[].class, parameterCount);
+    } catch (Exception e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not create a method handle for {}, it will be invoked through reflection", method, e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Invokes the method.
+   *
+   * @param target the instance on which the method is invoked. Ignored for static methods
+   * @param args the arguments for the invocation
+   * @return the value returned by the method, or {@code null} if it's {@code void}
+   * @throws Throwable whatever the method throws
+   */
+  Object invoke(Object target, Object[] args) throws Throwable {
+    if (methodHandle != null) {
+      return (Object) methodHandle.invokeExact(target, args);
+    }
+
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  /**
+   * @return whether the method is invoked through a {@link MethodHandle} rather than reflection
+   */
+  boolean isMethodHandleBased() {
+    return methodHandle != null;
+  }
+}
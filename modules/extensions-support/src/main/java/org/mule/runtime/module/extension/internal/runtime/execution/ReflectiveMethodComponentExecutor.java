@@ -6,7 +6,6 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.execution;
 
-import static java.util.Arrays.stream;
 import static org.apache.commons.lang3.ArrayUtils.isEmpty;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
@@ -15,7 +14,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.slf4j.LoggerFactory.getLogger;
-import static org.springframework.util.ReflectionUtils.invokeMethod;
+import static org.springframework.util.ReflectionUtils.rethrowRuntimeException;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -38,7 +37,9 @@ import java.util.function.Function;
 import org.slf4j.Logger;
 
 /**
- * Executes a task associated to a {@link ExecutionContext} by invoking a given {@link Method}
+ * Executes a task associated to a {@link ExecutionContext} by invoking a given {@link Method}.
+ * <p>
+ * The method is invoked through a {@link MethodInvoker}, which avoids reflection whenever possible.
  *
  * @param <M> the generic type of the associated {@link ComponentModel}
  * @since 4.0
@@ -60,6 +61,7 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
   private static final ArgumentResolverDelegate NO_ARGS_DELEGATE = new NoArgumentsResolverDelegate();
 
   private final Method method;
+  private final MethodInvoker methodInvoker;
   private final Object componentInstance;
   private final ClassLoader extensionClassLoader;
 
@@ -70,6 +72,7 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
 
   public ReflectiveMethodComponentExecutor(List<ParameterGroupModel> groups, Method method, Object componentInstance) {
     this.method = method;
+    this.methodInvoker = MethodInvoker.of(method);
     this.componentInstance = componentInstance;
     argumentResolverDelegate =
         isEmpty(method.getParameterTypes()) ? new LazyValue<>(NO_ARGS_DELEGATE) : getMethodArgumentResolver(groups, method);
@@ -90,9 +93,22 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
 
   public Object execute(ExecutionContext<M> executionContext) {
     return withContextClassLoader(extensionClassLoader,
-                                  () -> invokeMethod(method, componentInstance,
-                                                     stream(getParameterValues(executionContext, method.getParameterTypes()))
-                                                         .map(LazyValue::get).toArray(Object[]::new)));
+                                  () -> invoke(getParameterValues(executionContext, method.getParameterTypes())));
+  }
+
+  private Object invoke(LazyValue<Object>[] parameterValues) {
+    final Object[] args = new Object[parameterValues.length];
+    for (int i = 0; i < args.length; ++i) {
+      args[i] = parameterValues[i].get();
+    }
+
+    try {
+      return methodInvoker.invoke(componentInstance, args);
+    } catch (Throwable t) {
+      // Checked exceptions are wrapped into an UndeclaredThrowableException
+      rethrowRuntimeException(t);
+      return null;
+    }
   }
 
   private LazyValue<Object>[] getParameterValues(ExecutionContext<M> executionContext, Class<?>[] parameterTypes) {
@@ -23,6 +23,7 @@ import org.mule.runtime.api.exception.ErrorTypeRepository;
 import org.mule.runtime.api.meta.model.ComponentModel;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.declaration.fluent.ConfigurationDeclaration;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.core.api.execution.ExecutionTemplate;
 import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
@@ -37,6 +38,7 @@ import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
 import org.mule.runtime.module.extension.internal.runtime.config.MutableConfigurationStats;
+import org.mule.runtime.module.extension.internal.runtime.connectivity.ConnectionInterceptor;
 import org.mule.runtime.module.extension.internal.runtime.exception.ExceptionHandlerManager;
 import org.mule.runtime.module.extension.internal.runtime.exception.ModuleExceptionHandler;
 
@@ -44,6 +46,9 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -133,31 +138,54 @@ public final class DefaultExecutionMediator<T extends ComponentModel> implements
     // so we wrap the mono which executes the operation into another which sets up
     // the context and is the one configured with the retry logic
     return Mono.create(sink -> {
-      Mono<Object> result;
+      Runnable execution = () -> {
+        Mono<Object> result;
+
+        InterceptorsExecutionResult beforeExecutionResult = before(context, interceptors);
+        if (beforeExecutionResult.isOk()) {
+          result = from(withContextClassLoader(getClassLoader(context.getExtensionModel()), () -> executor.execute(context)));
+          executedInterceptors.addAll(interceptors);
+        } else {
+          result = error(beforeExecutionResult.getThrowable());
+          executedInterceptors.addAll(beforeExecutionResult.getExecutedInterceptors());
+        }
 
-      InterceptorsExecutionResult beforeExecutionResult = before(context, interceptors);
-      if (beforeExecutionResult.isOk()) {
-        result = from(withContextClassLoader(getClassLoader(context.getExtensionModel()), () -> executor.execute(context)));
-        executedInterceptors.addAll(interceptors);
+        result.map(value -> transform(context, value))
+            .doOnSuccess(value -> {
+              onSuccess(context, value, interceptors);
+              stats.ifPresent(s -> s.discountInflightOperation());
+              sink.success(value);
+            }).onErrorMap(t -> mapError(context, interceptors, t))
+            .subscribe(v -> {
+            }, sink::error);
+      };
+
+      CompletableFuture<?> borrowedConnection = borrowConnection(context, interceptors);
+      if (borrowedConnection == null || (borrowedConnection.isDone() && !borrowedConnection.isCompletedExceptionally())) {
+        execution.run();
       } else {
-        result = error(beforeExecutionResult.getThrowable());
-        executedInterceptors.addAll(beforeExecutionResult.getExecutedInterceptors());
-      }
+        // Either the connection pool is exhausted or the connection could not be obtained. Instead of blocking this thread, the
+        // execution is resumed once a connection is handed over, and a failure to obtain it fails the execution right away
+        sink.onCancel(() -> borrowedConnection.cancel(false));
+        borrowedConnection.whenComplete((connection, e) -> {
+          if (borrowedConnection.isCancelled()) {
+            return;
+          }
 
-      result.map(value -> transform(context, value))
-          .doOnSuccess(value -> {
-            onSuccess(context, value, interceptors);
-            stats.ifPresent(s -> s.discountInflightOperation());
-            sink.success(value);
-          }).onErrorMap(t -> mapError(context, interceptors, t))
-          .subscribe(v -> {
-          }, sink::error);
+          if (e != null) {
+            sink.error(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+          } else {
+            resume(context, execution, sink::error);
+          }
+        });
+      }
     })
         .doOnSuccessOrError((value, e) -> {
           try {
             after(context, value, executedInterceptors);
           } finally {
             executedInterceptors.clear();
+            discardBorrowedConnection(context, interceptors);
           }
         })
         .transform(pub -> from(getRetryPolicyTemplate(context)
@@ -168,6 +196,41 @@ public final class DefaultExecutionMediator<T extends ComponentModel> implements
                          context.getCurrentScheduler())));
   }
 
+  private CompletableFuture<?> borrowConnection(ExecutionContextAdapter<T> context, List<Interceptor> interceptors) {
+    for (Interceptor interceptor : interceptors) {
+      if (interceptor instanceof ConnectionInterceptor) {
+        return ((ConnectionInterceptor) interceptor).borrowConnection((ExecutionContext) context);
+      }
+    }
+    return null;
+  }
+
+  private void discardBorrowedConnection(ExecutionContextAdapter<T> context, List<Interceptor> interceptors) {
+    for (Interceptor interceptor : interceptors) {
+      if (interceptor instanceof ConnectionInterceptor) {
+        ((ConnectionInterceptor) interceptor).discardBorrowedConnection((ExecutionContext) context);
+      }
+    }
+  }
+
+  /**
+   * Resumes an execution which waited for a connection on the scheduler the operation is meant to run on, rather than on the
+   * thread that handed the connection over.
+   */
+  private void resume(ExecutionContextAdapter<T> context, Runnable execution, Consumer<Throwable> onRejected) {
+    Scheduler scheduler = context.getCurrentScheduler();
+    if (scheduler == null) {
+      execution.run();
+      return;
+    }
+
+    try {
+      scheduler.execute(execution);
+    } catch (RejectedExecutionException e) {
+      onRejected.accept(e);
+    }
+  }
+
   private Throwable mapError(ExecutionContextAdapter context, List<Interceptor> interceptors, Throwable e) {
     e = exceptionEnricherManager.process(e);
     e = moduleExceptionHandler.processException(e);
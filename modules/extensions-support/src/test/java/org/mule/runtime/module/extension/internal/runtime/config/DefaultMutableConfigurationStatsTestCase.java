@@ -13,6 +13,7 @@ import org.mule.tck.size.SmallTest;
 import org.mule.tck.util.TestTimeSupplier;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -45,4 +46,28 @@ public class DefaultMutableConfigurationStatsTestCase extends AbstractMuleTestCa
     assertThat(stats.discountInflightOperation(), is(0));
     assertThat(stats.getInflightOperations(), is(0));
   }
+
+  @Test
+  public void noInflightOperationsCallbackRunsRightAwayWhenIdle() {
+    AtomicInteger runs = new AtomicInteger();
+    stats.whenNoInflightOperations(runs::incrementAndGet);
+    assertThat(runs.get(), is(1));
+
+    stats.addInflightOperation();
+    stats.discountInflightOperation();
+    assertThat(runs.get(), is(1));
+  }
+
+  @Test
+  public void noInflightOperationsCallbackRunsOnceOperationsFinish() {
+    AtomicInteger runs = new AtomicInteger();
+    stats.addInflightOperation();
+    stats.addInflightOperation();
+    stats.whenNoInflightOperations(runs::incrementAndGet);
+
+    stats.discountInflightOperation();
+    assertThat(runs.get(), is(0));
+    stats.discountInflightOperation();
+    assertThat(runs.get(), is(1));
+  }
 }
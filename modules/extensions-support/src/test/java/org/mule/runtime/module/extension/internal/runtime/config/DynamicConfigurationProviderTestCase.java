@@ -46,6 +46,8 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ConnectionPro
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSetResult;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 import org.mule.tck.size.SmallTest;
 import org.mule.test.heisenberg.extension.HeisenbergExtension;
 
@@ -201,6 +203,55 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(configs, containsInAnyOrder(instance1, instance2));
   }
 
+  @Test
+  public void evictLeastRecentlyUsed() throws Exception {
+    createProviderWithMaxInstances(1);
+
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    HeisenbergExtension instance2 = makeAlternateInstance();
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance2)));
+
+    new PollingProber(1000, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(instance1.getStop(), is(1));
+      assertThat(instance1.getDispose(), is(1));
+      return true;
+    }));
+    assertThat(instance2.getDispose(), is(0));
+    assertThat(((DynamicConfigurationProvider) provider).getExpired().isEmpty(), is(true));
+  }
+
+  @Test
+  public void evictedInstanceDisposedOnceInflightOperationsFinish() throws Exception {
+    createProviderWithMaxInstances(1);
+
+    ConfigurationInstance configuration1 = provider.get(event);
+    HeisenbergExtension instance1 = (HeisenbergExtension) configuration1.getValue();
+    MutableConfigurationStats stats = (MutableConfigurationStats) configuration1.getStatistics();
+    stats.addInflightOperation();
+
+    makeAlternateInstance();
+    assertThat(instance1.getDispose(), is(0));
+
+    stats.discountInflightOperation();
+    new PollingProber(1000, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(instance1.getStop(), is(1));
+      assertThat(instance1.getDispose(), is(1));
+      return true;
+    }));
+  }
+
+  private void createProviderWithMaxInstances(int maxInstances) throws MuleException {
+    provider.stop();
+    provider.dispose();
+
+    provider = new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
+                                                connectionProviderResolver, expirationPolicy, new ReflectionCache(), muleContext,
+                                                maxInstances);
+    muleContext.getInjector().inject(provider);
+    provider.initialise();
+    provider.start();
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
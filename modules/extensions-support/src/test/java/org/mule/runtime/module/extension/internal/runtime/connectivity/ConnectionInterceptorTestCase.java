@@ -7,6 +7,10 @@
 package org.mule.runtime.module.extension.internal.runtime.connectivity;
 
 import static java.util.Optional.empty;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
@@ -32,6 +36,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ConnectionInterceptorTestCase extends AbstractMuleContextTestCase {
@@ -126,4 +131,52 @@ public class ConnectionInterceptorTestCase extends AbstractMuleContextTestCase {
     interceptor.after(operationContext, null);
     verify(connectionHandler).release();
   }
+
+  @Test
+  public void borrowedConnectionIsUsed() throws Exception {
+    CompletableFuture<ConnectionHandler<?>> borrowed = completedFuture(connectionHandler);
+    when(connectionSupplier.supportsAsyncConnection(operationContext)).thenReturn(true);
+    when(connectionSupplier.getConnectionAsync(operationContext)).thenReturn(borrowed);
+
+    interceptor.borrowConnection(operationContext);
+    interceptor.before(operationContext);
+    interceptor.onSuccess(operationContext, null);
+    interceptor.after(operationContext, null);
+
+    verify(connectionSupplier, never()).getConnection(operationContext);
+    verify(connectionHandler).release();
+  }
+
+  @Test
+  public void discardedBorrowedConnectionIsReleased() throws Exception {
+    CompletableFuture<ConnectionHandler<?>> borrowed = completedFuture(connectionHandler);
+    when(connectionSupplier.supportsAsyncConnection(operationContext)).thenReturn(true);
+    when(connectionSupplier.getConnectionAsync(operationContext)).thenReturn(borrowed);
+
+    interceptor.borrowConnection(operationContext);
+    interceptor.discardBorrowedConnection(operationContext);
+
+    verify(connectionHandler).release();
+  }
+
+  @Test
+  public void pendingBorrowIsCancelledOnDiscard() throws Exception {
+    CompletableFuture<ConnectionHandler<?>> pending = new CompletableFuture<>();
+    when(connectionSupplier.supportsAsyncConnection(operationContext)).thenReturn(true);
+    when(connectionSupplier.getConnectionAsync(operationContext)).thenReturn(pending);
+
+    interceptor.borrowConnection(operationContext);
+    interceptor.discardBorrowedConnection(operationContext);
+
+    assertThat(pending.isCancelled(), is(true));
+  }
+
+  @Test
+  public void connectionNotBorrowedWhenItWouldBlock() throws Exception {
+    assertThat(interceptor.borrowConnection(operationContext), is(nullValue()));
+    verify(connectionSupplier, never()).getConnectionAsync(operationContext);
+
+    interceptor.before(operationContext);
+    verify(connectionSupplier).getConnection(operationContext);
+  }
 }
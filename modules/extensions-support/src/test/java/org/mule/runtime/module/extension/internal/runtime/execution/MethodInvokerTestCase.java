@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+@SmallTest
+public class MethodInvokerTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private final TestComponent component = new TestComponent();
+
+  @Test
+  public void invokeWithArguments() throws Throwable {
+    MethodInvoker invoker = invokerFor(TestComponent.class, "concat", String.class, int.class);
+    assertThat(invoker.isMethodHandleBased(), is(true));
+    assertThat(invoker.invoke(component, new Object[] {"value", 3}), is("value3"));
+  }
+
+  @Test
+  public void invokeVoid() throws Throwable {
+    MethodInvoker invoker = invokerFor(TestComponent.class, "doSomething");
+    assertThat(invoker.invoke(component, new Object[0]), is(nullValue()));
+    assertThat(component.invoked, is(true));
+  }
+
+  @Test
+  public void invokeVarargs() throws Throwable {
+    String[] values = {"a", "b"};
+    MethodInvoker invoker = invokerFor(TestComponent.class, "varargs", String[].class);
+    assertThat(invoker.invoke(component, new Object[] {values}), is(sameInstance(values)));
+  }
+
+  @Test
+  public void invokeStatic() throws Throwable {
+    MethodInvoker invoker = invokerFor(TestComponent.class, "staticMethod");
+    assertThat(invoker.invoke(null, new Object[0]), is("static"));
+  }
+
+  @Test
+  public void exceptionIsNotWrapped() throws Throwable {
+    expectedException.expect(IOException.class);
+    invokerFor(TestComponent.class, "fail").invoke(component, new Object[0]);
+  }
+
+  @Test
+  public void inaccessibleMethodFallsBackToReflection() throws Throwable {
+    MethodInvoker invoker = invokerFor(PrivateComponent.class, "value");
+    assertThat(invoker.isMethodHandleBased(), is(false));
+
+    expectedException.expect(IllegalAccessException.class);
+    invoker.invoke(new PrivateComponent(), new Object[0]);
+  }
+
+  private MethodInvoker invokerFor(Class<?> type, String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+    return MethodInvoker.of(type.getDeclaredMethod(name, parameterTypes));
+  }
+
+  public static class TestComponent {
+
+    private boolean invoked = false;
+
+    public String concat(String value, int times) {
+      return value + times;
+    }
+
+    public void doSomething() {
+      invoked = true;
+    }
+
+    public String[] varargs(String... values) {
+      return values;
+    }
+
+    public static String staticMethod() {
+      return "static";
+    }
+
+    public void fail() throws IOException {
+      throw new IOException();
+    }
+  }
+
+  private static class PrivateComponent {
+
+    private String value() {
+      return "value";
+    }
+  }
+}
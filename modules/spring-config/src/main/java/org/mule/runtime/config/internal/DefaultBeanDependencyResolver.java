@@ -51,9 +51,12 @@ public class DefaultBeanDependencyResolver implements BeanDependencyResolver {
 
   public Collection<Object> resolveBeanDependencies(Set<String> beanNames) {
     final DependencyNode root = new DependencyNode(null);
+    final DependencyTraversal traversal = new DependencyTraversal();
 
     for (String beanName : beanNames) {
-      addDependency(root, beanName, springRegistry.get(beanName));
+      if (!traversal.isCompleted(beanName)) {
+        addDependency(root, beanName, springRegistry.get(beanName), traversal);
+      }
     }
 
     Iterable<DependencyNode> orderedNodes = new TreeTraverser<DependencyNode>() {
@@ -75,28 +78,35 @@ public class DefaultBeanDependencyResolver implements BeanDependencyResolver {
     return orderedObjects;
   }
 
-  private void addDependency(DependencyNode parent, String key, Object object) {
-    addDependency(parent, key, object, new HashSet<>());
-  }
+  /**
+   * Adds the node for the given {@code key} and the nodes of its dependencies.
+   * <p>
+   * The dependencies of each key are resolved only once per traversal: the post order traversal of the resulting tree already
+   * returns a completed key before any other key depending on it, so adding it again would only generate a duplicate. Keys
+   * which are still being processed (circular dependencies) are added as leafs.
+   */
+  private void addDependency(DependencyNode parent, String key, Object object, DependencyTraversal traversal) {
+    if (traversal.isCompleted(key)) {
+      return;
+    }
 
-  private void addDependency(DependencyNode parent, String key, Object object,
-                             Set<String> processedKeys) {
     final DependencyNode node = new DependencyNode(object);
     parent.addChild(node);
-    if (!processedKeys.add(key)) {
+    if (!traversal.start(key)) {
       return;
     }
 
-    addAutoDiscoveredDependencies(key, processedKeys, node);
-    addConfigurationDependencies(key, processedKeys, node);
-    addDeclaredDependencies(object, processedKeys, node);
+    addAutoDiscoveredDependencies(key, traversal, node);
+    addConfigurationDependencies(key, traversal, node);
+    addDeclaredDependencies(object, traversal, node);
+    traversal.complete(key);
   }
 
   /**
    * If the target object implements {@link InjectedDependenciesProvider}, then the custom dependencies
    * declared by it are added.
    */
-  private void addDeclaredDependencies(Object object, Set<String> processedKeys,
+  private void addDeclaredDependencies(Object object, DependencyTraversal traversal,
                                        DependencyNode node) {
     if (object instanceof InjectedDependenciesProvider) {
       ((InjectedDependenciesProvider) object).getInjectedDependencies()
@@ -104,19 +114,19 @@ public class DefaultBeanDependencyResolver implements BeanDependencyResolver {
               .reduce(type -> Stream.of(springRegistry.applicationContext.getBeanNamesForType(dependency.getLeft()))
                   .map(name -> new Pair<>(name, springRegistry.get(name)))
                   .collect(toList()), name -> asList(new Pair<>(name, springRegistry.get(name))))
-              .forEach(pair -> addDependency(node, pair.getFirst(), pair.getSecond(), processedKeys)));
+              .forEach(pair -> addDependency(node, pair.getFirst(), pair.getSecond(), traversal)));
     }
   }
 
   /**
    * These are obtained through the {@link #configurationDependencyResolver}
    */
-  private void addConfigurationDependencies(String key, Set<String> processedKeys,
+  private void addConfigurationDependencies(String key, DependencyTraversal traversal,
                                             DependencyNode node) {
     Collection<String> dependencies = configurationDependencyResolver.resolveComponentDependencies(key);
     for (String dependency : dependencies) {
-      if (springRegistry.isSingleton(dependency)) {
-        addDependency(node, dependency, springRegistry.get(dependency), processedKeys);
+      if (!traversal.isCompleted(dependency) && springRegistry.isSingleton(dependency)) {
+        addDependency(node, dependency, springRegistry.get(dependency), traversal);
       }
     }
   }
@@ -125,10 +135,28 @@ public class DefaultBeanDependencyResolver implements BeanDependencyResolver {
    * Adds the dependencies that are explicit on the {@link BeanDefinition}. These were inferred from
    * introspecting fields annotated with {@link Inject} or were programatically added to the definition
    */
-  private void addAutoDiscoveredDependencies(String key, Set<String> processedKeys,
+  private void addAutoDiscoveredDependencies(String key, DependencyTraversal traversal,
                                              DependencyNode node) {
     for (Map.Entry<String, Object> dependency : springRegistry.getDependencies(key).entrySet()) {
-      addDependency(node, dependency.getKey(), dependency.getValue(), processedKeys);
+      addDependency(node, dependency.getKey(), dependency.getValue(), traversal);
+    }
+  }
+
+  private static class DependencyTraversal {
+
+    private final Set<String> startedKeys = new HashSet<>();
+    private final Set<String> completedKeys = new HashSet<>();
+
+    private boolean start(String key) {
+      return startedKeys.add(key);
+    }
+
+    private void complete(String key) {
+      completedKeys.add(key);
+    }
+
+    private boolean isCompleted(String key) {
+      return completedKeys.contains(key);
     }
   }
 
@@ -165,6 +165,8 @@ import org.mule.runtime.core.internal.routing.SplitAggregateScope;
 import org.mule.runtime.core.internal.routing.Splitter;
 import org.mule.runtime.core.internal.routing.UntilSuccessful;
 import org.mule.runtime.core.internal.routing.forkjoin.CollectListForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.FirstCompletedForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.QuorumForkJoinStrategyFactory;
 import org.mule.runtime.core.internal.routing.requestreply.SimpleAsyncRequestReplyRequester;
 import org.mule.runtime.core.internal.security.PasswordBasedEncryptionStrategy;
 import org.mule.runtime.core.internal.security.SecretKeyEncryptionStrategy;
@@ -247,6 +249,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
   private static final String SPLIT_AGGREGATE = "split-aggregate";
   private static final String FORK_JOIN_STRATEGY = "forkJoinStrategyFactory";
   private static final String COLLECT_LIST = "collect-list";
+  private static final String FIRST_COMPLETED = "first-completed";
+  private static final String QUORUM = "quorum";
   private static final String ENRICHER = "enricher";
   private static final String ASYNC = "async";
   private static final String TRY = "try";
@@ -406,6 +410,13 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(COLLECT_LIST)
         .withTypeDefinition(fromType(CollectListForkJoinStrategyFactory.class))
         .build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier(FIRST_COMPLETED)
+        .withTypeDefinition(fromType(FirstCompletedForkJoinStrategyFactory.class))
+        .build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier(QUORUM)
+        .withTypeDefinition(fromType(QuorumForkJoinStrategyFactory.class))
+        .withSetterParameterDefinition("minSuccessful", fromSimpleParameter("minSuccessful").build())
+        .build());
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(SCATTER_GATHER)
         .withTypeDefinition(fromType(ScatterGatherRouter.class))
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
@@ -473,6 +484,10 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
         .withSetterParameterDefinition("rootMessageVariableName", fromSimpleParameter("rootMessageVariableName").build())
         .withSetterParameterDefinition("counterVariableName", fromSimpleParameter("counterVariableName").build())
+        .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").build())
+        .withSetterParameterDefinition("ordered", fromSimpleParameter("ordered").build())
+        .withSetterParameterDefinition("collectErrors", fromSimpleParameter("collectErrors").build())
+        .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
         .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
         .build());
     componentBuildingDefinitions
@@ -95,6 +95,14 @@ public class MacroExpansionModuleModel {
 
   private final ApplicationModel applicationModel;
   private final ExtensionModel extensionModel;
+  private final Optional<ConfigurationModel> configurationModel;
+  private final Optional<PrivateOperationsModelProperty> privateOperations;
+
+  /**
+   * The properties of each <module/>'s config, by the name of the global element that declares it. Global elements are not
+   * modified while operations are expanded, so they're extracted only once per config.
+   */
+  private final Map<Optional<String>, Map<String, String>> propertiesByConfigRef = new HashMap<>();
 
   /**
    * From a mutable {@code applicationModel}, it will store it to apply changes when the {@link #expand()} method is executed.
@@ -106,6 +114,8 @@ public class MacroExpansionModuleModel {
   MacroExpansionModuleModel(ApplicationModel applicationModel, ExtensionModel extensionModel) {
     this.applicationModel = applicationModel;
     this.extensionModel = extensionModel;
+    this.configurationModel = extensionModel.getConfigurationModel(MODULE_CONFIG_GLOBAL_ELEMENT_NAME);
+    this.privateOperations = extensionModel.getModelProperty(PrivateOperationsModelProperty.class);
   }
 
   public void expand() {
@@ -228,8 +238,7 @@ public class MacroExpansionModuleModel {
   }
 
   private Optional<ConfigurationModel> getConfigurationModel() {
-    return extensionModel
-        .getConfigurationModel(MODULE_CONFIG_GLOBAL_ELEMENT_NAME);
+    return configurationModel;
   }
 
   private List<ComponentModel> createGlobalElementsInstance(ComponentModel configRefModel,
@@ -433,6 +442,10 @@ public class MacroExpansionModuleModel {
    * @return a map with the name and values of the <module/>'s properties.
    */
   private Map<String, String> extractProperties(Optional<String> configRefName) {
+    return new HashMap<>(propertiesByConfigRef.computeIfAbsent(configRefName, this::doExtractProperties));
+  }
+
+  private Map<String, String> doExtractProperties(Optional<String> configRefName) {
     Map<String, String> valuesMap = new HashMap<>();
     configRefName
         .filter(configParameter -> defaultGlobalElementName()
@@ -670,19 +683,19 @@ public class MacroExpansionModuleModel {
    * @return an {@link OperationModel} if found, {@link Optional#empty()} otherwise.
    */
   private Optional<OperationModel> lookForOperation(ComponentIdentifier operationIdentifier, String prefix) {
-    Optional<OperationModel> result = empty();
-    final String operationName = operationIdentifier.getName();
-    if (operationIdentifier.getNamespace().equals(prefix)) {
-      // As the operation can be inside the extension or the config, it has to be looked up in both elements.
-      final HasOperationModels hasOperationModels =
-          getConfigurationModel()
-              .map(configurationModel -> (HasOperationModels) configurationModel)
-              .orElse(extensionModel);
-      result = hasOperationModels.getOperationModel(operationName);
+    if (!operationIdentifier.getNamespace().equals(prefix)) {
+      return empty();
     }
+    final String operationName = operationIdentifier.getName();
+    // As the operation can be inside the extension or the config, it has to be looked up in both elements.
+    final HasOperationModels hasOperationModels =
+        getConfigurationModel()
+            .map(configurationModel -> (HasOperationModels) configurationModel)
+            .orElse(extensionModel);
+    Optional<OperationModel> result = hasOperationModels.getOperationModel(operationName);
     // If the operation is not present, it might be a private one and it must be looked inside of the model property
-    if (!result.isPresent() && extensionModel.getModelProperty(PrivateOperationsModelProperty.class).isPresent()) {
-      result = extensionModel.getModelProperty(PrivateOperationsModelProperty.class).get().getOperationModel(operationName);
+    if (!result.isPresent() && privateOperations.isPresent()) {
+      result = privateOperations.get().getOperationModel(operationName);
     }
     return result;
   }
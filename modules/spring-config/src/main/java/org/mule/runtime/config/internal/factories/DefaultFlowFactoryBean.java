@@ -6,7 +6,10 @@
  */
 package org.mule.runtime.config.internal.factories;
 
+import static java.lang.Boolean.parseBoolean;
 import static java.util.Collections.emptyList;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_FLOW_START_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.construct.Flow.INITIAL_STATE_STOPPED;
 
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.core.api.MuleContext;
@@ -25,6 +28,9 @@ import org.springframework.beans.factory.FactoryBean;
 
 /**
  * Generates an immutable {@link Flow} with the provided config.
+ * <p>
+ * When the {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_LAZY_FLOW_START_DEPLOYMENT_PROPERTY}
+ * deployment property is set, flows without a {@link MessageSource} are not started until they're first referenced.
  * 
  * @since 4.0
  */
@@ -63,9 +69,16 @@ public class DefaultFlowFactoryBean extends AbstractComponent
     final DefaultFlow build = (DefaultFlow) flowBuilder.build();
 
     build.setAnnotations(getAnnotations());
+    if (messageSource == null && !INITIAL_STATE_STOPPED.equals(initialState) && isLazyFlowStart()) {
+      build.setStartOnDemand(true);
+    }
     return build;
   }
 
+  private boolean isLazyFlowStart() {
+    return parseBoolean(muleContext.getDeploymentProperties().getProperty(MULE_LAZY_FLOW_START_DEPLOYMENT_PROPERTY, "false"));
+  }
+
   @Override
   public Class<Flow> getObjectType() {
     return Flow.class;
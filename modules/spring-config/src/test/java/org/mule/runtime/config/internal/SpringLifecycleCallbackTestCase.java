@@ -6,11 +6,16 @@
  */
 package org.mule.runtime.config.internal;
 
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.tck.util.MuleContextUtils.mockContextWithServices;
 import org.mule.runtime.api.lifecycle.Initialisable;
@@ -22,7 +27,9 @@ import org.mule.runtime.core.privileged.registry.RegistrationException;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 
 import org.junit.Before;
@@ -91,6 +98,29 @@ public class SpringLifecycleCallbackTestCase extends AbstractMuleTestCase {
     verifyInitialisation(inOrder, objects, "2", "3", "1", "5", "4");
   }
 
+  @Test
+  public void sharedDependencyIsResolvedOnce() throws Exception {
+    Map<String, Initialisable> objects = new LinkedHashMap<>();
+    for (int i = 1; i <= 3; i++) {
+      final String key = String.valueOf(i);
+      Initialisable object = newInitialisable();
+      objects.put(key, object);
+      when(springRegistry.get(key)).thenReturn(object);
+    }
+
+    Map<String, Object> childsOf1And2 = new LinkedHashMap<>();
+    childsOf1And2.put("3", objects.get("3"));
+    when(springRegistry.getDependencies("1")).thenReturn(childsOf1And2);
+    when(springRegistry.getDependencies("2")).thenReturn(childsOf1And2);
+
+    DefaultBeanDependencyResolver resolver =
+        new DefaultBeanDependencyResolver(mock(ConfigurationDependencyResolver.class, RETURNS_DEEP_STUBS), springRegistry);
+    Collection<Object> ordered = resolver.resolveBeanDependencies(new LinkedHashSet<>(asList("1", "2", "3")));
+
+    assertThat(ordered, contains(objects.get("3"), objects.get("1"), objects.get("2")));
+    verify(springRegistry, times(1)).getDependencies("3");
+  }
+
   private void verifyInitialisation(InOrder inOrder, Map<String, Initialisable> objects, String... keys)
       throws InitialisationException {
     for (String key : keys) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.factories;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_FLOW_START_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.construct.Flow.INITIAL_STATE_STARTED;
+import static org.mule.runtime.core.api.construct.Flow.INITIAL_STATE_STOPPED;
+
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class DefaultFlowFactoryBeanTestCase extends AbstractMuleContextTestCase {
+
+  private DefaultFlowFactoryBean flowFactoryBean = new DefaultFlowFactoryBean();
+
+  private Flow flow;
+
+  @Before
+  public void setUp() {
+    muleContext.getDeploymentProperties().setProperty(MULE_LAZY_FLOW_START_DEPLOYMENT_PROPERTY, "true");
+    flowFactoryBean.setName("lazyFlow");
+    flowFactoryBean.setInitialState(INITIAL_STATE_STARTED);
+    flowFactoryBean.setMuleContext(muleContext);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (flow != null) {
+      if (flow.isStarted()) {
+        flow.stop();
+      }
+      flow.dispose();
+    }
+  }
+
+  @Test
+  public void sourcelessFlowStartsWhenEventIsSent() throws Exception {
+    flow = flowFactoryBean.getObject();
+    flow.initialise();
+    flow.start();
+    assertThat(flow.isStopped(), is(true));
+
+    flow.process(testEvent());
+    assertThat(flow.isStarted(), is(true));
+  }
+
+  @Test
+  public void flowStartsOnDeploymentWhenNotLazy() throws Exception {
+    muleContext.getDeploymentProperties().setProperty(MULE_LAZY_FLOW_START_DEPLOYMENT_PROPERTY, "false");
+
+    flow = flowFactoryBean.getObject();
+    flow.initialise();
+    flow.start();
+    assertThat(flow.isStarted(), is(true));
+  }
+
+  @Test
+  public void initiallyStoppedFlowIsNotStartedWhenEventIsSent() throws Exception {
+    flowFactoryBean.setInitialState(INITIAL_STATE_STOPPED);
+
+    flow = flowFactoryBean.getObject();
+    flow.initialise();
+    flow.start();
+
+    try {
+      flow.process(testEvent());
+    } catch (Exception e) {
+      // the flow is stopped
+    }
+    assertThat(flow.isStopped(), is(true));
+  }
+}
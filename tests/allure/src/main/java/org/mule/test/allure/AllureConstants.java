@@ -273,6 +273,8 @@ public interface AllureConstants {
       String COLLECT_LIST = "Collect List";
       String COLLECT_MAP = "Collect Map";
       String JOIN_ONLY = "Join Only";
+      String FIRST_COMPLETED = "First Completed";
+      String QUORUM = "Quorum";
     }
 
   }
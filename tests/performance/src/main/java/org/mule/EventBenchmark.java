@@ -105,6 +105,11 @@ public class EventBenchmark extends AbstractBenchmark {
         .message(Message.builder(eventWith100VariablesProperties.getMessage()).build()).build();
   }
 
+  @Benchmark
+  public CoreEvent setMessageEventWith50VariablesProperties() {
+    return CoreEvent.builder(eventWith50VariablesProperties).message(of(PAYLOAD)).build();
+  }
+
   @Benchmark
   public CoreEvent addEventVariable() {
     return CoreEvent.builder(event).addVariable(KEY, VALUE).build();
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the contention of the {@link LockGroup} implementations when many threads lock and unlock ids out of a pool of
+ * {@link #keys} distinct ids, as done by the per-item locks of polling sources.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class LockGroupBenchmark extends AbstractBenchmark {
+
+  @Param({"instance", "concurrent"})
+  public String lockGroupType;
+
+  @Param({"16", "4096"})
+  public int keys;
+
+  private LockGroup lockGroup;
+  private String[] lockIds;
+
+  @Setup
+  public void setup() {
+    if ("instance".equals(lockGroupType)) {
+      lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+    } else {
+      lockGroup = new ConcurrentInstanceLockGroup(new SingleServerLockProvider());
+    }
+
+    lockIds = new String[keys];
+    for (int i = 0; i < keys; i++) {
+      lockIds[i] = "item-" + i;
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public boolean lockUnlock8Threads() {
+    return lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public boolean lockUnlock32Threads() {
+    return lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(128)
+  public boolean lockUnlock128Threads() {
+    return lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public boolean tryLockUnlock32Threads() {
+    String lockId = lockIds[ThreadLocalRandom.current().nextInt(keys)];
+    if (lockGroup.tryLock(lockId)) {
+      lockGroup.unlock(lockId);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean lockUnlock() {
+    String lockId = lockIds[ThreadLocalRandom.current().nextInt(keys)];
+    lockGroup.lock(lockId);
+    lockGroup.unlock(lockId);
+    return true;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the {@link JavaExternalSerializerProtocol} and the {@link CompactSerializationProtocol} when writing and reading the
+ * kind of events that are persisted by the object stores, with {@link #variables} flow variables.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class SerializationProtocolBenchmark extends AbstractBenchmark {
+
+  @Param({"java", "compact"})
+  public String protocol;
+
+  @Param({"0", "20"})
+  public int variables;
+
+  private MuleContext muleContext;
+  private SerializationProtocol serializationProtocol;
+  private CoreEvent event;
+  private byte[] serializedEvent;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    if ("java".equals(protocol)) {
+      JavaObjectSerializer objectSerializer = new JavaObjectSerializer();
+      objectSerializer.setMuleContext(muleContext);
+      serializationProtocol = objectSerializer.getExternalProtocol();
+    } else {
+      CompactObjectSerializer objectSerializer = new CompactObjectSerializer();
+      objectSerializer.setMuleContext(muleContext);
+      serializationProtocol = objectSerializer.getExternalProtocol();
+    }
+
+    CoreEvent.Builder builder = CoreEvent.builder(create(createFlow(muleContext), CONNECTOR_LOCATION))
+        .message(Message.builder().value(PAYLOAD).attributesValue(VALUE).build());
+    for (int i = 0; i < variables; i++) {
+      List<String> items = new ArrayList<>();
+      items.add(VALUE + i);
+      builder.addVariable(KEY + i, i % 2 == 0 ? VALUE + i : items);
+    }
+    event = builder.build();
+    serializedEvent = serializationProtocol.serialize(event);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    muleContext.stop();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public byte[] serializeEvent() {
+    return serializationProtocol.serialize(event);
+  }
+
+  @Benchmark
+  public CoreEvent deserializeEvent() {
+    return serializationProtocol.deserialize(serializedEvent);
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Compares invoking an operation like method through a {@link MethodInvoker} against doing it through plain reflection, as
+ * {@link ReflectiveMethodComponentExecutor} did before using it.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class MethodInvokerBenchmark extends AbstractBenchmark {
+
+  private final Operations operations = new Operations();
+  private final Object[] args = new Object[] {VALUE, 3};
+
+  private Method method;
+  private MethodInvoker methodInvoker;
+
+  @Setup
+  public void setup() throws Exception {
+    method = Operations.class.getMethod("concat", String.class, int.class);
+    methodInvoker = MethodInvoker.of(method);
+    if (!methodInvoker.isMethodHandleBased()) {
+      throw new IllegalStateException("Method handle could not be created for " + method);
+    }
+  }
+
+  @Benchmark
+  public Object reflection() throws Exception {
+    return method.invoke(operations, args);
+  }
+
+  @Benchmark
+  public Object methodInvoker() throws Throwable {
+    return methodInvoker.invoke(operations, args);
+  }
+
+  public static class Operations {
+
+    public String concat(String value, int times) {
+      return value + times;
+    }
+  }
+}
@@ -55,6 +55,11 @@ public class EventBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionT
     runAndAssertBenchmark(EventBenchmark.class, "deepCopyEventWith100VariablesProperties", 75, MICROSECONDS, 56300);
   }
 
+  @Test
+  public void setMessageEventWith50VariablesProperties() {
+    runAndAssertBenchmark(EventBenchmark.class, "setMessageEventWith50VariablesProperties", 1, MICROSECONDS, 1300);
+  }
+
   @Test
   public void addEventVariable() {
     runAndAssertBenchmark(EventBenchmark.class, "addEventVariable", 800, NANOSECONDS, 1300);